@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,7 +39,7 @@ class AccessibleObject {
 	static long descriptionPtr = -1;
 	static long keybindingPtr = -1;
 	static long namePtr = -1;
-	static final Map<LONG, AccessibleObject> AccessibleObjects = new HashMap<> (9);
+	static final LongMap<AccessibleObject> AccessibleObjects = new LongMap<> (9);
 	static final boolean DEBUG = Device.DEBUG;
 
 	AccessibleObject (long type, long widget, Accessible accessible, boolean isLightweight) {
@@ -60,7 +60,7 @@ class AccessibleObject {
 		}
 		this.accessible = accessible;
 		this.isLightweight = isLightweight;
-		AccessibleObjects.put (new LONG (atkHandle), this);
+		AccessibleObjects.put (atkHandle, this);
 	}
 
 	static void print (String str) {
@@ -4419,7 +4419,7 @@ class AccessibleObject {
 	 * @return an AccessibleObject associated with the provided AtkObject pointer
 	 */
 	static AccessibleObject getAccessibleObject (long atkObject) {
-		AccessibleObject object = AccessibleObjects.get (new LONG (atkObject));
+		AccessibleObject object = AccessibleObjects.get (atkObject);
 		if (object == null) return null;
 		if (object.accessible == null) return null;
 		Control control = object.accessible.control;
@@ -4477,10 +4477,7 @@ class AccessibleObject {
 		 * GObject destruction is handled in os_custom.c in GTK3.
 		 * AccessibleObject has to be removed from the map of AccessibleObjects, though.
 		 */
-		AccessibleObject object = AccessibleObjects.get (new LONG (atkObject));
-		if (object != null) {
-			AccessibleObjects.remove (new LONG (atkObject));
-		}
+		AccessibleObjects.remove (atkObject);
 		return 0;
 	}
 
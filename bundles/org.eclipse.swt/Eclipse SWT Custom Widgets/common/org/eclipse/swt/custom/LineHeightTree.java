@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.util.*;
+
+/**
+ * Keeps the heights of the lines of a <code>StyledTextRenderer</code> in
+ * Fenwick trees, so that the y of a line and the line at a y are found in
+ * logarithmic time.
+ * <p>
+ * Lines that have not been measured yet are estimated from their number of
+ * characters. The trees count these lines and sum their characters instead
+ * of their estimated heights, so that a change of the width, line height or
+ * character width used to estimate them does not touch the trees. The count
+ * also finds the lines that must be measured before an exact answer can be
+ * given without visiting the others.
+ * </p>
+ */
+class LineHeightTree {
+	int count;
+	int[] heights, lengths, sums, estimatedCounts, estimatedLengths;
+	boolean[] estimated;
+	int width, lineHeight, charWidth;	// used to estimate the height of the lines that are not measured
+
+LineHeightTree(int count, int width, int lineHeight, int charWidth) {
+	this.count = count;
+	heights = new int[count];
+	lengths = new int[count];
+	estimated = new boolean[count];
+	sums = new int[count + 1];
+	estimatedCounts = new int[count + 1];
+	estimatedLengths = new int[count + 1];
+	setEstimate(width, lineHeight, charWidth);
+}
+/**
+ * Computes the trees once every line has been set with <code>init</code>.
+ */
+void build() {
+	Arrays.fill(sums, 0);
+	Arrays.fill(estimatedCounts, 0);
+	Arrays.fill(estimatedLengths, 0);
+	for (int i = 1; i <= count; i++) {
+		computeNode(i);
+		int parent = i + (i & -i);
+		if (parent <= count) {
+			sums[parent] += sums[i];
+			estimatedCounts[parent] += estimatedCounts[i];
+			estimatedLengths[parent] += estimatedLengths[i];
+		}
+	}
+}
+/* Adds the line of the given node to the node */
+void computeNode(int node) {
+	int lineIndex = node - 1;
+	if (estimated[lineIndex]) {
+		estimatedCounts[node]++;
+		estimatedLengths[node] += lengths[lineIndex];
+	} else {
+		sums[node] += heights[lineIndex];
+	}
+}
+/**
+ * Marks the given line as not measured. Its number of characters is kept.
+ */
+void estimate(int lineIndex) {
+	if (estimated[lineIndex]) return;
+	update(lineIndex, -heights[lineIndex], 1, lengths[lineIndex]);
+	heights[lineIndex] = 0;
+	estimated[lineIndex] = true;
+}
+/* Answers the estimated height of the given number of lines with the given number of characters */
+long estimateHeight(long lineCount, long length) {
+	if (width > 0) {
+		return (lineCount + length * charWidth / width) * lineHeight;
+	}
+	return lineCount * lineHeight;
+}
+/**
+ * Returns the number of estimated lines before the given line.
+ */
+int getEstimatedCount(int lineIndex) {
+	int result = 0;
+	for (int i = Math.min(lineIndex, count); i > 0; i -= i & -i) {
+		result += estimatedCounts[i];
+	}
+	return result;
+}
+/**
+ * Returns the sum of the heights of the lines before the given line.
+ */
+int getY(int lineIndex) {
+	long y = 0, estimatedCount = 0, length = 0;
+	for (int i = Math.min(lineIndex, count); i > 0; i -= i & -i) {
+		y += sums[i];
+		estimatedCount += estimatedCounts[i];
+		length += estimatedLengths[i];
+	}
+	return (int) (y + estimateHeight(estimatedCount, length));
+}
+/**
+ * Returns the largest line index, between 0 and <code>count</code>, whose
+ * y is less than or equal to the given y.
+ */
+int indexOf(int y) {
+	int index = 0;
+	long sum = 0, estimatedCount = 0, length = 0;
+	for (int step = Integer.highestOneBit(Math.max(1, count)); step > 0; step >>= 1) {
+		int next = index + step;
+		if (next > count) continue;
+		long nextSum = sum + sums[next];
+		long nextCount = estimatedCount + estimatedCounts[next];
+		long nextLength = length + estimatedLengths[next];
+		if (nextSum + estimateHeight(nextCount, nextLength) <= y) {
+			index = next;
+			sum = nextSum;
+			estimatedCount = nextCount;
+			length = nextLength;
+		}
+	}
+	return index;
+}
+void init(int lineIndex, int length, int height, boolean estimated) {
+	lengths[lineIndex] = length;
+	heights[lineIndex] = estimated ? 0 : height;
+	this.estimated[lineIndex] = estimated;
+}
+/**
+ * Returns the first estimated line at or after the given line, or
+ * <code>count</code> when all these lines are measured.
+ */
+int nextEstimated(int lineIndex) {
+	if (lineIndex >= count) return count;
+	int index = 0, value = getEstimatedCount(lineIndex);
+	for (int step = Integer.highestOneBit(Math.max(1, count)); step > 0; step >>= 1) {
+		int next = index + step;
+		if (next <= count && estimatedCounts[next] <= value) {
+			index = next;
+			value -= estimatedCounts[next];
+		}
+	}
+	return index;
+}
+/**
+ * Replaces the given number of lines at the given line with the given
+ * number of estimated lines without characters, whose lengths are set
+ * with <code>setLength</code> once the content has changed. The other
+ * lines are kept, and only the nodes of the trees that cover the lines
+ * after the given line are computed again.
+ */
+void replace(int lineIndex, int replaceCount, int newCount) {
+	int delta = newCount - replaceCount;
+	if (delta == 0) {
+		for (int i = lineIndex; i < lineIndex + newCount; i++) {
+			estimate(i);
+			setLength(i, 0);
+		}
+		return;
+	}
+	int newLength = count + delta;
+	if (newLength > heights.length) {
+		int capacity = Math.max(newLength, heights.length * 3 / 2);
+		heights = Arrays.copyOf(heights, capacity);
+		lengths = Arrays.copyOf(lengths, capacity);
+		estimated = Arrays.copyOf(estimated, capacity);
+		sums = Arrays.copyOf(sums, capacity + 1);
+		estimatedCounts = Arrays.copyOf(estimatedCounts, capacity + 1);
+		estimatedLengths = Arrays.copyOf(estimatedLengths, capacity + 1);
+	}
+	int endIndex = lineIndex + replaceCount;
+	System.arraycopy(heights, endIndex, heights, lineIndex + newCount, count - endIndex);
+	System.arraycopy(lengths, endIndex, lengths, lineIndex + newCount, count - endIndex);
+	System.arraycopy(estimated, endIndex, estimated, lineIndex + newCount, count - endIndex);
+	Arrays.fill(heights, lineIndex, lineIndex + newCount, 0);
+	Arrays.fill(lengths, lineIndex, lineIndex + newCount, 0);
+	Arrays.fill(estimated, lineIndex, lineIndex + newCount, true);
+	count = newLength;
+	/*
+	* The node i covers the line i - 1 and the nodes i - 1, i - 2, i - 4
+	* and so on, down to the half of its lowest bit. The nodes up to the
+	* given line cover the lines before it, which have not moved.
+	*/
+	for (int i = lineIndex + 1; i <= count; i++) {
+		sums[i] = estimatedCounts[i] = estimatedLengths[i] = 0;
+		computeNode(i);
+		for (int step = 1; step < (i & -i); step <<= 1) {
+			sums[i] += sums[i - step];
+			estimatedCounts[i] += estimatedCounts[i - step];
+			estimatedLengths[i] += estimatedLengths[i - step];
+		}
+	}
+}
+/**
+ * Sets the measured height of the given line.
+ */
+void set(int lineIndex, int height) {
+	if (estimated[lineIndex]) {
+		update(lineIndex, height, -1, -lengths[lineIndex]);
+		estimated[lineIndex] = false;
+	} else {
+		update(lineIndex, height - heights[lineIndex], 0, 0);
+	}
+	heights[lineIndex] = height;
+}
+/**
+ * Sets the values used to estimate the height of the lines that are not
+ * measured. The trees do not depend on them.
+ */
+void setEstimate(int width, int lineHeight, int charWidth) {
+	this.width = width;
+	this.lineHeight = lineHeight;
+	this.charWidth = charWidth;
+}
+/**
+ * Sets the number of characters of the given line.
+ */
+void setLength(int lineIndex, int length) {
+	if (estimated[lineIndex]) update(lineIndex, 0, 0, length - lengths[lineIndex]);
+	lengths[lineIndex] = length;
+}
+void update(int lineIndex, int heightDelta, int countDelta, int lengthDelta) {
+	if (heightDelta == 0 && countDelta == 0 && lengthDelta == 0) return;
+	for (int i = lineIndex + 1; i <= count; i += i & -i) {
+		sums[i] += heightDelta;
+		estimatedCounts[i] += countDelta;
+		estimatedLengths[i] += lengthDelta;
+	}
+}
+}
@@ -0,0 +1,604 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.channels.FileChannel.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.List;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+
+/**
+ * A read-only <code>StyledTextContent</code> that displays a file without
+ * loading it into memory.
+ * <p>
+ * The file is memory mapped and lines are decoded with the given charset
+ * only when the widget asks for them. To find lines quickly, the receiver
+ * remembers the position of every 64th line. This index is built by a
+ * background thread: the content initially holds the beginning of the
+ * file and grows as indexing proceeds, each step being reported to the
+ * text change listeners as text appended at the end of the content.
+ * Listeners are always notified in the user-interface thread of the
+ * display the receiver was created in. When the receiver is not created
+ * in a user-interface thread, the whole file is indexed by the constructor.
+ * </p><p>
+ * Only charsets that encode the ASCII characters as single bytes with the
+ * same values, such as UTF-8 or ISO-8859-1, are supported. "\r", "\n" and
+ * "\r\n" are recognized as line delimiters. The content is limited to
+ * <code>Integer.MAX_VALUE</code> characters, the rest of a larger file
+ * is not shown.
+ * </p><p>
+ * The content cannot be modified, the <code>StyledText</code> it is set
+ * on should not be editable.
+ * </p>
+ *
+ * @see StyledText#setContent(StyledTextContent)
+ * @see StyledText#setEditable(boolean)
+ * @since 3.116
+ */
+public class MappedFileContent implements StyledTextContent {
+	private final static String LineDelimiter = System.lineSeparator();
+	static final int SEGMENT_SHIFT = 30;	// every mapped buffer covers 1 GB of the file
+	static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+	static final int LINES_PER_BLOCK = 64;
+	static final int CHUNK_SIZE = 4 * 1024 * 1024;	// bytes indexed between two notifications
+
+	List<StyledTextListener> textListeners = new ArrayList<>(); // stores text listeners for event sending
+	Display display;
+	Charset charset;
+	long fileLength;
+	ByteBuffer[] segments;
+	volatile boolean disposed;
+
+	// the line index, shared with the indexing thread and guarded by lock
+	final Object lock = new Object();
+	long[] blockBytes = new long[16];	// byte offset of the first line of every block
+	int[] blockChars = new int[16];	// character offset of the first line of every block
+	int blockCount;
+	int indexedLines;	// number of indexed lines, all of them end with a delimiter
+	int indexedChars;	// number of characters in the indexed lines
+	int lastLineChars = -1;	// length of the line following the indexed lines, -1 while indexing
+
+	// state of the indexing thread
+	LineScanner indexScanner;
+	long scanPosition;
+
+	// the indexed lines shown to the listeners, only accessed in the user-interface thread
+	int lineCount, charCount;
+	LineScanner scanner;
+	int cachedBlock = -1;	// the block whose line offsets are cached
+	int cachedLines;	// number of lines with a delimiter in the cached block
+	long[] cachedBytes = new long[LINES_PER_BLOCK + 1];
+	int[] cachedChars = new int[LINES_PER_BLOCK + 1];
+
+/**
+ * Reads lines from the mapped file. A scanner keeps its own views of the
+ * mapped buffers and its own decoder, every thread must use a different
+ * scanner.
+ */
+static final class LineScanner {
+	final ByteBuffer[] views;
+	final long fileLength;
+	final CharsetDecoder decoder;
+	final ByteBuffer input = ByteBuffer.allocate(8 * 1024);
+	final CharBuffer output = CharBuffer.allocate(8 * 1024);
+	long delimiterStart;	// position of the delimiter found by the last scan
+	int delimiterLength;	// length of that delimiter, 0 at the end of the file
+
+LineScanner(ByteBuffer[] segments, long fileLength, Charset charset) {
+	views = new ByteBuffer[segments.length];
+	for (int i = 0; i < segments.length; i++) {
+		views[i] = segments[i].duplicate();
+	}
+	this.fileLength = fileLength;
+	decoder = charset.newDecoder()
+		.onMalformedInput(CodingErrorAction.REPLACE)
+		.onUnmappableCharacter(CodingErrorAction.REPLACE);
+}
+/**
+ * Decodes the bytes in the range and returns the number of characters.
+ * The characters are appended to the builder unless it is null.
+ */
+long decode(long start, long end, StringBuilder builder) {
+	long count = 0;
+	long position = start;
+	decoder.reset();
+	input.clear();
+	position = read(position, end);
+	while (true) {
+		boolean endOfInput = position == end;
+		CoderResult result = decoder.decode(input, output, endOfInput);
+		count += drain(builder);
+		if (result.isOverflow()) continue;
+		if (endOfInput) break;
+		input.compact();
+		position = read(position, end);
+	}
+	while (decoder.flush(output).isOverflow()) {
+		count += drain(builder);
+	}
+	return count + drain(builder);
+}
+int drain(StringBuilder builder) {
+	output.flip();
+	int count = output.remaining();
+	if (builder != null) builder.append(output);
+	output.clear();
+	return count;
+}
+byte get(long position) {
+	return views[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+}
+/**
+ * Copies bytes starting at the position into the input buffer, which is
+ * flipped for reading, and returns the position following the last byte.
+ */
+long read(long position, long end) {
+	int length = (int) Math.min(input.remaining(), end - position);
+	while (length > 0) {
+		ByteBuffer view = views[(int) (position >>> SEGMENT_SHIFT)];
+		int offset = (int) (position & SEGMENT_MASK);
+		int count = Math.min(length, view.limit() - offset);
+		view.position(offset);
+		view.get(input.array(), input.arrayOffset() + input.position(), count);
+		input.position(input.position() + count);
+		position += count;
+		length -= count;
+	}
+	input.flip();
+	return position;
+}
+/**
+ * Finds the end of the line starting at the position and returns the
+ * number of characters in the line, including its delimiter.
+ */
+long scan(long position) {
+	long end = position;
+	boolean ascii = true;
+	while (end < fileLength) {
+		byte b = get(end);
+		if (b == SWT.LF || b == SWT.CR) break;
+		if (b < 0) ascii = false;
+		end++;
+	}
+	delimiterStart = end;
+	delimiterLength = 0;
+	if (end < fileLength) {
+		delimiterLength = get(end) == SWT.CR && end + 1 < fileLength && get(end + 1) == SWT.LF ? 2 : 1;
+	}
+	long count = ascii ? end - position : decode(position, end, null);
+	return count + delimiterLength;
+}
+}
+
+/**
+ * Creates a new content showing the given file.
+ *
+ * @param fileName the name of the file
+ * @param charset the charset the file is encoded with
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the file name or the charset is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the charset does not encode ASCII characters as single bytes</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while opening or mapping the file</li>
+ * </ul>
+ */
+public MappedFileContent(String fileName, Charset charset) {
+	if (fileName == null || charset == null) error(SWT.ERROR_NULL_ARGUMENT);
+	if (!isAsciiCompatible(charset)) error(SWT.ERROR_INVALID_ARGUMENT);
+	this.charset = charset;
+	try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+		fileLength = channel.size();
+		segments = new ByteBuffer[(int) ((fileLength + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+		for (int i = 0; i < segments.length; i++) {
+			long start = (long) i << SEGMENT_SHIFT;
+			segments[i] = channel.map(MapMode.READ_ONLY, start, Math.min(fileLength - start, SEGMENT_MASK + 1));
+		}
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	scanner = new LineScanner(segments, fileLength, charset);
+	indexScanner = new LineScanner(segments, fileLength, charset);
+	blockCount = 1;
+	boolean done = indexChunk();
+	display = Display.getCurrent();
+	if (display == null) {
+		while (!done) done = indexChunk();
+	} else if (!done) {
+		Thread thread = new Thread(this::index, "SWT MappedFileContent indexer"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		thread.start();
+	}
+	update();
+}
+/**
+ * Adds a <code>TextChangeListener</code> listening for
+ * <code>TextChangingEvent</code> and <code>TextChangedEvent</code>. A
+ * <code>TextChangingEvent</code> is sent before changes to the text occur.
+ * A <code>TextChangedEvent</code> is sent after changes to the text
+ * occurred.
+ *
+ * @param listener the listener
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void addTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	StyledTextListener typedListener = new StyledTextListener(listener);
+	textListeners.add(typedListener);
+}
+/**
+ * Appends the line, including its delimiter, to the builder.
+ */
+void appendLine(int index, StringBuilder builder) {
+	int line = loadBlock(index);
+	if (line == cachedLines && cachedChars[line] == charCount) return;
+	long start = cachedBytes[line];
+	scanner.scan(start);
+	scanner.decode(start, scanner.delimiterStart, builder);
+	if (scanner.delimiterLength == 2) {
+		builder.append(SWT.CR).append(SWT.LF);
+	} else if (scanner.delimiterLength == 1) {
+		builder.append((char) scanner.get(scanner.delimiterStart));
+	}
+}
+/**
+ * Stops indexing the file. The receiver keeps showing the lines that
+ * were indexed so far.
+ * <p>
+ * The file stays mapped until the receiver is garbage collected.
+ * </p>
+ */
+public void dispose() {
+	disposed = true;
+}
+/**
+ * Reports an SWT error.
+ *
+ * @param code the error code
+ */
+void error (int code) {
+	SWT.error(code);
+}
+/**
+ * @return the number of characters in the content
+ */
+@Override
+public int getCharCount() {
+	return charCount;
+}
+/**
+ * Returns the charset used to decode the file.
+ *
+ * @return the charset
+ */
+public Charset getCharset() {
+	return charset;
+}
+/**
+ * Returns the line at <code>index</code> without delimiters.
+ *
+ * @param index	the index of the line to return
+ * @return the line text without delimiters
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when index is out of range</li>
+ * </ul>
+ */
+@Override
+public String getLine(int index) {
+	if ((index >= getLineCount()) || (index < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	int line = loadBlock(index);
+	if (line == cachedLines && cachedChars[line] == charCount) return "";
+	long start = cachedBytes[line];
+	scanner.scan(start);
+	StringBuilder builder = new StringBuilder();
+	scanner.decode(start, scanner.delimiterStart, builder);
+	return builder.toString();
+}
+/**
+ * Returns the line index at the given offset.
+ *
+ * @param offset offset of the line to return
+ * @return the line index
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT when offset is out of range</li>
+ * </ul>
+ */
+@Override
+public int getLineAtOffset(int offset) {
+	if ((offset > charCount) || (offset < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	if (offset == charCount) return lineCount;
+	int low = 0, high = lineCount / LINES_PER_BLOCK;
+	synchronized (lock) {
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (blockChars[mid] <= offset) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+	}
+	int first = low * LINES_PER_BLOCK;
+	loadBlock(first);
+	low = 0;
+	high = cachedLines;
+	while (low < high) {
+		int mid = (low + high + 1) >>> 1;
+		if (cachedChars[mid] <= offset) {
+			low = mid;
+		} else {
+			high = mid - 1;
+		}
+	}
+	return first + low;
+}
+/**
+ * Returns the number of lines in the text store.
+ *
+ * @return the number of lines in the text store
+ */
+@Override
+public int getLineCount() {
+	return lineCount + 1;
+}
+/**
+ * Returns the line delimiter that should be used by the StyledText
+ * widget when inserting new lines.  This delimiter may be different than the
+ * delimiter that is used by the <code>StyledTextContent</code> interface.
+ *
+ * @return the platform line delimiter as specified in the line.separator
+ * 	system property.
+ */
+@Override
+public String getLineDelimiter() {
+	return LineDelimiter;
+}
+/**
+ * Returns the start character offset for the given line
+ *
+ * @param lineIndex index of the line
+ * @return offset of the first character of the line
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when lineIndex is out of range</li>
+ * </ul>
+ */
+@Override
+public int getOffsetAtLine(int lineIndex) {
+	if (lineIndex == 0) return 0;
+	if ((lineIndex >= getLineCount()) || (lineIndex < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	return cachedChars[loadBlock(lineIndex)];
+}
+/**
+ * Returns a string representing the content at the given range.
+ *
+ * @param start the start offset of the text to return. Offset 0 is the first character.
+ * @param length the length of the text to return
+ * @return the text at the given range
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when start or length is out of range</li>
+ * </ul>
+ */
+@Override
+public String getTextRange(int start, int length) {
+	if (start < 0 || length < 0 || start > charCount - length) error(SWT.ERROR_INVALID_ARGUMENT);
+	if (length == 0) return "";
+	int lineIndex = getLineAtOffset(start);
+	int skip = start - getOffsetAtLine(lineIndex);
+	StringBuilder builder = new StringBuilder();
+	while (builder.length() < skip + length) {
+		appendLine(lineIndex++, builder);
+	}
+	return builder.substring(skip, skip + length);
+}
+/**
+ * Indexes the file in chunks and notifies the listeners in the
+ * user-interface thread after each chunk.
+ */
+void index() {
+	boolean done = false;
+	while (!done && !disposed) {
+		done = indexChunk();
+		try {
+			display.asyncExec(this, this::update);
+		} catch (SWTException e) {
+			return;
+		}
+	}
+}
+/**
+ * Indexes the lines of the next chunk of the file and returns whether
+ * the whole file has been indexed.
+ */
+boolean indexChunk() {
+	LineScanner scanner = indexScanner;
+	long position = scanPosition, limit = position + CHUNK_SIZE;
+	int lines = indexedLines;
+	long chars = indexedChars;
+	int lastLine = -1;
+	while (position < limit) {
+		long length = scanner.scan(position);
+		if (chars + length > Integer.MAX_VALUE) {
+			lastLine = 0;
+			break;
+		}
+		if (scanner.delimiterLength == 0) {
+			lastLine = (int) length;
+			break;
+		}
+		position = scanner.delimiterStart + scanner.delimiterLength;
+		chars += length;
+		if (++lines % LINES_PER_BLOCK == 0) {
+			synchronized (lock) {
+				if (blockCount == blockBytes.length) {
+					blockBytes = Arrays.copyOf(blockBytes, blockCount * 2);
+					blockChars = Arrays.copyOf(blockChars, blockCount * 2);
+				}
+				blockBytes[blockCount] = position;
+				blockChars[blockCount] = (int) chars;
+				blockCount++;
+			}
+		}
+	}
+	scanPosition = position;
+	synchronized (lock) {
+		indexedLines = lines;
+		indexedChars = (int) chars;
+		lastLineChars = lastLine;
+	}
+	return lastLine != -1;
+}
+static boolean isAsciiCompatible(Charset charset) {
+	byte[] bytes = new byte[128];
+	for (int i = 0; i < bytes.length; i++) bytes[i] = (byte) i;
+	String ascii = new String(bytes, StandardCharsets.US_ASCII);
+	try {
+		return ascii.equals(new String(bytes, charset)) && Arrays.equals(bytes, ascii.getBytes(charset));
+	} catch (UnsupportedOperationException e) {
+		return false;
+	}
+}
+/**
+ * Caches the offsets of the lines of the block containing the line and
+ * returns the index of the line in the block.
+ */
+int loadBlock(int lineIndex) {
+	int block = lineIndex / LINES_PER_BLOCK;
+	if (block != cachedBlock) {
+		long position;
+		int chars;
+		synchronized (lock) {
+			position = blockBytes[block];
+			chars = blockChars[block];
+		}
+		int count = Math.min(LINES_PER_BLOCK, lineCount - block * LINES_PER_BLOCK);
+		cachedBytes[0] = position;
+		cachedChars[0] = chars;
+		for (int i = 1; i <= count; i++) {
+			chars += (int) scanner.scan(position);
+			position = scanner.delimiterStart + scanner.delimiterLength;
+			cachedBytes[i] = position;
+			cachedChars[i] = chars;
+		}
+		cachedLines = count;
+		cachedBlock = block;
+	}
+	return lineIndex % LINES_PER_BLOCK;
+}
+/**
+ * Removes the specified <code>TextChangeListener</code>.
+ *
+ * @param listener the listener which should no longer be notified
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void removeTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	for (int i = 0; i < textListeners.size(); i++) {
+		TypedListener typedListener = textListeners.get(i);
+		if (typedListener.getEventListener () == listener) {
+			textListeners.remove(i);
+			break;
+		}
+	}
+}
+/**
+ * The content is read-only, this method always fails.
+ *
+ * @exception SWTError <ul>
+ *    <li>ERROR_NOT_IMPLEMENTED - always</li>
+ * </ul>
+ */
+@Override
+public void replaceTextRange(int start, int replaceLength, String text) {
+	error(SWT.ERROR_NOT_IMPLEMENTED);
+}
+/**
+ * Sends the text listeners the TextChanged event.
+ */
+void sendTextEvent(StyledTextEvent event) {
+	for (StyledTextListener textListener : textListeners) {
+		textListener.handleEvent(event);
+	}
+}
+/**
+ * The content is read-only, this method always fails.
+ *
+ * @exception SWTError <ul>
+ *    <li>ERROR_NOT_IMPLEMENTED - always</li>
+ * </ul>
+ */
+@Override
+public void setText(String text) {
+	error(SWT.ERROR_NOT_IMPLEMENTED);
+}
+/**
+ * Makes the lines indexed so far visible and informs the listeners that
+ * they were appended to the content.
+ */
+void update() {
+	if (disposed) return;
+	int newLineCount, newCharCount;
+	synchronized (lock) {
+		newLineCount = indexedLines;
+		newCharCount = indexedChars + Math.max(lastLineChars, 0);
+	}
+	if (newLineCount == lineCount && newCharCount == charCount) return;
+
+	/*
+	* The listeners are informed before the lines are shown, but the text
+	* appended to the content is read with the new counts. Read it, then
+	* show the old counts again until the listeners have been informed.
+	*/
+	int oldLineCount = lineCount, oldCharCount = charCount;
+	lineCount = newLineCount;
+	charCount = newCharCount;
+	cachedBlock = -1;
+	String text = getTextRange(oldCharCount, newCharCount - oldCharCount);
+	lineCount = oldLineCount;
+	charCount = oldCharCount;
+	cachedBlock = -1;
+
+	// inform listeners
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextChanging;
+	event.start = charCount;
+	event.text = text;
+	event.newLineCount = newLineCount - lineCount;
+	event.newCharCount = newCharCount - charCount;
+	sendTextEvent(event);
+
+	lineCount = newLineCount;
+	charCount = newCharCount;
+	cachedBlock = -1;
+
+	// inform listeners
+	event = new StyledTextEvent(this);
+	event.type = ST.TextChanged;
+	sendTextEvent(event);
+}
+}
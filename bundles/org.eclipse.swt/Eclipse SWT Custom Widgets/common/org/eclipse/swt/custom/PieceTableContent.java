@@ -0,0 +1,658 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.util.*;
+import java.util.List;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+
+/**
+ * A <code>StyledTextContent</code> implementation intended for very large
+ * documents.
+ * <p>
+ * The text is kept as a piece table: the original text and all inserted
+ * text are stored in append-only buffers and the document is described by
+ * a balanced tree of pieces referring to ranges of those buffers. Every
+ * node of the tree also knows the length and the number of line breaks of
+ * its subtree, so that <code>getLineAtOffset</code>, <code>getOffsetAtLine</code>
+ * and <code>replaceTextRange</code> take logarithmic time and no edit ever
+ * copies or re-indexes the rest of the document.
+ * </p><p>
+ * The tree is never modified in place, which makes {@link #snapshot()} a
+ * constant time operation. A snapshot can be handed to a background thread
+ * and read while the original content continues to be edited.
+ * </p><p>
+ * Like the default content of <code>StyledText</code>, this implementation
+ * recognizes "\r", "\n" and "\r\n" as line delimiters and does not allow a
+ * "\r\n" delimiter to be split or partially deleted.
+ * </p>
+ *
+ * @see StyledText#setContent(StyledTextContent)
+ * @since 3.116
+ */
+public class PieceTableContent implements StyledTextContent {
+	private final static String LineDelimiter = System.lineSeparator();
+	static final int BUFFER_SIZE = 16 * 1024;
+
+	List<StyledTextListener> textListeners = new ArrayList<>(); // stores text listeners for event sending
+	Node root;	// the piece tree, null when the content is empty
+	Buffer addBuffer;	// the buffer new text is appended to
+	int seed = 0x2545F491;	// state of the random generator used for node priorities
+
+/**
+ * An append-only character buffer. Besides the characters, a buffer keeps
+ * the sorted positions of its line breaks. A line break is either a "\n"
+ * or a "\r" that is not followed by "\n" in the same piece of text.
+ * <p>
+ * Characters and break positions below <code>length</code> never change,
+ * so buffers can safely be shared with snapshots.
+ * </p>
+ */
+static final class Buffer {
+	final char[] chars;
+	int length;
+	volatile int[] breaks = new int[16];
+	volatile int breakCount;
+
+Buffer(int capacity) {
+	chars = new char[capacity];
+}
+Buffer(String text) {
+	chars = text.toCharArray();
+	indexBreaks(0, chars.length);
+	length = chars.length;
+}
+/**
+ * Appends the text, which must fit in the remaining capacity, and
+ * returns the position of its first character.
+ */
+int append(String text) {
+	int start = length;
+	text.getChars(0, text.length(), chars, start);
+	indexBreaks(start, start + text.length());
+	length += text.length();
+	return start;
+}
+void indexBreaks(int start, int end) {
+	int[] newBreaks = breaks;
+	int count = breakCount;
+	for (int i = start; i < end; i++) {
+		char ch = chars[i];
+		if (ch == SWT.LF || (ch == SWT.CR && (i + 1 == end || chars[i + 1] != SWT.LF))) {
+			if (count == newBreaks.length) newBreaks = Arrays.copyOf(newBreaks, count * 2);
+			newBreaks[count++] = i;
+		}
+	}
+	breaks = newBreaks;
+	breakCount = count;
+}
+/**
+ * Returns the index in <code>breaks</code> of the first break at or after the position.
+ */
+int breakIndex(int position) {
+	int count = breakCount;
+	int[] breaks = this.breaks;
+	int low = 0, high = count;
+	while (low < high) {
+		int mid = (low + high) >>> 1;
+		if (breaks[mid] < position) {
+			low = mid + 1;
+		} else {
+			high = mid;
+		}
+	}
+	return low;
+}
+/**
+ * Returns the number of line breaks in the range, ignoring a "\r" at the
+ * end of the range since it is a break only when the following text does
+ * not start with "\n".
+ */
+int countBreaks(int start, int end) {
+	if (chars[end - 1] == SWT.CR) end--;
+	return breakIndex(end) - breakIndex(start);
+}
+/**
+ * Returns the position of the n-th (1 based) line break at or after start.
+ */
+int getBreak(int start, int n) {
+	return breaks[breakIndex(start) + n - 1];
+}
+}
+
+/**
+ * A node of the piece tree. The tree is a treap ordered by document
+ * position, nodes are immutable and updates copy the affected path.
+ */
+static final class Node {
+	final Buffer buffer;
+	final int start, length, priority;
+	final Node left, right;
+	final int totalLength;	// number of characters in the subtree
+	final int totalBreaks;	// number of line breaks in the subtree, not counting a trailing "\r"
+	final boolean startsWithLF, endsWithCR;
+
+Node(Buffer buffer, int start, int length, int priority, Node left, Node right) {
+	this.buffer = buffer;
+	this.start = start;
+	this.length = length;
+	this.priority = priority;
+	this.left = left;
+	this.right = right;
+	char[] chars = buffer.chars;
+	int breaks = 0;
+	boolean pendingCR = false;
+	int total = length;
+	if (left != null) {
+		breaks = left.totalBreaks;
+		pendingCR = left.endsWithCR;
+		startsWithLF = left.startsWithLF;
+		total += left.totalLength;
+	} else {
+		startsWithLF = chars[start] == SWT.LF;
+	}
+	if (pendingCR && chars[start] != SWT.LF) breaks++;
+	breaks += buffer.countBreaks(start, start + length);
+	pendingCR = chars[start + length - 1] == SWT.CR;
+	if (right != null) {
+		if (pendingCR && !right.startsWithLF) breaks++;
+		breaks += right.totalBreaks;
+		pendingCR = right.endsWithCR;
+		total += right.totalLength;
+	}
+	endsWithCR = pendingCR;
+	totalBreaks = breaks;
+	totalLength = total;
+}
+Node with(Node left, Node right) {
+	if (left == this.left && right == this.right) return this;
+	return new Node(buffer, start, length, priority, left, right);
+}
+}
+
+/**
+ * Creates a new, empty <code>PieceTableContent</code>. A <code>StyledTextContent</code>
+ * will always have at least one empty line.
+ */
+public PieceTableContent() {
+	super();
+}
+/**
+ * Adds a <code>TextChangeListener</code> listening for
+ * <code>TextChangingEvent</code> and <code>TextChangedEvent</code>. A
+ * <code>TextChangingEvent</code> is sent before changes to the text occur.
+ * A <code>TextChangedEvent</code> is sent after changes to the text
+ * occurred.
+ *
+ * @param listener the listener
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void addTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	StyledTextListener typedListener = new StyledTextListener(listener);
+	textListeners.add(typedListener);
+}
+/**
+ * Appends the text to the add buffer, starting a new buffer when the
+ * current one is full, and returns a new node for it.
+ */
+Node appendPiece(String text) {
+	int length = text.length();
+	if (addBuffer == null || addBuffer.chars.length - addBuffer.length < length) {
+		addBuffer = new Buffer(Math.max(BUFFER_SIZE, length));
+	}
+	int start = addBuffer.append(text);
+	return new Node(addBuffer, start, length, nextPriority(), null, null);
+}
+/**
+ * Returns the character at the offset, or -1 at the end of the content.
+ */
+int charAt(Node node, int offset) {
+	while (node != null) {
+		int leftLength = length(node.left);
+		if (offset < leftLength) {
+			node = node.left;
+			continue;
+		}
+		offset -= leftLength;
+		if (offset < node.length) return node.buffer.chars[node.start + offset];
+		offset -= node.length;
+		node = node.right;
+	}
+	return -1;
+}
+/**
+ * Reports an SWT error.
+ *
+ * @param code the error code
+ */
+void error (int code) {
+	SWT.error(code);
+}
+/**
+ * @return the number of characters in the content
+ */
+@Override
+public int getCharCount() {
+	return length(root);
+}
+/**
+ * Returns the line at <code>index</code> without delimiters.
+ *
+ * @param index	the index of the line to return
+ * @return the line text without delimiters
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when index is out of range</li>
+ * </ul>
+ */
+@Override
+public String getLine(int index) {
+	int lineCount = getLineCount();
+	if ((index >= lineCount) || (index < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	int start = getOffsetAtLine(index);
+	int end = index + 1 < lineCount ? getOffsetAtLine(index + 1) : getCharCount();
+	char[] text = getText(start, end - start);
+	int length = text.length;
+	while (length > 0 && isDelimiter(text[length - 1])) {
+		length--;
+	}
+	return new String(text, 0, length);
+}
+/**
+ * Returns the line at the given offset.
+ *
+ * @param offset character offset
+ * @return the line index
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT when offset is out of range</li>
+ * </ul>
+ */
+@Override
+public int getLineAtOffset(int offset) {
+	return getLineAtOffset(root, offset);
+}
+int getLineAtOffset(Node root, int offset) {
+	if ((offset > length(root)) || (offset < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	int breaks = 0;
+	boolean pendingCR = false;
+	Node node = root;
+	int remaining = offset;
+	while (node != null && remaining > 0) {
+		int leftLength = length(node.left);
+		if (remaining <= leftLength) {
+			node = node.left;
+			continue;
+		}
+		if (node.left != null) {
+			if (pendingCR && !node.left.startsWithLF) breaks++;
+			breaks += node.left.totalBreaks;
+			pendingCR = node.left.endsWithCR;
+		}
+		remaining -= leftLength;
+		int count = Math.min(remaining, node.length);
+		char[] chars = node.buffer.chars;
+		if (pendingCR && chars[node.start] != SWT.LF) breaks++;
+		breaks += node.buffer.countBreaks(node.start, node.start + count);
+		pendingCR = chars[node.start + count - 1] == SWT.CR;
+		remaining -= count;
+		node = node.right;
+	}
+	if (pendingCR && charAt(root, offset) != SWT.LF) breaks++;
+	return breaks;
+}
+/**
+ * @return the number of lines in the content
+ */
+@Override
+public int getLineCount() {
+	return getLineCount(root);
+}
+int getLineCount(Node root) {
+	if (root == null) return 1;
+	return root.totalBreaks + (root.endsWithCR ? 1 : 0) + 1;
+}
+/**
+ * Returns the line delimiter that should be used by the StyledText
+ * widget when inserting new lines.
+ *
+ * @return the platform line delimiter as specified in the line.separator
+ * 	system property.
+ */
+@Override
+public String getLineDelimiter() {
+	return LineDelimiter;
+}
+/**
+ * Returns the offset of the first character of the given line.
+ *
+ * @param lineIndex index of line
+ * @return the starting offset of the line. When there is no text,
+ * 	getOffsetAtLine(0) is a valid call that should answer 0.
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when lineIndex is out of range</li>
+ * </ul>
+ */
+@Override
+public int getOffsetAtLine(int lineIndex) {
+	if (lineIndex == 0) return 0;
+	if ((lineIndex >= getLineCount()) || (lineIndex < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	if (root.endsWithCR && lineIndex == root.totalBreaks + 1) return root.totalLength;
+	/* find the line break that ends line lineIndex - 1 */
+	int remaining = lineIndex;
+	int base = 0;
+	Node node = root;
+	while (true) {
+		Node left = node.left;
+		if (left != null && remaining <= left.totalBreaks) {
+			node = left;
+			continue;
+		}
+		int leftLength = length(left);
+		char[] chars = node.buffer.chars;
+		if (left != null) {
+			remaining -= left.totalBreaks;
+			if (left.endsWithCR && chars[node.start] != SWT.LF) {
+				if (remaining == 1) return base + leftLength;
+				remaining--;
+			}
+		}
+		int end = node.start + node.length;
+		int pieceBreaks = node.buffer.countBreaks(node.start, end);
+		if (remaining <= pieceBreaks) {
+			return base + leftLength + node.buffer.getBreak(node.start, remaining) - node.start + 1;
+		}
+		remaining -= pieceBreaks;
+		if (node.right != null && chars[end - 1] == SWT.CR && !node.right.startsWithLF) {
+			if (remaining == 1) return base + leftLength + node.length;
+			remaining--;
+		}
+		base += leftLength + node.length;
+		node = node.right;
+	}
+}
+/**
+ * Returns the characters in the given range.
+ */
+char[] getText(int start, int length) {
+	char[] text = new char[length];
+	if (length > 0) getText(root, 0, start, start + length, text);
+	return text;
+}
+void getText(Node node, int offset, int start, int end, char[] text) {
+	while (node != null) {
+		int leftLength = length(node.left);
+		int pieceStart = offset + leftLength;
+		int pieceEnd = pieceStart + node.length;
+		if (start < pieceStart) getText(node.left, offset, start, end, text);
+		if (start < pieceEnd && pieceStart < end) {
+			int from = Math.max(start, pieceStart);
+			int to = Math.min(end, pieceEnd);
+			System.arraycopy(node.buffer.chars, node.start + from - pieceStart, text, from - start, to - from);
+		}
+		if (end <= pieceEnd) return;
+		offset = pieceEnd;
+		node = node.right;
+	}
+}
+/**
+ * Returns a string representing the content at the given range.
+ *
+ * @param start the start offset of the text to return
+ * @param length the length of the text to return
+ * @return the text at the given range
+ */
+@Override
+public String getTextRange(int start, int length) {
+	if (length == 0) return "";
+	return new String(getText(start, length));
+}
+/**
+ * Returns whether or not the given character is a line delimiter. Both CR and LF
+ * are valid line delimiters.
+ *
+ * @param ch the character to test
+ * @return true if ch is a delimiter, false otherwise
+ */
+boolean isDelimiter(char ch) {
+	if (ch == SWT.CR) return true;
+	if (ch == SWT.LF) return true;
+	return false;
+}
+private boolean isInsideCRLF(int pos) {
+	if (pos == 0) return false;
+	if (pos == getCharCount()) return false;
+	if (charAt(root, pos - 1) != SWT.CR) return false;
+	if (charAt(root, pos) != SWT.LF) return false;
+	/*
+	 * Bug 568033: in case of this.setText("\rxxx\n")
+	 * \r and \n are already parsed as separate line endings, so it
+	 * shouldn't be wrong to delete 'xxx' and type something there.
+	 */
+	if (getLineAtOffset(pos - 1) != getLineAtOffset(pos)) return false;
+	return true;
+}
+static int length(Node node) {
+	return node == null ? 0 : node.totalLength;
+}
+/**
+ * Returns the number of lines that are in the specified range, counting
+ * "\r\n" as a single delimiter.
+ */
+int lineCount(int start, int length) {
+	if (length == 0) return 0;
+	char[] text = getText(start, length);
+	int lineCount = 0;
+	for (int i = 0; i < length; i++) {
+		char ch = text[i];
+		if (ch == SWT.CR) {
+			if (i + 1 < length && text[i + 1] == SWT.LF) i++;
+			lineCount++;
+		} else if (ch == SWT.LF) {
+			lineCount++;
+		}
+	}
+	return lineCount;
+}
+/**
+ * Returns the number of lines that are in the specified text.
+ *
+ * @param text the text to lineate
+ * @return number of lines in the text
+ */
+int lineCount(String text) {
+	int lineCount = 0;
+	int length = text.length();
+	for (int i = 0; i < length; i++) {
+		char ch = text.charAt(i);
+		if (ch == SWT.CR) {
+			if (i + 1 < length && text.charAt(i + 1) == SWT.LF) i++;
+			lineCount++;
+		} else if (ch == SWT.LF) {
+			lineCount++;
+		}
+	}
+	return lineCount;
+}
+static Node merge(Node left, Node right) {
+	if (left == null) return right;
+	if (right == null) return left;
+	if (left.priority > right.priority) {
+		return left.with(left.left, merge(left.right, right));
+	}
+	return right.with(merge(left, right.left), right.right);
+}
+int nextPriority() {
+	int x = seed;
+	x ^= x << 13;
+	x ^= x >>> 17;
+	x ^= x << 5;
+	return seed = x;
+}
+/**
+ * Removes the specified <code>TextChangeListener</code>.
+ *
+ * @param listener the listener which should no longer be notified
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void removeTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	for (int i = 0; i < textListeners.size(); i++) {
+		TypedListener typedListener = textListeners.get(i);
+		if (typedListener.getEventListener () == listener) {
+			textListeners.remove(i);
+			break;
+		}
+	}
+}
+/**
+ * Replaces the text with <code>newText</code> starting at position <code>start</code>
+ * for a length of <code>replaceLength</code>. Notifies the appropriate listeners.
+ *
+ * @param start	start offset of text to replace
+ * @param replaceLength length of text to replace
+ * @param newText the new text
+ *
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when the text change results in a multi byte
+ *      line delimiter being split or partially deleted.  Splitting a line
+ *      delimiter by inserting text between the CR and LF characters of the
+ *      \r\n delimiter or deleting part of this line delimiter is not supported</li>
+ * </ul>
+ */
+@Override
+public void replaceTextRange(int start, int replaceLength, String newText) {
+	// check for invalid replace operations
+	validateReplace(start, replaceLength);
+
+	// inform listeners
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextChanging;
+	event.start = start;
+	event.replaceLineCount = lineCount(start, replaceLength);
+	event.text = newText;
+	event.newLineCount = lineCount(newText);
+	event.replaceCharCount = replaceLength;
+	event.newCharCount = newText.length();
+	sendTextEvent(event);
+
+	Node[] head = split(root, start);
+	Node[] tail = split(head[1], replaceLength);
+	Node piece = newText.isEmpty() ? null : appendPiece(newText);
+	root = merge(merge(head[0], piece), tail[1]);
+
+	// inform listeners
+	event = new StyledTextEvent(this);
+	event.type = ST.TextChanged;
+	sendTextEvent(event);
+}
+/**
+ * Sends the text listeners the TextChanged event.
+ */
+void sendTextEvent(StyledTextEvent event) {
+	for (StyledTextListener textListener : textListeners) {
+		textListener.handleEvent(event);
+	}
+}
+/**
+ * Sets the content to text.
+ *
+ * @param text the text
+ */
+@Override
+public void setText(String text) {
+	root = text.isEmpty() ? null : new Node(new Buffer(text), 0, text.length(), nextPriority(), null, null);
+	addBuffer = null;
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextSet;
+	event.text = "";
+	sendTextEvent(event);
+}
+/**
+ * Returns a copy of the receiver that has the same text and no listeners.
+ * <p>
+ * Taking a snapshot takes constant time and memory because the receiver
+ * and the snapshot share their text until either of them is changed.
+ * A snapshot is not affected by later changes to the receiver, so it can
+ * be read from a background thread, provided that it is handed to that
+ * thread in a way that ensures visibility (for example through an
+ * executor) and that it is not modified concurrently.
+ * </p>
+ *
+ * @return a snapshot of the receiver
+ */
+public PieceTableContent snapshot() {
+	PieceTableContent snapshot = new PieceTableContent();
+	snapshot.root = root;
+	snapshot.seed = nextPriority();
+	return snapshot;
+}
+/**
+ * Splits the tree at the given offset, returning the nodes before and
+ * the nodes after the offset.
+ */
+static Node[] split(Node node, int offset) {
+	if (node == null) return new Node[2];
+	int leftLength = length(node.left);
+	if (offset <= leftLength) {
+		Node[] parts = split(node.left, offset);
+		parts[1] = node.with(parts[1], node.right);
+		return parts;
+	}
+	offset -= leftLength;
+	if (offset >= node.length) {
+		Node[] parts = split(node.right, offset - node.length);
+		parts[0] = node.with(node.left, parts[0]);
+		return parts;
+	}
+	Node left = new Node(node.buffer, node.start, offset, node.priority, node.left, null);
+	Node right = new Node(node.buffer, node.start + offset, node.length - offset, node.priority, null, node.right);
+	return new Node[] {left, right};
+}
+/**
+ * Validates the replace operation. The \r\n line delimiter must not
+ * be split or partially deleted.
+ *
+ * @param start start offset of text to replace
+ * @param replaceLength length of text to replace
+ */
+private void validateReplace(int start, int replaceLength) {
+	if (replaceLength == 0) {
+		// inserting text, see if the \r\n line delimiter is being split
+		if (isInsideCRLF(start)) {
+			String message = " [0: start=" + start + " len=" + replaceLength + "]";
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, message);
+		}
+	} else {
+		// deleting text, see if part of a \r\n line delimiter is being deleted
+		if (isInsideCRLF(start)) {
+			String message = " [1: start=" + start + " len=" + replaceLength + "]";
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, message);
+		}
+
+		if (isInsideCRLF(start + replaceLength)) {
+			String message = " [2: start=" + start + " len=" + replaceLength + "]";
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, message);
+		}
+	}
+}
+}
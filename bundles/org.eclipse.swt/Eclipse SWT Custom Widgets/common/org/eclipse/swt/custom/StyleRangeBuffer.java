@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+
+import java.util.*;
+
+/**
+ * Stores the style ranges of a <code>StyledTextRenderer</code>, sorted by
+ * offset.
+ * <p>
+ * The ranges are kept in a gap buffer. The gap follows the last change,
+ * so inserting or removing ranges only moves the ranges between the
+ * previous change and the current one. The starts of the ranges after
+ * the gap are relative to a common delta, so moving all of them when the
+ * text changes takes constant time. Typing near the beginning of a heavily
+ * styled document therefore no longer touches every range of the document.
+ * </p>
+ */
+class StyleRangeBuffer {
+	int[] starts, lengths;
+	StyleRange[] styles;
+	int gapStart, gapEnd;	// the unused part of the arrays
+	int delta;	// added to the start of every range after the gap
+
+	final static int GROW = 32;
+
+StyleRangeBuffer(int capacity) {
+	starts = new int[capacity];
+	lengths = new int[capacity];
+	styles = new StyleRange[capacity];
+	gapEnd = capacity;
+}
+/**
+ * Creates a buffer holding the given ranges. <code>ranges</code> holds
+ * the start and the length of every style.
+ */
+StyleRangeBuffer(int[] ranges, StyleRange[] styles) {
+	this(styles.length + GROW);
+	replace(0, 0, ranges, styles, styles.length);
+}
+/**
+ * Returns a copy of the receiver holding clones of its styles.
+ */
+StyleRangeBuffer copy() {
+	int count = size();
+	StyleRangeBuffer buffer = new StyleRangeBuffer(count);
+	for (int i = 0; i < count; i++) {
+		buffer.starts[i] = getStart(i);
+		buffer.lengths[i] = getLength(i);
+		buffer.styles[i] = (StyleRange)getStyle(i).clone();
+	}
+	buffer.gapStart = buffer.gapEnd = count;
+	return buffer;
+}
+int getEnd(int index) {
+	return getStart(index) + getLength(index);
+}
+int getLength(int index) {
+	return lengths[index < gapStart ? index : index + gapEnd - gapStart];
+}
+int getStart(int index) {
+	return index < gapStart ? starts[index] : starts[index + gapEnd - gapStart] + delta;
+}
+StyleRange getStyle(int index) {
+	return styles[index < gapStart ? index : index + gapEnd - gapStart];
+}
+void grow(int count) {
+	int size = size();
+	int length = size + count + Math.max(GROW, size >> 1);
+	int tail = starts.length - gapEnd;
+	int[] newStarts = new int[length];
+	int[] newLengths = new int[length];
+	StyleRange[] newStyles = new StyleRange[length];
+	System.arraycopy(starts, 0, newStarts, 0, gapStart);
+	System.arraycopy(lengths, 0, newLengths, 0, gapStart);
+	System.arraycopy(styles, 0, newStyles, 0, gapStart);
+	System.arraycopy(starts, gapEnd, newStarts, length - tail, tail);
+	System.arraycopy(lengths, gapEnd, newLengths, length - tail, tail);
+	System.arraycopy(styles, gapEnd, newStyles, length - tail, tail);
+	starts = newStarts;
+	lengths = newLengths;
+	styles = newStyles;
+	gapEnd = length - tail;
+}
+/**
+ * Returns the index, between <code>low</code> (exclusive) and <code>high</code>
+ * (inclusive), of the first range that ends after the offset.
+ */
+int indexOf(int offset, int low, int high) {
+	while (high - low > 1) {
+		int index = (high + low) >>> 1;
+		if (getEnd(index) > offset) {
+			high = index;
+		} else {
+			low = index;
+		}
+	}
+	return high;
+}
+void insert(int index, int start, int length, StyleRange style) {
+	moveGap(index);
+	if (gapStart == gapEnd) grow(1);
+	starts[gapStart] = start;
+	lengths[gapStart] = length;
+	styles[gapStart++] = style;
+}
+/**
+ * Moves the gap in front of the range at the given index.
+ */
+void moveGap(int index) {
+	if (index < gapStart) {
+		int count = gapStart - index, dest = gapEnd - count;
+		System.arraycopy(starts, index, starts, dest, count);
+		System.arraycopy(lengths, index, lengths, dest, count);
+		System.arraycopy(styles, index, styles, dest, count);
+		for (int i = dest; i < gapEnd; i++) {
+			starts[i] -= delta;
+		}
+		Arrays.fill(styles, index, Math.min(gapStart, dest), null);
+		gapStart = index;
+		gapEnd = dest;
+	} else if (index > gapStart) {
+		int count = index - gapStart;
+		System.arraycopy(starts, gapEnd, starts, gapStart, count);
+		System.arraycopy(lengths, gapEnd, lengths, gapStart, count);
+		System.arraycopy(styles, gapEnd, styles, gapStart, count);
+		for (int i = gapStart; i < index; i++) {
+			starts[i] += delta;
+		}
+		Arrays.fill(styles, Math.max(gapEnd, index), gapEnd + count, null);
+		gapStart = index;
+		gapEnd += count;
+	}
+	if (gapEnd == starts.length) delta = 0;
+}
+void remove(int index, int count) {
+	if (count == 0) return;
+	moveGap(index);
+	Arrays.fill(styles, gapEnd, gapEnd + count, null);
+	gapEnd += count;
+	if (gapEnd == starts.length) delta = 0;
+}
+/**
+ * Replaces <code>count</code> ranges at the given index with the first
+ * <code>newCount</code> ranges of <code>newRanges</code> and <code>newStyles</code>.
+ */
+void replace(int index, int count, int[] newRanges, StyleRange[] newStyles, int newCount) {
+	remove(index, count);
+	moveGap(index);
+	if (gapEnd - gapStart < newCount) grow(newCount);
+	for (int i = 0; i < newCount; i++) {
+		starts[gapStart] = newRanges[i << 1];
+		lengths[gapStart] = newRanges[(i << 1) + 1];
+		styles[gapStart++] = newStyles[i];
+	}
+}
+void set(int index, int start, int length) {
+	if (index < gapStart) {
+		starts[index] = start;
+		lengths[index] = length;
+	} else {
+		index += gapEnd - gapStart;
+		starts[index] = start - delta;
+		lengths[index] = length;
+	}
+}
+/**
+ * Moves the ranges starting with the one at the given index by <code>offset</code>.
+ */
+void shift(int index, int offset) {
+	if (index == size()) return;
+	moveGap(index);
+	delta += offset;
+}
+int size() {
+	return starts.length - (gapEnd - gapStart);
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -322,9 +322,8 @@ public class StyledText extends Canvas {
 				printerRenderer.setLineIndent(i, 1, indent * printerDPI.x / screenDPI.x);
 			}
 		}
-		StyleRange[] styles = printerRenderer.styles;
-		for (int i = 0; i < printerRenderer.styleCount; i++) {
-			StyleRange style = styles[i];
+		for (int i = 0; i < printerRenderer.getStyleCount(); i++) {
+			StyleRange style = printerRenderer.ranges.getStyle(i);
 			Font font = style.font;
 			if (style.font != null) {
 				Font printerFont = (Font)resources.get(font);
@@ -4265,16 +4264,9 @@ public int getLinePixel(int lineIndex) {
 	}
 	if (lineIndex == topIndex)
 		return topIndexY + topMargin;
-	int height = topIndexY;
-	if (lineIndex > topIndex) {
-		for (int i = topIndex; i < lineIndex; i++) {
-			height += renderer.getLineHeight(i);
-		}
-	} else {
-		for (int i = topIndex - 1; i >= lineIndex; i--) {
-			height -= renderer.getLineHeight(i);
-		}
-	}
+	int topIndex = this.topIndex, topIndexY = this.topIndexY;
+	renderer.measureLines(Math.min(topIndex, lineIndex), Math.max(topIndex, lineIndex));
+	int height = topIndexY + renderer.getLineY(lineIndex) - renderer.getLineY(topIndex);
 	return height + topMargin;
 }
 /**
@@ -4298,19 +4290,17 @@ public int getLineIndex(int y) {
 		return lineIndex;
 	}
 	if (y == topIndexY) return topIndex;
-	int line = topIndex;
-	if (y < topIndexY) {
-		while (y < topIndexY && line > 0) {
-			y += renderer.getLineHeight(--line);
-		}
-	} else {
-		int lineCount = content.getLineCount();
-		int lineHeight = renderer.getLineHeight(line);
-		while (y - lineHeight >= topIndexY && line < lineCount - 1) {
-			y -= lineHeight;
-			lineHeight = renderer.getLineHeight(++line);
-		}
-	}
+	int topIndex = this.topIndex, topIndexY = this.topIndexY;
+	int lineCount = content.getLineCount();
+	int line;
+	/*
+	* The heights of the lines between the top index and the line found
+	* must be exact. Measure the ones that are estimated and search again.
+	*/
+	do {
+		line = renderer.getLineIndexAtY(renderer.getLineY(topIndex) + y - topIndexY);
+		line = Math.max(0, Math.min(lineCount - 1, line));
+	} while (renderer.measureLines(Math.min(topIndex, line), Math.max(topIndex, line) + 1));
 	return line;
 }
 /**
@@ -6352,6 +6342,7 @@ void handleTextChanged(TextChangedEvent event) {
 		ime.setCompositionOffset(offset + lastTextChangeNewCharCount - lastTextChangeReplaceCharCount);
 	}
 	int firstLine = content.getLineAtOffset(lastTextChangeStart);
+	renderer.textChanged(firstLine, lastTextChangeNewLineCount);
 	resetCache(firstLine, 0);
 	if (!isFixedLineHeight() && topIndex > firstLine) {
 		topIndex = firstLine;
@@ -6923,7 +6914,7 @@ void initializeAccessible() {
 		public void getTextAttributes(AccessibleTextAttributeEvent e) {
 			StyledText st = StyledText.this;
 			int contentLength = st.getCharCount();
-			if (!isListening(ST.LineGetStyle) && st.renderer.styleCount == 0) {
+			if (!isListening(ST.LineGetStyle) && st.renderer.getStyleCount() == 0) {
 				e.start = 0;
 				e.end = contentLength;
 				e.textStyle = new TextStyle(st.getFont(), st.foreground, st.background);
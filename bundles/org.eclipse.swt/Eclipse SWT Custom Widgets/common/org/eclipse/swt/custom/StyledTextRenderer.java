@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,15 +45,17 @@ class StyledTextRenderer {
 
 	/* Line data */
 	int topIndex = -1;
-	TextLayout[] layouts;
+	TextLayoutCache layoutCache;
 	int lineCount;
 	LineSizeInfo[] lineSizes;
+	LineHeightTree heightTree;
 	LineInfo[] lines;
 	int maxWidth;
 	int maxWidthLineIndex;
 	float averageLineHeight;
 	int linesInAverageLineHeight;
 	boolean idleRunning;
+	int idleLine;
 
 	/* Bullet */
 	Bullet[] bullets;
@@ -61,9 +63,7 @@ class StyledTextRenderer {
 	int[] redrawLines;
 
 	/* Style data */
-	int[] ranges;
-	int styleCount;
-	StyleRange[] styles;
+	StyleRangeBuffer ranges;
 	StyleRange[] stylesSet;
 	int stylesSetCount = 0;
 	boolean hasLinks, fixedPitch;
@@ -75,6 +75,7 @@ class StyledTextRenderer {
 	final static int GROW = 32;
 	final static int IDLE_TIME = 50;
 	final static int CACHE_SIZE = 300;
+	final static int CACHE_MEMORY = 8 * 1024 * 1024;	// estimated memory of the cached layouts, see TextLayoutCache
 
 	final static int BACKGROUND = 1 << 0;
 	final static int ALIGNMENT = 1 << 1;
@@ -189,102 +190,47 @@ StyledTextRenderer(Device device, StyledText styledText) {
 	this.device = device;
 	this.styledText = styledText;
 }
+/**
+ * Replaces the ranges from <code>modifyStart</code> to <code>modifyEnd</code>
+ * (exclusive) with the merge ranges and returns the change in the number of
+ * ranges. Adjacent ranges with similar styles are merged into one range.
+ */
 int addMerge(int[] mergeRanges, StyleRange[] mergeStyles, int mergeCount, int modifyStart, int modifyEnd) {
-	int rangeCount = styleCount << 1;
-	StyleRange endStyle = null;
-	int endStart = 0, endLength = 0;
-	if (modifyEnd < rangeCount) {
-		endStyle = styles[modifyEnd >> 1];
-		endStart = ranges[modifyEnd];
-		endLength = ranges[modifyEnd + 1];
-	}
-	int grow = mergeCount - (modifyEnd - modifyStart);
-	if (rangeCount + grow >= ranges.length) {
-		int[] tmpRanges = new int[ranges.length + grow + (GROW << 1)];
-		System.arraycopy(ranges, 0, tmpRanges, 0, modifyStart);
-		StyleRange[] tmpStyles = new StyleRange[styles.length + (grow >> 1) + GROW];
-		System.arraycopy(styles, 0, tmpStyles, 0, modifyStart >> 1);
-		if (rangeCount > modifyEnd) {
-			System.arraycopy(ranges, modifyEnd, tmpRanges, modifyStart + mergeCount, rangeCount - modifyEnd);
-			System.arraycopy(styles, modifyEnd >> 1, tmpStyles, (modifyStart + mergeCount) >> 1, styleCount - (modifyEnd >> 1));
-		}
-		ranges = tmpRanges;
-		styles = tmpStyles;
-	} else {
-		if (rangeCount > modifyEnd) {
-			System.arraycopy(ranges, modifyEnd, ranges, modifyStart + mergeCount, rangeCount - modifyEnd);
-			System.arraycopy(styles, modifyEnd >> 1, styles, (modifyStart + mergeCount) >> 1, styleCount - (modifyEnd >> 1));
-		}
-	}
-	if (MERGE_STYLES) {
-		int j = modifyStart;
-		for (int i = 0; i < mergeCount; i += 2) {
-			if (j > 0 && ranges[j - 2] + ranges[j - 1] == mergeRanges[i] && mergeStyles[i >> 1].similarTo(styles[(j - 2) >> 1])) {
-				ranges[j - 1] += mergeRanges[i + 1];
-			} else {
-				styles[j >> 1] = mergeStyles[i >> 1];
-				ranges[j++] = mergeRanges[i];
-				ranges[j++] = mergeRanges[i + 1];
-			}
-		}
-		if (endStyle != null && ranges[j - 2] + ranges[j - 1] == endStart && endStyle.similarTo(styles[(j - 2) >> 1])) {
-			ranges[j - 1] += endLength;
-			modifyEnd += 2;
-			mergeCount += 2;
-		}
-		if (rangeCount > modifyEnd) {
-			System.arraycopy(ranges, modifyStart + mergeCount, ranges, j, rangeCount - modifyEnd);
-			System.arraycopy(styles, (modifyStart + mergeCount) >> 1, styles, j >> 1, styleCount - (modifyEnd >> 1));
-		}
-		grow = (j - modifyStart) - (modifyEnd - modifyStart);
-	} else {
-		System.arraycopy(mergeRanges, 0, ranges, modifyStart, mergeCount);
-		System.arraycopy(mergeStyles, 0, styles, modifyStart >> 1, mergeCount >> 1);
-	}
-	styleCount += grow >> 1;
-	return grow;
-}
-int addMerge(StyleRange[] mergeStyles, int mergeCount, int modifyStart, int modifyEnd) {
-	int grow = mergeCount - (modifyEnd - modifyStart);
-	StyleRange endStyle = null;
-	if (modifyEnd < styleCount) endStyle = styles[modifyEnd];
-	if (styleCount + grow >= styles.length) {
-		StyleRange[] tmpStyles = new StyleRange[styles.length + grow + GROW];
-		System.arraycopy(styles, 0, tmpStyles, 0, modifyStart);
-		if (styleCount > modifyEnd) {
-			System.arraycopy(styles, modifyEnd, tmpStyles, modifyStart + mergeCount, styleCount - modifyEnd);
-		}
-		styles = tmpStyles;
-	} else {
-		if (styleCount > modifyEnd) {
-			System.arraycopy(styles, modifyEnd, styles, modifyStart + mergeCount, styleCount - modifyEnd);
+	if (!MERGE_STYLES) {
+		ranges.replace(modifyStart, modifyEnd - modifyStart, mergeRanges, mergeStyles, mergeCount);
+		return mergeCount - (modifyEnd - modifyStart);
+	}
+	int[] newRanges = new int[(mergeCount + 1) << 1];
+	StyleRange[] newStyles = new StyleRange[mergeCount + 1];
+	int j = 0;
+	if (modifyStart > 0) {
+		int previous = modifyStart - 1;
+		if (ranges.getEnd(previous) == mergeRanges[0] && mergeStyles[0].similarTo(ranges.getStyle(previous))) {
+			newRanges[0] = ranges.getStart(previous);
+			newRanges[1] = ranges.getLength(previous);
+			newStyles[j++] = ranges.getStyle(previous);
+			modifyStart = previous;
+		}
+	}
+	for (int i = 0; i < mergeCount; i++) {
+		int start = mergeRanges[i << 1], length = mergeRanges[(i << 1) + 1];
+		if (j > 0 && newRanges[(j << 1) - 2] + newRanges[(j << 1) - 1] == start && mergeStyles[i].similarTo(newStyles[j - 1])) {
+			newRanges[(j << 1) - 1] += length;
+		} else {
+			newRanges[j << 1] = start;
+			newRanges[(j << 1) + 1] = length;
+			newStyles[j++] = mergeStyles[i];
 		}
 	}
-	if (MERGE_STYLES) {
-		int j = modifyStart;
-		for (int i = 0; i < mergeCount; i++) {
-			StyleRange newStyle = mergeStyles[i], style;
-			if (j > 0 && (style = styles[j - 1]).start + style.length == newStyle.start && newStyle.similarTo(style)) {
-				style.length += newStyle.length;
-			} else {
-				styles[j++] = newStyle;
-			}
-		}
-		StyleRange style = styles[j - 1];
-		if (endStyle != null && style.start + style.length == endStyle.start && endStyle.similarTo(style)) {
-			style.length += endStyle.length;
+	if (modifyEnd < ranges.size()) {
+		int last = j - 1;
+		if (newRanges[last << 1] + newRanges[(last << 1) + 1] == ranges.getStart(modifyEnd) && ranges.getStyle(modifyEnd).similarTo(newStyles[last])) {
+			newRanges[(last << 1) + 1] += ranges.getLength(modifyEnd);
 			modifyEnd++;
-			mergeCount++;
 		}
-		if (styleCount > modifyEnd) {
-			System.arraycopy(styles, modifyStart + mergeCount, styles, j, styleCount - modifyEnd);
-		}
-		grow = (j - modifyStart) - (modifyEnd - modifyStart);
-	} else {
-		System.arraycopy(mergeStyles, 0, styles, modifyStart, mergeCount);
 	}
-	styleCount += grow;
-	return grow;
+	ranges.replace(modifyStart, modifyEnd - modifyStart, newRanges, newStyles, j);
+	return j - (modifyEnd - modifyStart);
 }
 void calculate(int startLine, int lineCount) {
 	int endLine = startLine + lineCount;
@@ -299,6 +245,7 @@ void calculate(int startLine, int lineCount) {
 			Rectangle rect = layout.getBounds();
 			line.width = rect.width + hTrim;
 			line.height = rect.height;
+			updateLineHeight(i);
 			averageLineHeight += (line.height - Math.round(averageLineHeight)) / ++linesInAverageLineHeight;
 			disposeTextLayout(layout);
 		}
@@ -335,16 +282,16 @@ void calculateIdle () {
 		@Override
 		public void run() {
 			if (styledText == null) return;
-			int i;
 			long start = System.currentTimeMillis();
-			for (i = 0; i < lineCount; i++) {
-				LineSizeInfo line = getLineSize(i);
+			while (idleLine < lineCount) {
+				LineSizeInfo line = getLineSize(idleLine);
 				if (line.needsRecalculateSize()) {
-					calculate(i, 1);
+					calculate(idleLine, 1);
 					if (System.currentTimeMillis() - start > IDLE_TIME) break;
 				}
+				idleLine++;
 			}
-			if (i < lineCount) {
+			if (idleLine < lineCount) {
 				Display display = styledText.getDisplay();
 				display.asyncExec(this);
 			} else {
@@ -384,15 +331,7 @@ void clearLineStyle(int startLine, int count) {
 }
 void copyInto(StyledTextRenderer renderer) {
 	if (ranges != null) {
-		int[] newRanges = renderer.ranges = new int[styleCount << 1];
-		System.arraycopy(ranges, 0, newRanges, 0, newRanges.length);
-	}
-	if (styles != null) {
-		StyleRange[] newStyles = renderer.styles = new StyleRange[styleCount];
-		for (int i = 0; i < newStyles.length; i++) {
-			newStyles[i] = (StyleRange)styles[i].clone();
-		}
-		renderer.styleCount = styleCount;
+		renderer.ranges = ranges.copy();
 	}
 	if (lines != null) {
 		LineInfo[] newLines = renderer.lines = new LineInfo[lineCount];
@@ -413,12 +352,11 @@ void dispose() {
 	styledText = null;
 }
 void disposeTextLayout (TextLayout layout) {
-	if (layouts != null) {
-		for (TextLayout l : layouts) {
-			if (l == layout) return;
-		}
+	if (layoutCache == null) {
+		layout.dispose();
+	} else {
+		layoutCache.release(layout);
 	}
-	layout.dispose();
 }
 void drawBullet(Bullet bullet, GC gc, int paintX, int paintY, int index, int lineAscent, int lineDescent) {
 	StyleRange style = bullet.style;
@@ -572,27 +510,38 @@ FontData[] getFontData(int style) {
 	}
 	return fontDatas;
 }
-int getHeight () {
-	int defaultLineHeight = getLineHeight();
-	if (styledText.isFixedLineHeight()) {
-		return lineCount * defaultLineHeight + styledText.topMargin + styledText.bottomMargin;
-	}
-	int totalHeight = 0;
+/**
+ * Returns the tree of the line heights, building it when the lines have
+ * changed as a whole. The values used to estimate the heights are only
+ * stored in the tree, which does not depend on them.
+ */
+LineHeightTree getHeightTree() {
 	int width = styledText.getWrapWidth();
-	for (int i = 0; i < lineCount; i++) {
-		LineSizeInfo line = getLineSize(i);
-		int height = line.height;
-		if (line.needsRecalculateHeight()) {
-			if (width > 0) {
-				int length = content.getLine(i).length();
-				height = ((length * averageCharWidth / width) + 1) * defaultLineHeight;
+	int lineHeight = getLineHeight();
+	LineHeightTree tree = heightTree;
+	if (tree == null || tree.count != lineCount) {
+		tree = heightTree = new LineHeightTree(lineCount, width, lineHeight, averageCharWidth);
+		for (int i = 0; i < lineCount; i++) {
+			LineSizeInfo line = lineSizes[i];
+			int length = content.getLine(i).length();
+			if (line != null && !line.needsRecalculateHeight()) {
+				tree.init(i, length, line.height, false);
 			} else {
-				height = defaultLineHeight;
+				tree.init(i, length, 0, true);
 			}
 		}
-		totalHeight += height;
+		tree.build();
+	} else {
+		tree.setEstimate(width, lineHeight, averageCharWidth);
 	}
-	return totalHeight + styledText.topMargin + styledText.bottomMargin;
+	return tree;
+}
+int getHeight () {
+	int defaultLineHeight = getLineHeight();
+	if (styledText.isFixedLineHeight()) {
+		return lineCount * defaultLineHeight + styledText.topMargin + styledText.bottomMargin;
+	}
+	return getHeightTree().getY(lineCount) + styledText.topMargin + styledText.bottomMargin;
 }
 boolean hasLink(int offset) {
 	if (offset == -1) return false;
@@ -620,12 +569,12 @@ boolean hasLink(int offset) {
 		}
 	}  else {
 		if (ranges != null) {
-			int rangeCount = styleCount << 1;
+			int rangeCount = ranges.size();
 			int index = getRangeIndex(offset, -1, rangeCount);
 			if (index >= rangeCount) return false;
-			int rangeStart = ranges[index];
-			int rangeLength = ranges[index + 1];
-			StyleRange rangeStyle = styles[index >> 1];
+			int rangeStart = ranges.getStart(index);
+			int rangeLength = ranges.getLength(index);
+			StyleRange rangeStyle = ranges.getStyle(index);
 			if (rangeStart <= offset && offset < rangeStart + rangeLength && rangeStyle.underline && rangeStyle.underlineStyle == SWT.UNDERLINE_LINK) {
 				return true;
 			}
@@ -660,6 +609,21 @@ Bullet getLineBullet (int index, Bullet defaultBullet) {
 int getLineHeight() {
 	return ascent + descent;
 }
+/**
+ * Returns the sum of the heights of the lines before the given line. The
+ * heights of the lines that are not measured are estimated, see <code>measureLines</code>.
+ */
+int getLineY(int lineIndex) {
+	return getHeightTree().getY(lineIndex);
+}
+/**
+ * Returns the largest line index whose y is less than or equal to the given y.
+ *
+ * @see #getLineY(int)
+ */
+int getLineIndexAtY(int y) {
+	return getHeightTree().indexOf(y);
+}
 int getLineHeight(int lineIndex) {
 	return getLineHeight(lineIndex, true);
 }
@@ -676,6 +640,7 @@ int getLineHeight(int lineIndex, boolean exact) {
 			}
 		} else {
 			line.height = getLineHeight() + getLineSpacing(lineIndex) + getLineVerticalIndent(lineIndex);
+			updateLineHeight(lineIndex);
 		}
 	}
 	return line.height;
@@ -781,55 +746,22 @@ StyledTextLineSpacingProvider getLineSpacingProvider() {
 	return lineSpacingProvider;
 }
 int getRangeIndex(int offset, int low, int high) {
-	if (styleCount == 0) return 0;
-	if (ranges != null)  {
-		while (high - low > 2) {
-			int index = ((high + low) / 2) / 2 * 2;
-			int end = ranges[index] + ranges[index + 1];
-			if (end > offset) {
-				high = index;
-			} else {
-				low = index;
-			}
-		}
-	} else {
-		while (high - low > 1) {
-			int index = ((high + low) / 2);
-			int end = styles[index].start + styles[index].length;
-			if (end > offset) {
-				high = index;
-			} else {
-				low = index;
-			}
-		}
-	}
-	return high;
+	if (ranges == null) return 0;
+	return ranges.indexOf(offset, low, high);
 }
 int[] getRanges(int start, int length) {
-	if (length == 0) return null;
-	int[] newRanges;
+	if (length == 0 || ranges == null) return null;
 	int end = start + length - 1;
-	if (ranges != null) {
-		int rangeCount = styleCount << 1;
-		int rangeStart = getRangeIndex(start, -1, rangeCount);
-		if (rangeStart >= rangeCount) return null;
-		if (ranges[rangeStart] > end) return null;
-		int rangeEnd = Math.min(rangeCount - 2, getRangeIndex(end, rangeStart - 1, rangeCount));
-		if (ranges[rangeEnd] > end) rangeEnd = Math.max(rangeStart, rangeEnd - 2);
-		newRanges = new int[rangeEnd - rangeStart + 2];
-		System.arraycopy(ranges, rangeStart, newRanges, 0, newRanges.length);
-	} else {
-		int rangeStart = getRangeIndex(start, -1, styleCount);
-		if (rangeStart >= styleCount) return null;
-		if (styles[rangeStart].start > end) return null;
-		int rangeEnd = Math.min(styleCount - 1, getRangeIndex(end, rangeStart - 1, styleCount));
-		if (styles[rangeEnd].start > end) rangeEnd = Math.max(rangeStart, rangeEnd - 1);
-		newRanges = new int[(rangeEnd - rangeStart + 1) << 1];
-		for (int i = rangeStart, j = 0; i <= rangeEnd; i++, j += 2) {
-			StyleRange style = styles[i];
-			newRanges[j] = style.start;
-			newRanges[j + 1] = style.length;
-		}
+	int rangeCount = ranges.size();
+	int rangeStart = getRangeIndex(start, -1, rangeCount);
+	if (rangeStart >= rangeCount) return null;
+	if (ranges.getStart(rangeStart) > end) return null;
+	int rangeEnd = Math.min(rangeCount - 1, getRangeIndex(end, rangeStart - 1, rangeCount));
+	if (ranges.getStart(rangeEnd) > end) rangeEnd = Math.max(rangeStart, rangeEnd - 1);
+	int[] newRanges = new int[(rangeEnd - rangeStart + 1) << 1];
+	for (int i = rangeStart, j = 0; i <= rangeEnd; i++, j += 2) {
+		newRanges[j] = ranges.getStart(i);
+		newRanges[j + 1] = ranges.getLength(i);
 	}
 	if (start > newRanges[0]) {
 		newRanges[1] = newRanges[0] + newRanges[1] - start;
@@ -840,37 +772,28 @@ int[] getRanges(int start, int length) {
 	}
 	return newRanges;
 }
+int getStyleCount() {
+	return ranges != null ? ranges.size() : 0;
+}
 StyleRange[] getStyleRanges(int start, int length, boolean includeRanges) {
-	if (length == 0) return null;
-	StyleRange[] newStyles;
+	if (length == 0 || ranges == null) return null;
 	int end = start + length - 1;
-	if (ranges != null) {
-		int rangeCount = styleCount << 1;
-		int rangeStart = getRangeIndex(start, -1, rangeCount);
-		if (rangeStart >= rangeCount) return null;
-		if (ranges[rangeStart] > end) return null;
-		int rangeEnd = Math.min(rangeCount - 2, getRangeIndex(end, rangeStart - 1, rangeCount));
-		if (ranges[rangeEnd] > end) rangeEnd = Math.max(rangeStart, rangeEnd - 2);
-		newStyles = new StyleRange[((rangeEnd - rangeStart) >> 1) + 1];
+	int rangeCount = ranges.size();
+	int rangeStart = getRangeIndex(start, -1, rangeCount);
+	if (rangeStart >= rangeCount) return null;
+	if (ranges.getStart(rangeStart) > end) return null;
+	int rangeEnd = Math.min(rangeCount - 1, getRangeIndex(end, rangeStart - 1, rangeCount));
+	if (ranges.getStart(rangeEnd) > end) rangeEnd = Math.max(rangeStart, rangeEnd - 1);
+	StyleRange[] newStyles = new StyleRange[rangeEnd - rangeStart + 1];
+	for (int i = rangeStart, j = 0; i <= rangeEnd; i++, j++) {
+		newStyles[j] = ranges.getStyle(i);
 		if (includeRanges) {
-			for (int i = rangeStart, j = 0; i <= rangeEnd; i += 2, j++) {
-				newStyles[j] = (StyleRange)styles[i >> 1].clone();
-				newStyles[j].start = ranges[i];
-				newStyles[j].length = ranges[i + 1];
-			}
-		} else {
-			System.arraycopy(styles, rangeStart >> 1, newStyles, 0, newStyles.length);
+			newStyles[j] = (StyleRange)newStyles[j].clone();
+			newStyles[j].start = ranges.getStart(i);
+			newStyles[j].length = ranges.getLength(i);
 		}
-	} else {
-		int rangeStart = getRangeIndex(start, -1, styleCount);
-		if (rangeStart >= styleCount) return null;
-		if (styles[rangeStart].start > end) return null;
-		int rangeEnd = Math.min(styleCount - 1, getRangeIndex(end, rangeStart - 1, styleCount));
-		if (styles[rangeEnd].start > end) rangeEnd = Math.max(rangeStart, rangeEnd - 1);
-		newStyles = new StyleRange[rangeEnd - rangeStart + 1];
-		System.arraycopy(styles, rangeStart, newStyles, 0, newStyles.length);
-	}
-	if (includeRanges || ranges == null) {
+	}
+	if (includeRanges) {
 		StyleRange style = newStyles[0];
 		if (start > style.start) {
 			newStyles[0] = style = (StyleRange)style.clone();
@@ -932,15 +855,11 @@ TextLayout getTextLayout(int lineIndex) {
 	return layout;
 }
 boolean isSameLineSpacing(int lineIndex, int newLineSpacing) {
-	if (layouts == null) {
+	if (layoutCache == null) {
 		return false;
 	}
-	int layoutIndex = lineIndex - topIndex;
-	if (0 <= layoutIndex && layoutIndex < layouts.length) {
-		TextLayout layout = layouts[layoutIndex];
-		return layout != null && !layout.isDisposed() && layout.getSpacing() == newLineSpacing;
-	}
-	return false;
+	TextLayout layout = layoutCache.peek(lineIndex);
+	return layout != null && !layout.isDisposed() && layout.getSpacing() == newLineSpacing;
 }
 
 private static final class StyleEntry {
@@ -957,22 +876,11 @@ private static final class StyleEntry {
 
 TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpacing) {
 	TextLayout layout = null;
+	boolean cacheLayout = false;
 	if (styledText != null) {
 		int topIndex = styledText.topIndex > 0 ? styledText.topIndex - 1 : 0;
-		if (layouts == null || topIndex != this.topIndex) {
-			TextLayout[] newLayouts = new TextLayout[CACHE_SIZE];
-			if (layouts != null) {
-				for (int i = 0; i < layouts.length; i++) {
-					if (layouts[i] != null) {
-						int layoutIndex = (i + this.topIndex) - topIndex;
-						if (0 <= layoutIndex && layoutIndex < newLayouts.length) {
-							newLayouts[layoutIndex] = layouts[i];
-						} else {
-							layouts[i].dispose();
-						}
-					}
-				}
-			}
+		if (layoutCache == null) layoutCache = new TextLayoutCache(device, CACHE_SIZE, CACHE_MEMORY);
+		if (topIndex != this.topIndex) {
 			if (bullets != null && bulletsIndices != null && topIndex != this.topIndex) {
 				int delta = topIndex - this.topIndex;
 				if (delta > 0) {
@@ -992,21 +900,22 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 				}
 			}
 			this.topIndex = topIndex;
-			layouts = newLayouts;
 		}
-		if (layouts != null) {
-			int layoutIndex = lineIndex - topIndex;
-			if (0 <= layoutIndex && layoutIndex < layouts.length) {
-				layout = layouts[layoutIndex];
-				if (layout != null) {
-					// Bug 520374: lineIndex can be >= linesSize.length
-					if(lineIndex < lineSizes.length && getLineSize(lineIndex).canLayout()) {
-						return layout;
-					}
-				} else {
-					layout = layouts[layoutIndex] = new TextLayout(device);
-				}
+		layout = layoutCache.get(lineIndex);
+		if (layout != null) {
+			// Bug 520374: lineIndex can be >= linesSize.length
+			if(lineIndex < lineSizes.length && getLineSize(lineIndex).canLayout()) {
+				return layout;
 			}
+			cacheLayout = true;
+		} else {
+			/*
+			* Only cache the layouts of the lines around the visible lines, so that
+			* computing the size of the whole text does not flush the cache.
+			*/
+			int layoutIndex = lineIndex - topIndex;
+			cacheLayout = 0 <= layoutIndex && layoutIndex < CACHE_SIZE;
+			layout = layoutCache.create();
 		}
 	}
 	if (layout == null) layout = new TextLayout(device);
@@ -1102,14 +1011,9 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 				}
 			}
 		}
-		ranges = this.ranges;
-		styles = this.styles;
-		styleCount = this.styleCount;
-		if (ranges != null) {
-			rangeStart = getRangeIndex(lineOffset, -1, styleCount << 1);
-		} else {
-			rangeStart = getRangeIndex(lineOffset, -1, styleCount);
-		}
+		ranges = getRanges(lineOffset, line.length());
+		styles = getStyleRanges(lineOffset, line.length(), false);
+		if (styles != null) styleCount = styles.length;
 	}
 	if (bullet != null) {
 		StyleRange style = bullet.style;
@@ -1185,6 +1089,7 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 	layout.setAscent(ascent);
 	layout.setDescent(descent);
 	layout.setText(line);
+	if (cacheLayout) layoutCache.put(lineIndex, layout, line.length());
 	layout.setOrientation(orientation);
 	layout.setSegments(segments);
 	layout.setSegmentsChars(segmentChars);
@@ -1271,9 +1176,9 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 			FontMetrics metrics = layout.getLineMetrics(index);
 			ascent = metrics.getAscent() + metrics.getLeading();
 			descent = metrics.getDescent();
-			if (layouts != null) {
-				for (TextLayout l : layouts) {
-					if (l != null && l != layout) {
+			if (layoutCache != null) {
+				for (TextLayout l : layoutCache.layouts()) {
+					if (l != layout) {
 						l.setAscent(ascent);
 						l.setDescent(descent);
 					}
@@ -1303,20 +1208,34 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 int getWidth() {
 	return maxWidth;
 }
+/**
+ * Measures the lines in the given range whose height is not known yet.
+ *
+ * @return true if a line was measured
+ */
+boolean measureLines(int startLine, int endLine) {
+	boolean measured = false;
+	int i = getHeightTree().nextEstimated(startLine);
+	while (i < endLine) {
+		getLineHeight(i);
+		measured = true;
+		i = getHeightTree().nextEstimated(i + 1);
+	}
+	return measured;
+}
 void reset() {
-	if (layouts != null) {
-		for (TextLayout layout : layouts) {
-			if (layout != null) layout.dispose();
-		}
-		layouts = null;
+	if (layoutCache != null) {
+		layoutCache.dispose();
+		layoutCache = null;
 	}
 	topIndex = -1;
-	stylesSetCount = styleCount = lineCount = 0;
+	stylesSetCount = lineCount = 0;
 	ranges = null;
-	styles = null;
 	stylesSet = null;
 	lines = null;
 	lineSizes = null;
+	heightTree = null;
+	idleLine = 0;
 	bullets = null;
 	bulletsIndices = null;
 	redrawLines = null;
@@ -1338,6 +1257,8 @@ void reset(Set<Integer> lines) {
 		if (line >= 0 || line < lineCount) {
 			resetLineCount++;
 			getLineSize(line.intValue()).resetSize();
+			updateLineHeight(line.intValue());
+			idleLine = Math.min(idleLine, line.intValue());
 		}
 	}
 	if (linesInAverageLineHeight > resetLineCount) {
@@ -1481,6 +1402,7 @@ void setLineVerticalIndent(int lineIndex, int verticalLineIndent) {
 	LineSizeInfo info = getLineSize(lineIndex);
 	if (!info.needsRecalculateHeight()) {
 		info.height += delta;
+		updateLineHeight(lineIndex);
 	}
 }
 void setLineWrapIndent(int startLine, int count, int wrapIndent) {
@@ -1538,21 +1460,24 @@ void setLineSpacingProvider(StyledTextLineSpacingProvider lineSpacingProvider) {
 }
 void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 	if (newStyles == null) {
-		stylesSetCount = styleCount = 0;
+		stylesSetCount = 0;
 		ranges = null;
-		styles = null;
 		stylesSet = null;
 		hasLinks = false;
 		return;
 	}
-	if (newRanges == null && COMPACT_STYLES) {
+	if (newRanges == null) {
 		newRanges = new int[newStyles.length << 1];
 		StyleRange[] tmpStyles = new StyleRange[newStyles.length];
-		if (stylesSet == null) stylesSet = new StyleRange[4];
+		if (COMPACT_STYLES && stylesSet == null) stylesSet = new StyleRange[4];
 		for (int i = 0, j = 0; i < newStyles.length; i++) {
 			StyleRange newStyle = newStyles[i];
 			newRanges[j++] = newStyle.start;
 			newRanges[j++] = newStyle.length;
+			if (!COMPACT_STYLES) {
+				tmpStyles[i] = newStyle;
+				continue;
+			}
 			int index = 0;
 			while (index < stylesSetCount) {
 				if (stylesSet[index].similarTo(newStyle)) break;
@@ -1571,122 +1496,68 @@ void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 		newStyles = tmpStyles;
 	}
 
-	if (styleCount == 0) {
-		if (newRanges != null) {
-			ranges = new int[newRanges.length];
-			System.arraycopy(newRanges, 0, ranges, 0, ranges.length);
-		}
-		styles = new StyleRange[newStyles.length];
-		System.arraycopy(newStyles, 0, styles, 0, styles.length);
-		styleCount = newStyles.length;
+	if (ranges == null || ranges.size() == 0) {
+		ranges = new StyleRangeBuffer(newRanges, newStyles);
 		return;
 	}
-	if (newRanges != null && ranges == null) {
-		ranges = new int[styles.length << 1];
-		for (int i = 0, j = 0; i < styleCount; i++) {
-			ranges[j++] = styles[i].start;
-			ranges[j++] = styles[i].length;
-		}
+	int rangeCount = ranges.size();
+	int start = newRanges[0];
+	int modifyStart = getRangeIndex(start, -1, rangeCount), modifyEnd;
+	boolean insert = modifyStart == rangeCount;
+	if (!insert) {
+		int end = newRanges[newRanges.length - 2] + newRanges[newRanges.length - 1];
+		modifyEnd = getRangeIndex(end, modifyStart - 1, rangeCount);
+		insert = modifyStart == modifyEnd && ranges.getStart(modifyStart) >= end;
+	}
+	if (insert) {
+		addMerge(newRanges, newStyles, newStyles.length, modifyStart, modifyStart);
+		return;
 	}
-	if (newRanges == null && ranges != null) {
-		newRanges = new int[newStyles.length << 1];
-		for (int i = 0, j = 0; i < newStyles.length; i++) {
-			newRanges[j++] = newStyles[i].start;
-			newRanges[j++] = newStyles[i].length;
+	modifyEnd = modifyStart;
+	int[] mergeRanges = new int[6];
+	StyleRange[] mergeStyles = new StyleRange[3];
+	for (int i = 0; i < newRanges.length; i += 2) {
+		int newStart = newRanges[i];
+		int newEnd = newStart + newRanges[i + 1];
+		if (newStart == newEnd) continue;
+		int modifyLast = 0, mergeCount = 0;
+		while (modifyEnd < rangeCount) {
+			if (newStart >= ranges.getEnd(modifyStart)) modifyStart++;
+			if (ranges.getEnd(modifyEnd) > newEnd) break;
+			modifyEnd++;
 		}
-	}
-	if (ranges != null) {
-		int rangeCount = styleCount << 1;
-		int start = newRanges[0];
-		int modifyStart = getRangeIndex(start, -1, rangeCount), modifyEnd;
-		boolean insert = modifyStart == rangeCount;
-		if (!insert) {
-			int end = newRanges[newRanges.length - 2] + newRanges[newRanges.length - 1];
-			modifyEnd = getRangeIndex(end, modifyStart - 1, rangeCount);
-			insert = modifyStart == modifyEnd && ranges[modifyStart] >= end;
-		}
-		if (insert) {
-			addMerge(newRanges, newStyles, newRanges.length, modifyStart, modifyStart);
-			return;
-		}
-		modifyEnd = modifyStart;
-		int[] mergeRanges = new int[6];
-		StyleRange[] mergeStyles = new StyleRange[3];
-		for (int i = 0; i < newRanges.length; i += 2) {
-			int newStart = newRanges[i];
-			int newEnd = newStart + newRanges[i + 1];
-			if (newStart == newEnd) continue;
-			int modifyLast = 0, mergeCount = 0;
-			while (modifyEnd < rangeCount) {
-				if (newStart >= ranges[modifyStart] + ranges[modifyStart + 1]) modifyStart += 2;
-				if (ranges[modifyEnd] + ranges[modifyEnd + 1] > newEnd) break;
-				modifyEnd += 2;
-			}
-			if (ranges[modifyStart] < newStart && newStart < ranges[modifyStart] + ranges[modifyStart + 1]) {
-				mergeStyles[mergeCount >> 1] = styles[modifyStart >> 1];
-				mergeRanges[mergeCount] = ranges[modifyStart];
-				mergeRanges[mergeCount + 1] = newStart - ranges[modifyStart];
-				mergeCount += 2;
-			}
-			mergeStyles[mergeCount >> 1] = newStyles[i >> 1];
-			mergeRanges[mergeCount] = newStart;
-			mergeRanges[mergeCount + 1] = newRanges[i + 1];
-			mergeCount += 2;
-			if (modifyEnd < rangeCount && ranges[modifyEnd] < newEnd && newEnd < ranges[modifyEnd] + ranges[modifyEnd + 1]) {
-				mergeStyles[mergeCount >> 1] = styles[modifyEnd >> 1];
-				mergeRanges[mergeCount] = newEnd;
-				mergeRanges[mergeCount + 1] = ranges[modifyEnd] + ranges[modifyEnd + 1] - newEnd;
-				mergeCount += 2;
-				modifyLast = 2;
-			}
-			int grow = addMerge(mergeRanges, mergeStyles, mergeCount, modifyStart, modifyEnd + modifyLast);
-			rangeCount += grow;
-			modifyStart = modifyEnd += grow;
+		if (modifyStart < rangeCount && ranges.getStart(modifyStart) < newStart && newStart < ranges.getEnd(modifyStart)) {
+			mergeStyles[mergeCount] = ranges.getStyle(modifyStart);
+			mergeRanges[mergeCount << 1] = ranges.getStart(modifyStart);
+			mergeRanges[(mergeCount << 1) + 1] = newStart - ranges.getStart(modifyStart);
+			mergeCount++;
 		}
-	} else {
-		int start = newStyles[0].start;
-		int modifyStart = getRangeIndex(start, -1, styleCount), modifyEnd;
-		boolean insert = modifyStart == styleCount;
-		if (!insert) {
-			int end = newStyles[newStyles.length - 1].start + newStyles[newStyles.length - 1].length;
-			modifyEnd = getRangeIndex(end, modifyStart - 1, styleCount);
-			insert = modifyStart == modifyEnd && styles[modifyStart].start >= end;
-		}
-		if (insert) {
-			addMerge(newStyles, newStyles.length, modifyStart, modifyStart);
-			return;
-		}
-		modifyEnd = modifyStart;
-		StyleRange[] mergeStyles = new StyleRange[3];
-		for (StyleRange newStyle : newStyles) {
-			StyleRange style;
-			int newStart = newStyle.start;
-			int newEnd = newStart + newStyle.length;
-			if (newStart == newEnd) continue;
-			int modifyLast = 0, mergeCount = 0;
-			while (modifyEnd < styleCount) {
-				if (newStart >= styles[modifyStart].start + styles[modifyStart].length) modifyStart++;
-				if (styles[modifyEnd].start + styles[modifyEnd].length > newEnd) break;
-				modifyEnd++;
-			}
-			style = styles[modifyStart];
-			if (style.start < newStart && newStart < style.start + style.length) {
-				style = mergeStyles[mergeCount++] = (StyleRange)style.clone();
-				style.length = newStart - style.start;
-			}
-			mergeStyles[mergeCount++] = newStyle;
-			if (modifyEnd < styleCount) {
-				style = styles[modifyEnd];
-				if (style.start < newEnd && newEnd < style.start + style.length) {
-					style = mergeStyles[mergeCount++] = (StyleRange)style.clone();
-					style.length += style.start - newEnd;
-					style.start = newEnd;
-					modifyLast = 1;
-				}
-			}
-			int grow = addMerge(mergeStyles, mergeCount, modifyStart, modifyEnd + modifyLast);
-			modifyStart = modifyEnd += grow;
+		mergeStyles[mergeCount] = newStyles[i >> 1];
+		mergeRanges[mergeCount << 1] = newStart;
+		mergeRanges[(mergeCount << 1) + 1] = newRanges[i + 1];
+		mergeCount++;
+		if (modifyEnd < rangeCount && ranges.getStart(modifyEnd) < newEnd && newEnd < ranges.getEnd(modifyEnd)) {
+			mergeStyles[mergeCount] = ranges.getStyle(modifyEnd);
+			mergeRanges[mergeCount << 1] = newEnd;
+			mergeRanges[(mergeCount << 1) + 1] = ranges.getEnd(modifyEnd) - newEnd;
+			mergeCount++;
+			modifyLast = 1;
 		}
+		int grow = addMerge(mergeRanges, mergeStyles, mergeCount, modifyStart, modifyEnd + modifyLast);
+		rangeCount += grow;
+		modifyStart = modifyEnd += grow;
+	}
+}
+/**
+ * Estimates the heights of the lines of the last change again, now that
+ * the content has changed.
+ */
+void textChanged(int startLine, int newLineCount) {
+	LineHeightTree tree = heightTree;
+	if (tree == null) return;
+	for (int i = startLine; i <= startLine + newLineCount && i < tree.count; i++) {
+		tree.setLength(i, content.getLine(i).length());
+		updateLineHeight(i);
 	}
 }
 void textChanging(TextChangingEvent event) {
@@ -1701,6 +1572,7 @@ void textChanging(TextChangingEvent event) {
 	if (replaceLineCount == lineCount) {
 		lineCount = newLineCount;
 		lineSizes = new LineSizeInfo[lineCount];
+		heightTree = null;
 		reset(0, lineCount);
 	} else {
 		int startIndex = startLine + replaceLineCount + 1;
@@ -1731,52 +1603,46 @@ void textChanging(TextChangingEvent event) {
 		for (int i = lineCount + delta; i < lineCount; i++) {
 			lineSizes[i] = null;
 		}
-		if (layouts != null) {
-			int layoutStartLine = startLine - topIndex;
-			int layoutEndLine = layoutStartLine + replaceLineCount + 1;
-			for (int i = layoutStartLine; i < layoutEndLine; i++) {
-				if (0 <= i && i < layouts.length) {
-					if (layouts[i] != null) layouts[i].dispose();
-					layouts[i] = null;
-					if (bullets != null && bulletsIndices != null) bullets[i] = null;
-				}
+		/*
+		* The content has not changed yet, so the lengths of the lines of
+		* the change are set in textChanged.
+		*/
+		LineHeightTree tree = heightTree;
+		if (tree != null && tree.count == lineCount) {
+			tree.replace(startLine, replaceLineCount + 1, newLineCount + 1);
+		} else {
+			heightTree = null;
+		}
+		idleLine = Math.min(idleLine, startLine);
+		if (layoutCache != null) {
+			layoutCache.textChanged(startLine, replaceLineCount, delta);
+		}
+		if (bullets != null && bulletsIndices != null) {
+			int bulletStartLine = startLine - topIndex;
+			int bulletEndLine = bulletStartLine + replaceLineCount + 1;
+			for (int i = bulletStartLine; i < bulletEndLine; i++) {
+				if (0 <= i && i < bullets.length) bullets[i] = null;
 			}
 			if (delta > 0) {
-				for (int i = layouts.length - 1; i >= layoutEndLine; i--) {
-					if (0 <= i && i < layouts.length) {
+				for (int i = bullets.length - 1; i >= bulletEndLine; i--) {
+					if (0 <= i && i < bullets.length) {
 						endIndex = i + delta;
-						if (0 <= endIndex && endIndex < layouts.length) {
-							layouts[endIndex] = layouts[i];
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) {
-								bullets[endIndex] = bullets[i];
-								bulletsIndices[endIndex] = bulletsIndices[i];
-								bullets[i] = null;
-							}
-						} else {
-							if (layouts[i] != null) layouts[i].dispose();
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) bullets[i] = null;
+						if (0 <= endIndex && endIndex < bullets.length) {
+							bullets[endIndex] = bullets[i];
+							bulletsIndices[endIndex] = bulletsIndices[i];
 						}
+						bullets[i] = null;
 					}
 				}
 			} else if (delta < 0) {
-				for (int i = layoutEndLine; i < layouts.length; i++) {
-					if (0 <= i && i < layouts.length) {
+				for (int i = bulletEndLine; i < bullets.length; i++) {
+					if (0 <= i && i < bullets.length) {
 						endIndex = i + delta;
-						if (0 <= endIndex && endIndex < layouts.length) {
-							layouts[endIndex] = layouts[i];
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) {
-								bullets[endIndex] = bullets[i];
-								bulletsIndices[endIndex] = bulletsIndices[i];
-								bullets[i] = null;
-							}
-						} else {
-							if (layouts[i] != null) layouts[i].dispose();
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) bullets[i] = null;
+						if (0 <= endIndex && endIndex < bullets.length) {
+							bullets[endIndex] = bullets[i];
+							bulletsIndices[endIndex] = bulletsIndices[i];
 						}
+						bullets[i] = null;
 					}
 				}
 			}
@@ -1844,107 +1710,45 @@ void updateBullets(int startLine, int replaceLineCount, int newLineCount, boolea
 		}
 	}
 }
+void updateLineHeight(int lineIndex) {
+	LineHeightTree tree = heightTree;
+	if (tree == null || lineIndex >= tree.count) return;
+	LineSizeInfo line = lineSizes[lineIndex];
+	if (line != null && !line.needsRecalculateHeight()) {
+		tree.set(lineIndex, line.height);
+	} else {
+		tree.estimate(lineIndex);
+	}
+}
 void updateRanges(int start, int replaceCharCount, int newCharCount) {
-	if (styleCount == 0 || (replaceCharCount == 0 && newCharCount == 0)) return;
-	if (ranges != null) {
-		int rangeCount = styleCount << 1;
-		int modifyStart = getRangeIndex(start, -1, rangeCount);
-		if (modifyStart == rangeCount) return;
-		int end = start + replaceCharCount;
-		int modifyEnd = getRangeIndex(end, modifyStart - 1, rangeCount);
-		int offset = newCharCount - replaceCharCount;
-		if (modifyStart == modifyEnd && ranges[modifyStart] < start && end < ranges[modifyEnd] + ranges[modifyEnd + 1]) {
-			if (newCharCount == 0) {
-				ranges[modifyStart + 1] -= replaceCharCount;
-				modifyEnd += 2;
-			} else {
-				if (rangeCount + 2 > ranges.length) {
-					int[] newRanges = new int[ranges.length + (GROW << 1)];
-					System.arraycopy(ranges, 0, newRanges, 0, rangeCount);
-					ranges = newRanges;
-					StyleRange[] newStyles = new StyleRange[styles.length + GROW];
-					System.arraycopy(styles, 0, newStyles, 0, styleCount);
-					styles = newStyles;
-				}
-				System.arraycopy(ranges, modifyStart + 2, ranges, modifyStart + 4, rangeCount - (modifyStart + 2));
-				System.arraycopy(styles, (modifyStart + 2) >> 1, styles, (modifyStart + 4) >> 1, styleCount - ((modifyStart + 2) >> 1));
-				ranges[modifyStart + 3] = ranges[modifyStart] + ranges[modifyStart + 1] - end;
-				ranges[modifyStart + 2] = start + newCharCount;
-				ranges[modifyStart + 1] = start - ranges[modifyStart];
-				styles[(modifyStart >> 1) + 1] = styles[modifyStart >> 1];
-				rangeCount += 2;
-				styleCount++;
-				modifyEnd += 4;
-			}
-			if (offset != 0) {
-				for (int i = modifyEnd; i < rangeCount; i += 2) {
-					ranges[i] += offset;
-				}
-			}
+	if (ranges == null || (replaceCharCount == 0 && newCharCount == 0)) return;
+	int rangeCount = ranges.size();
+	int modifyStart = getRangeIndex(start, -1, rangeCount);
+	if (modifyStart == rangeCount) return;
+	int end = start + replaceCharCount;
+	int modifyEnd = getRangeIndex(end, modifyStart - 1, rangeCount);
+	int offset = newCharCount - replaceCharCount;
+	int rangeStart = ranges.getStart(modifyStart);
+	if (modifyStart == modifyEnd && rangeStart < start && end < ranges.getEnd(modifyEnd)) {
+		if (newCharCount == 0) {
+			ranges.set(modifyStart, rangeStart, ranges.getLength(modifyStart) - replaceCharCount);
+			modifyEnd++;
 		} else {
-			if (ranges[modifyStart] < start && start < ranges[modifyStart] + ranges[modifyStart + 1]) {
-				ranges[modifyStart + 1] = start - ranges[modifyStart];
-				modifyStart += 2;
-			}
-			if (modifyEnd < rangeCount && ranges[modifyEnd] < end && end < ranges[modifyEnd] + ranges[modifyEnd + 1]) {
-				ranges[modifyEnd + 1] = ranges[modifyEnd] + ranges[modifyEnd + 1] - end;
-				ranges[modifyEnd] = end;
-			}
-			if (offset != 0) {
-				for (int i = modifyEnd; i < rangeCount; i += 2) {
-					ranges[i] += offset;
-				}
-			}
-			System.arraycopy(ranges, modifyEnd, ranges, modifyStart, rangeCount - modifyEnd);
-			System.arraycopy(styles, modifyEnd >> 1, styles, modifyStart >> 1, styleCount - (modifyEnd >> 1));
-			styleCount -= (modifyEnd - modifyStart) >> 1;
+			ranges.insert(modifyStart + 1, start + newCharCount, ranges.getEnd(modifyStart) - end, ranges.getStyle(modifyStart));
+			ranges.set(modifyStart, rangeStart, start - rangeStart);
+			modifyEnd += 2;
 		}
+		if (offset != 0) ranges.shift(modifyEnd, offset);
 	} else {
-		int modifyStart = getRangeIndex(start, -1, styleCount);
-		if (modifyStart == styleCount) return;
-		int end = start + replaceCharCount;
-		int modifyEnd = getRangeIndex(end, modifyStart - 1, styleCount);
-		int offset = newCharCount - replaceCharCount;
-		if (modifyStart == modifyEnd && styles[modifyStart].start < start && end < styles[modifyEnd].start + styles[modifyEnd].length) {
-			if (newCharCount == 0) {
-				styles[modifyStart].length -= replaceCharCount;
-				modifyEnd++;
-			} else {
-				if (styleCount + 1 > styles.length) {
-					StyleRange[] newStyles = new StyleRange[styles.length + GROW];
-					System.arraycopy(styles, 0, newStyles, 0, styleCount);
-					styles = newStyles;
-				}
-				System.arraycopy(styles, modifyStart + 1, styles, modifyStart + 2, styleCount - (modifyStart + 1));
-				styles[modifyStart + 1] = (StyleRange)styles[modifyStart].clone();
-				styles[modifyStart + 1].length = styles[modifyStart].start + styles[modifyStart].length - end;
-				styles[modifyStart + 1].start = start + newCharCount;
-				styles[modifyStart].length = start - styles[modifyStart].start;
-				styleCount++;
-				modifyEnd += 2;
-			}
-			if (offset != 0) {
-				for (int i = modifyEnd; i < styleCount; i++) {
-					styles[i].start += offset;
-				}
-			}
-		} else {
-			if (styles[modifyStart].start < start && start < styles[modifyStart].start + styles[modifyStart].length) {
-				styles[modifyStart].length = start - styles[modifyStart].start;
-				modifyStart++;
-			}
-			if (modifyEnd < styleCount && styles[modifyEnd].start < end && end < styles[modifyEnd].start + styles[modifyEnd].length) {
-				styles[modifyEnd].length = styles[modifyEnd].start + styles[modifyEnd].length - end;
-				styles[modifyEnd].start = end;
-			}
-			if (offset != 0) {
-				for (int i = modifyEnd; i < styleCount; i++) {
-					styles[i].start += offset;
-				}
-			}
-			System.arraycopy(styles, modifyEnd, styles, modifyStart, styleCount - modifyEnd);
-			styleCount -= modifyEnd - modifyStart;
+		if (rangeStart < start && start < ranges.getEnd(modifyStart)) {
+			ranges.set(modifyStart, rangeStart, start - rangeStart);
+			modifyStart++;
+		}
+		if (modifyEnd < rangeCount && ranges.getStart(modifyEnd) < end && end < ranges.getEnd(modifyEnd)) {
+			ranges.set(modifyEnd, end, ranges.getEnd(modifyEnd) - end);
 		}
+		if (offset != 0) ranges.shift(modifyEnd, offset);
+		ranges.remove(modifyStart, modifyEnd - modifyStart);
 	}
 }
 
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+
+import java.util.*;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Caches the <code>TextLayout</code>s of the lines of a <code>StyledText</code>.
+ * <p>
+ * Layouts are kept by line index in least recently used order. The cache is
+ * bounded both by a number of layouts and by an estimate of the memory the
+ * layouts use, which grows with the length of their text, so that a few very
+ * long lines cannot hold on to large native layouts. Layouts that are evicted
+ * or that are not cached are kept in a small pool and reused for the next
+ * layout instead of being disposed.
+ * </p>
+ * <p>
+ * The layouts returned by <code>get</code> and <code>create</code> are held
+ * until they are given back to <code>release</code>. A held layout that is
+ * evicted is neither disposed nor reused before it is given back, so that
+ * the caller can keep using it.
+ * </p>
+ */
+class TextLayoutCache {
+	Device device;
+	LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>();	// by line index, from the least to the most recently used
+	Map<TextLayout, Entry> cached = new IdentityHashMap<>();
+	Map<TextLayout, Integer> held = new IdentityHashMap<>();	// the number of times layouts were returned and not given back
+	TextLayout[] pool = new TextLayout[POOL_SIZE];
+	int poolCount;
+	int size;	// estimated memory used by the cached layouts
+	int maxCount, maxSize;
+	int hits, misses;
+
+	final static int POOL_SIZE = 8;
+	final static int LAYOUT_SIZE = 1024;	// estimated memory used by an empty layout
+	final static int CHAR_SIZE = 64;	// estimated memory used by every character of a layout
+
+	static final class Entry {
+		int lineIndex, size;
+		TextLayout layout;
+	}
+
+TextLayoutCache(Device device, int maxCount, int maxSize) {
+	this.device = device;
+	this.maxCount = maxCount;
+	this.maxSize = maxSize;
+}
+/**
+ * Returns a layout that is not in the cache, reusing a released one when
+ * possible.
+ */
+TextLayout create() {
+	TextLayout layout = null;
+	while (poolCount > 0 && layout == null) {
+		layout = pool[--poolCount];
+		pool[poolCount] = null;
+		if (layout.isDisposed()) layout = null;
+	}
+	if (layout == null) layout = new TextLayout(device);
+	hold(layout);
+	return layout;
+}
+void dispose() {
+	for (Entry entry : entries.values()) {
+		entry.layout.dispose();
+	}
+	entries.clear();
+	cached.clear();
+	held.clear();
+	size = 0;
+	for (int i = 0; i < poolCount; i++) {
+		pool[i].dispose();
+		pool[i] = null;
+	}
+	poolCount = 0;
+}
+/**
+ * Returns the cached layout of the line or <code>null</code>, and makes
+ * it the most recently used layout.
+ */
+TextLayout get(int lineIndex) {
+	Entry entry = entries.remove(lineIndex);
+	if (entry == null) {
+		misses++;
+		return null;
+	}
+	hits++;
+	entries.put(lineIndex, entry);
+	hold(entry.layout);
+	return entry.layout;
+}
+int getHits() {
+	return hits;
+}
+int getMisses() {
+	return misses;
+}
+void hold(TextLayout layout) {
+	held.merge(layout, 1, Integer::sum);
+}
+boolean isCached(TextLayout layout) {
+	return cached.containsKey(layout);
+}
+Collection<TextLayout> layouts() {
+	List<TextLayout> layouts = new ArrayList<>(entries.size());
+	for (Entry entry : entries.values()) {
+		layouts.add(entry.layout);
+	}
+	return layouts;
+}
+/**
+ * Returns the cached layout of the line or <code>null</code> without
+ * changing the order of the layouts.
+ */
+TextLayout peek(int lineIndex) {
+	Entry entry = entries.get(lineIndex);
+	return entry != null ? entry.layout : null;
+}
+/**
+ * Caches the layout of the line, whose text has the given length, and
+ * evicts the least recently used layouts that no longer fit. A layout
+ * too large for the cache is not cached.
+ */
+void put(int lineIndex, TextLayout layout, int length) {
+	Entry entry = entries.get(lineIndex);
+	if (entry != null && entry.layout != layout) {
+		remove(entry);
+		recycle(entry.layout);
+		entry = null;
+	}
+	int layoutSize = LAYOUT_SIZE + length * CHAR_SIZE;
+	if (layoutSize > maxSize / 4) {
+		if (entry != null) remove(entry);
+		return;
+	}
+	if (entry == null) {
+		entry = new Entry();
+		entry.lineIndex = lineIndex;
+		entry.layout = layout;
+		entries.put(lineIndex, entry);
+		cached.put(layout, entry);
+	}
+	size += layoutSize - entry.size;
+	entry.size = layoutSize;
+	Iterator<Entry> iterator = entries.values().iterator();
+	while ((size > maxSize || entries.size() > maxCount) && iterator.hasNext()) {
+		Entry eldest = iterator.next();
+		if (eldest == entry) continue;
+		iterator.remove();
+		cached.remove(eldest.layout);
+		size -= eldest.size;
+		recycle(eldest.layout);
+	}
+}
+/**
+ * Keeps a layout that is no longer cached for reuse, or disposes it. A
+ * layout that is held is left alone until it is released.
+ */
+void recycle(TextLayout layout) {
+	if (layout.isDisposed() || held.containsKey(layout)) return;
+	if (poolCount == pool.length || LAYOUT_SIZE + layout.getText().length() * CHAR_SIZE > maxSize / 4) {
+		layout.dispose();
+	} else {
+		pool[poolCount++] = layout;
+	}
+}
+/**
+ * Gives back a layout returned by <code>get</code> or <code>create</code>.
+ * Once it is no longer held, a layout that is not cached is kept for reuse.
+ */
+void release(TextLayout layout) {
+	Integer count = held.remove(layout);
+	if (count != null && count > 1) {
+		held.put(layout, count - 1);
+		return;
+	}
+	if (!isCached(layout)) recycle(layout);
+}
+void remove(Entry entry) {
+	entries.remove(entry.lineIndex);
+	cached.remove(entry.layout);
+	size -= entry.size;
+}
+/**
+ * Updates the cache after lines have been replaced. The layouts of the
+ * replaced lines are released and the lines following them are moved
+ * by <code>delta</code>.
+ */
+void textChanged(int startLine, int replaceLineCount, int delta) {
+	int endLine = startLine + replaceLineCount;
+	LinkedHashMap<Integer, Entry> newEntries = new LinkedHashMap<>();
+	for (Entry entry : entries.values()) {
+		if (entry.lineIndex < startLine) {
+			newEntries.put(entry.lineIndex, entry);
+		} else if (entry.lineIndex > endLine) {
+			entry.lineIndex += delta;
+			newEntries.put(entry.lineIndex, entry);
+		} else {
+			cached.remove(entry.layout);
+			size -= entry.size;
+			recycle(entry.layout);
+		}
+	}
+	entries = newEntries;
+}
+@Override
+public String toString() {
+	return "TextLayoutCache {layouts=" + entries.size() + ", size=" + size + ", hits=" + hits + ", misses=" + misses + "}";
+}
+}
@@ -1289,6 +1289,16 @@ JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1surface_1mark_1dirty)
 }
 #endif
 
+#ifndef NO_cairo_1surface_1mark_1dirty_1rectangle
+JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1surface_1mark_1dirty_1rectangle)
+	(JNIEnv *env, jclass that, jlong arg0, jint arg1, jint arg2, jint arg3, jint arg4)
+{
+	Cairo_NATIVE_ENTER(env, that, cairo_1surface_1mark_1dirty_1rectangle_FUNC);
+	cairo_surface_mark_dirty_rectangle((cairo_surface_t *)arg0, arg1, arg2, arg3, arg4);
+	Cairo_NATIVE_EXIT(env, that, cairo_1surface_1mark_1dirty_1rectangle_FUNC);
+}
+#endif
+
 #ifndef NO_cairo_1surface_1reference
 JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1surface_1reference)
 	(JNIEnv *env, jclass that, jlong arg0)
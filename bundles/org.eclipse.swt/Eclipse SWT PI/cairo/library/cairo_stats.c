@@ -135,6 +135,7 @@ char * Cairo_nativeFunctionNames[] = {
 	"cairo_1surface_1get_1device_1scale",
 	"cairo_1surface_1get_1type",
 	"cairo_1surface_1mark_1dirty",
+	"cairo_1surface_1mark_1dirty_1rectangle",
 	"cairo_1surface_1reference",
 	"cairo_1surface_1set_1device_1scale",
 	"cairo_1transform",
@@ -145,6 +145,7 @@ typedef enum {
 	cairo_1surface_1get_1device_1scale_FUNC,
 	cairo_1surface_1get_1type_FUNC,
 	cairo_1surface_1mark_1dirty_FUNC,
+	cairo_1surface_1mark_1dirty_1rectangle_FUNC,
 	cairo_1surface_1reference_FUNC,
 	cairo_1surface_1set_1device_1scale_FUNC,
 	cairo_1transform_FUNC,
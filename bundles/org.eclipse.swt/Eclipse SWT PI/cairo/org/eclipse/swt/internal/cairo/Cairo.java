@@ -15,7 +15,7 @@
  *
  * IBM
  * -  Binding to permit interfacing between Cairo and SWT
- * -  Copyright (C) 2005, 2018 IBM Corp.  All Rights Reserved.
+ * -  Copyright (C) 2005, 2026 IBM Corp.  All Rights Reserved.
  *
  * ***** END LICENSE BLOCK ***** */
 package org.eclipse.swt.internal.cairo;
@@ -312,6 +312,8 @@ public static final native int cairo_surface_get_content(long surface);
 /** @param surface cast=(cairo_surface_t *) */
 public static final native void cairo_surface_mark_dirty(long surface);
 /** @param surface cast=(cairo_surface_t *) */
+public static final native void cairo_surface_mark_dirty_rectangle(long surface, int x, int y, int width, int height);
+/** @param surface cast=(cairo_surface_t *) */
 public static final native void cairo_surface_reference(long surface);
 /**
  * @param cr cast=(cairo_t *)
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+import java.util.*;
+
+/**
+ * A map from <code>long</code> keys, such as native handles, to objects.
+ * Unlike a <code>HashMap</code> keyed by <code>LONG</code> or <code>Long</code>,
+ * looking up a key allocates nothing.
+ * <p>
+ * The entries are kept in an open addressing table with linear probing,
+ * whose length is a power of two. Values cannot be <code>null</code>:
+ * putting <code>null</code> removes the key. The map is not synchronized.
+ * </p>
+ */
+public class LongMap<V> {
+	long [] keys;
+	Object [] values;
+	int size, shift;
+
+	static final int MIN_CAPACITY = 8;
+
+public LongMap () {
+	this (MIN_CAPACITY);
+}
+
+/**
+ * Constructs a map that can hold the given number of entries
+ * without growing.
+ */
+public LongMap (int capacity) {
+	int length = MIN_CAPACITY;
+	while (length * 3 / 4 < capacity) length <<= 1;
+	init (length);
+}
+
+void init (int length) {
+	keys = new long [length];
+	values = new Object [length];
+	shift = 64 - Integer.numberOfTrailingZeros (length);
+}
+
+/*
+* Handles are aligned pointers, so the low bits of a key are mostly
+* the same. Multiply by the golden ratio and keep the high bits.
+*/
+int index (long key) {
+	return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+}
+
+public void clear () {
+	Arrays.fill (values, null);
+	size = 0;
+}
+
+public boolean containsKey (long key) {
+	return get (key) != null;
+}
+
+/**
+ * Answers the value of the key, or <code>null</code> if the map does
+ * not contain the key.
+ */
+@SuppressWarnings("unchecked")
+public V get (long key) {
+	int mask = keys.length - 1;
+	for (int i = index (key); ; i = (i + 1) & mask) {
+		Object value = values [i];
+		if (value == null) return null;
+		if (keys [i] == key) return (V) value;
+	}
+}
+
+public boolean isEmpty () {
+	return size == 0;
+}
+
+/**
+ * Maps the key to the value, or removes the key if the value is
+ * <code>null</code>, and answers the previous value of the key.
+ */
+@SuppressWarnings("unchecked")
+public V put (long key, V value) {
+	if (value == null) return remove (key);
+	int mask = keys.length - 1;
+	int i = index (key);
+	while (values [i] != null) {
+		if (keys [i] == key) {
+			Object result = values [i];
+			values [i] = value;
+			return (V) result;
+		}
+		i = (i + 1) & mask;
+	}
+	keys [i] = key;
+	values [i] = value;
+	if (++size > keys.length * 3 / 4) rehash (keys.length << 1);
+	return null;
+}
+
+void rehash (int length) {
+	long [] oldKeys = keys;
+	Object [] oldValues = values;
+	init (length);
+	int mask = length - 1;
+	for (int j = 0; j < oldKeys.length; j++) {
+		if (oldValues [j] == null) continue;
+		int i = index (oldKeys [j]);
+		while (values [i] != null) i = (i + 1) & mask;
+		keys [i] = oldKeys [j];
+		values [i] = oldValues [j];
+	}
+}
+
+/**
+ * Removes the key and answers its value, or <code>null</code> if the
+ * map did not contain the key.
+ */
+@SuppressWarnings("unchecked")
+public V remove (long key) {
+	int mask = keys.length - 1;
+	int i = index (key);
+	while (true) {
+		if (values [i] == null) return null;
+		if (keys [i] == key) break;
+		i = (i + 1) & mask;
+	}
+	Object result = values [i];
+	/*
+	* Shift the following entries of the run back into the hole, so that
+	* lookups can keep stopping at the first empty slot.
+	*/
+	for (int j = (i + 1) & mask; values [j] != null; j = (j + 1) & mask) {
+		int k = index (keys [j]);
+		if (((j - k) & mask) >= ((j - i) & mask)) {
+			keys [i] = keys [j];
+			values [i] = values [j];
+			i = j;
+		}
+	}
+	values [i] = null;
+	size--;
+	return (V) result;
+}
+
+public int size () {
+	return size;
+}
+}
@@ -15938,6 +15938,58 @@ JNIEXPORT jlong JNICALL OS_NATIVE(call__JJJJJJJJ)
 }
 #endif
 
+#ifndef NO_close
+JNIEXPORT jint JNICALL OS_NATIVE(close)
+	(JNIEnv *env, jclass that, jint arg0)
+{
+	jint rc = 0;
+	OS_NATIVE_ENTER(env, that, close_FUNC);
+	rc = (jint)close(arg0);
+	OS_NATIVE_EXIT(env, that, close_FUNC);
+	return rc;
+}
+#endif
+
+#ifndef NO_eventfd
+JNIEXPORT jint JNICALL OS_NATIVE(eventfd)
+	(JNIEnv *env, jclass that, jint arg0, jint arg1)
+{
+	jint rc = 0;
+	OS_NATIVE_ENTER(env, that, eventfd_FUNC);
+	rc = (jint)eventfd(arg0, (int)arg1);
+	OS_NATIVE_EXIT(env, that, eventfd_FUNC);
+	return rc;
+}
+#endif
+
+#ifndef NO_eventfd_1read
+JNIEXPORT jint JNICALL OS_NATIVE(eventfd_1read)
+	(JNIEnv *env, jclass that, jint arg0, jlongArray arg1)
+{
+	jlong *lparg1=NULL;
+	jint rc = 0;
+	OS_NATIVE_ENTER(env, that, eventfd_1read_FUNC);
+	if (arg1) if ((lparg1 = (*env)->GetLongArrayElements(env, arg1, NULL)) == NULL) goto fail;
+	rc = (jint)eventfd_read(arg0, (eventfd_t *)lparg1);
+fail:
+	if (arg1 && lparg1) (*env)->ReleaseLongArrayElements(env, arg1, lparg1, 0);
+	OS_NATIVE_EXIT(env, that, eventfd_1read_FUNC);
+	return rc;
+}
+#endif
+
+#ifndef NO_eventfd_1write
+JNIEXPORT jint JNICALL OS_NATIVE(eventfd_1write)
+	(JNIEnv *env, jclass that, jint arg0, jlong arg1)
+{
+	jint rc = 0;
+	OS_NATIVE_ENTER(env, that, eventfd_1write_FUNC);
+	rc = (jint)eventfd_write(arg0, (eventfd_t)arg1);
+	OS_NATIVE_EXIT(env, that, eventfd_1write_FUNC);
+	return rc;
+}
+#endif
+
 #ifndef NO_g_1action_1get_1enabled
 JNIEXPORT jboolean JNICALL OS_NATIVE(g_1action_1get_1enabled)
 	(JNIEnv *env, jclass that, jlong arg0)
@@ -17162,6 +17214,18 @@ JNIEXPORT jboolean JNICALL OS_NATIVE(g_1main_1context_1iteration)
 }
 #endif
 
+#ifndef NO_g_1main_1context_1pending
+JNIEXPORT jboolean JNICALL OS_NATIVE(g_1main_1context_1pending)
+	(JNIEnv *env, jclass that, jlong arg0)
+{
+	jboolean rc = 0;
+	OS_NATIVE_ENTER(env, that, g_1main_1context_1pending_FUNC);
+	rc = (jboolean)g_main_context_pending((GMainContext *)arg0);
+	OS_NATIVE_EXIT(env, that, g_1main_1context_1pending_FUNC);
+	return rc;
+}
+#endif
+
 #ifndef NO_g_1main_1context_1prepare
 JNIEXPORT jboolean JNICALL OS_NATIVE(g_1main_1context_1prepare)
 	(JNIEnv *env, jclass that, jlong arg0, jintArray arg1)
@@ -38,6 +38,13 @@
 #ifndef _WIN32
 #include <dlfcn.h>
 #include <gtk/gtkunixprint.h>
+#ifdef __linux__
+#include <sys/eventfd.h>
+#else
+#define NO_eventfd
+#define NO_eventfd_1read
+#define NO_eventfd_1write
+#endif
 #else
 #include <windows.h>
 //#define NO_realpath // TODO [win32] use GetFullPathName instead; 
@@ -59,6 +66,9 @@
 #define NO_gtk_1print_1unix_1dialog_1set_1current_1page
 #define NO_gtk_1print_1unix_1dialog_1set_1embed_1page_1setup
 #define NO_gtk_1print_1unix_1dialog_1set_1manual_1capabilities
+#define NO_eventfd
+#define NO_eventfd_1read
+#define NO_eventfd_1write
 
 // map realpath to a similar function in win32
 #define realpath(N,R) _fullpath((R),(N),_MAX_PATH)
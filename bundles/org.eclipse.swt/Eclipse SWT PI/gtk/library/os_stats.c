@@ -1242,6 +1242,10 @@ char * OS_nativeFunctionNames[] = {
 	"call__JJJJJ",
 	"call__JJJJJJJ",
 	"call__JJJJJJJJ",
+	"close",
+	"eventfd",
+	"eventfd_1read",
+	"eventfd_1write",
 	"g_1action_1get_1enabled",
 	"g_1action_1get_1state",
 	"g_1action_1map_1add_1action",
@@ -1329,6 +1333,7 @@ char * OS_nativeFunctionNames[] = {
 	"g_1main_1context_1default",
 	"g_1main_1context_1get_1poll_1func",
 	"g_1main_1context_1iteration",
+	"g_1main_1context_1pending",
 	"g_1main_1context_1prepare",
 	"g_1main_1context_1query",
 	"g_1main_1context_1release",
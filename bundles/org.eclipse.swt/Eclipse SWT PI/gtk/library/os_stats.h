@@ -1216,6 +1216,10 @@ typedef enum {
 	call__JJJJJ_FUNC,
 	call__JJJJJJJ_FUNC,
 	call__JJJJJJJJ_FUNC,
+	close_FUNC,
+	eventfd_FUNC,
+	eventfd_1read_FUNC,
+	eventfd_1write_FUNC,
 	g_1action_1get_1enabled_FUNC,
 	g_1action_1get_1state_FUNC,
 	g_1action_1map_1add_1action_FUNC,
@@ -1303,6 +1307,7 @@ typedef enum {
 	g_1main_1context_1default_FUNC,
 	g_1main_1context_1get_1poll_1func_FUNC,
 	g_1main_1context_1iteration_FUNC,
+	g_1main_1context_1pending_FUNC,
 	g_1main_1context_1prepare_FUNC,
 	g_1main_1context_1query_FUNC,
 	g_1main_1context_1release_FUNC,
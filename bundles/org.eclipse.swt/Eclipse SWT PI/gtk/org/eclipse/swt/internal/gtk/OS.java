@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others. All rights reserved.
+ * Copyright (c) 2000, 2026 IBM Corporation and others. All rights reserved.
  * The contents of this file are made available under the terms
  * of the GNU Lesser General Public License (LGPL) Version 2.1 that
  * accompanies this distribution (lgpl-v21.txt).  The LGPL is also
@@ -144,8 +144,11 @@ public class OS extends C {
 	}
 
 	/** Constants */
+	public static final int EFD_CLOEXEC = 02000000;
+	public static final int EFD_NONBLOCK = 04000;
 	public static final int G_FILE_TEST_IS_DIR = 1 << 2;
 	public static final int G_FILE_TEST_IS_EXECUTABLE = 1 << 3;
+	public static final int G_IO_IN = 1 << 0;
 	public static final int G_SIGNAL_MATCH_DATA = 1 << 4;
 	public static final int G_SIGNAL_MATCH_ID = 1 << 0;
 	public static final int G_LOG_FLAG_FATAL = 0x2;
@@ -724,6 +727,13 @@ public static final native long localeconv_decimal_point();
  * @param realPath cast=(char *)
  */
 public static final native long realpath(byte[] path, byte[] realPath);
+public static final native int close(int fd);
+/** @param flags cast=(int) */
+public static final native int eventfd(int initval, int flags);
+/** @param value cast=(eventfd_t *) */
+public static final native int eventfd_read(int fd, long[] value);
+/** @param value cast=(eventfd_t) */
+public static final native int eventfd_write(int fd, long value);
 
 
 /** Object private fields accessors */
@@ -991,6 +1001,8 @@ public static final native long g_main_context_default();
 public static final native boolean g_main_context_iteration(long context, boolean may_block);
 /** @param context cast=(GMainContext *) */
 public static final native long g_main_context_get_poll_func(long context);
+/** @param context cast=(GMainContext *) */
+public static final native boolean g_main_context_pending(long context);
 /**
  * @param context cast=(GMainContext *)
  * @param priority cast=(gint *)
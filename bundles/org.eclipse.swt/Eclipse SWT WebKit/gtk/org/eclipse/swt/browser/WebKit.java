@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2019 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -142,7 +142,7 @@ class WebKit extends WebBrowser {
 	 */
 	private static int nonBlockingEvaluate = 0;
 
-	static Map<LONG, Integer> webKitDownloadStatus = new HashMap<> ();
+	static LongMap<Integer> webKitDownloadStatus = new LongMap<> ();
 
 	static final String ABOUT_BLANK = "about:blank"; //$NON-NLS-1$
 	static final String CLASSNAME_EXTERNAL = "External"; //$NON-NLS-1$
@@ -2036,7 +2036,7 @@ void openDownloadWindow (final long webkitDownload, final String suggested_filen
 	data.horizontalAlignment = GridData.CENTER;
 	cancel.setLayoutData (data);
 	final Listener cancelListener = event -> {
-		webKitDownloadStatus.put(new LONG(webkitDownload), WebKitGTK.WEBKIT_DOWNLOAD_STATUS_CANCELLED);
+		webKitDownloadStatus.put(webkitDownload, WebKitGTK.WEBKIT_DOWNLOAD_STATUS_CANCELLED);
 		WebKitGTK.webkit_download_cancel (webkitDownload);
 	};
 	cancel.addListener (SWT.Selection, cancelListener);
@@ -2047,12 +2047,13 @@ void openDownloadWindow (final long webkitDownload, final String suggested_filen
 	display.timerExec (INTERVAL, new Runnable () {
 		@Override
 		public void run () {
-			int status =  webKitDownloadStatus.containsKey(new LONG(webkitDownload)) ? webKitDownloadStatus.get(new LONG(webkitDownload)) : 0;
+			Integer value = webKitDownloadStatus.get(webkitDownload);
+			int status = value != null ? value : 0;
 			if (shell.isDisposed () || status == WebKitGTK.WEBKIT_DOWNLOAD_STATUS_FINISHED || status == WebKitGTK.WEBKIT_DOWNLOAD_STATUS_CANCELLED) {
 				shell.dispose ();
 				display.timerExec (-1, this);
 				OS.g_object_unref (webkitDownload);
-				webKitDownloadStatus.remove(new LONG(webkitDownload));
+				webKitDownloadStatus.remove(webkitDownload);
 				return;
 			}
 			if (status == WebKitGTK.WEBKIT_DOWNLOAD_STATUS_ERROR) {
@@ -2061,7 +2062,7 @@ void openDownloadWindow (final long webkitDownload, final String suggested_filen
 				OS.g_object_unref (webkitDownload);
 				cancel.removeListener (SWT.Selection, cancelListener);
 				cancel.addListener (SWT.Selection, event -> shell.dispose ());
-				webKitDownloadStatus.remove(new LONG(webkitDownload));
+				webKitDownloadStatus.remove(webkitDownload);
 				return;
 			}
 
@@ -2377,16 +2378,16 @@ static long webkit_download_decide_destination(long webKitDownload, long suggest
 
 static long webkit_download_finished(long download) {
 	// A failed signal may have been recorded prior. The finish signal is now being called.
-	if (!webKitDownloadStatus.containsKey(new LONG(download))) {
-		webKitDownloadStatus.put(new LONG(download), WebKitGTK.WEBKIT_DOWNLOAD_STATUS_FINISHED);
+	if (!webKitDownloadStatus.containsKey(download)) {
+		webKitDownloadStatus.put(download, WebKitGTK.WEBKIT_DOWNLOAD_STATUS_FINISHED);
 	}
 	return 0;
 }
 
 static long webkit_download_failed(long download) {
 	// A cancel may have been issued resulting in this signal call. Preserve the original cause.
-	if (!webKitDownloadStatus.containsKey(new LONG(download))) {
-		webKitDownloadStatus.put(new LONG(download), WebKitGTK.WEBKIT_DOWNLOAD_STATUS_ERROR);
+	if (!webKitDownloadStatus.containsKey(download)) {
+		webKitDownloadStatus.put(download, WebKitGTK.WEBKIT_DOWNLOAD_STATUS_ERROR);
 	}
 	return 0;
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1713,5 +1713,70 @@ public String toString () {
 	return "Image {" + handle + "}";
 }
 
+/**
+ * Copies the pixels of the given rectangle of the image data to the
+ * receiver, so that images that change at every frame of an animation
+ * or of a video do not need to be disposed and created again.
+ * <p>
+ * The image data must have the size of the receiver in pixels, at the
+ * zoom level at which the receiver was created, and the rectangle is
+ * in pixels too. The rectangle is clipped to the bounds of the image
+ * data. When the receiver has an alpha channel, the transparency of the
+ * image data is copied with its pixels; otherwise it is ignored.
+ * </p>
+ * <p>
+ * Note: On macOS, the pixels are converted again for the whole image,
+ * which costs about as much as creating a new image.
+ * </p>
+ *
+ * @param imageData the image data that has the new pixels
+ * @param rect the rectangle to update, in pixels
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the image data or the rectangle is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the image data does not have the size of the receiver</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_UNSUPPORTED_DEPTH - if the depth of the image data is not supported</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES if a handle could not be obtained for the update</li>
+ * </ul>
+ *
+ * @since 3.116
+ */
+public void updatePixels(ImageData imageData, Rectangle rect) {
+	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (imageData == null || rect == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	NSAutoreleasePool pool = null;
+	if (!NSThread.isMainThread()) pool = (NSAutoreleasePool) new NSAutoreleasePool().alloc().init();
+	try {
+		ImageData data = getImageData(100);
+		if (imageData.width != data.width || imageData.height != data.height) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		Rectangle dirty = rect.intersection(new Rectangle(0, 0, data.width, data.height));
+		if (dirty.isEmpty()) return;
+		/*
+		* Merge the rectangle with the current pixels and convert them to a new
+		* representation. When it has the format of the current representation,
+		* copy its pixels instead of replacing it, so that a GC that draws on the
+		* receiver keeps drawing on them.
+		*/
+		alphaInfo_100 = new AlphaInfo();
+		NSBitmapImageRep rep = createRepresentation(data.merge(imageData, dirty), alphaInfo_100);
+		NSBitmapImageRep current = getRepresentation(100);
+		if (current.bitsPerPixel() == rep.bitsPerPixel() && current.bitmapFormat() == rep.bitmapFormat() && current.hasAlpha() == rep.hasAlpha()
+				&& current.bytesPerRow() == rep.bytesPerRow() && current.pixelsHigh() == rep.pixelsHigh()) {
+			C.memmove(current.bitmapData(), rep.bitmapData(), rep.bytesPerRow() * rep.pixelsHigh());
+		} else {
+			handle.removeRepresentation(current);
+			handle.addRepresentation(rep);
+		}
+		rep.release();
+	} finally {
+		if (pool != null) pool.release();
+	}
+}
+
 }
 
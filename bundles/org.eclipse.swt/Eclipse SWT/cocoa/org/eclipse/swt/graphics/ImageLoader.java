@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -106,6 +106,19 @@ public class ImageLoader {
 	 */
 	public int compression;
 
+	/**
+	 * the size at which the loaded images are going to be displayed,
+	 * in pixels, or 0 when it is not known. Formats that can decode
+	 * an image at a fraction of its size, such as JPEG, decode it at
+	 * the smallest of these fractions which is still at least as
+	 * large as this size, so that the loaded image data only needs
+	 * to be scaled down a little. Other formats ignore this size.
+	 * The default is 0, which means 'load the images at full size'.
+	 *
+	 * @since 3.116
+	 */
+	public int targetWidth, targetHeight;
+
 	/*
 	 * the set of ImageLoader event listeners, created on demand
 	 */
@@ -156,6 +169,50 @@ public ImageData[] load(InputStream stream) {
 	return data;
 }
 
+/**
+ * Loads the first image of the specified input stream, and sends
+ * the rows of the given region of the image to the given listener
+ * in bands of a few rows, as soon as they are decoded. The rows
+ * and the columns of the region are subsampled by the given factor,
+ * so that only one row and one column out of <code>subsampling</code>
+ * are kept. The <code>imageData</code> of every event holds the next
+ * band, whose <code>y</code> field is the position of the band in the
+ * subsampled region, and the <code>endOfImage</code> flag is true for
+ * the last band.
+ * <p>
+ * The images are not stored in the receiver and the listeners of the
+ * receiver are not notified of the bands. Images of formats whose rows
+ * can be decoded one at a time, such as non-interlaced PNG images, are
+ * loaded without ever holding more than a band of the image, which
+ * allows very large images to be tiled or scaled down.
+ * </p>
+ *
+ * @param stream the input stream to load the image from
+ * @param region the region of the image to load, or <code>null</code> to load the whole image
+ * @param subsampling the factor by which the rows and the columns of the region are subsampled
+ * @param listener the listener which receives the bands of the image
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream or the listener is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if subsampling is less than 1, or if the region does not intersect the image</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see ImageLoaderEvent
+ *
+ * @since 3.116
+ */
+public void load(InputStream stream, Rectangle region, int subsampling, ImageLoaderListener listener) {
+	if (stream == null || listener == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (subsampling < 1) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	reset();
+	FileFormat.loadBands(stream, this, region, subsampling, listener);
+}
+
 /**
  * Loads an array of <code>ImageData</code> objects from the
  * file with the specified name. Throws an error if either
@@ -608,6 +608,42 @@ public void asyncExec (Runnable runnable) {
 	}
 }
 
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, coalescing it with any runnable
+ * previously queued for an equal key that has not run yet.
+ * In that case, the pending runnable is replaced by the given
+ * one and keeps its position in the queue, so a burst of
+ * requests for the same key results in a single execution
+ * of the most recent runnable. The caller of this method
+ * continues to run in parallel, and is not notified when the
+ * runnable has completed.
+ * <p>
+ * Note that at the time the runnable is invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnable before accessing the widget.
+ * </p>
+ *
+ * @param key the key used to coalesce pending runnables, or <code>null</code> to never coalesce
+ * @param runnable code to run on the user-interface thread or <code>null</code>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec(Runnable)
+ *
+ * @since 3.116
+ */
+public void asyncExec (Object key, Runnable runnable) {
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronizer.asyncExec (key, runnable);
+	}
+}
+
 /**
  * Causes the system hardware to emit a short sound
  * (if it supports this capability).
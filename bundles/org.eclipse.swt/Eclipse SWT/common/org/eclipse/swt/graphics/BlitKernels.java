@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+
+/**
+ * Specialized loops that convert 24 and 32 bit direct images and 8 bit
+ * indexed images with alpha data to 32 bit images whose channels are whole
+ * bytes and are pre-multiplied by the alpha, such as the ARGB32 format of
+ * cairo.
+ * <p>
+ * The loops convert and pre-multiply every pixel in a single pass, instead
+ * of a blit by <code>ImageData.blit</code> followed by a second pass over
+ * the destination. They copy bytes at offsets that are computed once per
+ * blit and only handle unscaled, unflipped copies; <code>blit</code>
+ * answers <code>false</code> for every other blit, which must then be done
+ * by <code>ImageData.blit</code> and pre-multiplied by the caller.
+ * </p>
+ */
+final class BlitKernels {
+
+/**
+ * Blits a direct palette image into a direct palette image, storing the
+ * alpha in the remaining byte of the destination. See
+ * <code>ImageData.blit</code> for the meaning of the arguments, which
+ * are the same except for <code>alphaData</code> and <code>alphaStride</code>,
+ * the alpha of every pixel of the source, indexed like the source.
+ *
+ * @return <code>true</code> if the blit was done and <code>false</code> if there is no kernel for it
+ */
+static boolean blit(
+	byte[] srcData, int srcDepth, int srcStride, int srcOrder,
+	int srcX, int srcY, int srcRedMask, int srcGreenMask, int srcBlueMask,
+	byte[] alphaData, int alphaStride,
+	byte[] destData, int destDepth, int destStride, int destOrder,
+	int destX, int destY, int width, int height,
+	int destRedMask, int destGreenMask, int destBlueMask) {
+	if (alphaData == null || destDepth != 32 || (srcDepth != 24 && srcDepth != 32)) return false;
+	int sr = getByteIndex(srcRedMask, srcDepth, srcOrder);
+	int sg = getByteIndex(srcGreenMask, srcDepth, srcOrder);
+	int sb = getByteIndex(srcBlueMask, srcDepth, srcOrder);
+	if (sr == -1 || sg == -1 || sb == -1) return false;
+	int dr = getByteIndex(destRedMask, destDepth, destOrder);
+	int dg = getByteIndex(destGreenMask, destDepth, destOrder);
+	int db = getByteIndex(destBlueMask, destDepth, destOrder);
+	if (dr == -1 || dg == -1 || db == -1 || dr == dg || dr == db || dg == db) return false;
+	int da = 6 - dr - dg - db;
+	int sbpp = srcDepth / 8;
+	for (int y = 0; y < height; y++) {
+		int sp = (srcY + y) * srcStride + srcX * sbpp;
+		int dp = (destY + y) * destStride + destX * 4;
+		blitRow(srcData, sp, sbpp, sr, sg, sb, alphaData, (srcY + y) * alphaStride + srcX, destData, dp, dr, dg, db, da, width);
+	}
+	return true;
+}
+
+/**
+ * Blits an index palette image into a direct palette image, storing the
+ * alpha in the remaining byte of the destination. See
+ * <code>ImageData.blit</code> for the meaning of the arguments, which
+ * are the same except for <code>alphaData</code> and <code>alphaStride</code>,
+ * the alpha of every pixel of the source, indexed like the source.
+ *
+ * @return <code>true</code> if the blit was done and <code>false</code> if there is no kernel for it
+ */
+static boolean blit(
+	byte[] srcData, int srcDepth, int srcStride,
+	int srcX, int srcY, byte[] srcReds, byte[] srcGreens, byte[] srcBlues,
+	byte[] alphaData, int alphaStride,
+	byte[] destData, int destDepth, int destStride, int destOrder,
+	int destX, int destY, int width, int height,
+	int destRedMask, int destGreenMask, int destBlueMask) {
+	if (alphaData == null || destDepth != 32 || srcDepth != 8) return false;
+	int dr = getByteIndex(destRedMask, destDepth, destOrder);
+	int dg = getByteIndex(destGreenMask, destDepth, destOrder);
+	int db = getByteIndex(destBlueMask, destDepth, destOrder);
+	if (dr == -1 || dg == -1 || db == -1 || dr == dg || dr == db || dg == db) return false;
+	int da = 6 - dr - dg - db;
+	for (int y = 0; y < height; y++) {
+		int sp = (srcY + y) * srcStride + srcX;
+		int dp = (destY + y) * destStride + destX * 4;
+		blitRow(srcData, sp, srcReds, srcGreens, srcBlues, alphaData, (srcY + y) * alphaStride + srcX, destData, dp, dr, dg, db, da, width);
+	}
+	return true;
+}
+
+static void blitRow(byte[] srcData, int sp, int sbpp, int sr, int sg, int sb, byte[] alphaData, int ap, byte[] destData, int dp, int dr, int dg, int db, int da, int width) {
+	for (int x = 0; x < width; x++, sp += sbpp, dp += 4) {
+		int alpha = alphaData[ap + x] & 0xFF;
+		destData[dp + dr] = (byte)multiply(srcData[sp + sr] & 0xFF, alpha);
+		destData[dp + dg] = (byte)multiply(srcData[sp + sg] & 0xFF, alpha);
+		destData[dp + db] = (byte)multiply(srcData[sp + sb] & 0xFF, alpha);
+		destData[dp + da] = (byte)alpha;
+	}
+}
+
+static void blitRow(byte[] srcData, int sp, byte[] srcReds, byte[] srcGreens, byte[] srcBlues, byte[] alphaData, int ap, byte[] destData, int dp, int dr, int dg, int db, int da, int width) {
+	for (int x = 0; x < width; x++, dp += 4) {
+		int index = srcData[sp + x] & 0xFF;
+		int alpha = alphaData[ap + x] & 0xFF;
+		destData[dp + dr] = (byte)multiply(srcReds[index] & 0xFF, alpha);
+		destData[dp + dg] = (byte)multiply(srcGreens[index] & 0xFF, alpha);
+		destData[dp + db] = (byte)multiply(srcBlues[index] & 0xFF, alpha);
+		destData[dp + da] = (byte)alpha;
+	}
+}
+
+/**
+ * Answers the index, in the bytes of a pixel, of the channel with the
+ * given mask, or -1 if the channel is not a whole byte.
+ */
+static int getByteIndex(int mask, int depth, int order) {
+	int shift = ImageData.getChannelShift(mask);
+	if ((shift & 7) != 0 || mask >>> shift != 0xFF || shift >= depth) return -1;
+	if (depth == 32 && order == ImageData.LSB_FIRST) return shift >> 3;
+	return (depth >> 3) - 1 - (shift >> 3);
+}
+
+/**
+ * Multiplies a channel by an alpha, rounding like cairo does.
+ */
+static int multiply(int channel, int alpha) {
+	int value = channel * alpha + 128;
+	return (value + (value >> 8)) >> 8;
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.swt.graphics;
 
 
 import java.io.*;
+import java.util.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
@@ -1119,6 +1120,75 @@ int getByteOrder() {
 	return depth != 16 ? MSB_FIRST : LSB_FIRST;
 }
 
+/**
+ * Returns a direct 24 bit copy of the receiver in which the pixels of the
+ * given rectangle are replaced by the pixels of the source, which has the
+ * size of the receiver. When the receiver has transparency, the copy has
+ * alpha data and the transparency of the source is copied with its pixels;
+ * otherwise the transparency of the source is ignored.
+ *
+ * @param source the image data that has the new pixels
+ * @param rect the rectangle to replace, inside the bounds of the receiver
+ * @return the merged copy
+ */
+ImageData merge(ImageData source, Rectangle rect) {
+	ImageData result = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	if (getTransparencyType() != SWT.TRANSPARENCY_NONE || alpha != -1) {
+		result.alphaData = new byte[width * height];
+	}
+	ImageData mask = result.alphaData != null ? getMask() : null;
+	ImageData sourceMask = result.alphaData != null ? source.getMask() : null;
+	int[] pixels = new int[width];
+	for (int y = 0; y < height; y++) {
+		if (rect.y <= y && y < rect.y + rect.height) {
+			if (rect.x > 0) copyPixels(mask, 0, y, rect.x, result, pixels);
+			source.copyPixels(sourceMask, rect.x, y, rect.width, result, pixels);
+			int x = rect.x + rect.width;
+			if (x < width) copyPixels(mask, x, y, width - x, result, pixels);
+		} else {
+			copyPixels(mask, 0, y, width, result, pixels);
+		}
+	}
+	return result;
+}
+
+/**
+ * Returns the transparency mask of the receiver when it has a mask or a
+ * transparent pixel, and null otherwise.
+ */
+ImageData getMask() {
+	return maskData != null || transparentPixel != -1 ? getTransparencyMask() : null;
+}
+
+/**
+ * Copies pixels of a row of the receiver, with their transparency when
+ * the destination has alpha data, to the same location in a direct 24 bit
+ * image. The mask is the one of the receiver, if any, and the pixels array
+ * is used as a temporary buffer.
+ */
+void copyPixels(ImageData mask, int x, int y, int putWidth, ImageData dest, int[] pixels) {
+	getPixels(x, y, putWidth, pixels, 0);
+	for (int i = 0; i < putWidth; i++) {
+		RGB rgb = palette.getRGB(pixels[i]);
+		pixels[i] = rgb.red << 16 | rgb.green << 8 | rgb.blue;
+	}
+	dest.setPixels(x, y, putWidth, pixels, 0);
+	if (dest.alphaData == null) return;
+	int offset = y * width + x;
+	if (mask != null) {
+		mask.getPixels(x, y, putWidth, pixels, 0);
+		for (int i = 0; i < putWidth; i++) {
+			dest.alphaData[offset + i] = (byte)(pixels[i] == 0 ? 0 : 0xFF);
+		}
+	} else if (alpha != -1) {
+		Arrays.fill(dest.alphaData, offset, offset + putWidth, (byte)alpha);
+	} else if (alphaData != null) {
+		System.arraycopy(alphaData, offset, dest.alphaData, offset, putWidth);
+	} else {
+		Arrays.fill(dest.alphaData, offset, offset + putWidth, (byte)0xFF);
+	}
+}
+
 /**
  * Returns a copy of the receiver which has been stretched or
  * shrunk to the specified size. If either the width or height
@@ -2811,6 +2881,7 @@ static void blit(int op,
 			return;
 		}
 	}
+
 	// these should be supplied as params later
 	final int destAlphaMask = 0;
 
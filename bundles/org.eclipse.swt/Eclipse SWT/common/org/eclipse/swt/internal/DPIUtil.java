@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 IBM Corporation and others.
+ * Copyright (c) 2017, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,7 +38,7 @@ public class DPIUtil {
 	private static int deviceZoom = 100;
 	private static int nativeDeviceZoom = 100;
 
-	private static enum AutoScaleMethod { AUTO, NEAREST, SMOOTH }
+	private static enum AutoScaleMethod { AUTO, NEAREST, SMOOTH, BOX, BILINEAR, LANCZOS }
 	private static AutoScaleMethod autoScaleMethodSetting = AutoScaleMethod.AUTO;
 	private static AutoScaleMethod autoScaleMethod = AutoScaleMethod.NEAREST;
 
@@ -71,11 +71,16 @@ public class DPIUtil {
 	 * <ul>
 	 * <li>"nearest": nearest-neighbor interpolation, may look jagged</li>
 	 * <li>"smooth": smooth edges, may look blurry</li>
+	 * <li>"box": averages the pixels covered by every scaled pixel</li>
+	 * <li>"bilinear": bilinear interpolation</li>
+	 * <li>"lanczos": Lanczos filter with 3 lobes, sharpest but slowest</li>
 	 * </ul>
 	 * The current default is to use "nearest", except on
 	 * GTK when the deviceZoom is not an integer multiple of 100%.
 	 * The smooth strategy currently doesn't work on Win32 and Cocoa, see
-	 * <a href="https://bugs.eclipse.org/493455">bug 493455</a>.
+	 * <a href="https://bugs.eclipse.org/493455">bug 493455</a>. The box,
+	 * bilinear and Lanczos filters work on all platforms and don't need a
+	 * device.
 	 */
 	private static final String SWT_AUTOSCALE_METHOD = "swt.autoScale.method";
 	static {
@@ -87,6 +92,12 @@ public class DPIUtil {
 				autoScaleMethod = autoScaleMethodSetting = AutoScaleMethod.NEAREST;
 			} else if (AutoScaleMethod.SMOOTH.name().equalsIgnoreCase(value)) {
 				autoScaleMethod = autoScaleMethodSetting = AutoScaleMethod.SMOOTH;
+			} else if (AutoScaleMethod.BOX.name().equalsIgnoreCase(value)) {
+				autoScaleMethod = autoScaleMethodSetting = AutoScaleMethod.BOX;
+			} else if (AutoScaleMethod.BILINEAR.name().equalsIgnoreCase(value)) {
+				autoScaleMethod = autoScaleMethodSetting = AutoScaleMethod.BILINEAR;
+			} else if (AutoScaleMethod.LANCZOS.name().equalsIgnoreCase(value)) {
+				autoScaleMethod = autoScaleMethodSetting = AutoScaleMethod.LANCZOS;
 			}
 		}
 	}
@@ -248,6 +259,12 @@ private static ImageData autoScaleImageData (Device device, final ImageData imag
 		ImageData result = resultImage.getImageData (DPIUtil.getDeviceZoom ());
 		resultImage.dispose ();
 		return result;
+	case BOX:
+		return ImageResampler.resample (imageData, scaledWidth, scaledHeight, ImageResampler.BOX);
+	case BILINEAR:
+		return ImageResampler.resample (imageData, scaledWidth, scaledHeight, ImageResampler.BILINEAR);
+	case LANCZOS:
+		return ImageResampler.resample (imageData, scaledWidth, scaledHeight, ImageResampler.LANCZOS);
 	case NEAREST:
 	default:
 		return imageData.scaledTo (scaledWidth, scaledHeight);
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+
+import java.util.*;
+
+/**
+ * The management interface of a <code>DispatchMonitor</code>, registered
+ * in the platform MBean server under the name
+ * <code>org.eclipse.swt:type=DispatchMonitor,id=&lt;n&gt;</code>.
+ * Event types are the decimal values of the event constants of
+ * <code>SWT</code>, <code>SWT.None</code> being used for the runnables of
+ * <code>asyncExec()</code> and <code>syncExec()</code>.
+ * <p>
+ * <b>IMPORTANT:</b> This interface is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be introspected
+ * by the platform MBean server.
+ * </p>
+ *
+ * @noreference This interface is not intended to be referenced by clients.
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface DispatchMonitorMXBean {
+	/** The number of events dispatched, by event type. */
+	Map<String, Long> getEventCounts();
+	/** The latency histograms in microseconds, by event type. See <code>DispatchMonitor.getHistogram</code>. */
+	Map<String, long[]> getHistograms();
+	/** The longest latency in microseconds, by event type. */
+	Map<String, Long> getMaxLatencies();
+	/** The number of messages waiting to be run by the display. */
+	int getQueueDepth();
+	/** The number of stalls detected. */
+	long getStallCount();
+	/** The duration in milliseconds above which a dispatch is a stall, or 0. */
+	int getStallThreshold();
+	/** A description of the last stall, with the stack of the display thread, or <code>null</code>. */
+	String getLastStall();
+	/** Clears the statistics. */
+	void reset();
+	/** Sets the duration in milliseconds above which a dispatch is a stall, 0 to detect none. */
+	void setStallThreshold(int threshold);
+}
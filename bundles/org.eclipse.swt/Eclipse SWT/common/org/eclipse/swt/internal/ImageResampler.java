@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+
+import java.util.*;
+import java.util.stream.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Scales <code>ImageData</code> with a box, bilinear or Lanczos filter.
+ * <p>
+ * The image is filtered horizontally and then vertically, with weights
+ * computed once for every column and every row of the result. The pixels
+ * are pre-multiplied by their alpha while they are filtered, so that
+ * transparent pixels do not bleed into their neighbours, and are only
+ * rounded to bytes once both passes are done. The rows of large images are
+ * filtered in parallel.
+ * </p>
+ * <p>
+ * Small results, such as scaled icons, are cached for every image, size
+ * and filter, so that an image requested again at the same zoom is not
+ * filtered again. An entry of the cache is only used while the pixels of
+ * the image are unchanged.
+ * </p>
+ * <p>
+ * <b>IMPORTANT:</b> This class is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT.
+ * </p>
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class ImageResampler {
+
+	public static final int BOX = 0;
+	public static final int BILINEAR = 1;
+	public static final int LANCZOS = 2;
+
+	static final float[] SUPPORTS = {0.5f, 1, 3};
+	static final int PARALLEL_SIZE = 1 << 18;	// pixels of the result above which rows are filtered in parallel
+	static final int CACHE_SIZE = 256 * 256;	// pixels of the largest cached result
+	static final int CACHE_SOURCE_SIZE = 1024 * 1024;	// pixels of the largest image whose results are cached, as its pixels are hashed on every call
+
+	static final Map<ImageData, List<CacheEntry>> cache = new WeakHashMap<>();
+
+	static final class CacheEntry {
+		int width, height, filter, hash;
+		ImageData result;
+	}
+
+	/*
+	* The weights of the source pixels that contribute to every pixel
+	* of the result, along one axis.
+	*/
+	static final class Weights {
+		int[] starts, counts;
+		float[] values;
+		int stride;
+	}
+
+/**
+ * Returns a copy of the image scaled to the given size with the given filter.
+ */
+public static ImageData resample(ImageData imageData, int width, int height, int filter) {
+	if (imageData == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (width <= 0 || height <= 0 || filter < BOX || filter > LANCZOS) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	boolean cached = (long) width * height <= CACHE_SIZE && (long) imageData.width * imageData.height <= CACHE_SOURCE_SIZE;
+	int hash = 0;
+	if (cached) {
+		hash = hash(imageData);
+		synchronized (cache) {
+			List<CacheEntry> entries = cache.get(imageData);
+			if (entries != null) {
+				for (CacheEntry entry : entries) {
+					if (entry.width == width && entry.height == height && entry.filter == filter && entry.hash == hash) {
+						return (ImageData) entry.result.clone();
+					}
+				}
+			}
+		}
+	}
+	ImageData result = scale(imageData, width, height, filter);
+	if (cached) {
+		CacheEntry entry = new CacheEntry();
+		entry.width = width;
+		entry.height = height;
+		entry.filter = filter;
+		entry.hash = hash;
+		entry.result = (ImageData) result.clone();
+		synchronized (cache) {
+			List<CacheEntry> entries = cache.computeIfAbsent(imageData, key -> new ArrayList<>(2));
+			entries.removeIf(old -> old.width == width && old.height == height && old.filter == filter);
+			entries.add(entry);
+		}
+	}
+	return result;
+}
+
+static ImageData scale(ImageData imageData, int width, int height, int filter) {
+	int srcWidth = imageData.width, srcHeight = imageData.height;
+	int transparencyType = imageData.getTransparencyType();
+	boolean hasMask = transparencyType == SWT.TRANSPARENCY_MASK || transparencyType == SWT.TRANSPARENCY_PIXEL;
+	boolean hasAlpha = hasMask || (transparencyType == SWT.TRANSPARENCY_ALPHA && imageData.alpha == -1);
+	boolean parallel = (long) width * height >= PARALLEL_SIZE && Runtime.getRuntime().availableProcessors() > 1;
+
+	int[] pixels = new int[srcWidth * srcHeight];
+	ImageData mask = hasMask ? imageData.getTransparencyMask() : null;
+	rows(srcHeight, parallel).forEach(y -> read(imageData, mask, hasAlpha, y, pixels));
+
+	Weights columns = getWeights(srcWidth, width, filter);
+	Weights rows = getWeights(srcHeight, height, filter);
+	float[] columnPixels = new float[width * srcHeight * 4];
+	rows(srcHeight, parallel).forEach(y -> filterRow(pixels, y * srcWidth, columns, columnPixels, y * width * 4, width));
+
+	ImageData result = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	if (hasAlpha) {
+		result.alphaData = new byte[width * height];
+	} else {
+		result.alpha = imageData.alpha;
+	}
+	rows(height, parallel).forEach(y -> {
+		float[] row = new float[width * 4];
+		filterColumns(columnPixels, width, rows, y, row);
+		write(row, result, y);
+	});
+	return result;
+}
+
+static IntStream rows(int count, boolean parallel) {
+	IntStream rows = IntStream.range(0, count);
+	return parallel ? rows.parallel() : rows;
+}
+
+/**
+ * Filters the rows of the horizontally filtered image that contribute to
+ * the row <code>y</code> of the result. The pixels are pre-multiplied
+ * alpha, red, green and blue floats.
+ */
+static void filterColumns(float[] src, int width, Weights rows, int y, float[] row) {
+	int w = y * rows.stride;
+	for (int j = rows.starts[y], end = j + rows.counts[y]; j < end; j++, w++) {
+		float weight = rows.values[w];
+		for (int i = 0, p = j * width * 4; i < width * 4; i++, p++) {
+			row[i] += src[p] * weight;
+		}
+	}
+}
+
+/**
+ * Filters a row of ARGB pixels into a row of <code>width</code> pixels,
+ * pre-multiplied alpha, red, green and blue floats.
+ */
+static void filterRow(int[] src, int srcOffset, Weights columns, float[] dest, int destOffset, int width) {
+	int[] starts = columns.starts, counts = columns.counts;
+	float[] values = columns.values;
+	for (int x = 0, i = destOffset; x < width; x++, i += 4) {
+		float a = 0, r = 0, g = 0, b = 0;
+		int w = x * columns.stride;
+		for (int p = srcOffset + starts[x], end = p + counts[x]; p < end; p++, w++) {
+			int pixel = src[p];
+			float weight = values[w];
+			float alpha = (pixel >>> 24) * weight;
+			a += alpha;
+			r += ((pixel >> 16) & 0xFF) * alpha;
+			g += ((pixel >> 8) & 0xFF) * alpha;
+			b += (pixel & 0xFF) * alpha;
+		}
+		dest[i] = a;
+		dest[i + 1] = r / 255;
+		dest[i + 2] = g / 255;
+		dest[i + 3] = b / 255;
+	}
+}
+
+static int clamp(float value) {
+	int result = (int) (value + 0.5f);
+	return result < 0 ? 0 : result > 255 ? 255 : result;
+}
+
+static float getWeight(float x, int filter) {
+	switch (filter) {
+		case BOX:
+			return x >= -0.5f && x < 0.5f ? 1 : 0;
+		case BILINEAR:
+			if (x < 0) x = -x;
+			return x < 1 ? 1 - x : 0;
+		default:
+			if (x <= -3 || x >= 3) return 0;
+			return sinc(x) * sinc(x / 3);
+	}
+}
+
+/**
+ * Computes the weights of the source pixels for every pixel of the result.
+ * When the image is reduced, the filter is widened so that every source
+ * pixel contributes to the result.
+ */
+static Weights getWeights(int srcSize, int size, int filter) {
+	float scale = (float) srcSize / size;
+	float filterScale = Math.max(scale, 1);
+	float support = SUPPORTS[filter] * filterScale;
+	Weights weights = new Weights();
+	weights.stride = (int) Math.ceil(support) * 2 + 1;
+	weights.starts = new int[size];
+	weights.counts = new int[size];
+	weights.values = new float[size * weights.stride];
+	for (int i = 0; i < size; i++) {
+		float center = (i + 0.5f) * scale;
+		int min = Math.max((int) (center - support + 0.5f), 0);
+		int max = Math.min((int) (center + support + 0.5f), srcSize);
+		max = Math.min(max, min + weights.stride);
+		int offset = i * weights.stride;
+		float total = 0;
+		for (int j = min; j < max; j++) {
+			float weight = getWeight((j - center + 0.5f) / filterScale, filter);
+			weights.values[offset + j - min] = weight;
+			total += weight;
+		}
+		if (total == 0) {
+			/* the filter misses every source pixel, use the nearest one */
+			min = Math.min((int) center, srcSize - 1);
+			max = min + 1;
+			weights.values[offset] = total = 1;
+		}
+		for (int j = 0; j < max - min; j++) {
+			weights.values[offset + j] /= total;
+		}
+		weights.starts[i] = min;
+		weights.counts[i] = max - min;
+	}
+	return weights;
+}
+
+static int hash(ImageData imageData) {
+	int hash = Arrays.hashCode(imageData.data);
+	hash = hash * 31 + Arrays.hashCode(imageData.alphaData);
+	hash = hash * 31 + Arrays.hashCode(imageData.maskData);
+	hash = hash * 31 + imageData.alpha;
+	hash = hash * 31 + imageData.transparentPixel;
+	return hash;
+}
+
+/**
+ * Reads a row of the image as ARGB pixels.
+ */
+static void read(ImageData imageData, ImageData mask, boolean hasAlpha, int y, int[] pixels) {
+	int width = imageData.width;
+	int offset = y * width;
+	imageData.getPixels(0, y, width, pixels, offset);
+	PaletteData palette = imageData.palette;
+	if (palette.isDirect) {
+		int redMask = palette.redMask, greenMask = palette.greenMask, blueMask = palette.blueMask;
+		int redShift = palette.redShift, greenShift = palette.greenShift, blueShift = palette.blueShift;
+		for (int i = offset; i < offset + width; i++) {
+			int pixel = pixels[i];
+			int r = pixel & redMask;
+			r = (redShift < 0) ? r >>> -redShift : r << redShift;
+			int g = pixel & greenMask;
+			g = (greenShift < 0) ? g >>> -greenShift : g << greenShift;
+			int b = pixel & blueMask;
+			b = (blueShift < 0) ? b >>> -blueShift : b << blueShift;
+			pixels[i] = 0xFF000000 | (r & 0xFF) << 16 | (g & 0xFF) << 8 | (b & 0xFF);
+		}
+	} else {
+		RGB[] rgbs = palette.getRGBs();
+		for (int i = offset; i < offset + width; i++) {
+			int pixel = pixels[i];
+			if (pixel >= rgbs.length) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+			RGB rgb = rgbs[pixel];
+			pixels[i] = rgb == null ? 0xFF000000 : 0xFF000000 | rgb.red << 16 | rgb.green << 8 | rgb.blue;
+		}
+	}
+	if (!hasAlpha) return;
+	if (mask != null) {
+		int[] maskPixels = new int[width];
+		mask.getPixels(0, y, width, maskPixels, 0);
+		for (int x = 0; x < width; x++) {
+			if (maskPixels[x] == 0) pixels[offset + x] = 0;
+		}
+	} else {
+		byte[] alphaData = imageData.alphaData;
+		for (int i = offset; i < offset + width; i++) {
+			pixels[i] = (alphaData[i] & 0xFF) << 24 | (pixels[i] & 0xFFFFFF);
+		}
+	}
+}
+
+static float sinc(float x) {
+	if (x == 0) return 1;
+	double angle = Math.PI * x;
+	return (float) (Math.sin(angle) / angle);
+}
+
+/**
+ * Writes a row of pre-multiplied alpha, red, green and blue floats to the
+ * result, rounding and clamping them to bytes.
+ */
+static void write(float[] row, ImageData result, int y) {
+	byte[] data = result.data, alphaData = result.alphaData;
+	int width = result.width;
+	for (int x = 0, i = 0, offset = y * result.bytesPerLine; x < width; x++, i += 4, offset += 3) {
+		/*
+		* The negative lobes of the Lanczos filter can make the alpha overshoot.
+		* Dividing the channels by the unclamped alpha keeps the colours of
+		* opaque pixels, which clamping the alpha alone would change.
+		*/
+		float a = row[i];
+		int alpha = clamp(a);
+		int r = 0, g = 0, b = 0;
+		if (alpha != 0) {
+			float scale = 255 / a;
+			r = clamp(row[i + 1] * scale);
+			g = clamp(row[i + 2] * scale);
+			b = clamp(row[i + 3] * scale);
+		}
+		data[offset] = (byte) r;
+		data[offset + 1] = (byte) g;
+		data[offset + 2] = (byte) b;
+		if (alphaData != null) alphaData[y * width + x] = (byte) alpha;
+	}
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@ public abstract class FileFormat {
 	LEDataInputStream inputStream;
 	LEDataOutputStream outputStream;
 	ImageLoader loader;
+	ImageBands bands;
 	int compression;
 
 static FileFormat getFileFormat (LEDataInputStream stream, String format) throws Exception {
@@ -49,6 +50,17 @@ abstract boolean isFileFormat(LEDataInputStream stream);
 
 abstract ImageData[] loadFromByteStream();
 
+/**
+ * Read the first image of the byte stream and send its rows to
+ * the bands. Formats that cannot decode their rows one by one
+ * decode the whole image first.
+ */
+void loadBandsFromByteStream() {
+	ImageData[] images = loadFromByteStream();
+	if (images == null || images.length == 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	bands.addImage(images[0]);
+}
+
 /**
  * Read the specified input stream, and return the
  * device independent image array represented by the stream.
@@ -72,8 +84,38 @@ public ImageData[] loadFromStream(LEDataInputStream stream) {
  * return the device independent image array represented by the stream.
  */
 public static ImageData[] load(InputStream is, ImageLoader loader) {
-	FileFormat fileFormat = null;
 	LEDataInputStream stream = new LEDataInputStream(is);
+	FileFormat fileFormat = getFileFormat(stream);
+	fileFormat.loader = loader;
+	return fileFormat.loadFromStream(stream);
+}
+
+/**
+ * Read the first image of the specified input stream using the specified
+ * loader, and send the rows of the given region of the image, subsampled
+ * by the given factor, to the listener in bands.
+ */
+public static void loadBands(InputStream is, ImageLoader loader, Rectangle region, int subsampling, ImageLoaderListener listener) {
+	LEDataInputStream stream = new LEDataInputStream(is);
+	FileFormat fileFormat = getFileFormat(stream);
+	fileFormat.loader = loader;
+	fileFormat.bands = new ImageBands(loader, region, subsampling, listener);
+	try {
+		fileFormat.inputStream = stream;
+		fileFormat.loadBandsFromByteStream();
+		if (!fileFormat.bands.isComplete()) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	} catch (Exception e) {
+		if (e == fileFormat.bands.failure) throw fileFormat.bands.failure;
+		if (e instanceof IOException) {
+			SWT.error(SWT.ERROR_IO, e);
+		} else {
+			SWT.error(SWT.ERROR_INVALID_IMAGE, e);
+		}
+	}
+}
+
+static FileFormat getFileFormat(LEDataInputStream stream) {
+	FileFormat fileFormat = null;
 	for (int i = 1; i < FORMATS.length; i++) {
 		if (FORMATS[i] != null) {
 			try {
@@ -86,8 +128,7 @@ public static ImageData[] load(InputStream is, ImageLoader loader) {
 		}
 	}
 	if (fileFormat == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
-	fileFormat.loader = loader;
-	return fileFormat.loadFromStream(stream);
+	return fileFormat;
 }
 
 /**
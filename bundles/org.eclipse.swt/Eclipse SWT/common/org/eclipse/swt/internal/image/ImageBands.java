@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Collects the rows decoded by a <code>FileFormat</code> into bands of
+ * <code>BAND_HEIGHT</code> rows and sends each band to a listener as soon
+ * as it is complete.
+ * <p>
+ * Only the rows and the columns of the requested region are kept, and of
+ * these only one row and one column out of <code>subsampling</code>. A
+ * format that decodes its rows one by one therefore never holds more than
+ * a band of the image.
+ * </p>
+ */
+class ImageBands {
+	ImageLoader loader;
+	ImageLoaderListener listener;
+	Rectangle region;
+	int subsampling;
+	int x, y, width, height;	// the region of the image, clipped to its bounds
+	int bandWidth, bandHeight;	// the size of the subsampled region
+	ImageData band;
+	int bandY, bandRow, bandCount;
+	int[] pixels, maskPixels;
+	byte[] alphas;
+	RuntimeException failure;	// thrown by the receiver or by the listener, and not caused by the image
+
+	final static int BAND_HEIGHT = 16;
+
+ImageBands(ImageLoader loader, Rectangle region, int subsampling, ImageLoaderListener listener) {
+	this.loader = loader;
+	this.region = region;
+	this.subsampling = subsampling;
+	this.listener = listener;
+}
+/**
+ * Adds the rows of the image that are in the region.
+ */
+void addImage(ImageData image) {
+	start(image.width, image.height);
+	ImageData mask = image.getTransparencyType() == SWT.TRANSPARENCY_MASK ? image.getTransparencyMask() : null;
+	for (int row = y; row < y + height; row += subsampling) {
+		addRow(image, row, mask);
+	}
+}
+/**
+ * Adds a row of the image as the next row of the region. Only the columns
+ * of the region are copied. When <code>mask</code> is not <code>null</code>,
+ * it is converted to the alpha data of the band.
+ */
+void addRow(ImageData image, int row, ImageData mask) {
+	if (band == null) {
+		int rows = Math.min(BAND_HEIGHT, bandHeight - bandY);
+		boolean hasAlpha = image.alphaData != null || mask != null;
+		band = ImageData.internal_new(
+			bandWidth,
+			rows,
+			image.depth,
+			image.palette,
+			4,
+			null,
+			0,
+			null,
+			hasAlpha ? new byte[bandWidth * rows] : null,
+			image.alpha,
+			image.transparentPixel,
+			image.type,
+			0,
+			bandY,
+			0,
+			0);
+		if (pixels == null) pixels = new int[width];
+	}
+	image.getPixels(x, row, width, pixels, 0);
+	subsample(pixels);
+	band.setPixels(0, bandRow, bandWidth, pixels, 0);
+	if (mask != null) {
+		if (maskPixels == null) maskPixels = new int[width];
+		if (alphas == null) alphas = new byte[width];
+		mask.getPixels(x, row, width, maskPixels, 0);
+		for (int i = 0; i < bandWidth; i++) {
+			alphas[i] = maskPixels[i * subsampling] != 0 ? (byte)0xFF : 0;
+		}
+		band.setAlphas(0, bandRow, bandWidth, alphas, 0);
+	} else if (image.alphaData != null) {
+		if (alphas == null) alphas = new byte[width];
+		image.getAlphas(x, row, width, alphas, 0);
+		if (subsampling > 1) {
+			for (int i = 1; i < bandWidth; i++) {
+				alphas[i] = alphas[i * subsampling];
+			}
+		}
+		band.setAlphas(0, bandRow, bandWidth, alphas, 0);
+	}
+	if (++bandRow == band.height) {
+		ImageData data = band;
+		boolean endOfImage = bandY + bandRow == bandHeight;
+		band = null;
+		bandY += bandRow;
+		bandRow = 0;
+		try {
+			listener.imageDataLoaded(new ImageLoaderEvent(loader, data, bandCount++, endOfImage));
+		} catch (RuntimeException e) {
+			failure = e;
+			throw e;
+		}
+	}
+}
+/**
+ * Answer whether the given row of the image is one of the rows of the
+ * region that are sent to the listener.
+ */
+boolean contains(int row) {
+	return row >= y && row < y + height && (row - y) % subsampling == 0;
+}
+/**
+ * Answer whether every band of the region has been sent to the listener.
+ */
+boolean isComplete() {
+	return bandHeight > 0 && bandY == bandHeight;
+}
+/**
+ * Clips the region to the bounds of the image, which are known once the
+ * header of the image has been read.
+ */
+void start(int imageWidth, int imageHeight) {
+	Rectangle bounds = new Rectangle(0, 0, imageWidth, imageHeight);
+	Rectangle clipped = region == null ? bounds : region.intersection(bounds);
+	if (clipped.isEmpty()) {
+		try {
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		} catch (IllegalArgumentException e) {
+			failure = e;
+			throw e;
+		}
+	}
+	x = clipped.x;
+	y = clipped.y;
+	width = clipped.width;
+	height = clipped.height;
+	bandWidth = (width + subsampling - 1) / subsampling;
+	bandHeight = (height + subsampling - 1) / subsampling;
+}
+void subsample(int[] pixels) {
+	if (subsampling == 1) return;
+	for (int i = 1; i < bandWidth; i++) {
+		pixels[i] = pixels[i * subsampling];
+	}
+}
+}
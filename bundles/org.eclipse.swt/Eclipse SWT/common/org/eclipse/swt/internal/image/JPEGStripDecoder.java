@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Decodes the horizontal strips of a large JPEG image in parallel.
+ * <p>
+ * The entropy coded data of an image that has restart markers is made of
+ * segments that can be decoded independently, since the decoder resets
+ * its state at every restart marker. The segments that start at the
+ * beginning of an MCU row split the image into strips. Every strip is
+ * decoded on its own by <code>JPEGDecoder</code>, as a small image made of
+ * the headers of the image, a frame height matching the strip, and the
+ * segments of the strip.
+ * </p><p>
+ * Every strip is decoded with the MCU rows around it, which are then
+ * dropped, so that the upsampling of the chroma components sees the
+ * same rows as when the whole image is decoded, and the strips are
+ * identical to the rows of the whole image.
+ * </p><p>
+ * Only sequential Huffman images with a single interleaved scan and a
+ * restart interval are split. The receiver stops reading as soon as it
+ * finds that the image cannot be split or that the data is invalid, and
+ * other images are decoded by <code>JPEGDecoder</code> from the data read
+ * by the receiver followed by the rest of the input stream, so that its
+ * errors are reported without reading the whole stream first.
+ * </p>
+ */
+final class JPEGStripDecoder {
+	byte[] data = new byte[JPEGDecoder.INPUT_BUFFER_SIZE];
+	int length, offset;
+	boolean inScan, complete, stopped;
+	int frameMarker, frameOffset, width, height, components;
+	int maxHSampling, maxVSampling;
+	int restartInterval, scanCount, scanComponents;
+	int scanStart, scanEnd;
+	int[] restarts = new int[64];	// the offsets of the restart markers of the scan
+	int restartCount;
+	int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/* The number of pixels above which an image is decoded in parallel */
+	static final int PARALLEL_SIZE = 1 << 20;
+	/* The number of strips decoded by every thread */
+	static final int STRIPS_PER_THREAD = 2;
+
+/**
+ * Answer the offset of the first byte of the given segment.
+ */
+int getSegmentStart(int segment) {
+	return segment == 0 ? scanStart : restarts[segment - 1] + 2;
+}
+/**
+ * Answer the offset following the last byte of the given segment.
+ */
+int getSegmentEnd(int segment) {
+	return segment == restartCount ? scanEnd : restarts[segment];
+}
+/**
+ * Answer a stream returning the data read by the receiver followed
+ * by the rest of the specified input stream.
+ */
+InputStream getInputStream(InputStream inputStream) {
+	InputStream stream = new ByteArrayInputStream(data, 0, length);
+	return complete ? stream : new SequenceInputStream(stream, inputStream);
+}
+/**
+ * Read the specified input stream up to the end of the image, and
+ * find the headers and the restart markers of the image. Like the
+ * decoder, no more than a buffer is read past the end of the image.
+ * Stop reading as soon as the image cannot be decoded in parallel.
+ */
+void read(InputStream inputStream) throws IOException {
+	if (parallelism < 2) stopped = true;
+	while (!complete && !stopped) {
+		if (length == data.length) data = Arrays.copyOf(data, data.length * 2);
+		int count = inputStream.read(data, length, Math.min(JPEGDecoder.INPUT_BUFFER_SIZE, data.length - length));
+		if (count <= 0) break;
+		length += count;
+		scan();
+	}
+}
+/**
+ * Scan the data read so far, stopping at the end of the image, when
+ * more data is needed, or when the image cannot be split.
+ */
+void scan() {
+	while (!complete && !stopped) {
+		if (inScan) {
+			while (offset + 1 < length) {
+				if (data[offset] != (byte)0xFF) {
+					offset++;
+					continue;
+				}
+				int marker = data[offset + 1] & 0xFF;
+				if (marker == 0 || marker == 0xFF) {
+					offset += marker == 0 ? 2 : 1;
+				} else if (marker >= JPEGDecoder.M_RST0 && marker <= JPEGDecoder.M_RST7) {
+					if (restartCount == restarts.length) restarts = Arrays.copyOf(restarts, restartCount * 2);
+					restarts[restartCount++] = offset;
+					offset += 2;
+				} else {
+					scanEnd = offset;
+					inScan = false;
+					break;
+				}
+			}
+			if (inScan) return;
+		}
+		if (offset + 2 > length) return;
+		if (data[offset] != (byte)0xFF) {
+			stopped = true;
+			return;
+		}
+		int marker = data[offset + 1] & 0xFF;
+		if (marker == 0xFF) {
+			offset++;
+			continue;
+		}
+		if (marker == JPEGDecoder.M_EOI) {
+			complete = true;
+			return;
+		}
+		if (marker == JPEGDecoder.M_SOI || marker == JPEGDecoder.M_TEM || (marker >= JPEGDecoder.M_RST0 && marker <= JPEGDecoder.M_RST7)) {
+			offset += 2;
+			continue;
+		}
+		if (offset + 4 > length) return;
+		int segmentLength = ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+		if (offset + 2 + segmentLength > length) return;
+		switch (marker) {
+			case JPEGDecoder.M_SOF0: case JPEGDecoder.M_SOF1: case JPEGDecoder.M_SOF2: case JPEGDecoder.M_SOF3:
+			case JPEGDecoder.M_SOF5: case JPEGDecoder.M_SOF6: case JPEGDecoder.M_SOF7:
+			case JPEGDecoder.M_SOF9: case JPEGDecoder.M_SOF10: case JPEGDecoder.M_SOF11:
+			case JPEGDecoder.M_SOF13: case JPEGDecoder.M_SOF14: case JPEGDecoder.M_SOF15:
+				frameMarker = marker;
+				frameOffset = offset;
+				if (segmentLength < 8 || (marker != JPEGDecoder.M_SOF0 && marker != JPEGDecoder.M_SOF1)) {
+					stopped = true;
+					return;
+				}
+				height = ((data[offset + 5] & 0xFF) << 8) | (data[offset + 6] & 0xFF);
+				width = ((data[offset + 7] & 0xFF) << 8) | (data[offset + 8] & 0xFF);
+				components = data[offset + 9] & 0xFF;
+				if (segmentLength != 8 + components * 3 || (long)width * height < PARALLEL_SIZE) {
+					stopped = true;
+					return;
+				}
+				for (int i = 0; i < components; i++) {
+					int sampling = data[offset + 10 + i * 3 + 1] & 0xFF;
+					maxHSampling = Math.max(maxHSampling, sampling >> 4);
+					maxVSampling = Math.max(maxVSampling, sampling & 0xF);
+				}
+				break;
+			case JPEGDecoder.M_DRI:
+				if (scanCount == 0 && segmentLength >= 4) {
+					restartInterval = ((data[offset + 4] & 0xFF) << 8) | (data[offset + 5] & 0xFF);
+				}
+				break;
+			case JPEGDecoder.M_SOS:
+				scanComponents = segmentLength < 3 ? 0 : data[offset + 4] & 0xFF;
+				if (++scanCount != 1 || frameMarker == 0 || restartInterval == 0 || scanComponents != components) {
+					stopped = true;
+					return;
+				}
+				scanStart = offset + 2 + segmentLength;
+				inScan = true;
+				break;
+		}
+		offset += 2 + segmentLength;
+	}
+}
+/**
+ * Decode the image in strips on the common fork join pool, scaled
+ * down to the target size of the loader. Answer <code>null</code>
+ * when the image is too small to benefit from it or cannot be split,
+ * or when a strip cannot be decoded.
+ */
+ImageData decodeInParallel(ImageLoader loader) {
+	if (parallelism < 2 || stopped || !complete || scanCount != 1 || restartInterval == 0) return null;
+	if (frameMarker != JPEGDecoder.M_SOF0 && frameMarker != JPEGDecoder.M_SOF1) return null;
+	if (width <= 0 || height <= 0 || (long)width * height < PARALLEL_SIZE) return null;
+	if (scanComponents != components || maxHSampling == 0 || maxVSampling == 0) return null;
+
+	/* Find the segments that start an MCU row */
+	int mcuWidth = components == 1 ? 8 : maxHSampling * 8;
+	int mcuHeight = components == 1 ? 8 : maxVSampling * 8;
+	int mcusPerRow = (width + mcuWidth - 1) / mcuWidth;
+	int mcuRows = (height + mcuHeight - 1) / mcuHeight;
+	int segmentCount = restartCount + 1;
+	if (segmentCount != ((long)mcusPerRow * mcuRows + restartInterval - 1) / restartInterval) return null;
+	int[] boundaries = new int[mcuRows + 1];	// the MCU row starting at every boundary
+	int[] boundarySegments = new int[mcuRows + 1];	// the segment starting at every boundary
+	int boundaryCount = 0;
+	for (int segment = 0; segment < segmentCount; segment++) {
+		long mcu = (long)segment * restartInterval;
+		if (mcu % mcusPerRow == 0) {
+			boundaries[boundaryCount] = (int)(mcu / mcusPerRow);
+			boundarySegments[boundaryCount++] = segment;
+		}
+	}
+	boundaries[boundaryCount] = mcuRows;
+	boundarySegments[boundaryCount++] = segmentCount;
+
+	/* Group the boundaries into strips */
+	int rowsPerStrip = Math.max(1, mcuRows / (parallelism * STRIPS_PER_THREAD));
+	int[] cuts = new int[boundaryCount];	// the indices of the boundaries starting the strips
+	int stripCount = 0;
+	for (int i = 0; i < boundaryCount - 1; i++) {
+		if (stripCount == 0 || boundaries[i] - boundaries[cuts[stripCount - 1]] >= rowsPerStrip) {
+			cuts[stripCount++] = i;
+		}
+	}
+	int lastBoundary = boundaryCount - 1;
+	cuts[stripCount] = lastBoundary;
+	if (stripCount < 2) return null;
+
+	int scale_denom = JPEGDecoder.getScaleDenominator(width, height, loader);
+	int outputWidth = (width + scale_denom - 1) / scale_denom;
+	int outputHeight = (height + scale_denom - 1) / scale_denom;
+	int outputRowsPerMCU = mcuHeight / scale_denom;
+	ImageData[] strips = new ImageData[stripCount];
+	try {
+		IntStream.range(0, strips.length).parallel().forEach(i -> {
+			int first = Math.max(0, cuts[i] - 1), last = Math.min(lastBoundary, cuts[i + 1] + 1);
+			ImageData strip = decodeStrip(loader, boundaries[first], boundaries[last], boundarySegments[first], boundarySegments[last], mcuHeight, scale_denom);
+			int y = (boundaries[cuts[i]] - boundaries[first]) * outputRowsPerMCU;
+			int rows = Math.min(outputHeight, boundaries[cuts[i + 1]] * outputRowsPerMCU) - boundaries[cuts[i]] * outputRowsPerMCU;
+			if (strip.width != outputWidth || y + rows > strip.height) SWT.error(SWT.ERROR_INVALID_IMAGE);
+			byte[] stripData = new byte[strip.bytesPerLine * rows];
+			System.arraycopy(strip.data, y * strip.bytesPerLine, stripData, 0, stripData.length);
+			strip.data = stripData;
+			strips[i] = strip;
+		});
+	} catch (RuntimeException e) {
+		/*
+		* The strips fail on corrupt data that the decoder can recover from
+		* when it decodes the whole image, so let it decode the image.
+		*/
+		return null;
+	}
+	int bytesPerLine = strips[0].bytesPerLine;
+	byte[] imageData = new byte[bytesPerLine * outputHeight];
+	int offset = 0;
+	for (ImageData strip : strips) {
+		System.arraycopy(strip.data, 0, imageData, offset, strip.data.length);
+		offset += strip.data.length;
+	}
+	return ImageData.internal_new(
+		outputWidth, outputHeight, strips[0].depth, strips[0].palette, 4, imageData,
+		0, null, null, -1, -1, SWT.IMAGE_JPEG, 0, 0, 0, 0);
+}
+/**
+ * Decode the MCU rows between the given rows as an image made of the
+ * headers of the image and the segments between the given segments.
+ */
+ImageData decodeStrip(ImageLoader loader, int firstRow, int lastRow, int firstSegment, int lastSegment, int mcuHeight, int scale_denom) {
+	int start = getSegmentStart(firstSegment), end = getSegmentEnd(lastSegment - 1);
+	byte[] strip = new byte[scanStart + end - start + 2];
+	System.arraycopy(data, 0, strip, 0, scanStart);
+	int stripHeight = Math.min(height, lastRow * mcuHeight) - firstRow * mcuHeight;
+	strip[frameOffset + 5] = (byte)(stripHeight >> 8);
+	strip[frameOffset + 6] = (byte)stripHeight;
+	System.arraycopy(data, start, strip, scanStart, end - start);
+	/* Number the restart markers of the strip from 0 */
+	for (int segment = firstSegment + 1; segment < lastSegment; segment++) {
+		strip[scanStart + restarts[segment - 1] - start + 1] = (byte)(JPEGDecoder.M_RST0 + ((segment - firstSegment - 1) & 7));
+	}
+	strip[strip.length - 2] = (byte)0xFF;
+	strip[strip.length - 1] = (byte)JPEGDecoder.M_EOI;
+	return JPEGDecoder.decode(new ByteArrayInputStream(strip), loader, scale_denom);
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.swt.internal.image;
 
 
 import java.io.*;
+import java.util.stream.*;
 import java.util.zip.*;
 
 import org.eclipse.swt.*;
@@ -31,6 +32,23 @@ public final class PNGFileFormat extends FileFormat {
 	byte headerByte1;
 	byte headerByte2;
 	int adler;
+	InputStream idatStream;
+	Inflater inflater;
+	byte[] idatBuffer;
+
+	/* The start row, start column, row interval and column interval of the Adam7 passes */
+	static final int[][] ADAM7_PASSES = {
+		{0, 0, 8, 8},
+		{0, 4, 8, 8},
+		{4, 0, 8, 4},
+		{0, 2, 4, 4},
+		{2, 0, 4, 2},
+		{0, 1, 2, 2},
+		{1, 0, 2, 1},
+	};
+	static final int BUFFER_SIZE = 8192;
+	/* The size of the interlaced data above which the passes are unfiltered in parallel */
+	static final int PARALLEL_SIZE = 1 << 20;
 
 /**
  * Skip over signature data. This has already been
@@ -51,6 +69,12 @@ ImageData[] loadFromByteStream() {
 		headerChunk = chunkReader.getIhdrChunk();
 		int width = headerChunk.getWidth(), height = headerChunk.getHeight();
 		if (width <= 0 || height <= 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
+		/*
+		* When the rows of a non-interlaced image are sent to bands, the
+		* image data only holds the palette and the transparency of the
+		* image, and the pixel data is never allocated.
+		*/
+		if (isStreaming()) height = 1;
 		int imageSize = getAlignedBytesPerRow() * height;
 		data = new byte[imageSize];
 		imageData = ImageData.internal_new(
@@ -86,6 +110,23 @@ ImageData[] loadFromByteStream() {
 		return null;
 	}
 }
+/**
+ * Load the PNG image from the byte stream and send its rows
+ * to the bands. The rows of a non-interlaced image are sent
+ * as they are decoded.
+ */
+@Override
+void loadBandsFromByteStream() {
+	ImageData[] images = loadFromByteStream();
+	if (!isStreaming()) bands.addImage(images[0]);
+}
+/**
+ * Answer whether the rows of the image are sent to bands
+ * as they are decoded.
+ */
+boolean isStreaming() {
+	return bands != null && headerChunk.getInterlaceMethod() == PngIhdrChunk.INTERLACE_METHOD_NONE;
+}
 /**
  * Read and handle the next chunk of data from the
  * PNG file.
@@ -307,30 +348,60 @@ void setImageDataValues(byte[] data, ImageData imageData) {
  * Read the image data from the data stream. This must handle
  * decoding the data, filtering, and interlacing.
  */
-@SuppressWarnings("resource")
 void readPixelData(PngIdatChunk chunk, PngChunkReader chunkReader) throws IOException {
-	InputStream stream = new PngInputStream(chunk, chunkReader);
-	//TEMPORARY CODE
-	boolean use3_2 = System.getProperty("org.eclipse.swt.internal.image.PNGFileFormat_3.2") != null;
-	InputStream inflaterStream = use3_2 ? null : new BufferedInputStream(new InflaterInputStream(stream));
-	if (inflaterStream != null) {
-		stream = inflaterStream;
-	} else {
-		stream = new PngDecodingDataStream(stream);
+	idatStream = new PngInputStream(chunk, chunkReader);
+	idatBuffer = new byte[BUFFER_SIZE];
+	inflater = new Inflater();
+	try {
+		int interlaceMethod = headerChunk.getInterlaceMethod();
+		if (isStreaming()) {
+			readNonInterlacedBands();
+		} else if (interlaceMethod == PngIhdrChunk.INTERLACE_METHOD_NONE) {
+			readNonInterlacedImage();
+		} else {
+			readInterlacedImage();
+		}
+		/*
+		* Consume the end of the compressed data, so that no IDAT
+		* chunk is left unread.
+		*/
+		byte[] buffer = new byte[BUFFER_SIZE];
+		while (!inflater.finished()) {
+			if (inflate(buffer, 0, buffer.length, false) == 0) break;
+		}
+	} finally {
+		inflater.end();
+		idatStream.close();
+		inflater = null;
+		idatStream = null;
+		idatBuffer = null;
 	}
-	int interlaceMethod = headerChunk.getInterlaceMethod();
-	if (interlaceMethod == PngIhdrChunk.INTERLACE_METHOD_NONE) {
-		readNonInterlacedImage(stream);
-	} else {
-		readInterlacedImage(stream);
+}
+/**
+ * Inflate <code>length</code> bytes of pixel data into the given
+ * array. Fewer bytes are inflated only when the data ends and
+ * <code>exact</code> is false.
+ */
+int inflate(byte[] buffer, int offset, int length, boolean exact) throws IOException {
+	int read = 0;
+	try {
+		while (read < length) {
+			int count = inflater.inflate(buffer, offset + read, length - read);
+			if (count == 0) {
+				if (inflater.finished() || inflater.needsDictionary()) break;
+				if (inflater.needsInput()) {
+					int available = idatStream.read(idatBuffer, 0, idatBuffer.length);
+					if (available == -1) break;
+					inflater.setInput(idatBuffer, 0, available);
+				}
+			}
+			read += count;
+		}
+	} catch (DataFormatException e) {
+		throw new IOException(e.getMessage());
 	}
-	/*
-	* InflaterInputStream does not consume all bytes in the stream
-	* when it is closed. This may leave unread IDAT chunks. The fix
-	* is to read all available bytes before closing it.
-	*/
-	while (stream.available() > 0) stream.read();
-	stream.close();
+	if (exact && read < length) throw new IOException();
+	return read;
 }
 /**
  * Answer the number of bytes in a word-aligned row of pixel data.
@@ -371,57 +442,52 @@ int getBytesPerRow(int rowWidthInPixels) {
 	return (bitsPerRow + (bitsPerByte - 1)) / bitsPerByte;
 }
 /**
- * 1. Read one of the seven frames of interlaced data.
- * 2. Update the imageData.
- * 3. Notify the image loader's listeners of the frame load.
+ * Answer the number of rows of the given Adam7 pass, or 0
+ * if the pass is empty.
  */
-void readInterlaceFrame(
-	InputStream inputStream,
-	int rowInterval,
-	int columnInterval,
-	int startRow,
-	int startColumn,
-	int frameCount) throws IOException
-{
+int getPassRows(int[] pass) {
+	int width = headerChunk.getWidth(), height = headerChunk.getHeight();
+	if (pass[0] >= height || pass[1] >= width) return 0;
+	return (height - pass[0] + pass[2] - 1) / pass[2];
+}
+/**
+ * Answer the number of bytes of a row of the given Adam7 pass,
+ * not including the filter type.
+ */
+int getPassBytesPerRow(int[] pass) {
+	int width = headerChunk.getWidth();
+	return getBytesPerRow((width - pass[1] + pass[3] - 1) / pass[3]);
+}
+/**
+ * Copy the unfiltered rows of one of the seven frames of
+ * interlaced data into the image data.
+ */
+void copyInterlaceFrame(byte[] frame, int frameOffset, int[] pass) {
 	int width = headerChunk.getWidth();
 	int alignedBytesPerRow = getAlignedBytesPerRow();
 	int height = headerChunk.getHeight();
-	if (startRow >= height || startColumn >= width) return;
-
-	int pixelsPerRow = (width - startColumn + columnInterval - 1) / columnInterval;
-	int bytesPerRow = getBytesPerRow(pixelsPerRow);
-	byte[] row1 = new byte[bytesPerRow];
-	byte[] row2 = new byte[bytesPerRow];
-	byte[] currentRow = row1;
-	byte[] lastRow = row2;
+	int startRow = pass[0], startColumn = pass[1], rowInterval = pass[2], columnInterval = pass[3];
+	int bytesPerRow = getPassBytesPerRow(pass);
 	for (int row = startRow; row < height; row += rowInterval) {
-		byte filterType = (byte)inputStream.read();
-		int read = 0;
-		while (read != bytesPerRow) {
-			read += inputStream.read(currentRow, read, bytesPerRow - read);
-		}
-		filterRow(currentRow, lastRow, filterType);
+		int rowOffset = frameOffset + 1;
+		int rowEnd = rowOffset + bytesPerRow;
 		if (headerChunk.getBitDepth() >= 8) {
 			int bytesPerPixel = getBytesPerPixel();
 			int dataOffset = (row * alignedBytesPerRow) + (startColumn * bytesPerPixel);
-			for (int rowOffset = 0; rowOffset < currentRow.length; rowOffset += bytesPerPixel) {
-				for (int byteOffset = 0; byteOffset < bytesPerPixel; byteOffset++) {
-					data[dataOffset + byteOffset] = currentRow[rowOffset + byteOffset];
-				}
-				dataOffset += (columnInterval * bytesPerPixel);
+			int dataIncrement = columnInterval * bytesPerPixel;
+			for (; rowOffset < rowEnd; rowOffset += bytesPerPixel) {
+				System.arraycopy(frame, rowOffset, data, dataOffset, bytesPerPixel);
+				dataOffset += dataIncrement;
 			}
 		} else {
 			int bitsPerPixel = headerChunk.getBitDepth();
 			int pixelsPerByte = 8 / bitsPerPixel;
 			int column = startColumn;
 			int rowBase = row * alignedBytesPerRow;
-			int valueMask = 0;
-			for (int i = 0; i < bitsPerPixel; i++) {
-				valueMask <<= 1;
-				valueMask |= 1;
-			}
+			int valueMask = (1 << bitsPerPixel) - 1;
 			int maxShift = 8 - bitsPerPixel;
-			for (byte element : currentRow) {
+			for (; rowOffset < rowEnd; rowOffset++) {
+				byte element = frame[rowOffset];
 				for (int bitOffset = maxShift; bitOffset >= 0; bitOffset -= bitsPerPixel) {
 					if (column < width) {
 						int dataOffset = rowBase + (column * bitsPerPixel / 8);
@@ -433,24 +499,62 @@ void readInterlaceFrame(
 				}
 			}
 		}
-		currentRow = (currentRow == row1) ? row2 : row1;
-		lastRow = (lastRow == row1) ? row2 : row1;
+		frameOffset += bytesPerRow + 1;
+	}
+}
+/**
+ * Unfilter the rows of one of the seven frames of interlaced
+ * data. Each row is preceded by its filter type.
+ */
+void filterInterlaceFrame(byte[] frame, int frameOffset, int[] pass) {
+	int rows = getPassRows(pass);
+	int bytesPerRow = getPassBytesPerRow(pass);
+	int byteOffset = headerChunk.getFilterByteOffset();
+	int previousOffset = -1;
+	for (int row = 0; row < rows; row++) {
+		filterRow(frame, frameOffset + 1, previousOffset, bytesPerRow, byteOffset, frame[frameOffset]);
+		previousOffset = frameOffset + 1;
+		frameOffset += bytesPerRow + 1;
 	}
-	setImageDataValues(data, imageData);
-	fireInterlacedFrameEvent(frameCount);
 }
 /**
  * Read the pixel data for an interlaced image from the
  * data stream.
+ * <p>
+ * The data of all seven frames is inflated first. When no
+ * listener needs to be notified of each frame, the frames,
+ * which do not depend on each other, are then unfiltered in
+ * parallel.
+ * </p>
  */
-void readInterlacedImage(InputStream inputStream) throws IOException {
-	readInterlaceFrame(inputStream, 8, 8, 0, 0, 0);
-	readInterlaceFrame(inputStream, 8, 8, 0, 4, 1);
-	readInterlaceFrame(inputStream, 8, 4, 4, 0, 2);
-	readInterlaceFrame(inputStream, 4, 4, 0, 2, 3);
-	readInterlaceFrame(inputStream, 4, 2, 2, 0, 4);
-	readInterlaceFrame(inputStream, 2, 2, 0, 1, 5);
-	readInterlaceFrame(inputStream, 2, 1, 1, 0, 6);
+void readInterlacedImage() throws IOException {
+	int[] frameOffsets = new int[ADAM7_PASSES.length + 1];
+	for (int i = 0; i < ADAM7_PASSES.length; i++) {
+		int[] pass = ADAM7_PASSES[i];
+		int rows = getPassRows(pass);
+		frameOffsets[i + 1] = frameOffsets[i] + (rows == 0 ? 0 : rows * (getPassBytesPerRow(pass) + 1));
+	}
+	byte[] frames = new byte[frameOffsets[ADAM7_PASSES.length]];
+	if (loader.hasListeners()) {
+		for (int i = 0; i < ADAM7_PASSES.length; i++) {
+			int[] pass = ADAM7_PASSES[i];
+			if (getPassRows(pass) == 0) continue;
+			inflate(frames, frameOffsets[i], frameOffsets[i + 1] - frameOffsets[i], true);
+			filterInterlaceFrame(frames, frameOffsets[i], pass);
+			copyInterlaceFrame(frames, frameOffsets[i], pass);
+			setImageDataValues(data, imageData);
+			fireInterlacedFrameEvent(i);
+		}
+		return;
+	}
+	inflate(frames, 0, frames.length, true);
+	IntStream passes = IntStream.range(0, ADAM7_PASSES.length);
+	if (frames.length >= PARALLEL_SIZE) passes = passes.parallel();
+	passes.forEach(i -> filterInterlaceFrame(frames, frameOffsets[i], ADAM7_PASSES[i]));
+	for (int i = 0; i < ADAM7_PASSES.length; i++) {
+		if (getPassRows(ADAM7_PASSES[i]) != 0) copyInterlaceFrame(frames, frameOffsets[i], ADAM7_PASSES[i]);
+	}
+	setImageDataValues(data, imageData);
 }
 /**
  * Fire an event to let listeners know that an interlaced
@@ -470,29 +574,86 @@ void fireInterlacedFrameEvent(int frameCount) {
  * data stream.
  * Update the imageData to reflect the new data.
  */
-void readNonInterlacedImage(InputStream inputStream) throws IOException {
+void readNonInterlacedImage() throws IOException {
 	int dataOffset = 0;
 	int alignedBytesPerRow = getAlignedBytesPerRow();
 	int bytesPerRow = getBytesPerRow();
-	byte[] row1 = new byte[bytesPerRow];
-	byte[] row2 = new byte[bytesPerRow];
-	byte[] currentRow = row1;
-	byte[] lastRow = row2;
+	int byteOffset = headerChunk.getFilterByteOffset();
+	byte[] filterType = new byte[1];
 	int height = headerChunk.getHeight();
 	for (int row = 0; row < height; row++) {
-		byte filterType = (byte)inputStream.read();
-		int read = 0;
-		while (read != bytesPerRow) {
-			read += inputStream.read(currentRow, read, bytesPerRow - read);
-		}
-		filterRow(currentRow, lastRow, filterType);
-		System.arraycopy(currentRow, 0, data, dataOffset, bytesPerRow);
+		inflate(filterType, 0, 1, true);
+		inflate(data, dataOffset, bytesPerRow, true);
+		filterRow(data, dataOffset, row == 0 ? -1 : dataOffset - alignedBytesPerRow, bytesPerRow, byteOffset, filterType[0]);
 		dataOffset += alignedBytesPerRow;
-		currentRow = (currentRow == row1) ? row2 : row1;
-		lastRow = (lastRow == row1) ? row2 : row1;
 	}
 	setImageDataValues(data, imageData);
 }
+/**
+ * Read the pixel data for a non-interlaced image from the
+ * data stream, and send the rows of the region of the bands
+ * to the bands.
+ * <p>
+ * Only the current and the previous rows are unfiltered. The
+ * rows sent to the bands are collected in a strip, which is
+ * converted to the SWT format when it is full. The rows after
+ * the region are inflated but not unfiltered.
+ * </p>
+ */
+void readNonInterlacedBands() throws IOException {
+	int width = headerChunk.getWidth();
+	int height = headerChunk.getHeight();
+	bands.start(width, height);
+	int alignedBytesPerRow = getAlignedBytesPerRow();
+	int bytesPerRow = getBytesPerRow();
+	int byteOffset = headerChunk.getFilterByteOffset();
+	int lastRow = bands.y + bands.height;
+	byte[] rows = new byte[alignedBytesPerRow * 2];
+	byte[] strip = null;
+	ImageData stripData = null;
+	int stripRows = 0;
+	int remaining = bands.bandHeight;
+	byte[] filterType = new byte[1];
+	for (int row = 0; row < height; row++) {
+		int offset = (row & 1) * alignedBytesPerRow;
+		inflate(filterType, 0, 1, true);
+		inflate(rows, offset, bytesPerRow, true);
+		if (row >= lastRow) continue;
+		filterRow(rows, offset, row == 0 ? -1 : alignedBytesPerRow - offset, bytesPerRow, byteOffset, filterType[0]);
+		if (!bands.contains(row)) continue;
+		if (stripData == null) {
+			int count = Math.min(ImageBands.BAND_HEIGHT, remaining);
+			strip = new byte[alignedBytesPerRow * count];
+			stripData = ImageData.internal_new(
+				width,
+				count,
+				imageData.depth,
+				imageData.palette,
+				4,
+				null,
+				0,
+				null,
+				null,
+				-1,
+				imageData.transparentPixel,
+				SWT.IMAGE_PNG,
+				0,
+				0,
+				0,
+				0);
+		}
+		System.arraycopy(rows, offset, strip, stripRows * alignedBytesPerRow, bytesPerRow);
+		if (++stripRows == stripData.height) {
+			setImageDataValues(strip, stripData);
+			for (int i = 0; i < stripRows; i++) {
+				bands.addRow(stripData, i, null);
+			}
+			remaining -= stripRows;
+			stripRows = 0;
+			if (remaining < ImageBands.BAND_HEIGHT) stripData = null;
+		}
+	}
+}
 /**
  * SWT does not support 16-bit depth color formats.
  * Convert the 16-bit data to 8-bit data.
@@ -535,57 +696,71 @@ static int compress16BitDepthTo8BitDepth(int value) {
 }
 /**
  * PNG supports four filtering types. These types are applied
- * per row of image data. This method unfilters the given row
- * based on the filterType.
+ * per row of image data. This method unfilters in place the
+ * row of the given length at <code>offset</code>, using the
+ * previous row at <code>previousOffset</code>, or -1 for the
+ * first row.
+ * <p>
+ * The pixels of the first <code>byteOffset</code> bytes have
+ * no left neighbour and those of the first row no neighbour
+ * above, so these are handled by separate loops instead of
+ * testing every byte.
+ * </p>
  */
-void filterRow(byte[] row, byte[] previousRow, int filterType) {
-	int byteOffset = headerChunk.getFilterByteOffset();
+static void filterRow(byte[] data, int offset, int previousOffset, int length, int byteOffset, int filterType) {
+	int end = offset + length;
+	int first = Math.min(end, offset + byteOffset);
 	switch (filterType) {
 		case PngIhdrChunk.FILTER_NONE:
 			break;
 		case PngIhdrChunk.FILTER_SUB:
-			for (int i = byteOffset; i < row.length; i++) {
-				int current = row[i] & 0xFF;
-				int left = row[i - byteOffset] & 0xFF;
-				row[i] = (byte)((current + left) & 0xFF);
+			for (int i = first; i < end; i++) {
+				data[i] += data[i - byteOffset];
 			}
 			break;
 		case PngIhdrChunk.FILTER_UP:
-			for (int i = 0; i < row.length; i++) {
-				int current = row[i] & 0xFF;
-				int above = previousRow[i] & 0xFF;
-				row[i] = (byte)((current + above) & 0xFF);
+			if (previousOffset == -1) break;
+			for (int i = offset, j = previousOffset; i < end; i++, j++) {
+				data[i] += data[j];
 			}
 			break;
 		case PngIhdrChunk.FILTER_AVERAGE:
-			for (int i = 0; i < row.length; i++) {
-				int left = (i < byteOffset) ? 0 : row[i - byteOffset] & 0xFF;
-				int above = previousRow[i] & 0xFF;
-				int current = row[i] & 0xFF;
-				row[i] = (byte)((current + ((left + above) / 2)) & 0xFF);
+			if (previousOffset == -1) {
+				for (int i = first; i < end; i++) {
+					data[i] += (data[i - byteOffset] & 0xFF) >> 1;
+				}
+			} else {
+				int i = offset, j = previousOffset;
+				for (; i < first; i++, j++) {
+					data[i] += (data[j] & 0xFF) >> 1;
+				}
+				for (; i < end; i++, j++) {
+					data[i] += ((data[i - byteOffset] & 0xFF) + (data[j] & 0xFF)) >> 1;
+				}
 			}
 			break;
 		case PngIhdrChunk.FILTER_PAETH:
-			for (int i = 0; i < row.length; i++) {
-				int left = (i < byteOffset) ? 0 : row[i - byteOffset] & 0xFF;
-				int aboveLeft = (i < byteOffset) ? 0 : previousRow[i - byteOffset] & 0xFF;
-				int above = previousRow[i] & 0xFF;
-
-				int a = Math.abs(above - aboveLeft);
-				int b = Math.abs(left - aboveLeft);
-				int c = Math.abs(left - aboveLeft + above - aboveLeft);
-
-				int preductor = 0;
-				if (a <= b && a <= c) {
-					preductor = left;
-				} else if (b <= c) {
-					preductor = above;
-				} else {
-					preductor = aboveLeft;
+			if (previousOffset == -1) {
+				// The predictor is always the left byte
+				for (int i = first; i < end; i++) {
+					data[i] += data[i - byteOffset];
+				}
+			} else {
+				int i = offset, j = previousOffset;
+				// The predictor is always the byte above
+				for (; i < first; i++, j++) {
+					data[i] += data[j];
+				}
+				for (; i < end; i++, j++) {
+					int left = data[i - byteOffset] & 0xFF;
+					int above = data[j] & 0xFF;
+					int aboveLeft = data[j - byteOffset] & 0xFF;
+					int a = Math.abs(above - aboveLeft);
+					int b = Math.abs(left - aboveLeft);
+					int c = Math.abs(left - aboveLeft + above - aboveLeft);
+					int predictor = a <= b && a <= c ? left : b <= c ? above : aboveLeft;
+					data[i] += predictor;
 				}
-
-				int currentValue = row[i] & 0xFF;
-				row[i] = (byte) ((currentValue + preductor) & 0xFF);
 			}
 			break;
 	}
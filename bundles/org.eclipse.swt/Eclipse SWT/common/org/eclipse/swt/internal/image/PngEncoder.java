@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,9 @@ final class PngEncoder extends Object {
 	static final int BEST_COMPRESSION = 9;
 	static final int DEFAULT_COMPRESSION = -1;
 
+	static final int IDAT_SIZE = 65536;
+	static final int ADAPTIVE_FILTER = -1;
+
 	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
 	PngChunk chunk;
 
@@ -233,101 +236,286 @@ void writeTransparency() {
 
 }
 
-void writeImageData() throws IOException {
+/**
+ * Writes the data written to it as a sequence of IDAT chunks
+ * of at most <code>IDAT_SIZE</code> bytes, so that the compressed
+ * image data is never held in memory all at once.
+ */
+static final class IdatOutputStream extends OutputStream {
+	OutputStream out;
+	byte[] buffer = new byte[IDAT_SIZE];
+	int count;
+	CRC32 crc = new CRC32();
+
+IdatOutputStream(OutputStream out) {
+	this.out = out;
+}
+
+@Override
+public void close() throws IOException {
+	writeChunk();
+}
+
+@Override
+public void write(int b) throws IOException {
+	if (count == buffer.length) writeChunk();
+	buffer[count++] = (byte) b;
+}
+
+@Override
+public void write(byte[] b, int off, int len) throws IOException {
+	while (len > 0) {
+		if (count == buffer.length) writeChunk();
+		int length = Math.min(len, buffer.length - count);
+		System.arraycopy(b, off, buffer, count, length);
+		count += length;
+		off += length;
+		len -= length;
+	}
+}
+
+void writeChunk() throws IOException {
+	if (count == 0) return;
+	writeInt(count);
+	out.write(TAG_IDAT);
+	out.write(buffer, 0, count);
+	crc.reset();
+	crc.update(TAG_IDAT, 0, TAG_IDAT.length);
+	crc.update(buffer, 0, count);
+	writeInt((int) crc.getValue());
+	count = 0;
+}
+
+void writeInt(int value) throws IOException {
+	out.write(value >> 24);
+	out.write(value >> 16);
+	out.write(value >> 8);
+	out.write(value);
+}
+}
+
+/**
+ * Filters the row with the given filter type and writes the filter type
+ * followed by the filtered row. When the filter type is <code>ADAPTIVE_FILTER</code>,
+ * the row is filtered with the type that gives the smallest sum of the absolute
+ * values of the filtered bytes taken as signed bytes, which is the heuristic
+ * recommended by the PNG specification.
+ */
+static void writeFilteredRow(OutputStream os, byte[] row, byte[] previousRow, int bytesPerPixel, byte[] filtered, int filter) throws IOException {
+	int first = Math.min(bytesPerPixel, row.length);
+	if (filter == ADAPTIVE_FILTER) filter = selectFilter(row, previousRow, bytesPerPixel);
+	os.write(filter);
+	switch (filter) {
+		case PngIhdrChunk.FILTER_NONE:
+			os.write(row);
+			return;
+		case PngIhdrChunk.FILTER_SUB:
+			System.arraycopy(row, 0, filtered, 0, first);
+			for (int i = first; i < row.length; i++) {
+				filtered[i] = (byte) (row[i] - row[i - bytesPerPixel]);
+			}
+			break;
+		case PngIhdrChunk.FILTER_UP:
+			for (int i = 0; i < row.length; i++) {
+				filtered[i] = (byte) (row[i] - previousRow[i]);
+			}
+			break;
+		case PngIhdrChunk.FILTER_AVERAGE:
+			for (int i = 0; i < first; i++) {
+				filtered[i] = (byte) (row[i] - ((previousRow[i] & 0xFF) >> 1));
+			}
+			for (int i = first; i < row.length; i++) {
+				filtered[i] = (byte) (row[i] - (((row[i - bytesPerPixel] & 0xFF) + (previousRow[i] & 0xFF)) >> 1));
+			}
+			break;
+		case PngIhdrChunk.FILTER_PAETH:
+			for (int i = 0; i < first; i++) {
+				filtered[i] = (byte) (row[i] - previousRow[i]);
+			}
+			for (int i = first; i < row.length; i++) {
+				int left = row[i - bytesPerPixel] & 0xFF;
+				int above = previousRow[i] & 0xFF;
+				int aboveLeft = previousRow[i - bytesPerPixel] & 0xFF;
+				filtered[i] = (byte) (row[i] - paeth(left, above, aboveLeft));
+			}
+			break;
+	}
+	os.write(filtered);
+}
+
+static int selectFilter(byte[] row, byte[] previousRow, int bytesPerPixel) {
+	int sumSub = 0, sumUp = 0, sumAverage = 0, sumPaeth = 0, sumNone = 0;
+	int first = Math.min(bytesPerPixel, row.length);
+	// The first pixel has no left neighbour, so Sub is None and Paeth is Up
+	for (int i = 0; i < first; i++) {
+		int current = row[i] & 0xFF;
+		int above = previousRow[i] & 0xFF;
+		sumNone += Math.abs((byte) current);
+		sumUp += Math.abs((byte) (current - above));
+		sumAverage += Math.abs((byte) (current - (above >> 1)));
+	}
+	sumSub = sumNone;
+	sumPaeth = sumUp;
+	for (int i = first; i < row.length; i++) {
+		int current = row[i] & 0xFF;
+		int left = row[i - bytesPerPixel] & 0xFF;
+		int above = previousRow[i] & 0xFF;
+		int aboveLeft = previousRow[i - bytesPerPixel] & 0xFF;
+		sumNone += Math.abs((byte) current);
+		sumSub += Math.abs((byte) (current - left));
+		sumUp += Math.abs((byte) (current - above));
+		sumAverage += Math.abs((byte) (current - ((left + above) >> 1)));
+		sumPaeth += Math.abs((byte) (current - paeth(left, above, aboveLeft)));
+	}
+	int filter = PngIhdrChunk.FILTER_NONE, sum = sumNone;
+	if (sumSub < sum) {
+		filter = PngIhdrChunk.FILTER_SUB;
+		sum = sumSub;
+	}
+	if (sumUp < sum) {
+		filter = PngIhdrChunk.FILTER_UP;
+		sum = sumUp;
+	}
+	if (sumAverage < sum) {
+		filter = PngIhdrChunk.FILTER_AVERAGE;
+		sum = sumAverage;
+	}
+	if (sumPaeth < sum) {
+		filter = PngIhdrChunk.FILTER_PAETH;
+	}
+	return filter;
+}
+
+static int paeth(int left, int above, int aboveLeft) {
+	int a = Math.abs(above - aboveLeft);
+	int b = Math.abs(left - aboveLeft);
+	int c = Math.abs(left - aboveLeft + above - aboveLeft);
+	/*
+	* Select without branches, which the data makes hard to predict:
+	* notLeft is -1 unless a <= b and a <= c, aboveLeftMask is -1 if b > c.
+	*/
+	int notLeft = ((b - a) | (c - a)) >> 31;
+	int aboveLeftMask = (c - b) >> 31;
+	int notLeftPredictor = (above & ~aboveLeftMask) | (aboveLeft & aboveLeftMask);
+	return (left & ~notLeft) | (notLeftPredictor & notLeft);
+}
+
+void writeImageData(OutputStream outputStream) throws IOException {
 
-	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
-	OutputStream os = null;
+	Deflater deflater;
 	switch (loader.compression) {
 	case 0:
-		os = new DeflaterOutputStream(baos, new Deflater(NO_COMPRESSION));
+		deflater = new Deflater(NO_COMPRESSION);
 		break;
 	case 1:
-		os = new DeflaterOutputStream(baos, new Deflater(BEST_SPEED));
+		deflater = new Deflater(BEST_SPEED);
 		break;
 	case 3:
-		os = new DeflaterOutputStream(baos, new Deflater(BEST_COMPRESSION));
+		deflater = new Deflater(BEST_COMPRESSION);
 		break;
 	default:
-		os = new DeflaterOutputStream(baos, new Deflater(DEFAULT_COMPRESSION));
+		deflater = new Deflater(DEFAULT_COMPRESSION);
 		break;
 	}
 
-	if (colorType == 3) {
+	/*
+	* Palette images are not filtered, as recommended by the PNG
+	* specification. Other images are filtered unless they are not
+	* compressed, with the cheap Sub filter when compressing for
+	* speed and with the best filter for each row otherwise.
+	*/
+	boolean filterRows = colorType != 3 && loader.compression != 0;
+	int filterType = loader.compression == 1 ? PngIhdrChunk.FILTER_SUB : ADAPTIVE_FILTER;
+	if (filterRows) deflater.setStrategy(Deflater.FILTERED);
+	OutputStream os = new DeflaterOutputStream(new IdatOutputStream(outputStream), deflater, IDAT_SIZE);
 
-		byte[] lineData = new byte[width];
+	try {
 
-		for (int y = 0; y < height; y++) {
+		if (colorType == 3) {
 
-			int filter = 0;
-			os.write(filter);
+			byte[] lineData = new byte[width];
 
-			data.getPixels(0, y, width, lineData, 0);
+			for (int y = 0; y < height; y++) {
 
-			os.write(lineData);
+				int filter = 0;
+				os.write(filter);
 
-		}
+				data.getPixels(0, y, width, lineData, 0);
 
-	}
+				os.write(lineData);
 
-	else {
+			}
 
-		int[] lineData = new int[width];
-		byte[] alphaData = null;
-		if (colorType == 6) {
-			alphaData = new byte[width];
 		}
 
-		int redMask = data.palette.redMask;
-		int redShift = data.palette.redShift;
-		int greenMask = data.palette.greenMask;
-		int greenShift = data.palette.greenShift;
-		int blueShift = data.palette.blueShift;
-		int blueMask = data.palette.blueMask;
+		else {
 
-		byte[] lineBytes = new byte[width * (colorType == 6 ? 4 : 3)];
+			int[] lineData = new int[width];
+			byte[] alphaData = null;
+			if (colorType == 6) {
+				alphaData = new byte[width];
+			}
 
-		for (int y = 0; y < height; y++) {
+			int redMask = data.palette.redMask;
+			int redShift = data.palette.redShift;
+			int greenMask = data.palette.greenMask;
+			int greenShift = data.palette.greenShift;
+			int blueShift = data.palette.blueShift;
+			int blueMask = data.palette.blueMask;
 
-			int filter = 0;
-			os.write(filter);
+			int bytesPerPixel = colorType == 6 ? 4 : 3;
+			byte[] lineBytes = new byte[width * bytesPerPixel];
+			byte[] previousLineBytes = new byte[lineBytes.length];
+			byte[] filteredBytes = filterRows ? new byte[lineBytes.length] : null;
 
-			data.getPixels(0, y, width, lineData, 0);
+			for (int y = 0; y < height; y++) {
 
-			if (colorType == 6) {
-				data.getAlphas(0, y, width, alphaData, 0);
-			}
+				data.getPixels(0, y, width, lineData, 0);
 
-			int offset = 0;
-			for (int x = 0; x < lineData.length; x++) {
+				if (colorType == 6) {
+					data.getAlphas(0, y, width, alphaData, 0);
+				}
 
-				int pixel = lineData[x];
+				int offset = 0;
+				for (int x = 0; x < lineData.length; x++) {
 
-				int r = pixel & redMask;
-				lineBytes[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
-						: r << redShift);
-				int g = pixel & greenMask;
-				lineBytes[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
-						: g << greenShift);
-				int b = pixel & blueMask;
-				lineBytes[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
-						: b << blueShift);
+					int pixel = lineData[x];
+
+					int r = pixel & redMask;
+					lineBytes[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
+							: r << redShift);
+					int g = pixel & greenMask;
+					lineBytes[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
+							: g << greenShift);
+					int b = pixel & blueMask;
+					lineBytes[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
+							: b << blueShift);
+
+					if (colorType == 6) {
+						lineBytes[offset++] = alphaData[x];
+					}
 
-				if (colorType == 6) {
-					lineBytes[offset++] = alphaData[x];
 				}
 
-			}
+				if (filterRows) {
+					writeFilteredRow(os, lineBytes, previousLineBytes, bytesPerPixel, filteredBytes, filterType);
+					byte[] temp = previousLineBytes;
+					previousLineBytes = lineBytes;
+					lineBytes = temp;
+				} else {
+					os.write(0);
+					os.write(lineBytes);
+				}
 
-			os.write(lineBytes);
+			}
 
 		}
 
-	}
-
-	os.flush();
-	os.close();
+		os.close();
 
-	writeChunk(TAG_IDAT, baos.toByteArray());
+	} finally {
+		deflater.end();
+	}
 
 }
 
@@ -357,7 +545,10 @@ public void encode(LEDataOutputStream outputStream) {
 			writeTransparency();
 		}
 
-		writeImageData();
+		outputStream.write(bytes.toByteArray());
+		bytes.reset();
+
+		writeImageData(outputStream);
 		writeEnd();
 
 		outputStream.write(bytes.toByteArray());
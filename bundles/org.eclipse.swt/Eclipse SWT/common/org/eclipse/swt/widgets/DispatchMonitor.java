@@ -0,0 +1,550 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+import javax.management.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.*;
+
+/**
+ * Instances of this class measure the time spent by the user-interface
+ * thread of a display in the listeners of every event and in the runnables
+ * of <code>asyncExec()</code> and <code>syncExec()</code>, and detect the
+ * dispatches that stall the thread.
+ * <p>
+ * The latencies are collected by event type, in histograms whose buckets
+ * are powers of two of microseconds. The runnables of inter-thread messages
+ * are counted under <code>SWT.None</code>. A dispatch that lasts longer
+ * than the stall threshold is reported to the stall listeners, from a
+ * background thread, with the stack of the user-interface thread at the
+ * time the threshold was exceeded and the number of messages waiting in the
+ * queue of the display.
+ * </p>
+ * <p>
+ * The monitor listens to the <code>SWT.PreEvent</code> and
+ * <code>SWT.PostEvent</code> events of the display, which are not sent at
+ * all when no listener is hooked, so that a display costs nothing to
+ * dispatch its events until a monitor is created. The statistics are also
+ * exposed through JMX, under the name
+ * <code>org.eclipse.swt:type=DispatchMonitor,id=&lt;n&gt;</code>.
+ * </p>
+ * <p>
+ * A monitor is created and disposed in the user-interface thread of its
+ * display. It is disposed with the display.
+ * </p>
+ *
+ * @see SWT#PreEvent
+ * @see SWT#PostEvent
+ * @see <a href="http://www.eclipse.org/swt/">Sample code and further information</a>
+ *
+ * @since 3.116
+ */
+public final class DispatchMonitor {
+	/* Cleared when the receiver is disposed, read by the watchdog */
+	volatile Display display;
+	Thread thread;
+	Listener listener;
+
+	/* The start times and types of the nested dispatches, only accessed in the user-interface thread */
+	long [] starts = new long [GROW_SIZE];
+	int [] types = new int [GROW_SIZE];
+	int depth;
+
+	/* The outermost dispatch, for the watchdog */
+	volatile long dispatchStart;
+	volatile int dispatchType;
+
+	/* The statistics, guarded by the receiver */
+	long [] [] histograms = new long [TYPES] [BUCKETS];
+	long [] maxLatencies = new long [TYPES];
+	long stallCount;
+	Stall lastStall;
+
+	volatile int stallThreshold;
+	Thread watchdog;
+	CopyOnWriteArrayList<Consumer<Stall>> stallListeners = new CopyOnWriteArrayList<> ();
+	ObjectName objectName;
+
+	static final int GROW_SIZE = 16;
+	static final int TYPES = 64;
+	static final int BUCKETS = 32;
+	static int nextId;
+
+	/**
+	 * Instances of this class describe a dispatch that stalled the
+	 * user-interface thread of a display.
+	 *
+	 * @see DispatchMonitor#addStallListener
+	 */
+	public static final class Stall {
+		/**
+		 * the type of the event whose listeners stalled the thread,
+		 * or <code>SWT.None</code> for an inter-thread message
+		 */
+		public final int eventType;
+
+		/**
+		 * the duration of the dispatch in milliseconds when the stall was detected
+		 */
+		public final long duration;
+
+		/**
+		 * the stack of the user-interface thread when the stall was detected
+		 */
+		public final StackTraceElement [] stackTrace;
+
+		/**
+		 * the number of inter-thread messages waiting to be run when the stall was detected
+		 */
+		public final int queueDepth;
+
+		Stall (int eventType, long duration, StackTraceElement [] stackTrace, int queueDepth) {
+			this.eventType = eventType;
+			this.duration = duration;
+			this.stackTrace = stackTrace;
+			this.queueDepth = queueDepth;
+		}
+
+		/**
+		 * Returns a string containing a concise, human-readable
+		 * description of the receiver, followed by the stack of
+		 * the user-interface thread.
+		 *
+		 * @return a string representation of the stall
+		 */
+		@Override
+		public String toString () {
+			StringBuilder builder = new StringBuilder ();
+			builder.append ("Stall {eventType=").append (eventType).append (", duration=").append (duration); //$NON-NLS-1$ //$NON-NLS-2$
+			builder.append ("ms, queueDepth=").append (queueDepth).append ('}'); //$NON-NLS-1$
+			for (StackTraceElement element : stackTrace) {
+				builder.append ("\n\tat ").append (element); //$NON-NLS-1$
+			}
+			return builder.toString ();
+		}
+	}
+
+	class MXBean implements DispatchMonitorMXBean {
+		@Override
+		public Map<String, Long> getEventCounts () {
+			Map<String, Long> counts = new TreeMap<> ();
+			for (int type = 0; type < TYPES; type++) {
+				long count = getEventCount (type);
+				if (count != 0) counts.put (String.valueOf (type), count);
+			}
+			return counts;
+		}
+		@Override
+		public Map<String, long[]> getHistograms () {
+			Map<String, long[]> result = new TreeMap<> ();
+			for (int type = 0; type < TYPES; type++) {
+				long [] histogram = getHistogram (type);
+				if (histogram != null) result.put (String.valueOf (type), histogram);
+			}
+			return result;
+		}
+		@Override
+		public Map<String, Long> getMaxLatencies () {
+			Map<String, Long> result = new TreeMap<> ();
+			synchronized (DispatchMonitor.this) {
+				for (int type = 0; type < TYPES; type++) {
+					if (maxLatencies [type] != 0) result.put (String.valueOf (type), maxLatencies [type]);
+				}
+			}
+			return result;
+		}
+		@Override
+		public int getQueueDepth () {
+			return DispatchMonitor.this.getQueueDepth ();
+		}
+		@Override
+		public long getStallCount () {
+			return DispatchMonitor.this.getStallCount ();
+		}
+		@Override
+		public int getStallThreshold () {
+			return stallThreshold;
+		}
+		@Override
+		public String getLastStall () {
+			Stall stall;
+			synchronized (DispatchMonitor.this) {
+				stall = lastStall;
+			}
+			return stall != null ? stall.toString () : null;
+		}
+		@Override
+		public void reset () {
+			DispatchMonitor.this.reset ();
+		}
+		@Override
+		public void setStallThreshold (int threshold) {
+			DispatchMonitor.this.setStallThreshold (threshold);
+		}
+	}
+
+/**
+ * Constructs a new monitor that measures the dispatches of the given
+ * display. The monitor does not detect stalls until a stall threshold
+ * is set.
+ *
+ * @param display the display to monitor
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the display is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the display</li>
+ *    <li>ERROR_DEVICE_DISPOSED - if the display has been disposed</li>
+ * </ul>
+ *
+ * @see #setStallThreshold
+ */
+public DispatchMonitor (Display display) {
+	if (display == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	this.display = display;
+	thread = display.getThread ();
+	listener = event -> {
+		if (event.type == SWT.PreEvent) {
+			preEvent (event.detail);
+		} else {
+			postEvent (event.detail);
+		}
+	};
+	display.addListener (SWT.PreEvent, listener);
+	display.addListener (SWT.PostEvent, listener);
+	display.disposeExec (this::dispose);
+	register ();
+}
+
+/**
+ * Adds the listener to the collection of listeners who will be notified
+ * when a dispatch lasts longer than the stall threshold. The listener is
+ * notified in a background thread, while the user-interface thread is
+ * still stalled.
+ *
+ * @param listener the listener which should be notified
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the listener is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #removeStallListener
+ * @see #setStallThreshold
+ */
+public void addStallListener (Consumer<Stall> listener) {
+	checkMonitor ();
+	if (listener == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	stallListeners.add (listener);
+}
+
+void checkMonitor () {
+	if (isDisposed ()) SWT.error (SWT.ERROR_WIDGET_DISPOSED);
+}
+
+/**
+ * Stops monitoring the display and releases the resources of the
+ * receiver. Disposing a monitor that is already disposed has no
+ * effect.
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the display</li>
+ * </ul>
+ */
+public void dispose () {
+	if (isDisposed ()) return;
+	if (!display.isDisposed ()) {
+		if (Thread.currentThread () != thread) SWT.error (SWT.ERROR_THREAD_INVALID_ACCESS);
+		display.removeListener (SWT.PreEvent, listener);
+		display.removeListener (SWT.PostEvent, listener);
+	}
+	synchronized (this) {
+		stallThreshold = 0;
+		if (watchdog != null) watchdog.interrupt ();
+		watchdog = null;
+	}
+	unregister ();
+	stallListeners.clear ();
+	display = null;
+}
+
+/**
+ * Returns the number of dispatches of the given event type that were
+ * measured.
+ *
+ * @param eventType the type of event, or <code>SWT.None</code> for inter-thread messages
+ * @return the number of dispatches
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ */
+public long getEventCount (int eventType) {
+	long [] histogram = getHistogram (eventType);
+	if (histogram == null) return 0;
+	long count = 0;
+	for (long value : histogram) count += value;
+	return count;
+}
+
+/**
+ * Returns the histogram of the latencies of the given event type. The
+ * element at index <code>i</code> of the histogram is the number of
+ * dispatches that lasted at least <code>2^(i-1)</code> and less than
+ * <code>2^i</code> microseconds, the first element counting the
+ * dispatches shorter than a microsecond and the last one the dispatches
+ * longer than <code>2^(BUCKETS-2)</code> microseconds.
+ *
+ * @param eventType the type of event, or <code>SWT.None</code> for inter-thread messages
+ * @return the histogram, or <code>null</code> if no dispatch of the type was measured
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ */
+public long [] getHistogram (int eventType) {
+	checkMonitor ();
+	if (eventType < 0 || eventType >= TYPES) return null;
+	synchronized (this) {
+		long [] histogram = histograms [eventType];
+		for (long value : histogram) {
+			if (value != 0) return histogram.clone ();
+		}
+	}
+	return null;
+}
+
+/**
+ * Returns the number of inter-thread messages waiting to be run by the
+ * display.
+ *
+ * @return the number of messages in the queue of the display
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ */
+public int getQueueDepth () {
+	checkMonitor ();
+	Synchronizer synchronizer = display.synchronizer;
+	return synchronizer != null ? synchronizer.getMessageCount () : 0;
+}
+
+/**
+ * Returns the number of stalls that were detected.
+ *
+ * @return the number of stalls
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ */
+public synchronized long getStallCount () {
+	checkMonitor ();
+	return stallCount;
+}
+
+/**
+ * Returns the duration in milliseconds above which a dispatch is
+ * reported as a stall, or 0 if stalls are not detected.
+ *
+ * @return the stall threshold in milliseconds
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ */
+public int getStallThreshold () {
+	checkMonitor ();
+	return stallThreshold;
+}
+
+/**
+ * Returns <code>true</code> if the monitor has been disposed,
+ * and <code>false</code> otherwise.
+ *
+ * @return <code>true</code> when the monitor is disposed and <code>false</code> otherwise
+ */
+public boolean isDisposed () {
+	return display == null;
+}
+
+void preEvent (int eventType) {
+	long now = System.nanoTime ();
+	if (depth == starts.length) {
+		starts = Arrays.copyOf (starts, depth * 2);
+		types = Arrays.copyOf (types, depth * 2);
+	}
+	starts [depth] = now;
+	types [depth] = eventType;
+	if (depth++ == 0) {
+		dispatchType = eventType;
+		dispatchStart = now;
+	}
+}
+
+void postEvent (int eventType) {
+	/* The monitor can be created in a listener, after the matching PreEvent */
+	if (depth == 0) return;
+	long latency = (System.nanoTime () - starts [--depth]) / 1000;
+	if (depth == 0) dispatchStart = 0;
+	int type = types [depth];
+	if (type < 0 || type >= TYPES) return;
+	int bucket = Math.min (BUCKETS - 1, 64 - Long.numberOfLeadingZeros (latency));
+	synchronized (this) {
+		histograms [type] [bucket]++;
+		if (latency > maxLatencies [type]) maxLatencies [type] = latency;
+	}
+}
+
+void register () {
+	try {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer ();
+		int id;
+		synchronized (DispatchMonitor.class) {
+			id = nextId++;
+		}
+		ObjectName name = new ObjectName ("org.eclipse.swt:type=DispatchMonitor,id=" + id); //$NON-NLS-1$
+		server.registerMBean (new MXBean (), name);
+		objectName = name;
+	} catch (JMException | LinkageError | SecurityException e) {
+		/* JMX is optional */
+	}
+}
+
+/**
+ * Removes the listener from the collection of listeners who will be
+ * notified when a dispatch lasts longer than the stall threshold.
+ *
+ * @param listener the listener which should no longer be notified
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the listener is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #addStallListener
+ */
+public void removeStallListener (Consumer<Stall> listener) {
+	checkMonitor ();
+	if (listener == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	stallListeners.remove (listener);
+}
+
+/**
+ * Clears the histograms and the stall count of the receiver.
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ */
+public synchronized void reset () {
+	checkMonitor ();
+	for (long [] histogram : histograms) Arrays.fill (histogram, 0);
+	Arrays.fill (maxLatencies, 0);
+	stallCount = 0;
+	lastStall = null;
+}
+
+/**
+ * Sets the duration in milliseconds above which a dispatch is reported
+ * as a stall to the stall listeners. A background thread watches the
+ * dispatches while the threshold is not 0.
+ *
+ * @param threshold the stall threshold in milliseconds, or 0 to detect no stall
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if the threshold is negative</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ */
+public synchronized void setStallThreshold (int threshold) {
+	checkMonitor ();
+	if (threshold < 0) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	stallThreshold = threshold;
+	if (threshold == 0) {
+		if (watchdog != null) watchdog.interrupt ();
+		watchdog = null;
+	} else if (watchdog == null) {
+		watchdog = new Thread (this::watch, "SWT Dispatch Monitor"); //$NON-NLS-1$
+		watchdog.setDaemon (true);
+		watchdog.start ();
+	}
+}
+
+void unregister () {
+	if (objectName == null) return;
+	try {
+		ManagementFactory.getPlatformMBeanServer ().unregisterMBean (objectName);
+	} catch (JMException | LinkageError | SecurityException e) {
+		/* JMX is optional */
+	}
+	objectName = null;
+}
+
+/*
+* Runs in the watchdog thread. The dispatch is polled four times per
+* threshold, so that a stall is reported at most a quarter of the
+* threshold late, and it is reported once.
+*/
+void watch () {
+	long reported = 0;
+	while (true) {
+		int threshold = stallThreshold;
+		if (threshold == 0 || Thread.currentThread ().isInterrupted ()) return;
+		try {
+			Thread.sleep (Math.max (1, threshold / 4));
+		} catch (InterruptedException e) {
+			return;
+		}
+		long start = dispatchStart;
+		if (start == 0 || start == reported) continue;
+		long duration = (System.nanoTime () - start) / 1000000;
+		if (duration < threshold) continue;
+		int eventType = dispatchType;
+		StackTraceElement [] stackTrace = thread.getStackTrace ();
+		/* The dispatch may have ended while the stack was captured */
+		if (dispatchStart != start) continue;
+		reported = start;
+		Display display = this.display;
+		Synchronizer synchronizer = display != null ? display.synchronizer : null;
+		Stall stall = new Stall (eventType, duration, stackTrace, synchronizer != null ? synchronizer.getMessageCount () : 0);
+		synchronized (this) {
+			stallCount++;
+			lastStall = stall;
+		}
+		for (Consumer<Stall> listener : stallListeners) {
+			try {
+				listener.accept (stall);
+			} catch (RuntimeException e) {
+				/* A failing listener must not stop the detection */
+			}
+		}
+	}
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import java.util.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 
@@ -36,11 +38,20 @@ import org.eclipse.swt.graphics.*;
  */
 public class Synchronizer {
 	Display display;
-	int messageCount;
+	/*
+	 * Pending messages are kept in a circular buffer whose length is
+	 * always a power of two. The first message is at messageStart and
+	 * messageCount messages follow it (wrapping around the end of the
+	 * array), so that both ends of the queue can be updated in constant
+	 * time without shifting the remaining messages.
+	 */
+	volatile int messageCount;
+	int messageStart;
 	RunnableLock [] messages;
+	Map<Object, KeyedRunnable> keyedMessages;
 	Object messageLock = new Object ();
 	Thread syncThread;
-	static final int GROW_SIZE = 4;
+	static final int GROW_SIZE = 16;
 	static final int MESSAGE_LIMIT = 64;
 
 	//TEMPORARY CODE
@@ -65,11 +76,24 @@ public Synchronizer (Display display) {
 void moveAllEventsTo (Synchronizer toReceiveTheEvents) {
 	RunnableLock[] oldMessages;
 	int oldMessageCount;
+	Map<Object, KeyedRunnable> oldKeyedMessages;
 	synchronized (messageLock) {
-		oldMessages = messages;
-		messages = null;
 		oldMessageCount = messageCount;
-		messageCount = 0;
+		oldMessages = new RunnableLock [oldMessageCount];
+		copyMessages (oldMessages, oldMessageCount);
+		oldKeyedMessages = keyedMessages;
+		messages = null;
+		keyedMessages = null;
+		messageStart = messageCount = 0;
+	}
+	if (oldKeyedMessages != null) {
+		synchronized (toReceiveTheEvents.messageLock) {
+			if (toReceiveTheEvents.keyedMessages == null) toReceiveTheEvents.keyedMessages = new HashMap<> ();
+			for (KeyedRunnable keyed : oldKeyedMessages.values ()) {
+				keyed.synchronizer = toReceiveTheEvents;
+				toReceiveTheEvents.keyedMessages.putIfAbsent (keyed.key, keyed);
+			}
+		}
 	}
 	toReceiveTheEvents.addFirst(oldMessages, oldMessageCount);
 }
@@ -87,17 +111,13 @@ void addFirst (RunnableLock[] toAdd, int numToAdd) {
 	}
 	boolean wake = false;
 	synchronized (messageLock) {
-		int nextSize = messageCount + Math.max(numToAdd, GROW_SIZE);
-		if (messages == null)
-			messages = new RunnableLock[nextSize];
-		if (messages.length < messageCount + numToAdd) {
-			RunnableLock[] newMessages = new RunnableLock[nextSize];
-			System.arraycopy(messages, 0, newMessages, numToAdd, messageCount);
-			messages = newMessages;
-		} else {
-			System.arraycopy(messages, 0, messages, numToAdd, messageCount);
-		}
-		System.arraycopy(toAdd, 0, messages, 0, numToAdd);
+		ensureCapacity (messageCount + numToAdd);
+		int mask = messages.length - 1;
+		int start = (messageStart - numToAdd) & mask;
+		int length = Math.min (numToAdd, messages.length - start);
+		System.arraycopy (toAdd, 0, messages, start, length);
+		System.arraycopy (toAdd, length, messages, 0, numToAdd - length);
+		messageStart = start;
 		wake = (messageCount == 0);
 		messageCount += numToAdd;
 	}
@@ -108,18 +128,46 @@ void addFirst (RunnableLock[] toAdd, int numToAdd) {
 void addLast (RunnableLock lock) {
 	boolean wake = false;
 	synchronized (messageLock) {
-		if (messages == null) messages = new RunnableLock [GROW_SIZE];
-		if (messageCount == messages.length) {
-			RunnableLock[] newMessages = new RunnableLock [messageCount + GROW_SIZE];
-			System.arraycopy (messages, 0, newMessages, 0, messageCount);
-			messages = newMessages;
-		}
-		messages [messageCount++] = lock;
-		wake = messageCount == 1;
+		ensureCapacity (messageCount + 1);
+		messages [(messageStart + messageCount) & (messages.length - 1)] = lock;
+		wake = ++messageCount == 1;
 	}
 	if (wake) display.wakeThread ();
 }
 
+/*
+ * Copies the first count pending messages, in order, into the beginning
+ * of the given array. Must be called while holding messageLock.
+ */
+void copyMessages (RunnableLock [] dest, int count) {
+	if (count == 0) return;
+	int length = Math.min (count, messages.length - messageStart);
+	System.arraycopy (messages, messageStart, dest, 0, length);
+	System.arraycopy (messages, 0, dest, length, count - length);
+}
+
+/*
+ * Makes room for at least the given number of messages. The buffer
+ * grows by doubling so that enqueuing is constant time on average.
+ * Must be called while holding messageLock.
+ */
+void ensureCapacity (int count) {
+	if (messages == null) {
+		int length = GROW_SIZE;
+		while (length < count) length <<= 1;
+		messages = new RunnableLock [length];
+		messageStart = 0;
+		return;
+	}
+	if (count <= messages.length) return;
+	int length = messages.length;
+	while (length < count) length <<= 1;
+	RunnableLock [] newMessages = new RunnableLock [length];
+	copyMessages (newMessages, messageCount);
+	messages = newMessages;
+	messageStart = 0;
+}
+
 /**
  * Causes the <code>run()</code> method of the runnable to
  * be invoked by the user-interface thread at the next
@@ -142,15 +190,65 @@ protected void asyncExec (Runnable runnable) {
 	addLast (new RunnableLock (runnable));
 }
 
-int getMessageCount () {
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, coalescing it with any runnable
+ * that was queued for an equal key and has not run yet.
+ * When such a runnable is pending, it is replaced by the given
+ * runnable and keeps its position in the queue, so that only
+ * the most recent runnable for the key is run, and only once.
+ * The caller of this method continues to run in parallel, and
+ * is not notified when the runnable has completed.
+ * <p>
+ * The first runnable queued for a key is passed to
+ * <code>asyncExec(Runnable)</code>, wrapped in a runnable that
+ * runs the most recent runnable for the key, so that subclasses
+ * which override that method see every keyed runnable that is
+ * queued. Runnables that replace a pending one are not passed
+ * to it again.
+ * </p>
+ *
+ * @param key the key used to coalesce the runnable, or <code>null</code> to never coalesce
+ * @param runnable code to run on the user-interface thread.
+ *
+ * @see #asyncExec(Runnable)
+ *
+ * @since 3.116
+ */
+protected void asyncExec (Object key, Runnable runnable) {
+	if (key == null || runnable == null) {
+		asyncExec (runnable);
+		return;
+	}
+	KeyedRunnable keyed;
 	synchronized (messageLock) {
-		return messageCount;
+		if (keyedMessages == null) keyedMessages = new HashMap<> ();
+		keyed = keyedMessages.get (key);
+		if (keyed != null) {
+			keyed.runnable = runnable;
+			return;
+		}
+		keyed = new KeyedRunnable (this, key, runnable);
+		keyedMessages.put (key, keyed);
+	}
+	boolean queued = false;
+	try {
+		asyncExec (keyed);
+		queued = true;
+	} finally {
+		if (!queued) keyed.remove ();
 	}
 }
 
+int getMessageCount () {
+	return messageCount;
+}
+
 void releaseSynchronizer () {
 	display = null;
 	messages = null;
+	keyedMessages = null;
 	messageLock = null;
 	syncThread = null;
 }
@@ -158,10 +256,11 @@ void releaseSynchronizer () {
 RunnableLock removeFirst () {
 	synchronized (messageLock) {
 		if (messageCount == 0) return null;
-		RunnableLock lock = messages [0];
-		System.arraycopy (messages, 1, messages, 0, --messageCount);
-		messages [messageCount] = null;
-		if (messageCount == 0) {
+		RunnableLock lock = messages [messageStart];
+		messages [messageStart] = null;
+		messageStart = (messageStart + 1) & (messages.length - 1);
+		if (--messageCount == 0) {
+			messageStart = 0;
 			if (messages.length > MESSAGE_LIMIT) messages = null;
 		}
 		return lock;
@@ -264,4 +363,34 @@ protected void syncExec (Runnable runnable) {
 	}
 }
 
+/*
+ * The runnable queued for a key, which runs the most recent runnable
+ * given for the key. It stops coalescing when it starts running.
+ */
+static class KeyedRunnable implements Runnable {
+	volatile Synchronizer synchronizer;
+	final Object key;
+	Runnable runnable;
+
+	KeyedRunnable (Synchronizer synchronizer, Object key, Runnable runnable) {
+		this.synchronizer = synchronizer;
+		this.key = key;
+		this.runnable = runnable;
+	}
+
+	Runnable remove () {
+		Synchronizer synchronizer = this.synchronizer;
+		Object lock = synchronizer.messageLock;
+		if (lock == null) return runnable;
+		synchronized (lock) {
+			if (synchronizer.keyedMessages != null) synchronizer.keyedMessages.remove (key, this);
+			return runnable;
+		}
+	}
+
+	@Override
+	public void run () {
+		remove ().run ();
+	}
+}
 }
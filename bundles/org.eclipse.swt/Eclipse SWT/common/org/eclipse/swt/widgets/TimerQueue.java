@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+
+import java.util.*;
+
+/**
+ * Instances of this class keep the runnables scheduled
+ * with <code>Display.timerExec()</code> ordered by their
+ * deadline. Timers are stored in a binary min-heap and
+ * are looked up by runnable identity, so scheduling,
+ * rescheduling and cancelling a timer take logarithmic
+ * time regardless of the number of live timers.
+ */
+
+class TimerQueue {
+	Timer [] heap = new Timer [GROW_SIZE];
+	int size;
+	long sequence;
+	Map<Runnable, Timer> timers = new IdentityHashMap<> ();
+	static final int GROW_SIZE = 16;
+
+	static class Timer {
+		Runnable runnable;
+		long deadline, sequence;
+		int index;
+	}
+
+/**
+ * Removes the timer for the given runnable.
+ *
+ * @return <code>true</code> if the runnable was scheduled
+ */
+boolean cancel (Runnable runnable) {
+	Timer timer = timers.remove (runnable);
+	if (timer == null) return false;
+	removeAt (timer.index);
+	return true;
+}
+
+void clear () {
+	Arrays.fill (heap, 0, size, null);
+	size = 0;
+	timers.clear ();
+}
+
+boolean isEmpty () {
+	return size == 0;
+}
+
+/**
+ * Returns the deadline of the earliest timer. The queue must not be empty.
+ */
+long nextDeadline () {
+	return heap [0].deadline;
+}
+
+/**
+ * Removes and returns the runnable of the earliest timer if its
+ * deadline is not after the given time and it was scheduled before
+ * the given mark, or <code>null</code>. Timers that are scheduled
+ * while the returned runnables run are left for a later poll.
+ *
+ * @see #mark()
+ */
+Runnable poll (long now, long mark) {
+	if (size == 0 || heap [0].deadline - now > 0 || heap [0].sequence - mark >= 0) return null;
+	Timer timer = heap [0];
+	timers.remove (timer.runnable);
+	removeAt (0);
+	return timer.runnable;
+}
+
+/**
+ * Schedules the runnable to run at the given deadline, replacing
+ * any deadline it was previously scheduled at. Timers that share
+ * a deadline run in the order they were scheduled.
+ */
+void schedule (Runnable runnable, long deadline) {
+	Timer timer = timers.get (runnable);
+	if (timer == null) {
+		timer = new Timer ();
+		timer.runnable = runnable;
+		timers.put (runnable, timer);
+		if (size == heap.length) heap = Arrays.copyOf (heap, size * 2);
+		timer.index = size;
+		heap [size++] = timer;
+	}
+	timer.deadline = deadline;
+	timer.sequence = sequence++;
+	if (!siftUp (timer.index)) siftDown (timer.index);
+}
+
+/**
+ * Returns a mark that is after every timer scheduled so far
+ * and before every timer scheduled from now on.
+ */
+long mark () {
+	return sequence;
+}
+
+int size () {
+	return size;
+}
+
+boolean before (Timer t1, Timer t2) {
+	long delta = t1.deadline - t2.deadline;
+	return delta < 0 || (delta == 0 && t1.sequence < t2.sequence);
+}
+
+void removeAt (int index) {
+	Timer last = heap [--size];
+	heap [size] = null;
+	if (index == size) return;
+	heap [index] = last;
+	last.index = index;
+	if (!siftUp (index)) siftDown (index);
+}
+
+boolean siftUp (int index) {
+	Timer timer = heap [index];
+	int start = index;
+	while (index > 0) {
+		int parent = (index - 1) >>> 1;
+		if (!before (timer, heap [parent])) break;
+		heap [index] = heap [parent];
+		heap [index].index = index;
+		index = parent;
+	}
+	heap [index] = timer;
+	timer.index = index;
+	return index != start;
+}
+
+void siftDown (int index) {
+	Timer timer = heap [index];
+	int half = size >>> 1;
+	while (index < half) {
+		int child = 2 * index + 1;
+		int right = child + 1;
+		if (right < size && before (heap [right], heap [child])) child = right;
+		if (!before (heap [child], timer)) break;
+		heap [index] = heap [child];
+		heap [index].index = index;
+		index = child;
+	}
+	heap [index] = timer;
+	timer.index = index;
+}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -99,6 +99,9 @@ public abstract class Device implements Drawable {
 
 	long emptyTab;
 
+	/* Extents of the strings measured by GCs */
+	TextExtentCache textExtentCache;
+
 	/*
 	* TEMPORARY CODE. When a graphics object is
 	* created and the device parameter is null,
@@ -993,6 +996,8 @@ protected void release () {
 	if (emptyTab != 0) OS.pango_tab_array_free(emptyTab);
 	emptyTab = 0;
 
+	textExtentCache = null;
+
 	/* Free the GTK error and warning handler */
 	if (xDisplay != 0) {
 		for (int i=0; i<handler_ids.length; i++) {
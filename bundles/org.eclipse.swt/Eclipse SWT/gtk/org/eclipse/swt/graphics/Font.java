@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -155,6 +155,7 @@ public Font(Device device, String name, int height, int style) {
 
 @Override
 void destroy() {
+	if (device.textExtentCache != null) device.textExtentCache.remove(this);
 	OS.pango_font_description_free(handle);
 	handle = 0;
 }
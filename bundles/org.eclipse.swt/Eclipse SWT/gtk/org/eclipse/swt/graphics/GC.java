@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -3669,7 +3669,7 @@ void setLineWidthInPixels(int lineWidth) {
 
 void setString(String string, int flags) {
 	if (data.layout == 0) createLayout();
-	if (string == data.string && (flags & ~SWT.DRAW_TRANSPARENT) == (data.drawFlags  & ~SWT.DRAW_TRANSPARENT)) {
+	if (string.equals(data.string) && (flags & ~SWT.DRAW_TRANSPARENT) == (data.drawFlags  & ~SWT.DRAW_TRANSPARENT)) {
 		return;
 	}
 	byte[] buffer;
@@ -3754,6 +3754,7 @@ public void setTextAntialias(int antialias) {
 	Cairo.cairo_font_options_set_antialias(options, mode);
 	if (data.context == 0) createLayout();
 	OS.pango_cairo_context_set_font_options(data.context, options);
+	data.customFontOptions = true;
 	Cairo.cairo_font_options_destroy(options);
 }
 
@@ -3913,11 +3914,28 @@ public Point textExtent(String string, int flags) {
 	return DPIUtil.autoScaleDown(drawable, textExtentInPixels(string, flags));
 }
 Point textExtentInPixels(String string, int flags) {
+	/*
+	* The same strings are measured over and over by tables, trees and
+	* layouts. Look up their extents in the cache of the device first,
+	* unless the font options or the transform of the receiver, which
+	* can change the hinted metrics of the glyphs, are not the default
+	* ones.
+	*/
+	TextExtentCache cache = null;
+	int key = (flags & ~SWT.DRAW_TRANSPARENT) | (data.style & SWT.MIRRORED);
+	if (!data.customFontOptions && currentTransform == null) {
+		Device device = data.device;
+		cache = device.textExtentCache;
+		if (cache == null) cache = device.textExtentCache = new TextExtentCache();
+		Point extent = cache.get(string, data.font, key);
+		if (extent != null) return extent;
+	}
 	setString(string, flags);
 	checkGC(FONT);
 	if (data.stringWidth == -1) {
 		computeStringSize();
 	}
+	if (cache != null) cache.put(string, data.font, key, data.stringWidth, data.stringHeight);
 	return new Point(data.stringWidth, data.stringHeight);
 }
 
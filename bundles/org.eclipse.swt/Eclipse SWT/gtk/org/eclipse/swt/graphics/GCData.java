@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -71,5 +71,6 @@ public final class GCData {
 	public int stringHeight = -1;
 	public int drawFlags;
 	public boolean realDrawable;
+	public boolean customFontOptions;
 	public int width = -1, height = -1;
 }
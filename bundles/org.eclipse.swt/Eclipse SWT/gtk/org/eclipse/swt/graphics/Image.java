@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -150,6 +150,11 @@ public final class Image extends Resource implements Drawable {
 	 */
 	static final int DEFAULT_SCANLINE_PAD = 4;
 
+	/**
+	 * The size of the strips in which image data is converted to a surface.
+	 */
+	static final int STRIP_SIZE = 1 << 18;
+
 	/**
 	 * ImageFileNameProvider to provide file names at various Zoom levels
 	 */
@@ -1324,52 +1329,22 @@ void init(ImageData image) {
 
 	int stride = Cairo.cairo_image_surface_get_stride(surface);
 	long data = Cairo.cairo_image_surface_get_data(surface);
-	int oa = 0, or = 0, og = 0, ob = 0;
 	int redMask, greenMask, blueMask, destDepth = 32, destOrder;
 	if (OS.BIG_ENDIAN) {
-		oa = 0; or = 1; og = 2; ob = 3;
 		redMask = 0xFF00;
 		greenMask = 0xFF0000;
 		blueMask = 0xFF000000;
 		destOrder = ImageData.MSB_FIRST;
 	} else {
-		oa = 3; or = 2; og = 1; ob = 0;
 		redMask = 0xFF0000;
 		greenMask = 0xFF00;
 		blueMask = 0xFF;
 		destOrder = ImageData.LSB_FIRST;
 	}
-	byte[] buffer = image.data;
-	if (!palette.isDirect || image.depth != destDepth || stride != image.bytesPerLine || palette.redMask != redMask || palette.greenMask != greenMask || palette.blueMask != blueMask || destOrder != image.getByteOrder()) {
-		buffer = new byte[stride * imageDataHeight];
-		if (palette.isDirect) {
-			ImageData.blit(ImageData.BLIT_SRC,
-				image.data, image.depth, image.bytesPerLine, image.getByteOrder(), 0, 0, imageDataWidth, imageDataHeight, palette.redMask, palette.greenMask, palette.blueMask,
-				ImageData.ALPHA_OPAQUE, null, 0, 0, 0,
-				buffer, destDepth, stride, destOrder, 0, 0, imageDataWidth, imageDataHeight, redMask, greenMask, blueMask,
-				false, false);
-		} else {
-			RGB[] rgbs = palette.getRGBs();
-			int length = rgbs.length;
-			byte[] srcReds = new byte[length];
-			byte[] srcGreens = new byte[length];
-			byte[] srcBlues = new byte[length];
-			for (int i = 0; i < rgbs.length; i++) {
-				RGB rgb = rgbs[i];
-				if (rgb == null) continue;
-				srcReds[i] = (byte)rgb.red;
-				srcGreens[i] = (byte)rgb.green;
-				srcBlues[i] = (byte)rgb.blue;
-			}
-			ImageData.blit(ImageData.BLIT_SRC,
-				image.data, image.depth, image.bytesPerLine, image.getByteOrder(), 0, 0, imageDataWidth, imageDataHeight, srcReds, srcGreens, srcBlues,
-				ImageData.ALPHA_OPAQUE, null, 0, 0, 0,
-				buffer, destDepth, stride, destOrder, 0, 0, imageDataWidth, imageDataHeight, redMask, greenMask, blueMask,
-				false, false);
-		}
-	}
 	boolean isIcon = image.getTransparencyType() == SWT.TRANSPARENCY_MASK;
 	this.type = isIcon ? SWT.ICON : SWT.BITMAP;
+	ImageData mask = null;
+	byte[] srcAlphaData = null;
 	if (isIcon || image.transparentPixel != -1) {
 		if (image.transparentPixel != -1) {
 			RGB rgb = null;
@@ -1384,50 +1359,114 @@ void init(ImageData image) {
 				transparentPixel = rgb.red << 16 | rgb.green << 8 | rgb.blue;
 			}
 		}
-		ImageData mask = image.getTransparencyMask();
-		for (int y = 0, offset = 0; y < imageDataHeight; y++) {
-			for (int x=0; x<imageDataWidth; x++, offset += 4) {
-				int alpha = mask.getPixel(x, y) == 0 ? 0 : 0xff;
-				/* pre-multiplied alpha */
-				int r = ((buffer[offset + or] & 0xFF) * alpha) + 128;
-				r = (r + (r >> 8)) >> 8;
-				int g = ((buffer[offset + og] & 0xFF) * alpha) + 128;
-				g = (g + (g >> 8)) >> 8;
-				int b = ((buffer[offset + ob] & 0xFF) * alpha) + 128;
-				b = (b + (b >> 8)) >> 8;
-				buffer[offset + oa] = (byte)alpha;
-				buffer[offset + or] = (byte)r;
-				buffer[offset + og] = (byte)g;
-				buffer[offset + ob] = (byte)b;
-			}
-		}
+		mask = image.getTransparencyMask();
 	} else {
 		this.alpha = image.alpha;
 		if (image.alpha == -1 && image.alphaData != null) {
 			this.alphaData = new byte[image.alphaData.length];
 			System.arraycopy(image.alphaData, 0, this.alphaData, 0, alphaData.length);
+			srcAlphaData = image.alphaData;
 		}
-		if (this.alpha != -1) {
-			for (int y = 0, offset = 0; y < imageDataHeight; y++) {
-				for (int x=0; x<imageDataWidth; x++, offset += 4) {
-					int alpha = this.alpha;
-					/* pre-multiplied alpha */
-					int r = ((buffer[offset + or] & 0xFF) * alpha) + 128;
-					r = (r + (r >> 8)) >> 8;
-					int g = ((buffer[offset + og] & 0xFF) * alpha) + 128;
-					g = (g + (g >> 8)) >> 8;
-					int b = ((buffer[offset + ob] & 0xFF) * alpha) + 128;
-					b = (b + (b >> 8)) >> 8;
-					buffer[offset + oa] = (byte)alpha;
-					buffer[offset + or] = (byte)r;
-					buffer[offset + og] = (byte)g;
-					buffer[offset + ob] = (byte)b;
-				}
-			}
-		} else if (this.alphaData != null) {
-			for (int y = 0, offset = 0; y < imageDataHeight; y++) {
-				for (int x=0; x<imageDataWidth; x++, offset += 4) {
-					int alpha = alphaData [y*imageDataWidth+x] & 0xFF;
+	}
+	boolean convert = !palette.isDirect || image.depth != destDepth || stride != image.bytesPerLine || palette.redMask != redMask || palette.greenMask != greenMask || palette.blueMask != blueMask || destOrder != image.getByteOrder();
+	if (!convert && mask == null && this.alpha == -1 && srcAlphaData == null) {
+		C.memmove(data, image.data, stride * imageDataHeight);
+		Cairo.cairo_surface_mark_dirty(surface);
+		return;
+	}
+	writePixels(image, 0, 0, imageDataWidth, imageDataHeight, mask, this.alpha, srcAlphaData, data, stride);
+	Cairo.cairo_surface_mark_dirty(surface);
+}
+
+/**
+ * Converts the pixels of the given rectangle of the image data to the
+ * 32 bit pixels of cairo and copies them to <code>dest</code>, the address
+ * of the top left pixel of the rectangle in a surface whose rows are
+ * <code>destStride</code> bytes apart. When a mask, a global alpha or
+ * alpha data is given, the pixels are pre-multiplied by it.
+ */
+static void writePixels(ImageData image, int x, int y, int width, int height, ImageData mask, int globalAlpha, byte[] alphaData, long dest, int destStride) {
+	PaletteData palette = image.palette;
+	int oa = 0, or = 0, og = 0, ob = 0;
+	int redMask, greenMask, blueMask, destDepth = 32, destOrder;
+	if (OS.BIG_ENDIAN) {
+		oa = 0; or = 1; og = 2; ob = 3;
+		redMask = 0xFF00;
+		greenMask = 0xFF0000;
+		blueMask = 0xFF000000;
+		destOrder = ImageData.MSB_FIRST;
+	} else {
+		oa = 3; or = 2; og = 1; ob = 0;
+		redMask = 0xFF0000;
+		greenMask = 0xFF00;
+		blueMask = 0xFF;
+		destOrder = ImageData.LSB_FIRST;
+	}
+	byte[] srcReds = null, srcGreens = null, srcBlues = null;
+	if (!palette.isDirect) {
+		RGB[] rgbs = palette.getRGBs();
+		int length = rgbs.length;
+		srcReds = new byte[length];
+		srcGreens = new byte[length];
+		srcBlues = new byte[length];
+		for (int i = 0; i < rgbs.length; i++) {
+			RGB rgb = rgbs[i];
+			if (rgb == null) continue;
+			srcReds[i] = (byte)rgb.red;
+			srcGreens[i] = (byte)rgb.green;
+			srcBlues[i] = (byte)rgb.blue;
+		}
+	}
+	/*
+	* Convert the rectangle in strips of rows that are copied to the surface
+	* one after the other, so that large images do not need a temporary
+	* buffer as large as the surface. The rows of a rectangle narrower than
+	* the surface are not contiguous and are copied one by one.
+	*/
+	int stride = width * 4;
+	int rows = stride == destStride ? Math.max(1, Math.min(height, STRIP_SIZE / stride)) : 1;
+	byte[] buffer = new byte[stride * rows];
+	for (int strip = 0; strip < height; strip += rows) {
+		int srcY = y + strip;
+		int stripHeight = Math.min(rows, height - strip);
+		/*
+		* Feature in cairo. The pixels of an ARGB32 surface are pre-multiplied.
+		* When the alpha data of the image is used, convert and pre-multiply
+		* the pixels in a single pass.
+		*/
+		boolean premultiplied;
+		if (palette.isDirect) {
+			premultiplied = alphaData != null && BlitKernels.blit(
+				image.data, image.depth, image.bytesPerLine, image.getByteOrder(), x, srcY, palette.redMask, palette.greenMask, palette.blueMask,
+				alphaData, image.width,
+				buffer, destDepth, stride, destOrder, 0, 0, width, stripHeight, redMask, greenMask, blueMask);
+			if (!premultiplied) ImageData.blit(ImageData.BLIT_SRC,
+				image.data, image.depth, image.bytesPerLine, image.getByteOrder(), x, srcY, width, stripHeight, palette.redMask, palette.greenMask, palette.blueMask,
+				ImageData.ALPHA_OPAQUE, null, 0, 0, 0,
+				buffer, destDepth, stride, destOrder, 0, 0, width, stripHeight, redMask, greenMask, blueMask,
+				false, false);
+		} else {
+			premultiplied = alphaData != null && BlitKernels.blit(
+				image.data, image.depth, image.bytesPerLine, x, srcY, srcReds, srcGreens, srcBlues,
+				alphaData, image.width,
+				buffer, destDepth, stride, destOrder, 0, 0, width, stripHeight, redMask, greenMask, blueMask);
+			if (!premultiplied) ImageData.blit(ImageData.BLIT_SRC,
+				image.data, image.depth, image.bytesPerLine, image.getByteOrder(), x, srcY, width, stripHeight, srcReds, srcGreens, srcBlues,
+				ImageData.ALPHA_OPAQUE, null, 0, 0, 0,
+				buffer, destDepth, stride, destOrder, 0, 0, width, stripHeight, redMask, greenMask, blueMask,
+				false, false);
+		}
+		if (mask != null || globalAlpha != -1 || (alphaData != null && !premultiplied)) {
+			for (int row = 0, offset = 0; row < stripHeight; row++) {
+				for (int col = 0; col < width; col++, offset += 4) {
+					int alpha;
+					if (mask != null) {
+						alpha = mask.getPixel(x + col, srcY + row) == 0 ? 0 : 0xff;
+					} else if (globalAlpha != -1) {
+						alpha = globalAlpha;
+					} else {
+						alpha = alphaData [(srcY + row)*image.width+x+col] & 0xFF;
+					}
 					/* pre-multiplied alpha */
 					int r = ((buffer[offset + or] & 0xFF) * alpha) + 128;
 					r = (r + (r >> 8)) >> 8;
@@ -1442,9 +1481,8 @@ void init(ImageData image) {
 				}
 			}
 		}
+		C.memmove(dest + (long)strip * destStride, buffer, (long)stripHeight * stride);
 	}
-	C.memmove(data, buffer, stride * imageDataHeight);
-	Cairo.cairo_surface_mark_dirty(surface);
 }
 
 /**
@@ -1581,4 +1619,121 @@ public String toString () {
 	return "Image {" + surface + "}";
 }
 
+/**
+ * Copies the pixels of the given rectangle of the image data to the
+ * receiver. Only the pixels of the rectangle are converted and copied
+ * and the receiver keeps its native resources, which makes this method
+ * suitable for images that change at every frame of an animation or of
+ * a video.
+ * <p>
+ * The image data must have the size of the receiver in pixels, at the
+ * zoom level at which the receiver was created, and the rectangle is
+ * in pixels too. The rectangle is clipped to the bounds of the image
+ * data. When the receiver has an alpha channel, the transparency of the
+ * image data is copied with its pixels; otherwise it is ignored.
+ * </p>
+ *
+ * @param imageData the image data that has the new pixels
+ * @param rect the rectangle to update, in pixels
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the image data or the rectangle is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the image data does not have the size of the receiver</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_UNSUPPORTED_DEPTH - if the depth of the image data is not supported</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES if a handle could not be obtained for the update</li>
+ * </ul>
+ *
+ * @since 3.116
+ */
+public void updatePixels(ImageData imageData, Rectangle rect) {
+	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (imageData == null || rect == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	PaletteData palette = imageData.palette;
+	if (!(((imageData.depth == 1 || imageData.depth == 2 || imageData.depth == 4 || imageData.depth == 8) && !palette.isDirect) ||
+			((imageData.depth == 8) || (imageData.depth == 16 || imageData.depth == 24 || imageData.depth == 32) && palette.isDirect))) {
+		SWT.error (SWT.ERROR_UNSUPPORTED_DEPTH);
+	}
+	boolean isImageSurface = Cairo.cairo_surface_get_type(surface) == Cairo.CAIRO_SURFACE_TYPE_IMAGE;
+	double[] sx = new double[1], sy = new double[1];
+	Cairo.cairo_surface_get_device_scale(surface, sx, sy);
+	if (sx[0] == 0 || sy[0] == 0) sx[0] = sy[0] = 1;
+	int surfaceWidth, surfaceHeight;
+	if (isImageSurface) {
+		surfaceWidth = Cairo.cairo_image_surface_get_width(surface);
+		surfaceHeight = Cairo.cairo_image_surface_get_height(surface);
+	} else {
+		surfaceWidth = (int)Math.round(width * sx[0]);
+		surfaceHeight = (int)Math.round(height * sy[0]);
+	}
+	if (imageData.width != surfaceWidth || imageData.height != surfaceHeight) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	Rectangle dirty = rect.intersection(new Rectangle(0, 0, surfaceWidth, surfaceHeight));
+	if (dirty.isEmpty()) return;
+
+	boolean hasAlpha = Cairo.cairo_surface_get_content(surface) != Cairo.CAIRO_CONTENT_COLOR;
+	ImageData mask = null;
+	int globalAlpha = -1;
+	byte[] srcAlphaData = null;
+	if (hasAlpha) {
+		if (imageData.getTransparencyType() == SWT.TRANSPARENCY_MASK || imageData.transparentPixel != -1) {
+			mask = imageData.getTransparencyMask();
+		} else if (imageData.alpha != -1) {
+			globalAlpha = imageData.alpha;
+		} else if (imageData.alphaData != null) {
+			srcAlphaData = imageData.alphaData;
+		} else {
+			globalAlpha = 0xFF;
+		}
+	}
+	if (alphaData != null && alphaData.length == surfaceWidth * surfaceHeight) {
+		for (int y = dirty.y; y < dirty.y + dirty.height; y++) {
+			int offset = y * surfaceWidth + dirty.x;
+			if (srcAlphaData != null) {
+				System.arraycopy(srcAlphaData, offset, alphaData, offset, dirty.width);
+			} else {
+				for (int x = 0; x < dirty.width; x++) {
+					alphaData[offset + x] = (byte)(mask != null ? (mask.getPixel(dirty.x + x, y) == 0 ? 0 : 0xFF) : globalAlpha);
+				}
+			}
+		}
+	}
+
+	Cairo.cairo_surface_flush(surface);
+	if (isImageSurface) {
+		int stride = Cairo.cairo_image_surface_get_stride(surface);
+		long data = Cairo.cairo_image_surface_get_data(surface);
+		writePixels(imageData, dirty.x, dirty.y, dirty.width, dirty.height, mask, globalAlpha, srcAlphaData, data + (long)dirty.y * stride + dirty.x * 4, stride);
+		Cairo.cairo_surface_mark_dirty_rectangle(surface, dirty.x, dirty.y, dirty.width, dirty.height);
+	} else {
+		/*
+		* The pixels of other surfaces, such as the ones that are created by
+		* Image(Device, int, int), cannot be accessed directly. Convert the
+		* rectangle to an image surface and paint it on the receiver.
+		*/
+		long pixels = Cairo.cairo_image_surface_create(hasAlpha ? Cairo.CAIRO_FORMAT_ARGB32 : Cairo.CAIRO_FORMAT_RGB24, dirty.width, dirty.height);
+		if (pixels == 0) SWT.error(SWT.ERROR_NO_HANDLES);
+		int stride = Cairo.cairo_image_surface_get_stride(pixels);
+		long data = Cairo.cairo_image_surface_get_data(pixels);
+		writePixels(imageData, dirty.x, dirty.y, dirty.width, dirty.height, mask, globalAlpha, srcAlphaData, data, stride);
+		Cairo.cairo_surface_mark_dirty(pixels);
+		Cairo.cairo_surface_set_device_scale(pixels, sx[0], sy[0]);
+		long cairo = Cairo.cairo_create(surface);
+		if (cairo == 0) {
+			Cairo.cairo_surface_destroy(pixels);
+			SWT.error(SWT.ERROR_NO_HANDLES);
+		}
+		double x = dirty.x / sx[0], y = dirty.y / sy[0];
+		Cairo.cairo_set_operator(cairo, Cairo.CAIRO_OPERATOR_SOURCE);
+		Cairo.cairo_set_source_surface(cairo, pixels, x, y);
+		Cairo.cairo_rectangle(cairo, x, y, dirty.width / sx[0], dirty.height / sy[0]);
+		Cairo.cairo_fill(cairo);
+		Cairo.cairo_destroy(cairo);
+		Cairo.cairo_surface_destroy(pixels);
+	}
+}
+
 }
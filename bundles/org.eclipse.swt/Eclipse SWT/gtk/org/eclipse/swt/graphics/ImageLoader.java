@@ -109,6 +109,19 @@ public class ImageLoader {
 	 */
 	public int compression;
 
+	/**
+	 * the size at which the loaded images are going to be displayed,
+	 * in pixels, or 0 when it is not known. Formats that can decode
+	 * an image at a fraction of its size, such as JPEG, decode it at
+	 * the smallest of these fractions which is still at least as
+	 * large as this size, so that the loaded image data only needs
+	 * to be scaled down a little. Other formats ignore this size.
+	 * The default is 0, which means 'load the images at full size'.
+	 *
+	 * @since 3.116
+	 */
+	public int targetWidth, targetHeight;
+
 	/**
 	 * If the 29th byte of the PNG file is not zero, then it is interlaced.
 	 */
@@ -175,6 +188,16 @@ boolean isInterlacedPNG(byte [] imageAsByteArray) {
 	return imageAsByteArray.length > PNG_INTERLACE_METHOD_OFFSET && imageAsByteArray[PNG_INTERLACE_METHOD_OFFSET] != 0;
 }
 
+/**
+ * Return true if the image is a JPEG file, whose first two
+ * bytes are the Start Of Image marker.
+ * @param imageAsByteArray
+ * @return true iff the file starts with 0xFF 0xD8
+ */
+boolean isJPEG(byte [] imageAsByteArray) {
+	return imageAsByteArray.length > 1 && (imageAsByteArray[0] & 0xFF) == 0xFF && (imageAsByteArray[1] & 0xFF) == 0xD8;
+}
+
 ImageData [] getImageDataArrayFromStream(InputStream stream) {
 	byte[] buffer = new byte[2048];
 	long loader = GDK.gdk_pixbuf_loader_new();
@@ -190,6 +213,17 @@ ImageData [] getImageDataArrayFromStream(InputStream stream) {
 		byte[] data_buffer = baos.toByteArray();
 		if (data_buffer.length == 0) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);	// empty stream
 
+		/*
+		* GdkPixbufLoader always decodes JPEG images at full size. When the
+		* images are going to be displayed smaller, decode them with the SWT
+		* decoder, which scales them down while decoding.
+		*/
+		if ((targetWidth > 0 || targetHeight > 0) && isJPEG(data_buffer)) {
+			OS.g_object_unref(loader);
+			stream.close();
+			return FileFormat.load(new ByteArrayInputStream(data_buffer), this);
+		}
+
 		// 2) Copy byte array to C memory, write to GdkPixbufLoader
 		long buffer_ptr = OS.g_malloc(data_buffer.length);
 		C.memmove(buffer_ptr, data_buffer, data_buffer.length);
@@ -265,6 +299,50 @@ ImageData [] getImageDataArrayFromStream(InputStream stream) {
 	return null;
 }
 
+/**
+ * Loads the first image of the specified input stream, and sends
+ * the rows of the given region of the image to the given listener
+ * in bands of a few rows, as soon as they are decoded. The rows
+ * and the columns of the region are subsampled by the given factor,
+ * so that only one row and one column out of <code>subsampling</code>
+ * are kept. The <code>imageData</code> of every event holds the next
+ * band, whose <code>y</code> field is the position of the band in the
+ * subsampled region, and the <code>endOfImage</code> flag is true for
+ * the last band.
+ * <p>
+ * The images are not stored in the receiver and the listeners of the
+ * receiver are not notified of the bands. Images of formats whose rows
+ * can be decoded one at a time, such as non-interlaced PNG images, are
+ * loaded without ever holding more than a band of the image, which
+ * allows very large images to be tiled or scaled down.
+ * </p>
+ *
+ * @param stream the input stream to load the image from
+ * @param region the region of the image to load, or <code>null</code> to load the whole image
+ * @param subsampling the factor by which the rows and the columns of the region are subsampled
+ * @param listener the listener which receives the bands of the image
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream or the listener is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if subsampling is less than 1, or if the region does not intersect the image</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see ImageLoaderEvent
+ *
+ * @since 3.116
+ */
+public void load(InputStream stream, Rectangle region, int subsampling, ImageLoaderListener listener) {
+	if (stream == null || listener == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (subsampling < 1) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	reset();
+	FileFormat.loadBands(stream, this, region, subsampling, listener);
+}
+
 /**
  * Loads an array of <code>ImageData</code> objects from the
  * file with the specified name. Throws an error if either
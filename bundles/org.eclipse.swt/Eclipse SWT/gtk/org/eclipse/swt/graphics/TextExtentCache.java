@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+
+import java.util.*;
+
+/**
+ * A cache of the extents of the strings measured by the GCs of a device,
+ * keyed by the string, the font and the flags of the measure. The least
+ * recently used extents are discarded when the cache is full.
+ * <p>
+ * Tables, trees and layouts measure the same labels over and over, and
+ * every measure otherwise converts the string to UTF-8 and shapes it with
+ * Pango. Fonts are compared by identity: a <code>Font</code> never changes
+ * its description, and a font created after another one was disposed can
+ * have the same handle but never the same identity. The extents of a
+ * font are removed when it is disposed.
+ * </p>
+ * <p>
+ * The number of extents kept is given by the <code>swt.textExtentCache.size</code>
+ * system property, 0 disabling the cache.
+ * </p>
+ */
+final class TextExtentCache {
+	final int capacity;
+	final LinkedHashMap<Key, Point> extents;
+	long hits, misses;
+
+	static final int DEFAULT_SIZE = 2048;
+
+	static final class Key {
+		final String string;
+		final Font font;
+		final int flags, hash;
+
+		Key(String string, Font font, int flags) {
+			this.string = string;
+			this.font = font;
+			this.flags = flags;
+			this.hash = (string.hashCode() * 31 + System.identityHashCode(font)) * 31 + flags;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (object == this) return true;
+			if (!(object instanceof Key)) return false;
+			Key key = (Key) object;
+			return hash == key.hash && font == key.font && flags == key.flags && string.equals(key.string);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+TextExtentCache() {
+	this(getSize());
+}
+
+TextExtentCache(int capacity) {
+	this.capacity = capacity;
+	extents = new LinkedHashMap<Key, Point>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Point> eldest) {
+			return size() > TextExtentCache.this.capacity;
+		}
+	};
+}
+
+static int getSize() {
+	String value = System.getProperty("swt.textExtentCache.size");
+	if (value != null) {
+		try {
+			return Math.max(0, Integer.parseInt(value));
+		} catch (NumberFormatException e) {}
+	}
+	return DEFAULT_SIZE;
+}
+
+synchronized void clear() {
+	extents.clear();
+}
+
+/**
+ * Removes the extents measured with the font, which is being disposed.
+ */
+synchronized void remove(Font font) {
+	extents.keySet().removeIf(key -> key.font == font);
+}
+
+/**
+ * Answers the extent of the string in pixels, or <code>null</code> if it
+ * is not in the cache.
+ */
+synchronized Point get(String string, Font font, int flags) {
+	if (capacity == 0) return null;
+	Point extent = extents.get(new Key(string, font, flags));
+	if (extent == null) {
+		misses++;
+		return null;
+	}
+	hits++;
+	return new Point(extent.x, extent.y);
+}
+
+synchronized long getHits() {
+	return hits;
+}
+
+/**
+ * Answers the ratio of the lookups that found their extent in the cache,
+ * or 0 when nothing was looked up.
+ */
+synchronized double getHitRate() {
+	long lookups = hits + misses;
+	return lookups == 0 ? 0 : (double) hits / lookups;
+}
+
+synchronized long getMisses() {
+	return misses;
+}
+
+synchronized void put(String string, Font font, int flags, int width, int height) {
+	if (capacity == 0) return;
+	extents.put(new Key(string, font, flags), new Point(width, height));
+}
+
+@Override
+public synchronized String toString() {
+	return "TextExtentCache {size=" + extents.size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses + ", hitRate=" + getHitRate() + "}";
+}
+}
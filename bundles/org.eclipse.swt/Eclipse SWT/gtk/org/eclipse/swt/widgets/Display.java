@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.lang.reflect.*;
 import java.net.*;
 import java.util.*;
 import java.util.Map.*;
+import java.util.concurrent.atomic.*;
 import java.util.function.*;
 import java.util.regex.*;
 import java.util.regex.Pattern;
@@ -122,9 +123,22 @@ public class Display extends Device {
 	Widget [] gdkEventWidgets;
 	int [] dispatchEvents;
 	Event [] eventQueue;
+	int eventQueueStart, eventQueueCount;
 	long fds;
 	int allocated_nfds;
-	boolean wake;
+	volatile boolean wake;
+	int wakeFd = -1;
+	int [] wakeDescriptor = new int [1];
+	long [] wakeValue = new long [1];
+	short [] wakeEvents = new short [2];
+	/*
+	* Whether the UI thread is about to poll or polling the wake up
+	* descriptor. Other threads only write to the descriptor while
+	* the UI thread sleeps, and the descriptor is not closed while
+	* they write to it.
+	*/
+	final AtomicInteger wakeState = new AtomicInteger ();
+	static final int WAKE_AWAKE = 0, WAKE_SLEEPING = 1, WAKE_WRITING = 2, WAKE_CLOSED = 3;
 	int [] max_priority = new int [1], timeout = new int [1];
 	Callback eventCallback;
 	long eventProc, windowProc2, windowProc3, windowProc4, windowProc5, windowProc6;
@@ -189,6 +203,9 @@ public class Display extends Device {
 
 	/* Sync/Async Widget Communication */
 	Synchronizer synchronizer = new Synchronizer (this);
+	int asyncExecBudget; // milliseconds of messages run per readAndDispatch, or 0 to run one message
+	static final String ASYNC_EXEC_BUDGET_KEY = "org.eclipse.swt.internal.gtk.asyncExecBudget"; //$NON-NLS-1$
+	static final long PENDING_EVENTS_INTERVAL = 1000000;
 	Consumer<RuntimeException> runtimeExceptionHandler = DefaultExceptionHandler.RUNTIME_EXCEPTION_HANDLER;
 	Consumer<Error> errorHandler = DefaultExceptionHandler.RUNTIME_ERROR_HANDLER;
 	Thread thread;
@@ -240,8 +257,9 @@ public class Display extends Device {
 	TrayItem currentTrayItem;
 
 	/* Timers */
-	int [] timerIds;
-	Runnable [] timerList;
+	TimerQueue timerQueue;
+	int timerId;
+	long timerDeadline;
 	Callback timerCallback;
 	long timerProc;
 	Callback windowTimerCallback;
@@ -927,6 +945,48 @@ public void asyncExec (Runnable runnable) {
 	}
 }
 
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, coalescing it with any runnable
+ * previously queued for an equal key that has not run yet.
+ * In that case, the pending runnable is replaced by the given
+ * one and keeps its position in the queue, so a burst of
+ * requests for the same key results in a single execution
+ * of the most recent runnable. The caller of this method
+ * continues to run in parallel, and is not notified when the
+ * runnable has completed.
+ * <p>
+ * Note that at the time the runnable is invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnable before accessing the widget.
+ * </p>
+ *
+ * @param key the key used to coalesce pending runnables, or <code>null</code> to never coalesce
+ * @param runnable code to run on the user-interface thread or <code>null</code>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec(Runnable)
+ *
+ * @since 3.116
+ */
+public void asyncExec (Object key, Runnable runnable) {
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronized (idleLock) {
+			if (idleNeeded && idleHandle == 0) {
+				//NOTE: calling unlocked function in OS
+				idleHandle = OS.g_idle_add (idleProc, 0);
+			}
+		}
+		synchronizer.asyncExec (key, runnable);
+	}
+}
+
 /**
  * Causes the system hardware to emit a short sound
  * (if it supports this capability).
@@ -2030,6 +2090,9 @@ public Object getData (String key) {
 	if (key.equals (GET_EMISSION_PROC_KEY)) {
 		return new LONG (emissionProc);
 	}
+	if (key.equals (ASYNC_EXEC_BUDGET_KEY)) {
+		return asyncExecBudget;
+	}
 	if (keys == null) return null;
 	for (int i=0; i<keys.length; i++) {
 		if (keys [i].equals (key)) return values [i];
@@ -4486,20 +4549,23 @@ void postEvent (Event event) {
 	* This code is always called in the Display's
 	* thread so it must be re-enterant but does not
 	* need to be synchronized.
+	*
+	* The queue is a ring buffer whose length is a power
+	* of two, starting at eventQueueStart.
 	*/
-	if (eventQueue == null) eventQueue = new Event [4];
-	int index = 0;
-	int length = eventQueue.length;
-	while (index < length) {
-		if (eventQueue [index] == null) break;
-		index++;
+	if (eventQueue == null) {
+		eventQueue = new Event [4];
+		eventQueueStart = eventQueueCount = 0;
 	}
-	if (index == length) {
-		Event [] newQueue = new Event [length + 4];
-		System.arraycopy (eventQueue, 0, newQueue, 0, length);
+	int length = eventQueue.length;
+	if (eventQueueCount == length) {
+		Event [] newQueue = new Event [length * 2];
+		System.arraycopy (eventQueue, eventQueueStart, newQueue, 0, length - eventQueueStart);
+		System.arraycopy (eventQueue, 0, newQueue, length - eventQueueStart, eventQueueStart);
 		eventQueue = newQueue;
+		eventQueueStart = 0;
 	}
-	eventQueue [index] = event;
+	eventQueue [(eventQueueStart + eventQueueCount++) & (eventQueue.length - 1)] = event;
 }
 
 void putGdkEvents () {
@@ -4570,7 +4636,9 @@ public boolean readAndDispatch () {
 		runDeferredEvents ();
 		return true;
 	}
-	return isDisposed () || runAsyncMessages (false);
+	if (isDisposed ()) return true;
+	if (asyncExecBudget > 0) return runAsyncMessages (asyncExecBudget * 1000000L);
+	return runAsyncMessages (false);
 }
 
 static void register (Display display) {
@@ -4756,13 +4824,9 @@ void releaseDisplay () {
 	if (shellMapProcClosure != 0) OS.g_closure_unref (shellMapProcClosure);
 
 	/* Dispose the timer callback */
-	if (timerIds != null) {
-		for (int i=0; i<timerIds.length; i++) {
-			if (timerIds [i] != 0) OS.g_source_remove (timerIds [i]);
-		}
-	}
-	timerIds = null;
-	timerList = null;
+	if (timerId != 0) OS.g_source_remove (timerId);
+	timerId = 0;
+	timerQueue = null;
 	timerProc = 0;
 	timerCallback.dispose ();
 	timerCallback = null;
@@ -4857,6 +4921,14 @@ void releaseDisplay () {
 	max_priority = timeout = null;
 	if (fds != 0) OS.g_free (fds);
 	fds = 0;
+	if (wakeFd != -1) {
+		while (!wakeState.compareAndSet (WAKE_AWAKE, WAKE_CLOSED)) Thread.yield ();
+		OS.close (wakeFd);
+		wakeFd = -1;
+	}
+	wakeDescriptor = null;
+	wakeValue = null;
+	wakeEvents = null;
 
 	/* Release references */
 	popups = null;
@@ -5067,6 +5139,30 @@ boolean runAsyncMessages (boolean all) {
 	return synchronizer.runAsyncMessages (all);
 }
 
+/*
+* Runs inter-thread messages until none is left or until the given number
+* of nanoseconds has elapsed, instead of one message per call. Every
+* message otherwise pays for a complete iteration of the event loop, which
+* makes thousands of small messages slow to drain. Input events keep their
+* priority: the messages stop as soon as the main context has events to
+* dispatch, which is checked at most once per PENDING_EVENTS_INTERVAL.
+*/
+boolean runAsyncMessages (long budget) {
+	long start = System.nanoTime (), checked = start;
+	boolean run = false;
+	while (synchronizer.runAsyncMessages (false)) {
+		run = true;
+		if (isDisposed ()) break;
+		long now = System.nanoTime ();
+		if (now - start >= budget) break;
+		if (now - checked >= PENDING_EVENTS_INTERVAL) {
+			checked = now;
+			if (OS.g_main_context_pending (0)) break;
+		}
+	}
+	return run;
+}
+
 boolean runDeferredEvents () {
 	boolean run = false;
 	/*
@@ -5074,14 +5170,13 @@ boolean runDeferredEvents () {
 	* called in the Display's thread so it must
 	* be re-enterant but need not be synchronized.
 	*/
-	while (eventQueue != null) {
+	while (eventQueue != null && eventQueueCount != 0) {
 
 		/* Take an event off the queue */
-		Event event = eventQueue [0];
-		if (event == null) break;
-		int length = eventQueue.length;
-		System.arraycopy (eventQueue, 1, eventQueue, 0, --length);
-		eventQueue [length] = null;
+		Event event = eventQueue [eventQueueStart];
+		eventQueue [eventQueueStart] = null;
+		eventQueueStart = (eventQueueStart + 1) & (eventQueue.length - 1);
+		eventQueueCount--;
 
 		/* Run the event */
 		Widget widget = event.widget;
@@ -5102,6 +5197,7 @@ boolean runDeferredEvents () {
 
 	/* Clear the queue */
 	eventQueue = null;
+	eventQueueStart = eventQueueCount = 0;
 	return run;
 }
 
@@ -5352,6 +5448,11 @@ public void setData (String key, Object value) {
 		externalEventLoop = data != null && data.booleanValue ();
 		return;
 	}
+	if (key.equals (ASYNC_EXEC_BUDGET_KEY)) {
+		Integer data = (Integer) value;
+		asyncExecBudget = data != null ? Math.max (0, data.intValue ()) : 0;
+		return;
+	}
 
 	/* Remove the key/value pair */
 	if (value == null) {
@@ -5623,6 +5724,9 @@ public boolean sleep () {
 	if (fds == 0) {
 		allocated_nfds = 2;
 		fds = OS.g_malloc (OS.GPollFD_sizeof () * allocated_nfds);
+		if (OS.IsLinux) {
+			wakeFd = wakeDescriptor [0] = OS.eventfd (0, OS.EFD_CLOEXEC | OS.EFD_NONBLOCK);
+		}
 	}
 	max_priority [0] = timeout [0] = 0;
 	long context = OS.g_main_context_default ();
@@ -5630,24 +5734,53 @@ public boolean sleep () {
 	do {
 		if (OS.g_main_context_acquire (context)) {
 			result = OS.g_main_context_prepare (context, max_priority);
+			/* The last slot of the array is kept for the wake up descriptor */
 			int nfds;
-			while ((nfds = OS.g_main_context_query (context, max_priority [0], timeout, fds, allocated_nfds)) > allocated_nfds) {
+			while ((nfds = OS.g_main_context_query (context, max_priority [0], timeout, fds, allocated_nfds - 1)) > allocated_nfds - 1) {
 				OS.g_free (fds);
-				allocated_nfds = nfds;
+				allocated_nfds = nfds + 1;
 				fds = OS.g_malloc (OS.GPollFD_sizeof() * allocated_nfds);
 			}
 			long poll = OS.g_main_context_get_poll_func (context);
 			if (poll != 0) {
-				if (nfds > 0 || timeout [0] != 0) {
+				long wakePollFd = 0;
+				if (wakeFd != -1) {
+					wakePollFd = fds + (long) nfds * OS.GPollFD_sizeof ();
+					wakeEvents [0] = OS.G_IO_IN;
+					wakeEvents [1] = 0;
+					OS.memmove (wakePollFd, wakeDescriptor, 4);
+					OS.memmove (wakePollFd + 4, wakeEvents, 4);
+				}
+				if (wakePollFd != 0 || nfds > 0 || timeout [0] != 0) {
 					/*
 					* Bug in GTK. For some reason, g_main_context_wakeup() may
 					* fail to wake up the UI thread from the polling function.
-					* The fix is to sleep for a maximum of 50 milliseconds.
+					* The fix is to also poll an eventfd that wakeThread() signals,
+					* so that the UI thread can block until it is woken up. When
+					* there is no such descriptor, sleep for a maximum of 50
+					* milliseconds.
 					*/
-					if (timeout [0] < 0) timeout [0] = 50;
-
-					wake = false;
-					OS.Call (poll, fds, nfds, timeout [0]);
+					if (timeout [0] < 0 && wakePollFd == 0) timeout [0] = 50;
+
+					if (wakePollFd != 0) {
+						/*
+						* Announce the sleep before checking for messages, so that
+						* a thread that queues a message after the check sees it
+						* and writes to the descriptor.
+						*/
+						while (!wakeState.compareAndSet (WAKE_AWAKE, WAKE_SLEEPING)) Thread.yield ();
+						if (getMessageCount () == 0 && !wake) {
+							OS.Call (poll, fds, nfds + 1, timeout [0]);
+						}
+						wakeState.compareAndSet (WAKE_SLEEPING, WAKE_AWAKE);
+					} else {
+						wake = false;
+						OS.Call (poll, fds, nfds, timeout [0]);
+					}
+				}
+				if (wakePollFd != 0) {
+					OS.memmove (wakeEvents, wakePollFd + 4, 4);
+					if (wakeEvents [1] != 0) OS.eventfd_read (wakeFd, wakeValue);
 				}
 			}
 			OS.g_main_context_check (context, max_priority [0], fds, nfds);
@@ -5687,58 +5820,66 @@ public boolean sleep () {
 public void timerExec (int milliseconds, Runnable runnable) {
 	checkDevice ();
 	if (runnable == null) error (SWT.ERROR_NULL_ARGUMENT);
-	if (timerList == null) timerList = new Runnable [4];
-	if (timerIds == null) timerIds = new int [4];
-	int index = 0;
-	while (index < timerList.length) {
-		if (timerList [index] == runnable) break;
-		index++;
+	if (timerQueue == null) timerQueue = new TimerQueue ();
+	if (milliseconds < 0) {
+		if (timerQueue.cancel (runnable)) armTimer ();
+		return;
 	}
-	if (index != timerList.length) {
-		OS.g_source_remove (timerIds [index]);
-		timerList [index] = null;
-		timerIds [index] = 0;
-		if (milliseconds < 0) return;
-	} else {
-		if (milliseconds < 0) return;
-		index = 0;
-		while (index < timerList.length) {
-			if (timerList [index] == null) break;
-			index++;
-		}
-		if (index == timerList.length) {
-			Runnable [] newTimerList = new Runnable [timerList.length + 4];
-			System.arraycopy (timerList, 0, newTimerList, 0, timerList.length);
-			timerList = newTimerList;
-			int [] newTimerIds = new int [timerIds.length + 4];
-			System.arraycopy (timerIds, 0, newTimerIds, 0, timerIds.length);
-			timerIds = newTimerIds;
-		}
+	timerQueue.schedule (runnable, System.nanoTime () + milliseconds * 1000000L);
+	armTimer ();
+}
+
+/*
+* All runnables scheduled with timerExec() share a single GLib
+* timeout source that is armed for the earliest deadline, rather
+* than keeping one source alive per runnable.
+*/
+void armTimer () {
+	if (timerQueue == null || timerQueue.isEmpty ()) {
+		if (timerId != 0) OS.g_source_remove (timerId);
+		timerId = 0;
+		return;
 	}
-	int timerId = OS.g_timeout_add (milliseconds, timerProc, index);
+	long deadline = timerQueue.nextDeadline ();
 	if (timerId != 0) {
-		timerIds [index] = timerId;
-		timerList [index] = runnable;
+		if (timerDeadline == deadline) return;
+		OS.g_source_remove (timerId);
 	}
+	long delay = deadline - System.nanoTime ();
+	int milliseconds = delay <= 0 ? 0 : (int) Math.min (Integer.MAX_VALUE, (delay + 999999) / 1000000);
+	timerId = OS.g_timeout_add (milliseconds, timerProc, 0);
+	timerDeadline = deadline;
 }
 
 long timerProc (long i) {
-	if (timerList == null) return 0;
-	int index = (int)i;
-	if (0 <= index && index < timerList.length) {
-		Runnable runnable = timerList [index];
-		timerList [index] = null;
-		timerIds [index] = 0;
-		if (runnable != null) {
-			try {
-				runnable.run ();
-			} catch (RuntimeException exception) {
-				runtimeExceptionHandler.accept (exception);
-			} catch (Error exception) {
-				errorHandler.accept (exception);
-			}
+	/* The source that is dispatching is removed when this callback returns */
+	timerId = 0;
+	if (timerQueue == null) return 0;
+	/*
+	* Run only the timers that are due when the callback starts. Timers
+	* scheduled by the runnables, even with no delay, wait for the next
+	* source, so that a runnable that schedules itself again does not
+	* keep the callback from returning to the event loop.
+	*/
+	long now = System.nanoTime (), mark = timerQueue.mark ();
+	Runnable runnable;
+	while ((runnable = timerQueue.poll (now, mark)) != null) {
+		/*
+		* Arm a new source once so that the remaining timers keep firing
+		* when a runnable runs a nested event loop (GLib does not dispatch
+		* a source recursively).
+		*/
+		if (timerId == 0) armTimer ();
+		try {
+			runnable.run ();
+		} catch (RuntimeException exception) {
+			runtimeExceptionHandler.accept (exception);
+		} catch (Error exception) {
+			errorHandler.accept (exception);
 		}
+		if (timerQueue == null) return 0;
 	}
+	armTimer ();
 	return 0;
 }
 
@@ -5993,6 +6134,11 @@ public void wake () {
 void wakeThread () {
 	OS.g_main_context_wakeup (0);
 	wake = true;
+	/* Only signal the wake up descriptor when the UI thread sleeps on it */
+	if (wakeState.compareAndSet (WAKE_SLEEPING, WAKE_WRITING)) {
+		OS.eventfd_write (wakeFd, 1);
+		wakeState.set (WAKE_AWAKE);
+	}
 }
 
 long enterMotionScrollProc (long controller, double x, double y, long user_data) {
@@ -74,7 +74,7 @@ import org.eclipse.swt.internal.gtk.*;
  */
 public class Table extends Composite {
 	long modelHandle, checkRenderer;
-	int itemCount, columnCount, lastIndexOf, sortDirection;
+	int itemCount, columnCount, sortDirection;
 	int selectionCountOnPress,selectionCountOnRelease;
 	long ignoreCell;
 	TableItem [] items;
@@ -88,7 +88,7 @@ public class Table extends Composite {
 	int drawState, drawFlags;
 	GdkRGBA background, foreground, drawForegroundRGBA;
 	Color headerBackground, headerForeground;
-	boolean ownerDraw, ignoreSize, ignoreAccessibility, pixbufSizeSet, hasChildren;
+	boolean ownerDraw, ignoreSize, ignoreAccessibility, pixbufSizeSet, hasChildren, itemsShifted;
 	int maxWidth = 0;
 	int topIndex;
 	double cachedAdjustment, currentAdjustment;
@@ -198,7 +198,10 @@ long cellDataProc (long tree_column, long cell, long tree_model, long iter, long
 	C.memmove (index, GTK.gtk_tree_path_get_indices (path), 4);
 	TableItem item = _getItem (index[0]);
 	GTK.gtk_tree_path_free (path);
-	if (item != null) OS.g_object_set_qdata (cell, Display.SWT_OBJECT_INDEX2, item.handle);
+	if (item != null) {
+		item.index = index [0];
+		OS.g_object_set_qdata (cell, Display.SWT_OBJECT_INDEX2, item.handle);
+	}
 	boolean isPixbuf = GTK.GTK_IS_CELL_RENDERER_PIXBUF (cell);
 	boolean isText = GTK.GTK_IS_CELL_RENDERER_TEXT (cell);
 	if (isText) {
@@ -221,7 +224,6 @@ long cellDataProc (long tree_column, long cell, long tree_model, long iter, long
 	boolean setData = false;
 	if ((style & SWT.VIRTUAL) != 0) {
 		if (!item.cached) {
-			lastIndexOf = index[0];
 			setData = checkData (item);
 		}
 	}
@@ -806,8 +808,10 @@ void createItem (TableItem item, int index) {
 	} else {
 		GTK.gtk_list_store_insert (modelHandle, item.handle, index);
 	}
+	if (index != itemCount) itemsShifted = true;
 	System.arraycopy (items, index, items, index + 1, itemCount++ - index);
 	items [index] = item;
+	item.index = index;
 }
 
 void createRenderers (long columnHandle, int modelIndex, boolean check, int columnStyle) {
@@ -1142,16 +1146,13 @@ void destroyItem (TableColumn column) {
 }
 
 void destroyItem (TableItem item) {
-	int index = 0;
-	while (index < itemCount) {
-		if (items [index] == item) break;
-		index++;
-	}
-	if (index == itemCount) return;
+	int index = findItem (item);
+	if (index == -1) return;
 	long selection = GTK.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	GTK.gtk_list_store_remove (modelHandle, item.handle);
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	if (index != itemCount - 1) itemsShifted = true;
 	System.arraycopy (items, index + 1, items, index, --itemCount - index);
 	items [itemCount] = null;
 	if (itemCount == 0) resetCustomDraw ();
@@ -1851,12 +1852,12 @@ public TableItem [] getSelection () {
 	if (list != 0) {
 		int count = OS.g_list_length (list);
 		int [] treeSelection = new int [count];
+		int [] index = new int [1];
 		int length = 0;
 		for (int i=0; i<count; i++) {
 			long data = OS.g_list_data (list);
 			long indices = GTK.gtk_tree_path_get_indices (data);
 			if (indices != 0) {
-				int [] index = new int [1];
 				C.memmove (index, indices, 4);
 				treeSelection [length] = index [0];
 				length++;
@@ -1949,12 +1950,12 @@ public int [] getSelectionIndices () {
 	if (list != 0) {
 		int count = OS.g_list_length (list);
 		int [] treeSelection = new int [count];
+		int [] index = new int [1];
 		int length = 0;
 		for (int i=0; i<count; i++) {
 			long data = OS.g_list_data (list);
 			long indices = GTK.gtk_tree_path_get_indices (data);
 			if (indices != 0) {
-				int [] index = new int [1];
 				C.memmove (index, indices, 4);
 				treeSelection [length] = index [0];
 				length++;
@@ -2552,20 +2553,26 @@ public int indexOf (TableColumn column) {
 public int indexOf (TableItem item) {
 	checkWidget();
 	if (item == null) error (SWT.ERROR_NULL_ARGUMENT);
-	if (1 <= lastIndexOf && lastIndexOf < itemCount - 1) {
-		if (items [lastIndexOf] == item) return lastIndexOf;
-		if (items [lastIndexOf + 1] == item) return ++lastIndexOf;
-		if (items [lastIndexOf - 1] == item) return --lastIndexOf;
-	}
-	if (lastIndexOf < itemCount / 2) {
-		for (int i=0; i<itemCount; i++) {
-			if (items [i] == item) return lastIndexOf = i;
-		}
-	} else {
-		for (int i=itemCount - 1; i>=0; --i) {
-			if (items [i] == item) return lastIndexOf = i;
-		}
+	return findItem (item);
+}
+
+/*
+* Each item remembers its index. Inserting or removing an item
+* in the middle of the table only marks the remembered indices
+* as stale, and they are renumbered in one pass the next time
+* an item is looked up, so that repeated lookups are constant time.
+*/
+int findItem (TableItem item) {
+	if (item.parent != this) return -1;
+	int index = item.index;
+	if (0 <= index && index < itemCount && items [index] == item) return index;
+	if (!itemsShifted) return -1;
+	for (int i=0; i<itemCount; i++) {
+		if (items [i] != null) items [i].index = i;
 	}
+	itemsShifted = false;
+	index = item.index;
+	if (0 <= index && index < itemCount && items [index] == item) return index;
 	return -1;
 }
 
@@ -2740,6 +2747,7 @@ public void remove (int index) {
 		OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 		GTK.gtk_list_store_remove (modelHandle, iter);
 		OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+		if (index != itemCount - 1) itemsShifted = true;
 		System.arraycopy (items, index + 1, items, index, --itemCount - index);
 		items [itemCount] = null;
 	}
@@ -2794,6 +2802,7 @@ public void remove (int start, int end) {
 	}
 	OS.g_free (iter);
 	index = end + 1;
+	if (index != itemCount) itemsShifted = true;
 	System.arraycopy (items, index, items, start, itemCount - index);
 	for (int i=itemCount-(index-start); i<itemCount; i++) items [i] = null;
 	itemCount = itemCount - (index - start);
@@ -2850,6 +2859,7 @@ public void remove (int [] indices) {
 				OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 				GTK.gtk_list_store_remove (modelHandle, iter);
 				OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+				if (index != itemCount - 1) itemsShifted = true;
 				System.arraycopy (items, index + 1, items, index, --itemCount - index);
 				items [itemCount] = null;
 			}
@@ -2882,6 +2892,7 @@ public void removeAll () {
 	}
 	items = new TableItem [4];
 	itemCount = 0;
+	itemsShifted = false;
 	long selection = GTK.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	if (fixAccessibility ()) {
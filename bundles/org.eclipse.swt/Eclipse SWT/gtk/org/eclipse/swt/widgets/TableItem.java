@@ -42,6 +42,7 @@ public class TableItem extends Item {
 	Font[] cellFont;
 	String [] strings;
 	boolean cached, grayed, settingData;
+	int index;
 
 /**
  * Constructs a new instance of this class given its parent
@@ -120,6 +121,7 @@ TableItem (Table parent, int style, int index, boolean create) {
 	if (create) {
 		parent.createItem (this, index);
 	} else {
+		this.index = index;
 		handle = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 		GTK.gtk_tree_model_iter_nth_child (parent.modelHandle, handle, 0, index);
 	}
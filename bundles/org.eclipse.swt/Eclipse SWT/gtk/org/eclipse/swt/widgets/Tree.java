@@ -3495,16 +3495,16 @@ void setItemCount (long parentIter, int count) {
 		remove (parentIter, count, itemCount - 1);
 	}
 	if (isVirtual) {
+		long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+		if (iter == 0) error (SWT.ERROR_NO_HANDLES);
 		if (fixAccessibility ()) {
 			ignoreAccessibility = true;
 		}
 		for (int i=itemCount; i<count; i++) {
-			long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
-			if (iter == 0) error (SWT.ERROR_NO_HANDLES);
 			GTK.gtk_tree_store_append (modelHandle, iter, parentIter);
 			GTK.gtk_tree_store_set (modelHandle, iter, ID_COLUMN, -1, -1);
-			OS.g_free (iter);
 		}
+		OS.g_free (iter);
 		if (fixAccessibility ()) {
 			ignoreAccessibility = false;
 			OS.g_object_notify (handle, OS.model);
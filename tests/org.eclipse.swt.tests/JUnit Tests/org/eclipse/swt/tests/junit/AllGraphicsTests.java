@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,8 +37,11 @@ import org.junit.runners.Suite;
 		Test_org_eclipse_swt_graphics_RGB.class,
 		Test_org_eclipse_swt_graphics_RGBA.class,
 		Test_org_eclipse_swt_graphics_TextLayout.class,
+		Test_org_eclipse_swt_graphics_TextExtentCache.class,
 		Test_org_eclipse_swt_graphics_ImageLoader.class,
-		Test_org_eclipse_swt_graphics_ImageLoaderEvent.class })
+		Test_org_eclipse_swt_graphics_ImageLoaderEvent.class,
+		Test_org_eclipse_swt_internal_ImageResampler.class,
+		Test_org_eclipse_swt_internal_image_PngEncoder.class })
 public class AllGraphicsTests {
 	public static void main(String[] args) {
 		JUnitCore.main(AllGraphicsTests.class.getName());
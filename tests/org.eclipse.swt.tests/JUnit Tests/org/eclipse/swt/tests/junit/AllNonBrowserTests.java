@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,7 +39,8 @@ import org.junit.runners.Suite;
 		Test_org_eclipse_swt_accessibility_Accessible.class,
 		Test_org_eclipse_swt_accessibility_AccessibleControlEvent.class,
 		Test_org_eclipse_swt_accessibility_AccessibleEvent.class,
-		Test_org_eclipse_swt_accessibility_AccessibleTextEvent.class })
+		Test_org_eclipse_swt_accessibility_AccessibleTextEvent.class,
+		Test_org_eclipse_swt_internal_LongMap.class, Test_org_eclipse_swt_widgets_TimerQueue.class })
 public class AllNonBrowserTests {
 
 	public static void main(String[] args) {
@@ -41,11 +41,13 @@ import org.junit.runners.Suite;
 		Test_org_eclipse_swt_widgets_DateTime.class, Test_org_eclipse_swt_widgets_ColorDialog.class,
 		Test_org_eclipse_swt_widgets_FileDialog.class, Test_org_eclipse_swt_widgets_DirectoryDialog.class,
 		Test_org_eclipse_swt_widgets_FontDialog.class, Test_org_eclipse_swt_widgets_MessageBox.class,
-		Test_org_eclipse_swt_widgets_Monitor.class,
+		Test_org_eclipse_swt_widgets_Monitor.class, Test_org_eclipse_swt_widgets_DispatchMonitor.class,
 		Test_org_eclipse_swt_custom_StyleRange.class, Test_org_eclipse_swt_custom_CCombo.class,
 		Test_org_eclipse_swt_custom_CLabel.class,
 		Test_org_eclipse_swt_custom_CTabItem.class, Test_org_eclipse_swt_custom_StyledText.class,
 		Test_org_eclipse_swt_custom_StyledText_VariableLineHeight.class, Test_org_eclipse_swt_custom_StyledTextLineSpacingProvider.class,
+		Test_org_eclipse_swt_custom_PieceTableContent.class, Test_org_eclipse_swt_custom_MappedFileContent.class,
+		Test_org_eclipse_swt_custom_LineHeightTree.class, Test_org_eclipse_swt_custom_StyleRangeBuffer.class,
 		Test_org_eclipse_swt_custom_CTabFolder.class, Test_org_eclipse_swt_widgets_Spinner.class,
 		Test_org_eclipse_swt_widgets_ScrolledComposite.class})
 public class AllWidgetTests {
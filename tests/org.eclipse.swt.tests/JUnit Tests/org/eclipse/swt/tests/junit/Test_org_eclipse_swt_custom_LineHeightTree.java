@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.custom.LineHeightTree, the
+ * tree of the line heights of <code>StyledText</code>. The tree is compared
+ * with a list of the lines, where a measured line holds its height and an
+ * estimated line holds its number of characters.
+ */
+public class Test_org_eclipse_swt_custom_LineHeightTree {
+
+static final int WIDTH = 200, LINE_HEIGHT = 15, CHAR_WIDTH = 7;
+
+@Before
+public void setUp() throws ReflectiveOperationException {
+	clazz = Class.forName("org.eclipse.swt.custom.LineHeightTree");
+	constructor = clazz.getDeclaredConstructor(int.class, int.class, int.class, int.class);
+	constructor.setAccessible(true);
+	build = getMethod("build");
+	init = getMethod("init", int.class, int.class, int.class, boolean.class);
+	set = getMethod("set", int.class, int.class);
+	estimate = getMethod("estimate", int.class);
+	setLength = getMethod("setLength", int.class, int.class);
+	setEstimate = getMethod("setEstimate", int.class, int.class, int.class);
+	replace = getMethod("replace", int.class, int.class, int.class);
+	getY = getMethod("getY", int.class);
+	indexOf = getMethod("indexOf", int.class);
+	nextEstimated = getMethod("nextEstimated", int.class);
+	count = clazz.getDeclaredField("count");
+	count.setAccessible(true);
+	width = WIDTH;
+	lineHeight = LINE_HEIGHT;
+	charWidth = CHAR_WIDTH;
+}
+
+@Test
+public void test_emptyContent() throws ReflectiveOperationException {
+	Object tree = newTree();
+	assertTree(tree);
+	assertEquals(0, getY.invoke(tree, 0));
+	assertEquals(0, indexOf.invoke(tree, 0));
+	assertEquals(0, indexOf.invoke(tree, 100));
+	assertEquals(0, nextEstimated.invoke(tree, 0));
+
+	/* An empty text has one empty line */
+	lines.add(-1);
+	tree = newTree();
+	assertTree(tree);
+	assertEquals(LINE_HEIGHT, getY.invoke(tree, 1));
+	assertEquals(0, indexOf.invoke(tree, LINE_HEIGHT - 1));
+	assertEquals(1, indexOf.invoke(tree, LINE_HEIGHT));
+
+	/* Delete every line but one */
+	for (int i = 0; i < 10; i++) lines.add(i % 2 == 0 ? 20 + i : -i * 10);
+	tree = newTree();
+	replace(tree, 0, 11, 1);
+	assertEquals(1, count.get(tree));
+	assertTree(tree);
+}
+
+@Test
+public void test_lastLine() throws ReflectiveOperationException {
+	for (int i = 0; i < 37; i++) lines.add(i % 3 == 0 ? -i : 10 + i);
+	Object tree = newTree();
+	int height = getHeight();
+	assertEquals(height, getY.invoke(tree, 37));
+	assertEquals(height, getY.invoke(tree, 100));
+	assertEquals(37, indexOf.invoke(tree, height));
+	assertEquals(37, indexOf.invoke(tree, height + 1000));
+	assertEquals(36, indexOf.invoke(tree, height - 1));
+	assertEquals(37, nextEstimated.invoke(tree, 37));
+	assertEquals(37, nextEstimated.invoke(tree, 40));
+	assertEquals(36, nextEstimated.invoke(tree, 34));
+
+	/* Append lines after the last line, then remove them */
+	replace(tree, 36, 1, 5);
+	assertTree(tree);
+	replace(tree, 36, 5, 1);
+	assertTree(tree);
+	set(tree, 36, 40);
+	assertTree(tree);
+	assertEquals(37, nextEstimated.invoke(tree, 34));
+}
+
+@Test
+public void test_insertDeleteReplace() throws ReflectiveOperationException {
+	Random random = new Random(3);
+	for (int i = 0; i < 50; i++) lines.add(10 + random.nextInt(30));
+	Object tree = newTree();
+	for (int i = 0; i < 2000; i++) {
+		int lineCount = lines.size();
+		int lineIndex = random.nextInt(lineCount);
+		switch (random.nextInt(6)) {
+			case 0: {
+				/* Insert lines, the first line of the change is replaced */
+				replace(tree, lineIndex, 1, 1 + random.nextInt(40));
+				break;
+			}
+			case 1: {
+				/* Delete lines */
+				int replaceCount = 1 + random.nextInt(Math.min(lineCount - lineIndex, 20));
+				if (lineCount - replaceCount == 0) break;
+				replace(tree, lineIndex, replaceCount, 1);
+				break;
+			}
+			case 2: {
+				int replaceCount = 1 + random.nextInt(lineCount - lineIndex);
+				replace(tree, lineIndex, replaceCount, 1 + random.nextInt(10));
+				break;
+			}
+			case 3: {
+				set(tree, lineIndex, 10 + random.nextInt(60));
+				break;
+			}
+			case 4: {
+				estimate.invoke(tree, lineIndex);
+				if (lines.get(lineIndex) > 0) lines.set(lineIndex, -lengths.get(lineIndex));
+				break;
+			}
+			case 5: {
+				setLength(tree, lineIndex, random.nextInt(300));
+				break;
+			}
+		}
+		assertTree(tree);
+	}
+}
+
+@Test
+public void test_getY() throws ReflectiveOperationException {
+	Random random = new Random(5);
+	for (int i = 0; i < 300; i++) lines.add(random.nextBoolean() ? 10 + random.nextInt(50) : -random.nextInt(500));
+	Object tree = newTree();
+	int y = 0;
+	for (int i = 0; i < lines.size(); i++) {
+		if (lines.get(i) > 0) {
+			assertEquals(getY(i + 1) - getY(i), lines.get(i).intValue());
+			assertEquals(y, getY.invoke(tree, i));
+			y += lines.get(i);
+		} else {
+			y = getY(i + 1);
+		}
+	}
+	assertTree(tree);
+
+	/* Measure every line */
+	for (int i = 0; i < lines.size(); i++) set(tree, i, 16);
+	assertTree(tree);
+	for (int i = 0; i <= lines.size(); i++) {
+		assertEquals(i * 16, getY.invoke(tree, i));
+	}
+	assertEquals(lines.size(), nextEstimated.invoke(tree, 0));
+}
+
+@Test
+public void test_indexOf() throws ReflectiveOperationException {
+	Random random = new Random(7);
+	for (int i = 0; i < 200; i++) lines.add(random.nextInt(4) == 0 ? 0 : random.nextBoolean() ? 5 + random.nextInt(50) : -random.nextInt(400));
+	Object tree = newTree();
+	int height = getHeight();
+	for (int y = -5; y <= height + 5; y++) {
+		int expected = 0;
+		while (expected < lines.size() && getY(expected + 1) <= y) expected++;
+		assertEquals("y=" + y, expected, indexOf.invoke(tree, y));
+	}
+}
+
+/**
+ * Ensure that a change of the values used to estimate the lines, as done
+ * by a resize or a change of font, is answered without building the tree
+ * again.
+ */
+@Test
+public void test_setEstimate() throws ReflectiveOperationException {
+	Random random = new Random(11);
+	for (int i = 0; i < 500; i++) lines.add(random.nextBoolean() ? 10 + random.nextInt(50) : -random.nextInt(500));
+	Object tree = newTree();
+	Field sums = clazz.getDeclaredField("sums");
+	sums.setAccessible(true);
+	Object nodes = sums.get(tree);
+	int[][] estimates = {{100, 15, 7}, {0, 15, 7}, {350, 20, 9}, {1, 12, 6}, {WIDTH, LINE_HEIGHT, CHAR_WIDTH}};
+	for (int[] values : estimates) {
+		width = values[0];
+		lineHeight = values[1];
+		charWidth = values[2];
+		setEstimate.invoke(tree, width, lineHeight, charWidth);
+		assertTree(tree);
+		assertEquals(nodes, sums.get(tree));
+	}
+}
+
+/* custom */
+Class<?> clazz;
+Constructor<?> constructor;
+Method build, init, set, estimate, setLength, setEstimate, replace, getY, indexOf, nextEstimated;
+Field count;
+int width, lineHeight, charWidth;
+/* The height of a measured line, or minus the number of characters of an estimated line */
+List<Integer> lines = new ArrayList<>();
+/* The number of characters of every line */
+List<Integer> lengths = new ArrayList<>();
+
+Method getMethod(String name, Class<?>... types) throws ReflectiveOperationException {
+	Method method = clazz.getDeclaredMethod(name, types);
+	method.setAccessible(true);
+	return method;
+}
+
+Object newTree() throws ReflectiveOperationException {
+	Object tree = constructor.newInstance(lines.size(), width, lineHeight, charWidth);
+	lengths.clear();
+	for (int i = 0; i < lines.size(); i++) {
+		int line = lines.get(i);
+		int length = line > 0 ? i : -line;
+		lengths.add(length);
+		init.invoke(tree, i, length, Math.max(line, 0), line <= 0);
+	}
+	build.invoke(tree);
+	return tree;
+}
+
+void replace(Object tree, int lineIndex, int replaceCount, int newCount) throws ReflectiveOperationException {
+	replace.invoke(tree, lineIndex, replaceCount, newCount);
+	for (int i = 0; i < replaceCount; i++) {
+		lines.remove(lineIndex);
+		lengths.remove(lineIndex);
+	}
+	for (int i = 0; i < newCount; i++) {
+		lines.add(lineIndex, 0);
+		lengths.add(lineIndex, 0);
+	}
+	/* The lengths of the new lines are set once the content has changed */
+	for (int i = lineIndex; i < lineIndex + newCount; i++) {
+		setLength(tree, i, (i * 31) % 250);
+	}
+}
+
+void set(Object tree, int lineIndex, int height) throws ReflectiveOperationException {
+	set.invoke(tree, lineIndex, height);
+	lines.set(lineIndex, height);
+}
+
+void setLength(Object tree, int lineIndex, int length) throws ReflectiveOperationException {
+	setLength.invoke(tree, lineIndex, length);
+	lengths.set(lineIndex, length);
+	if (lines.get(lineIndex) <= 0) lines.set(lineIndex, -length);
+}
+
+/* Answer the y of the given line, estimating the lines before it together */
+int getY(int lineIndex) {
+	long y = 0, estimatedCount = 0, length = 0;
+	for (int i = 0; i < lineIndex; i++) {
+		int line = lines.get(i);
+		if (line > 0) {
+			y += line;
+		} else {
+			estimatedCount++;
+			length -= line;
+		}
+	}
+	if (width > 0) {
+		return (int) (y + (estimatedCount + length * charWidth / width) * lineHeight);
+	}
+	return (int) (y + estimatedCount * lineHeight);
+}
+
+int getHeight() {
+	return getY(lines.size());
+}
+
+void assertTree(Object tree) throws ReflectiveOperationException {
+	int lineCount = lines.size();
+	assertEquals(lineCount, count.get(tree));
+	for (int i = 0; i <= lineCount; i++) {
+		assertEquals("y of line " + i, getY(i), getY.invoke(tree, i));
+	}
+	int next = lineCount;
+	for (int i = lineCount - 1; i >= 0; i--) {
+		if (lines.get(i) <= 0) next = i;
+		assertEquals("next estimated line of " + i, next, nextEstimated.invoke(tree, i));
+	}
+	for (int i = 0; i < lineCount; i += 1 + lineCount / 16) {
+		int y = getY(i);
+		int expected = i;
+		while (expected < lineCount && getY(expected + 1) <= y) expected++;
+		assertEquals("line at " + y, expected, indexOf.invoke(tree, y));
+	}
+}
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTError;
+import org.eclipse.swt.custom.MappedFileContent;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.custom.MappedFileContent
+ *
+ * @see org.eclipse.swt.custom.MappedFileContent
+ */
+public class Test_org_eclipse_swt_custom_MappedFileContent {
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+static Field getField(String name) throws ReflectiveOperationException {
+	Field field = MappedFileContent.class.getDeclaredField(name);
+	field.setAccessible(true);
+	return field;
+}
+
+MappedFileContent createContent(String text, Charset charset) throws IOException {
+	File file = tempFolder.newFile();
+	Files.write(file.toPath(), text.getBytes(charset));
+	return new MappedFileContent(file.getPath(), charset);
+}
+
+@Test
+public void test_emptyFile() throws IOException {
+	MappedFileContent content = createContent("", StandardCharsets.UTF_8);
+	assertEquals(0, content.getCharCount());
+	assertEquals(1, content.getLineCount());
+	assertEquals(0, content.getOffsetAtLine(0));
+	assertEquals(0, content.getLineAtOffset(0));
+	assertEquals("", content.getLine(0));
+}
+
+@Test
+public void test_delimiters() throws IOException {
+	MappedFileContent content = createContent("A\nBC\rD\r\n\r", StandardCharsets.UTF_8);
+	assertEquals(9, content.getCharCount());
+	assertEquals(5, content.getLineCount());
+	int[] lines = {0, 0, 1, 1, 1, 2, 2, 2, 3, 4};
+	for (int i = 0; i < lines.length; i++) {
+		assertEquals(":" + i + ":", lines[i], content.getLineAtOffset(i));
+	}
+	assertEquals(5, content.getOffsetAtLine(2));
+	assertEquals(9, content.getOffsetAtLine(4));
+	assertEquals("D", content.getLine(2));
+	assertEquals("", content.getLine(4));
+	assertEquals("C\rD\r\n", content.getTextRange(3, 5));
+}
+
+@Test
+public void test_charsets() throws IOException {
+	String text = "grün\r\nété\nend";
+	MappedFileContent content = createContent(text, StandardCharsets.UTF_8);
+	assertEquals(text.length(), content.getCharCount());
+	assertEquals("été", content.getLine(1));
+	assertEquals(10, content.getOffsetAtLine(2));
+	assertEquals(text, content.getTextRange(0, text.length()));
+
+	content = createContent(text, StandardCharsets.ISO_8859_1);
+	assertEquals(text, content.getTextRange(0, text.length()));
+
+	assertThrows(IllegalArgumentException.class, () -> createContent(text, StandardCharsets.UTF_16));
+}
+
+@Test
+public void test_manyLines() throws IOException {
+	StringBuilder builder = new StringBuilder();
+	for (int i = 0; i < 1000; i++) {
+		builder.append("line ").append(i).append(i % 3 == 0 ? "\r\n" : "\n");
+	}
+	String text = builder.toString();
+	MappedFileContent content = createContent(text, StandardCharsets.UTF_8);
+	assertEquals(text.length(), content.getCharCount());
+	assertEquals(1001, content.getLineCount());
+	for (int i = 999; i >= 0; i -= 7) {
+		int offset = content.getOffsetAtLine(i);
+		assertEquals(text.indexOf("line " + i + (i % 3 == 0 ? "\r\n" : "\n")), offset);
+		assertEquals("line " + i, content.getLine(i));
+		assertEquals(i, content.getLineAtOffset(offset));
+		assertEquals(i, content.getLineAtOffset(offset + 4));
+	}
+	assertEquals(1000, content.getLineAtOffset(text.length()));
+	assertEquals(text.substring(1234, 5678), content.getTextRange(1234, 4444));
+}
+
+/**
+ * Show only the lines before a line of the content again, and ensure that
+ * the event sent when the rest of the indexed lines are shown holds the
+ * appended text.
+ */
+@Test
+public void test_textChangingEvent() throws Exception {
+	StringBuilder builder = new StringBuilder();
+	for (int i = 0; i < 300; i++) {
+		builder.append("línea ").append(i).append(i % 2 == 0 ? "\r\n" : "\n");
+	}
+	builder.append("last");
+	String text = builder.toString();
+	MappedFileContent content = createContent(text, StandardCharsets.UTF_8);
+	Field lineCount = getField("lineCount"), charCount = getField("charCount"), cachedBlock = getField("cachedBlock");
+	Method update = MappedFileContent.class.getDeclaredMethod("update");
+	update.setAccessible(true);
+	List<String> events = new ArrayList<>();
+	content.addTextChangeListener(new TextChangeListener() {
+		@Override
+		public void textChanging(TextChangingEvent event) {
+			assertEquals(event.newCharCount, event.newText.length());
+			/* The content has not changed yet */
+			assertEquals(event.start, content.getCharCount());
+			events.add(event.start + ":" + event.newLineCount + ":" + event.newText);
+		}
+		@Override
+		public void textChanged(TextChangedEvent event) {
+			events.add("changed");
+		}
+		@Override
+		public void textSet(TextChangedEvent event) {
+		}
+	});
+	for (int line : new int[] {0, 1, 64, 130, 300}) {
+		int offset = content.getOffsetAtLine(line);
+		lineCount.setInt(content, line);
+		charCount.setInt(content, offset);
+		cachedBlock.setInt(content, -1);
+		events.clear();
+		update.invoke(content);
+		assertEquals(Arrays.asList(offset + ":" + (300 - line) + ":" + text.substring(offset), "changed"), events);
+		assertEquals(text.length(), content.getCharCount());
+		assertEquals(text, content.getTextRange(0, text.length()));
+	}
+}
+
+@Test
+public void test_readOnly() throws IOException {
+	MappedFileContent content = createContent("text", StandardCharsets.UTF_8);
+	SWTError e = assertThrows(SWTError.class, () -> content.replaceTextRange(0, 1, "T"));
+	assertEquals(SWT.ERROR_NOT_IMPLEMENTED, e.code);
+	e = assertThrows(SWTError.class, () -> content.setText(""));
+	assertEquals(SWT.ERROR_NOT_IMPLEMENTED, e.code);
+	assertEquals("text", content.getLine(0));
+}
+}
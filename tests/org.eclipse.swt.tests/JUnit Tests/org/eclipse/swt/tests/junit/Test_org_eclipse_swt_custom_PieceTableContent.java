@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.eclipse.swt.custom.PieceTableContent;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.custom.PieceTableContent
+ *
+ * @see org.eclipse.swt.custom.PieceTableContent
+ */
+public class Test_org_eclipse_swt_custom_PieceTableContent {
+	PieceTableContent content;
+
+@Before
+public void setUp() {
+	content = new PieceTableContent();
+}
+
+@Test
+public void test_emptyContent() {
+	assertEquals(0, content.getCharCount());
+	assertEquals(1, content.getLineCount());
+	assertEquals(0, content.getOffsetAtLine(0));
+	assertEquals(0, content.getLineAtOffset(0));
+	assertEquals("", content.getLine(0));
+}
+
+@Test
+public void test_delimiters() {
+	content.setText("\r\ntest\r\n");
+	assertEquals(3, content.getLineCount());
+	assertEquals(0, content.getOffsetAtLine(0));
+	assertEquals(2, content.getOffsetAtLine(1));
+	assertEquals(8, content.getOffsetAtLine(2));
+	assertEquals("test", content.getLine(1));
+
+	content.setText("A\nBC\rD\r");
+	assertEquals(4, content.getLineCount());
+	int[] lines = {0, 0, 1, 1, 1, 2, 2, 3};
+	for (int i = 0; i < lines.length; i++) {
+		assertEquals(":" + i + ":", lines[i], content.getLineAtOffset(i));
+	}
+	assertEquals("BC", content.getLine(1));
+	assertEquals("", content.getLine(3));
+}
+
+@Test
+public void test_replaceTextRangeIILjava_lang_String() {
+	content.setText("This\r\nis a\ntest");
+	content.replaceTextRange(4, 0, " line");
+	content.replaceTextRange(0, 0, "\n");
+	content.replaceTextRange(16, 1, "");
+	assertEquals("\nThis line\r\nis atest", content.getTextRange(0, content.getCharCount()));
+	assertEquals(3, content.getLineCount());
+	assertEquals("is atest", content.getLine(2));
+	assertEquals(12, content.getOffsetAtLine(2));
+
+	// a \r and a \n inserted separately form a single delimiter
+	content.setText("ab");
+	content.replaceTextRange(1, 0, "\r");
+	content.replaceTextRange(2, 0, "\n");
+	assertEquals(2, content.getLineCount());
+	assertEquals("b", content.getLine(1));
+	try {
+		content.replaceTextRange(2, 0, "x");
+		fail("No exception thrown for splitting a \\r\\n delimiter");
+	} catch (IllegalArgumentException e) {
+	}
+}
+
+@Test
+public void test_randomEdits() {
+	Random random = new Random(0);
+	StringBuilder expected = new StringBuilder();
+	String alphabet = "ab\n\r ";
+	for (int i = 0; i < 2000; i++) {
+		int start = random.nextInt(expected.length() + 1);
+		int length = random.nextInt(Math.min(5, expected.length() - start) + 1);
+		StringBuilder text = new StringBuilder();
+		for (int j = random.nextInt(4); j > 0; j--) {
+			text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		try {
+			content.replaceTextRange(start, length, text.toString());
+		} catch (IllegalArgumentException e) {
+			continue;
+		}
+		expected.replace(start, start + length, text.toString());
+		assertEquals(expected.toString(), content.getTextRange(0, content.getCharCount()));
+	}
+	String text = expected.toString();
+	int line = 0;
+	for (int i = 0; i <= text.length(); i++) {
+		assertEquals(line, content.getLineAtOffset(i));
+		if (i < text.length()) {
+			char ch = text.charAt(i);
+			if (ch == '\n' || (ch == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'))) {
+				line++;
+				assertEquals(i + 1, content.getOffsetAtLine(line));
+			}
+		}
+	}
+	assertEquals(line + 1, content.getLineCount());
+}
+
+@Test
+public void test_snapshot() {
+	content.setText("first\nsecond");
+	PieceTableContent snapshot = content.snapshot();
+	content.replaceTextRange(0, 5, "changed\nlines");
+	assertEquals("first\nsecond", snapshot.getTextRange(0, snapshot.getCharCount()));
+	assertEquals(2, snapshot.getLineCount());
+	assertEquals(3, content.getLineCount());
+	snapshot.replaceTextRange(0, 0, "x");
+	assertEquals("xfirst", snapshot.getLine(0));
+	assertEquals("changed", content.getLine(0));
+}
+}
@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.swt.custom.StyleRange;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.custom.StyleRangeBuffer,
+ * the gap buffer of the style ranges of <code>StyledText</code>. The buffer
+ * is compared with a list of the ranges.
+ */
+public class Test_org_eclipse_swt_custom_StyleRangeBuffer {
+
+@Before
+public void setUp() throws ReflectiveOperationException {
+	clazz = Class.forName("org.eclipse.swt.custom.StyleRangeBuffer");
+	constructor = clazz.getDeclaredConstructor(int.class);
+	constructor.setAccessible(true);
+	rangesConstructor = clazz.getDeclaredConstructor(int[].class, StyleRange[].class);
+	rangesConstructor.setAccessible(true);
+	insert = getMethod("insert", int.class, int.class, int.class, StyleRange.class);
+	remove = getMethod("remove", int.class, int.class);
+	replace = getMethod("replace", int.class, int.class, int[].class, StyleRange[].class, int.class);
+	set = getMethod("set", int.class, int.class, int.class);
+	shift = getMethod("shift", int.class, int.class);
+	copy = getMethod("copy");
+	size = getMethod("size");
+	getStart = getMethod("getStart", int.class);
+	getLength = getMethod("getLength", int.class);
+	getEnd = getMethod("getEnd", int.class);
+	getStyle = getMethod("getStyle", int.class);
+	indexOf = getMethod("indexOf", int.class, int.class, int.class);
+	styles = getField("styles");
+	gapStart = getField("gapStart");
+	gapEnd = getField("gapEnd");
+}
+
+@Test
+public void test_insertAcrossGrowth() throws ReflectiveOperationException {
+	Object buffer = constructor.newInstance(2);
+	/* Append, then insert at the front, so that the gap moves across every range */
+	for (int i = 0; i < 100; i++) {
+		insert(buffer, ranges.size(), i * 10 + 1000, 5, newStyle());
+		assertBuffer(buffer);
+	}
+	for (int i = 0; i < 100; i++) {
+		insert(buffer, 0, 900 - i * 9, 3, newStyle());
+		assertBuffer(buffer);
+	}
+	for (int i = 0; i < 100; i++) {
+		insert(buffer, 100, 999, 1, newStyle());
+		assertBuffer(buffer);
+	}
+	assertEquals(300, size.invoke(buffer));
+}
+
+@Test
+public void test_removeAndReplace() throws ReflectiveOperationException {
+	int[] newRanges = new int[200];
+	StyleRange[] newStyles = new StyleRange[100];
+	for (int i = 0; i < newStyles.length; i++) {
+		newRanges[i << 1] = i * 4;
+		newRanges[(i << 1) + 1] = 2;
+		newStyles[i] = newStyle();
+	}
+	Object buffer = rangesConstructor.newInstance(newRanges, newStyles);
+	for (int i = 0; i < newStyles.length; i++) ranges.add(new Object[] {i * 4, 2, newStyles[i]});
+	assertBuffer(buffer);
+
+	remove(buffer, 90, 10);
+	assertBuffer(buffer);
+	remove(buffer, 0, 10);
+	assertBuffer(buffer);
+	remove(buffer, 40, 0);
+	assertBuffer(buffer);
+	/* Replace with more ranges than the gap holds, then with fewer */
+	replace(buffer, 10, 5, 150, 7);
+	assertBuffer(buffer);
+	replace(buffer, 100, 60, 3, 1000);
+	assertBuffer(buffer);
+	replace(buffer, 0, 0, 2, -100);
+	assertBuffer(buffer);
+	replace(buffer, 0, ranges.size(), 0, 0);
+	assertBuffer(buffer);
+	assertEquals(0, size.invoke(buffer));
+	insert(buffer, 0, 5, 5, newStyle());
+	assertBuffer(buffer);
+}
+
+/**
+ * Shift the ranges after a change of the text, which moves the gap in front
+ * of the first moved range, and ensure that the ranges keep their starts
+ * when the gap moves again.
+ */
+@Test
+public void test_shiftAndSet() throws ReflectiveOperationException {
+	Object buffer = constructor.newInstance(4);
+	for (int i = 0; i < 50; i++) insert(buffer, i, i * 10, 4, newStyle());
+	shift(buffer, 20, 7);
+	assertBuffer(buffer);
+	shift(buffer, 10, -3);
+	assertBuffer(buffer);
+	/* Moving the gap after and before the shifted ranges applies the shift to them */
+	insert(buffer, 30, 287, 1, newStyle());
+	assertBuffer(buffer);
+	insert(buffer, 5, 52, 1, newStyle());
+	assertBuffer(buffer);
+	set(buffer, 40, 1000, 9);
+	set(buffer, 2, 21, 1);
+	assertBuffer(buffer);
+	shift(buffer, ranges.size(), 100);
+	assertBuffer(buffer);
+	shift(buffer, 0, 100);
+	assertBuffer(buffer);
+}
+
+@Test
+public void test_randomEdits() throws ReflectiveOperationException {
+	Random random = new Random(8);
+	Object buffer = constructor.newInstance(1);
+	for (int n = 0; n < 3000; n++) {
+		int count = ranges.size();
+		int index = random.nextInt(count + 1);
+		switch (random.nextInt(5)) {
+			case 0:
+				insert(buffer, index, random.nextInt(10000), 1 + random.nextInt(20), newStyle());
+				break;
+			case 1:
+				remove(buffer, index, random.nextInt(Math.min(count - index, 8) + 1));
+				break;
+			case 2:
+				replace(buffer, index, random.nextInt(Math.min(count - index, 8) + 1), random.nextInt(12), random.nextInt(10000));
+				break;
+			case 3:
+				shift(buffer, index, random.nextInt(41) - 20);
+				break;
+			case 4:
+				if (index < count) set(buffer, index, random.nextInt(10000), random.nextInt(20));
+				break;
+		}
+		assertBuffer(buffer);
+	}
+
+	Object copied = copy.invoke(buffer);
+	assertBuffer(copied, false);
+	for (int i = 0; i < ranges.size(); i++) {
+		assertNotSame(getStyle.invoke(buffer, i), getStyle.invoke(copied, i));
+	}
+}
+
+@Test
+public void test_indexOf() throws ReflectiveOperationException {
+	Object buffer = constructor.newInstance(4);
+	for (int i = 0; i < 40; i++) insert(buffer, i, i * 10, 5, newStyle());
+	shift(buffer, 15, 3);
+	for (int offset = -1; offset < 420; offset++) {
+		int expected = 0;
+		while (expected < ranges.size() && getEnd(expected) <= offset) expected++;
+		assertEquals("offset " + offset, expected, indexOf.invoke(buffer, offset, -1, ranges.size()));
+	}
+}
+
+/* custom */
+Class<?> clazz;
+Constructor<?> constructor, rangesConstructor;
+Method insert, remove, replace, set, shift, copy, size, getStart, getLength, getEnd, getStyle, indexOf;
+Field styles, gapStart, gapEnd;
+/* The start, the length and the style of every range */
+List<Object[]> ranges = new ArrayList<>();
+
+Method getMethod(String name, Class<?>... types) throws ReflectiveOperationException {
+	Method method = clazz.getDeclaredMethod(name, types);
+	method.setAccessible(true);
+	return method;
+}
+
+Field getField(String name) throws ReflectiveOperationException {
+	Field field = clazz.getDeclaredField(name);
+	field.setAccessible(true);
+	return field;
+}
+
+StyleRange newStyle() {
+	StyleRange style = new StyleRange();
+	style.fontStyle = ranges.size() & 3;
+	return style;
+}
+
+int getEnd(int index) {
+	Object[] range = ranges.get(index);
+	return (Integer) range[0] + (Integer) range[1];
+}
+
+void insert(Object buffer, int index, int start, int length, StyleRange style) throws ReflectiveOperationException {
+	insert.invoke(buffer, index, start, length, style);
+	ranges.add(index, new Object[] {start, length, style});
+}
+
+void remove(Object buffer, int index, int count) throws ReflectiveOperationException {
+	remove.invoke(buffer, index, count);
+	ranges.subList(index, index + count).clear();
+}
+
+void replace(Object buffer, int index, int count, int newCount, int start) throws ReflectiveOperationException {
+	/* The arrays are larger than the number of ranges to copy */
+	int[] newRanges = new int[(newCount + 1) * 2];
+	StyleRange[] newStyles = new StyleRange[newCount + 1];
+	List<Object[]> added = new ArrayList<>();
+	for (int i = 0; i < newCount; i++) {
+		newRanges[i << 1] = start + i * 3;
+		newRanges[(i << 1) + 1] = 2;
+		newStyles[i] = newStyle();
+		added.add(new Object[] {start + i * 3, 2, newStyles[i]});
+	}
+	replace.invoke(buffer, index, count, newRanges, newStyles, newCount);
+	ranges.subList(index, index + count).clear();
+	ranges.addAll(index, added);
+}
+
+void set(Object buffer, int index, int start, int length) throws ReflectiveOperationException {
+	set.invoke(buffer, index, start, length);
+	ranges.get(index)[0] = start;
+	ranges.get(index)[1] = length;
+}
+
+void shift(Object buffer, int index, int offset) throws ReflectiveOperationException {
+	shift.invoke(buffer, index, offset);
+	for (int i = index; i < ranges.size(); i++) {
+		ranges.get(i)[0] = (Integer) ranges.get(i)[0] + offset;
+	}
+}
+
+void assertBuffer(Object buffer) throws ReflectiveOperationException {
+	assertBuffer(buffer, true);
+}
+
+void assertBuffer(Object buffer, boolean sameStyles) throws ReflectiveOperationException {
+	assertEquals(ranges.size(), size.invoke(buffer));
+	for (int i = 0; i < ranges.size(); i++) {
+		Object[] range = ranges.get(i);
+		assertEquals("start of range " + i, range[0], getStart.invoke(buffer, i));
+		assertEquals("length of range " + i, range[1], getLength.invoke(buffer, i));
+		assertEquals("end of range " + i, getEnd(i), getEnd.invoke(buffer, i));
+		if (sameStyles) {
+			assertSame("style of range " + i, range[2], getStyle.invoke(buffer, i));
+		} else {
+			assertEquals("style of range " + i, range[2], getStyle.invoke(buffer, i));
+		}
+	}
+	/* The gap does not keep the removed styles */
+	StyleRange[] array = (StyleRange[]) styles.get(buffer);
+	int start = gapStart.getInt(buffer), end = gapEnd.getInt(buffer);
+	assertTrue(0 <= start && start <= end && end <= array.length);
+	for (int i = start; i < end; i++) {
+		assertNull("style in the gap at " + i, array[i]);
+	}
+}
+}
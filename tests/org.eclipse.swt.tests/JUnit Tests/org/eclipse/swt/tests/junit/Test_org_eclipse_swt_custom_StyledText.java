@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,8 +24,11 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeFalse;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -64,6 +67,7 @@ import org.eclipse.swt.graphics.GlyphMetrics;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.graphics.TextLayout;
 import org.eclipse.swt.internal.BidiUtil;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
@@ -5445,6 +5449,71 @@ public void test_setStyleRanges_render() throws InterruptedException {
 	assertTrue(hasPixel(text, text.getDisplay().getSystemColor(SWT.COLOR_RED)));
 }
 
+@Test
+public void test_layoutCache_hitsAndMisses() throws ReflectiveOperationException {
+	StringBuilder buffer = new StringBuilder();
+	for (int i = 0; i < 400; i++) buffer.append("Line ").append(i).append('\n');
+	text.setText(buffer.toString());
+	Object renderer = getField(text, "renderer");
+	getTextLayout(renderer, 1);
+	Object cache = getField(renderer, "layoutCache");
+	int hits = (Integer) getField(cache, "hits"), misses = (Integer) getField(cache, "misses");
+
+	// the layout of a line around the top index is cached
+	getTextLayout(renderer, 1);
+	assertEquals(hits + 1, getField(cache, "hits"));
+	assertEquals(misses, getField(cache, "misses"));
+
+	// the layouts of the lines far from the top index are not cached
+	getTextLayout(renderer, 350);
+	getTextLayout(renderer, 350);
+	assertEquals(hits + 1, getField(cache, "hits"));
+	assertEquals(misses + 2, getField(cache, "misses"));
+
+	assertTrue(cache.toString(), cache.toString().contains("hits=" + (hits + 1) + ", misses=" + (misses + 2)));
+}
+
+@Test
+public void test_layoutCache_heldLayoutNotReused() throws ReflectiveOperationException {
+	/* lines long enough to evict the layouts of the first lines */
+	StringBuilder buffer = new StringBuilder();
+	char[] chars = new char[2000];
+	for (int i = 0; i < 400; i++) {
+		Arrays.fill(chars, (char)('a' + i % 26));
+		buffer.append(i).append(chars).append('\n');
+	}
+	text.setText(buffer.toString());
+	Object renderer = getField(text, "renderer");
+	Method getTextLayout = renderer.getClass().getDeclaredMethod("getTextLayout", int.class);
+	Method disposeTextLayout = renderer.getClass().getDeclaredMethod("disposeTextLayout", TextLayout.class);
+	getTextLayout.setAccessible(true);
+	disposeTextLayout.setAccessible(true);
+
+	TextLayout held = (TextLayout) getTextLayout.invoke(renderer, 0);
+	String line = held.getText();
+	for (int i = 1; i < 400; i++) {
+		disposeTextLayout.invoke(renderer, getTextLayout.invoke(renderer, i));
+	}
+	assertFalse(held.isDisposed());
+	assertEquals(line, held.getText());
+	disposeTextLayout.invoke(renderer, held);
+}
+
+private static Object getField(Object object, String name) throws ReflectiveOperationException {
+	Field field = object.getClass().getDeclaredField(name);
+	field.setAccessible(true);
+	return field.get(object);
+}
+
+/* gets the layout of a line from the renderer and gives it back */
+private static void getTextLayout(Object renderer, int lineIndex) throws ReflectiveOperationException {
+	Method getTextLayout = renderer.getClass().getDeclaredMethod("getTextLayout", int.class);
+	Method disposeTextLayout = renderer.getClass().getDeclaredMethod("disposeTextLayout", TextLayout.class);
+	getTextLayout.setAccessible(true);
+	disposeTextLayout.setAccessible(true);
+	disposeTextLayout.invoke(renderer, getTextLayout.invoke(renderer, lineIndex));
+}
+
 /**
  * Test LineStyleListener which provides styles but no ranges.
  */
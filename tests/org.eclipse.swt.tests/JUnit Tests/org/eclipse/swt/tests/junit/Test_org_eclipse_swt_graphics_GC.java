@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,13 +17,21 @@ package org.eclipse.swt.tests.junit;
 import static org.eclipse.swt.tests.junit.SwtTestUtil.assertSWTProblem;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.FontMetrics;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
@@ -32,6 +40,7 @@ import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.graphics.Transform;
 import org.eclipse.swt.internal.DPIUtil;
 import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Display;
@@ -639,6 +648,127 @@ public void test_textExtentLjava_lang_StringI() {
 	assertTrue(pt.y > 0);
 }
 
+/**
+ * Ensure that measuring the same text again gives the same extent, and
+ * that texts measured with different fonts or flags do not share their
+ * extents in the cache of the device on GTK.
+ */
+@Test
+public void test_textExtentLjava_lang_StringI_cached() throws Exception {
+	String string = "a&b\tc\nd";
+	int[] flags = {0, SWT.DRAW_MNEMONIC, SWT.DRAW_TAB, SWT.DRAW_DELIMITER, SWT.DRAW_MNEMONIC | SWT.DRAW_TAB | SWT.DRAW_DELIMITER};
+	Point[] extents = new Point[flags.length];
+	for (int i = 0; i < flags.length; i++) {
+		extents[i] = gc.textExtent(string, flags[i]);
+		assertEquals(extents[i], gc.textExtent(string, flags[i]));
+		assertEquals(extents[i], gc.textExtent(new String(string), flags[i]));
+	}
+	assertTrue(extents[1].x < extents[0].x);
+	assertTrue(extents[2].x > extents[0].x);
+	assertTrue(extents[3].y > extents[0].y);
+	for (int i = flags.length - 1; i >= 0; i--) {
+		assertEquals(extents[i], gc.textExtent(string, flags[i]));
+	}
+
+	FontData fontData = gc.getFont().getFontData()[0];
+	Font small = new Font(display, fontData.getName(), 8, SWT.NORMAL);
+	Font large = new Font(display, fontData.getName(), 24, SWT.NORMAL);
+	try {
+		gc.setFont(small);
+		Point smallExtent = gc.textExtent(string);
+		gc.setFont(large);
+		Point largeExtent = gc.textExtent(string);
+		assertNotEquals(smallExtent, largeExtent);
+		assertTrue(largeExtent.y > smallExtent.y);
+		gc.setFont(small);
+		assertEquals(smallExtent, gc.textExtent(string));
+		gc.setFont(null);
+		assertEquals(extents[0], gc.textExtent(string, 0));
+		if (SwtTestUtil.isGTK) {
+			assertTrue(getTextExtentFonts().contains(small));
+			small.dispose();
+			assertFalse(getTextExtentFonts().contains(small));
+			assertTrue(getTextExtentFonts().contains(large));
+		}
+	} finally {
+		small.dispose();
+		large.dispose();
+	}
+}
+
+/**
+ * Ensure that a GC whose text antialiasing was set measures its texts
+ * without the cache of the device on GTK.
+ */
+@Test
+public void test_textExtentLjava_lang_StringI_textAntialias() throws Exception {
+	Point extent = gc.textExtent("abc", 0);
+	Image otherImage = new Image(display, 10, 10);
+	GC otherGC = new GC(otherImage);
+	try {
+		otherGC.setTextAntialias(SWT.OFF);
+		if (SwtTestUtil.isGTK) {
+			Object cache = getTextExtentCache();
+			long hits = getCacheCount(cache, "getHits"), misses = getCacheCount(cache, "getMisses");
+			Point otherExtent = otherGC.textExtent("abc", 0);
+			assertTrue(otherExtent.x > 0);
+			assertEquals(hits, getCacheCount(cache, "getHits"));
+			assertEquals(misses, getCacheCount(cache, "getMisses"));
+			assertEquals(extent, gc.textExtent("abc", 0));
+			assertEquals(hits + 1, getCacheCount(cache, "getHits"));
+		} else {
+			assertTrue(otherGC.textExtent("abc", 0).x > 0);
+		}
+	} finally {
+		otherGC.dispose();
+		otherImage.dispose();
+	}
+}
+
+/**
+ * Ensure that a GC with a transform measures its texts without the cache
+ * of the device on GTK, and that the hit rate of the cache counts repeated
+ * measures.
+ */
+@Test
+public void test_textExtentLjava_lang_StringI_transform() throws Exception {
+	String[] strings = new String[50];
+	for (int i = 0; i < strings.length; i++) strings[i] = "transform " + i + " " + System.nanoTime();
+	Point[] extents = new Point[strings.length];
+	Object cache = SwtTestUtil.isGTK ? getTextExtentCache() : null;
+	long hits = 0, misses = 0;
+	if (cache != null) {
+		hits = getCacheCount(cache, "getHits");
+		misses = getCacheCount(cache, "getMisses");
+	}
+	for (int i = 0; i < strings.length; i++) extents[i] = gc.textExtent(strings[i]);
+	for (int i = 0; i < strings.length; i++) assertEquals(extents[i], gc.textExtent(strings[i]));
+	if (cache != null) {
+		assertEquals(hits + strings.length, getCacheCount(cache, "getHits"));
+		assertEquals(misses + strings.length, getCacheCount(cache, "getMisses"));
+		double hitRate = (double) getMethod(cache, "getHitRate").invoke(cache);
+		assertEquals((double) (hits + strings.length) / (hits + misses + 2 * strings.length), hitRate, 1e-9);
+		hits = getCacheCount(cache, "getHits");
+		misses = getCacheCount(cache, "getMisses");
+	}
+
+	Transform transform = new Transform(display);
+	try {
+		transform.scale(3.3f, 3.3f);
+		gc.setTransform(transform);
+		for (String string : strings) assertTrue(gc.textExtent(string).x > 0);
+		if (cache != null) {
+			assertEquals(hits, getCacheCount(cache, "getHits"));
+			assertEquals(misses, getCacheCount(cache, "getMisses"));
+		}
+		gc.setTransform(null);
+		assertEquals(extents[0], gc.textExtent(strings[0]));
+		if (cache != null) assertEquals(hits + 1, getCacheCount(cache, "getHits"));
+	} finally {
+		transform.dispose();
+	}
+}
+
 @Test
 public void test_toString() {
 	String s = gc.toString();
@@ -652,6 +782,47 @@ Shell shell;
 Image image;
 GC gc;
 
+static Field getField(Object object, String name) throws ReflectiveOperationException {
+	Class<?> clazz = object.getClass();
+	while (true) {
+		try {
+			Field field = clazz.getDeclaredField(name);
+			field.setAccessible(true);
+			return field;
+		} catch (NoSuchFieldException e) {
+			clazz = clazz.getSuperclass();
+			if (clazz == null) throw e;
+		}
+	}
+}
+
+static Method getMethod(Object object, String name) throws ReflectiveOperationException {
+	Method method = object.getClass().getDeclaredMethod(name);
+	method.setAccessible(true);
+	return method;
+}
+
+static long getCacheCount(Object cache, String name) throws ReflectiveOperationException {
+	return (long) getMethod(cache, name).invoke(cache);
+}
+
+/* Answer the cache of text extents of the display on GTK */
+Object getTextExtentCache() throws ReflectiveOperationException {
+	Object cache = getField(display, "textExtentCache").get(display);
+	assertNotNull(cache);
+	return cache;
+}
+
+/* Answer the fonts of the text extents in the cache of the display on GTK */
+List<Font> getTextExtentFonts() throws ReflectiveOperationException {
+	Object cache = getTextExtentCache();
+	List<Font> fonts = new ArrayList<>();
+	for (Object key : ((Map<?, ?>) getField(cache, "extents").get(cache)).keySet()) {
+		fonts.add((Font) getField(key, "font").get(key));
+	}
+	return fonts;
+}
+
 /**
  * Return the actual RGB value used for rendering for the given Color.
  * This may be different from the Color's RGB value on lower-color displays
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 import org.eclipse.swt.SWT;
@@ -986,9 +987,98 @@ public void test_toString() {
 	}
 }
 
+@Test
+public void test_updatePixelsLorg_eclipse_swt_graphics_ImageDataLorg_eclipse_swt_graphics_Rectangle() {
+	Image image = new Image(display, newImageData(0x336699, -1));
+	try {
+		image.updatePixels(null, new Rectangle(0, 0, 1, 1));
+		fail("No exception thrown for image data == null");
+	} catch (IllegalArgumentException e) {
+		assertSWTProblem("Incorrect exception thrown for image data == null", SWT.ERROR_NULL_ARGUMENT, e);
+	}
+	try {
+		image.updatePixels(newImageData(0x336699, -1), null);
+		fail("No exception thrown for rectangle == null");
+	} catch (IllegalArgumentException e) {
+		assertSWTProblem("Incorrect exception thrown for rectangle == null", SWT.ERROR_NULL_ARGUMENT, e);
+	}
+	try {
+		image.updatePixels(new ImageData(5, 5, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF)), new Rectangle(0, 0, 1, 1));
+		fail("No exception thrown for image data of another size");
+	} catch (IllegalArgumentException e) {
+		assertSWTProblem("Incorrect exception thrown for image data of another size", SWT.ERROR_INVALID_ARGUMENT, e);
+	}
+	image.dispose();
+	try {
+		image.updatePixels(newImageData(0x336699, -1), new Rectangle(0, 0, 1, 1));
+		fail("No exception thrown for disposed image");
+	} catch (SWTException e) {
+		assertSWTProblem("Incorrect exception thrown for disposed image", SWT.ERROR_GRAPHIC_DISPOSED, e);
+	}
+
+	/* the rectangle is clipped to the bounds of the image */
+	Rectangle rect = new Rectangle(5, 3, 100, 4);
+	Rectangle inside = new Rectangle(5, 3, 11, 4);
+
+	// without alpha, the transparency of the image data is ignored
+	image = new Image(display, newImageData(0x336699, -1));
+	try {
+		image.updatePixels(newImageData(0xCC8844, 0), rect);
+		ImageData data = image.getImageData();
+		for (int y = 0; y < data.height; y++) {
+			for (int x = 0; x < data.width; x++) {
+				RGB rgb = inside.contains(x, y) ? new RGB(0xCC, 0x88, 0x44) : new RGB(0x33, 0x66, 0x99);
+				assertEquals("pixel at " + x + "," + y, rgb, data.palette.getRGB(data.getPixel(x, y)));
+				assertEquals("alpha at " + x + "," + y, 0xFF, data.getAlpha(x, y));
+			}
+		}
+	} finally {
+		image.dispose();
+	}
+
+	// with alpha, the transparency of the rectangle is copied with its pixels
+	image = new Image(display, newImageData(0x336699, 0xFF));
+	try {
+		ImageData imageData = newImageData(0xCC8844, 0);
+		for (int y = inside.y; y < inside.y + inside.height; y++) {
+			for (int x = inside.x + 1; x < inside.x + inside.width; x++) {
+				imageData.setAlpha(x, y, 0xFF);
+			}
+		}
+		image.updatePixels(imageData, rect);
+		ImageData data = image.getImageData();
+		for (int y = 0; y < data.height; y++) {
+			for (int x = 0; x < data.width; x++) {
+				boolean transparent = inside.contains(x, y) && x == inside.x;
+				assertEquals("alpha at " + x + "," + y, transparent ? 0 : 0xFF, data.getAlpha(x, y));
+				if (transparent) continue;
+				RGB rgb = inside.contains(x, y) ? new RGB(0xCC, 0x88, 0x44) : new RGB(0x33, 0x66, 0x99);
+				assertEquals("pixel at " + x + "," + y, rgb, data.palette.getRGB(data.getPixel(x, y)));
+			}
+		}
+	} finally {
+		image.dispose();
+	}
+}
+
 /* custom */
 Display display;
 
+/** Returns a 16x10 image data of one pixel, with alpha data when the alpha is not -1. */
+ImageData newImageData(int pixel, int alpha) {
+	ImageData imageData = new ImageData(16, 10, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	for (int y = 0; y < imageData.height; y++) {
+		for (int x = 0; x < imageData.width; x++) {
+			imageData.setPixel(x, y, pixel);
+		}
+	}
+	if (alpha != -1) {
+		imageData.alphaData = new byte[imageData.width * imageData.height];
+		Arrays.fill(imageData.alphaData, (byte)alpha);
+	}
+	return imageData;
+}
+
 /** Test implementation **/
 
 void getImageData1() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,8 @@ import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Random;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -1161,8 +1163,129 @@ public void test_setPixelsIII$II() {
 		assertSWTProblem("Incorrect exception thrown for putWidth < 0", SWT.ERROR_INVALID_ARGUMENT, e);
 	}
 }
+/*
+ * Images with alpha data are converted to 32 bit images whose channels are
+ * whole bytes and pre-multiplied by the alpha with specialized kernels.
+ * They must give the same bytes as the generic blit of ImageData followed
+ * by the pre-multiplication, for every source depth and byte order.
+ */
+@Test
+public void test_blitKernels() throws ReflectiveOperationException {
+	Class<?> B = byte[].class, I = int.class, Z = boolean.class;
+	Class<?> kernels = Class.forName("org.eclipse.swt.graphics.BlitKernels");
+	Method directKernel = kernels.getDeclaredMethod("blit", B, I, I, I, I, I, I, I, I, B, I, B, I, I, I, I, I, I, I, I, I, I);
+	Method indexKernel = kernels.getDeclaredMethod("blit", B, I, I, I, I, B, B, B, B, I, B, I, I, I, I, I, I, I, I, I, I);
+	Method directBlit = ImageData.class.getDeclaredMethod("blit", I, B, I, I, I, I, I, I, I, I, I, I, I, B, I, I, I, B, I, I, I, I, I, I, I, I, I, I, Z, Z);
+	Method indexBlit = ImageData.class.getDeclaredMethod("blit", I, B, I, I, I, I, I, I, I, B, B, B, I, B, I, I, I, B, I, I, I, I, I, I, I, I, I, I, Z, Z);
+	directKernel.setAccessible(true);
+	indexKernel.setAccessible(true);
+	directBlit.setAccessible(true);
+	indexBlit.setAccessible(true);
+	int[][] srcMasks = {
+		{0xFF0000, 0xFF00, 0xFF}, {0xFF, 0xFF00, 0xFF0000}, {0xFF00, 0xFF0000, 0xFF000000},
+		{0xFF000000, 0xFF0000, 0xFF00}, {0xFF0000, 0xFF000000, 0xFF}};
+	int[][] destMasks = {
+		{0xFF0000, 0xFF00, 0xFF}, {0xFF, 0xFF00, 0xFF0000}, {0xFF00, 0xFF0000, 0xFF000000}, {0xFF000000, 0xFF0000, 0xFF00}};
+	int[] depths = {8, 24, 32};
+	Random random = new Random(20260101);
+	for (int i = 0; i < 2000; i++) {
+		int srcDepth = depths[random.nextInt(depths.length)];
+		boolean index = srcDepth == 8;
+		int[] srcMask = srcMasks[random.nextInt(srcDepth == 24 ? 2 : srcMasks.length)];
+		int[] destMask = destMasks[random.nextInt(destMasks.length)];
+		int srcOrder = random.nextBoolean() ? MSB_FIRST : LSB_FIRST;
+		int destOrder = random.nextBoolean() ? MSB_FIRST : LSB_FIRST;
+		int width = 1 + random.nextInt(20), height = 1 + random.nextInt(5);
+		int srcX = random.nextInt(3), srcY = random.nextInt(3), destX = random.nextInt(3), destY = random.nextInt(3);
+		if (random.nextBoolean()) srcX = srcY = destX = destY = 0;
+		int srcStride = (srcX + width) * srcDepth / 8 + random.nextInt(4);
+		int alphaStride = srcX + width + random.nextInt(4);
+		int destStride = (destX + width) * 4 + random.nextInt(4);
+		byte[] srcData = new byte[srcStride * (srcY + height)];
+		byte[] alphaData = new byte[alphaStride * (srcY + height)];
+		random.nextBytes(srcData);
+		random.nextBytes(alphaData);
+		byte[] reds = new byte[256], greens = new byte[256], blues = new byte[256];
+		random.nextBytes(reds);
+		random.nextBytes(greens);
+		random.nextBytes(blues);
+		byte[] destData = new byte[destStride * (destY + height)];
+		random.nextBytes(destData);
+		byte[] expected = destData.clone();
+
+		/* The generic blit, then pre-multiply the pixels and store the alpha */
+		if (index) {
+			indexBlit.invoke(null, BLIT_SRC, srcData, srcDepth, srcStride, srcOrder, srcX, srcY, width, height, reds, greens, blues,
+				ALPHA_OPAQUE, null, 0, 0, 0, expected, 32, destStride, destOrder, destX, destY, width, height, destMask[0], destMask[1], destMask[2], false, false);
+		} else {
+			directBlit.invoke(null, BLIT_SRC, srcData, srcDepth, srcStride, srcOrder, srcX, srcY, width, height, srcMask[0], srcMask[1], srcMask[2],
+				ALPHA_OPAQUE, null, 0, 0, 0, expected, 32, destStride, destOrder, destX, destY, width, height, destMask[0], destMask[1], destMask[2], false, false);
+		}
+		int alphaMask = ~(destMask[0] | destMask[1] | destMask[2]);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int offset = (destY + y) * destStride + (destX + x) * 4;
+				int pixel = getPixel32(expected, offset, destOrder);
+				int alpha = alphaData[(srcY + y) * alphaStride + srcX + x] & 0xFF;
+				int result = 0;
+				for (int mask : destMask) {
+					int shift = Integer.numberOfTrailingZeros(mask);
+					result |= premultiply((pixel & mask) >>> shift, alpha) << shift;
+				}
+				result |= alpha << Integer.numberOfTrailingZeros(alphaMask);
+				setPixel32(expected, offset, destOrder, result);
+			}
+		}
+
+		boolean done;
+		if (index) {
+			done = (Boolean) indexKernel.invoke(null, srcData, srcDepth, srcStride, srcX, srcY, reds, greens, blues,
+				alphaData, alphaStride, destData, 32, destStride, destOrder, destX, destY, width, height, destMask[0], destMask[1], destMask[2]);
+		} else {
+			done = (Boolean) directKernel.invoke(null, srcData, srcDepth, srcStride, srcOrder, srcX, srcY, srcMask[0], srcMask[1], srcMask[2],
+				alphaData, alphaStride, destData, 32, destStride, destOrder, destX, destY, width, height, destMask[0], destMask[1], destMask[2]);
+		}
+		assertEquals("blit " + i, true, done);
+		assertArrayEquals("blit " + i, expected, destData);
+	}
+
+	/* There is no kernel for the other depths, nor without alpha data */
+	byte[] data = new byte[64], alphaData = new byte[16];
+	assertFalse((Boolean) directKernel.invoke(null, data, 16, 8, LSB_FIRST, 0, 0, 0x7C00, 0x3E0, 0x1F,
+		alphaData, 4, data, 32, 16, MSB_FIRST, 0, 0, 4, 4, 0xFF0000, 0xFF00, 0xFF));
+	assertFalse((Boolean) directKernel.invoke(null, data, 32, 16, MSB_FIRST, 0, 0, 0xFF0000, 0xFF00, 0xFF,
+		null, 0, data, 32, 16, MSB_FIRST, 0, 0, 4, 4, 0xFF0000, 0xFF00, 0xFF));
+	assertFalse((Boolean) directKernel.invoke(null, data, 32, 16, MSB_FIRST, 0, 0, 0xFF0000, 0xFF00, 0xFF,
+		alphaData, 4, data, 24, 12, MSB_FIRST, 0, 0, 4, 4, 0xFF0000, 0xFF00, 0xFF));
+	assertFalse((Boolean) indexKernel.invoke(null, data, 4, 2, 0, 0, new byte[16], new byte[16], new byte[16],
+		alphaData, 4, data, 32, 16, MSB_FIRST, 0, 0, 4, 4, 0xFF0000, 0xFF00, 0xFF));
+}
+
 /* custom */
 ImageData imageData;
+/* The values of the constants of ImageData.blit */
+static final int BLIT_SRC = 1, ALPHA_OPAQUE = 255, MSB_FIRST = 1, LSB_FIRST = 0;
+
+static int getPixel32(byte[] data, int offset, int order) {
+	int pixel = 0;
+	for (int i = 0; i < 4; i++) {
+		int b = data[offset + (order == MSB_FIRST ? i : 3 - i)] & 0xFF;
+		pixel = pixel << 8 | b;
+	}
+	return pixel;
+}
+
+static void setPixel32(byte[] data, int offset, int order, int pixel) {
+	for (int i = 0; i < 4; i++) {
+		data[offset + (order == MSB_FIRST ? 3 - i : i)] = (byte) (pixel >>> (i * 8));
+	}
+}
+
+/* Multiply a channel by an alpha, rounding like cairo */
+static int premultiply(int channel, int alpha) {
+	int value = channel * alpha + 128;
+	return (value + (value >> 8)) >> 8;
+}
 final int IMAGE_DIMENSION = 10;
 
 }
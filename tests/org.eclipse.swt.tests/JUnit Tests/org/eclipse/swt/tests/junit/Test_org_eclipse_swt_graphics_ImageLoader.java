@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,8 @@ package org.eclipse.swt.tests.junit;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -25,6 +27,13 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -33,6 +42,9 @@ import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.ImageLoaderEvent;
 import org.eclipse.swt.graphics.ImageLoaderListener;
 import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.image.FileFormat;
 import org.eclipse.swt.widgets.Display;
 import org.junit.Test;
 
@@ -109,6 +121,54 @@ public void test_loadLjava_io_InputStream() {
 		}
 }
 
+@Test
+public void test_loadLjava_io_InputStreamLorg_eclipse_swt_graphics_RectangleILorg_eclipse_swt_graphics_ImageLoaderListener() {
+	ImageData source = new ImageData(100, 70, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	source.alphaData = new byte[100 * 70];
+	for (int y = 0; y < source.height; y++) {
+		for (int x = 0; x < source.width; x++) {
+			source.setPixel(x, y, x * 0x20000 + y * 0x300 + (x ^ y));
+			source.setAlpha(x, y, x + y);
+		}
+	}
+	ImageLoader loader = new ImageLoader();
+	loader.data = new ImageData[] {source};
+	ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+	loader.save(outStream, SWT.IMAGE_PNG);
+	byte[] bytes = outStream.toByteArray();
+
+	ImageLoaderListener ignore = e -> {};
+	assertThrows(IllegalArgumentException.class, () -> loader.load(null, null, 1, ignore));
+	assertThrows(IllegalArgumentException.class, () -> loader.load(new ByteArrayInputStream(bytes), null, 1, null));
+	assertThrows(IllegalArgumentException.class, () -> loader.load(new ByteArrayInputStream(bytes), null, 0, ignore));
+	assertThrows(IllegalArgumentException.class, () -> loader.load(new ByteArrayInputStream(bytes), new Rectangle(100, 0, 10, 10), 1, ignore));
+
+	Rectangle region = new Rectangle(10, 5, 200, 60);
+	int subsampling = 3;
+	List<ImageLoaderEvent> events = new ArrayList<>();
+	loader.load(new ByteArrayInputStream(bytes), region, subsampling, events::add);
+	assertTrue(events.get(events.size() - 1).endOfImage);
+	int bandY = 0;
+	for (int i = 0; i < events.size(); i++) {
+		ImageLoaderEvent event = events.get(i);
+		ImageData band = event.imageData;
+		assertEquals(i, event.incrementCount);
+		assertEquals(i == events.size() - 1, event.endOfImage);
+		assertEquals(30, band.width);
+		assertEquals(bandY, band.y);
+		for (int y = 0; y < band.height; y++) {
+			for (int x = 0; x < band.width; x++) {
+				int sourceX = region.x + x * subsampling, sourceY = region.y + (bandY + y) * subsampling;
+				assertEquals(source.getPixel(sourceX, sourceY), band.getPixel(x, y));
+				assertEquals(source.getAlpha(sourceX, sourceY), band.getAlpha(x, y));
+			}
+		}
+		bandY += band.height;
+	}
+	assertEquals(20, bandY);
+	assertNull(loader.data);
+}
+
 @Test
 public void test_loadLjava_lang_String() {
 	ImageLoader loader = new ImageLoader();
@@ -177,6 +237,121 @@ public void test_saveLjava_lang_StringI() {
 	} catch (IllegalArgumentException e) {
 	}
 }
+/**
+ * Decode a large JPEG image with restart markers in strips and as a
+ * whole, and ensure that both give the same pixels, also when the data
+ * is truncated or corrupt.
+ */
+@Test
+public void test_loadJPEGWithRestartMarkers() throws Exception {
+	byte[] bytes;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("restartMarkers.jpg")) {
+		bytes = stream.readAllBytes();
+	}
+	ImageData data = decodeJPEG(bytes, new ImageLoader());
+	assertEquals(1280, data.width);
+	assertEquals(1024, data.height);
+	assertImageDataEquals(data, decodeJPEGStrips(bytes, new ImageLoader(), true));
+	assertImageDataEquals(data, (ImageData) FileFormat.load(new ByteArrayInputStream(bytes), new ImageLoader())[0]);
+
+	ImageLoader scaled = new ImageLoader();
+	scaled.targetWidth = 320;
+	scaled.targetHeight = 256;
+	ImageData scaledData = decodeJPEG(bytes, scaled);
+	assertEquals(320, scaledData.width);
+	assertImageDataEquals(scaledData, decodeJPEGStrips(bytes, scaled, true));
+
+	byte[] truncated = Arrays.copyOf(bytes, bytes.length * 2 / 3);
+	assertSameOutcome(truncated);
+
+	byte[] corrupt = bytes.clone();
+	int start = bytes.length / 2;
+	while (corrupt[start] == (byte) 0xFF || corrupt[start - 1] == (byte) 0xFF) start++;
+	int end = start;
+	while (end - start < 200 && corrupt[end] != (byte) 0xFF) corrupt[end++] = 0;
+	assertTrue(end - start > 16);
+	assertSameOutcome(corrupt);
+}
+
+/**
+ * Decode a JPEG image at 1/2, 1/4 and 1/8 of its size with the reduced
+ * IDCTs, and compare every pixel with the average of the pixels that it
+ * covers in the image decoded at full size, within a tolerance.
+ */
+@Test
+public void test_loadJPEGScaled() throws Exception {
+	byte[] bytes;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("restartMarkers.jpg")) {
+		bytes = stream.readAllBytes();
+	}
+	ImageData data = (ImageData) FileFormat.load(new ByteArrayInputStream(bytes), new ImageLoader())[0];
+	for (int scale = 2; scale <= 8; scale *= 2) {
+		ImageLoader loader = new ImageLoader();
+		loader.targetWidth = data.width / scale;
+		loader.targetHeight = data.height / scale;
+		ImageData scaledData = (ImageData) FileFormat.load(new ByteArrayInputStream(bytes), loader)[0];
+		assertEquals(data.width / scale, scaledData.width);
+		assertEquals(data.height / scale, scaledData.height);
+		long error = 0;
+		int outliers = 0;
+		for (int y = 0; y < scaledData.height; y++) {
+			for (int x = 0; x < scaledData.width; x++) {
+				int[] expected = new int[3];
+				for (int j = 0; j < scale; j++) {
+					for (int i = 0; i < scale; i++) {
+						RGB rgb = data.palette.getRGB(data.getPixel(x * scale + i, y * scale + j));
+						expected[0] += rgb.red;
+						expected[1] += rgb.green;
+						expected[2] += rgb.blue;
+					}
+				}
+				RGB rgb = scaledData.palette.getRGB(scaledData.getPixel(x, y));
+				int[] actual = {rgb.red, rgb.green, rgb.blue};
+				for (int c = 0; c < 3; c++) {
+					int difference = Math.abs(actual[c] - Math.round(expected[c] / (float) (scale * scale)));
+					error += difference;
+					if (difference > 16) outliers++;
+				}
+			}
+		}
+		int count = 3 * scaledData.width * scaledData.height;
+		/* The reduced IDCTs filter the image a little differently than averaging it */
+		assertTrue("mean error at 1/" + scale + ": " + error / (double) count, error < 2L * count);
+		assertTrue("errors above 16 at 1/" + scale + ": " + outliers, outliers < count / 20);
+	}
+}
+
+/**
+ * Ensure that an invalid JPEG image is reported without reading the
+ * rest of the input stream.
+ */
+@Test
+public void test_loadInvalidJPEGFailsFast() {
+	byte[] header = {
+		(byte) 0xFF, (byte) 0xD8,
+		(byte) 0xFF, (byte) 0xC0, 0, 17, 8, 0, 0, 0, 0, 3, 1, 0x22, 0, 2, 0x11, 1, 3, 0x11, 1,
+	};
+	int[] count = new int[1];
+	InputStream stream = new InputStream() {
+		@Override
+		public int read() {
+			return read(new byte[1], 0, 1) < 0 ? -1 : 0;
+		}
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (count[0] >= (64 << 20)) return -1;
+			int n = Math.min(len, (64 << 20) - count[0]);
+			for (int i = 0; i < n; i++) {
+				int index = count[0] + i;
+				b[off + i] = index < header.length ? header[index] : 0;
+			}
+			count[0] += n;
+			return n;
+		}
+	};
+	assertThrows(SWTException.class, () -> FileFormat.load(stream, new ImageLoader()));
+	assertTrue("read " + count[0] + " bytes", count[0] < (1 << 20));
+}
 
 /**
  * Ensure that saving and loading an image with {@link ImageLoader}
@@ -244,4 +419,88 @@ public void test_bug547529() {
 
 /* custom */
 boolean loaderListenerCalled;
+
+void assertImageDataEquals(ImageData expected, ImageData actual) {
+	assertEquals(expected.width, actual.width);
+	assertEquals(expected.height, actual.height);
+	assertEquals(expected.depth, actual.depth);
+	assertEquals(expected.bytesPerLine, actual.bytesPerLine);
+	assertArrayEquals(expected.data, actual.data);
+}
+
+/*
+ * Decode the image both ways and ensure that they give the same pixels,
+ * or fail with the same error.
+ */
+void assertSameOutcome(byte[] bytes) throws Exception {
+	ImageData expected = null, actual = null;
+	SWTException expectedError = null, actualError = null;
+	try {
+		expected = decodeJPEG(bytes, new ImageLoader());
+	} catch (SWTException e) {
+		expectedError = e;
+	}
+	try {
+		actual = decodeJPEGStrips(bytes, new ImageLoader(), false);
+	} catch (SWTException e) {
+		actualError = e;
+	}
+	if (expectedError != null || actualError != null) {
+		assertTrue(expectedError != null && actualError != null);
+		assertEquals(expectedError.code, actualError.code);
+	} else {
+		assertImageDataEquals(expected, actual);
+	}
+}
+
+/* Decode the image as a whole, the way it is decoded on one processor */
+ImageData decodeJPEG(byte[] bytes, ImageLoader loader) throws Exception {
+	Class<?> decoder = Class.forName("org.eclipse.swt.internal.image.JPEGDecoder");
+	Method decode = decoder.getDeclaredMethod("decode", InputStream.class, ImageLoader.class, int.class);
+	decode.setAccessible(true);
+	try {
+		return (ImageData) decode.invoke(null, new ByteArrayInputStream(bytes), loader, 0);
+	} catch (InvocationTargetException e) {
+		if (e.getCause() instanceof SWTException) throw (SWTException) e.getCause();
+		throw e;
+	}
+}
+
+/*
+ * Decode the image in strips, the way it is decoded on several processors,
+ * falling back to decoding it as a whole like the decoder does unless the
+ * strips are required.
+ */
+ImageData decodeJPEGStrips(byte[] bytes, ImageLoader loader, boolean required) throws Exception {
+	Class<?> stripDecoder = Class.forName("org.eclipse.swt.internal.image.JPEGStripDecoder");
+	Constructor<?> constructor = stripDecoder.getDeclaredConstructor();
+	constructor.setAccessible(true);
+	Object strips = constructor.newInstance();
+	Field parallelism = stripDecoder.getDeclaredField("parallelism");
+	parallelism.setAccessible(true);
+	parallelism.setInt(strips, 4);
+	Method read = stripDecoder.getDeclaredMethod("read", InputStream.class);
+	read.setAccessible(true);
+	Method decodeInParallel = stripDecoder.getDeclaredMethod("decodeInParallel", ImageLoader.class);
+	decodeInParallel.setAccessible(true);
+	Method getInputStream = stripDecoder.getDeclaredMethod("getInputStream", InputStream.class);
+	getInputStream.setAccessible(true);
+	InputStream stream = new ByteArrayInputStream(bytes);
+	read.invoke(strips, stream);
+	ImageData data = (ImageData) decodeInParallel.invoke(strips, loader);
+	if (required) {
+		assertTrue("the image was not decoded in strips", data != null);
+		return data;
+	}
+	if (data != null) return data;
+	Class<?> decoder = Class.forName("org.eclipse.swt.internal.image.JPEGDecoder");
+	Method decode = decoder.getDeclaredMethod("decode", InputStream.class, ImageLoader.class, int.class);
+	decode.setAccessible(true);
+	try {
+		return (ImageData) decode.invoke(null, getInputStream.invoke(strips, stream), loader, 0);
+	} catch (InvocationTargetException e) {
+		if (e.getCause() instanceof SWTException) throw (SWTException) e.getCause();
+		throw e;
+	}
+}
 }
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.Point;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.graphics.TextExtentCache,
+ * the cache of the extents measured by <code>GC.textExtent()</code> on GTK.
+ */
+public class Test_org_eclipse_swt_graphics_TextExtentCache {
+
+@Before
+public void setUp() throws ReflectiveOperationException {
+	Assume.assumeTrue("the cache exists on GTK only", SwtTestUtil.isGTK);
+	clazz = Class.forName("org.eclipse.swt.graphics.TextExtentCache");
+	get = getMethod("get", String.class, Font.class, int.class);
+	put = getMethod("put", String.class, Font.class, int.class, int.class, int.class);
+	getHits = getMethod("getHits");
+	getMisses = getMethod("getMisses");
+	getHitRate = getMethod("getHitRate");
+}
+
+@Test
+public void test_hitRate() throws ReflectiveOperationException {
+	Object cache = newCache(16);
+	assertEquals(0, getHitRate(cache), 0);
+	for (int i = 0; i < 4; i++) {
+		assertNull(get(cache, "string" + i, 0));
+		put(cache, "string" + i, 0, i, 10);
+	}
+	for (int j = 0; j < 3; j++) {
+		for (int i = 0; i < 4; i++) {
+			assertEquals(new Point(i, 10), get(cache, "string" + i, 0));
+		}
+	}
+	assertEquals(12L, getHits.invoke(cache));
+	assertEquals(4L, getMisses.invoke(cache));
+	assertEquals(0.75, getHitRate(cache), 1e-9);
+}
+
+@Test
+public void test_keys() throws ReflectiveOperationException {
+	Object cache = newCache(16);
+	int[] flags = {0, SWT.DRAW_MNEMONIC, SWT.DRAW_TAB, SWT.DRAW_DELIMITER, SWT.DRAW_MNEMONIC | SWT.DRAW_TAB | SWT.DRAW_DELIMITER};
+	for (int i = 0; i < flags.length; i++) {
+		put(cache, "a&b\tc\nd", flags[i], i, i);
+	}
+	for (int i = 0; i < flags.length; i++) {
+		assertEquals(new Point(i, i), get(cache, "a&b\tc\nd", flags[i]));
+	}
+	assertNull(get(cache, "a&b\tc\nd", SWT.DRAW_MNEMONIC | SWT.DRAW_TAB));
+	/* Strings are compared by value, and the answered extents are copies */
+	Point extent = get(cache, new String("a&b\tc\nd"), 0);
+	assertEquals(new Point(0, 0), extent);
+	assertNotSame(extent, get(cache, "a&b\tc\nd", 0));
+	extent.x = 100;
+	assertEquals(new Point(0, 0), get(cache, "a&b\tc\nd", 0));
+}
+
+@Test
+public void test_leastRecentlyUsed() throws ReflectiveOperationException {
+	Object cache = newCache(3);
+	put(cache, "a", 0, 1, 1);
+	put(cache, "b", 0, 2, 2);
+	put(cache, "c", 0, 3, 3);
+	get(cache, "a", 0);
+	put(cache, "d", 0, 4, 4);
+	assertNull(get(cache, "b", 0));
+	assertEquals(new Point(1, 1), get(cache, "a", 0));
+	assertEquals(new Point(3, 3), get(cache, "c", 0));
+	assertEquals(new Point(4, 4), get(cache, "d", 0));
+}
+
+@Test
+public void test_disabled() throws ReflectiveOperationException {
+	Object cache = newCache(0);
+	put(cache, "a", 0, 1, 1);
+	assertNull(get(cache, "a", 0));
+	assertEquals(0L, getHits.invoke(cache));
+	assertEquals(0L, getMisses.invoke(cache));
+}
+
+/* custom */
+Class<?> clazz;
+Method get, put, getHits, getMisses, getHitRate;
+
+Method getMethod(String name, Class<?>... types) throws ReflectiveOperationException {
+	Method method = clazz.getDeclaredMethod(name, types);
+	method.setAccessible(true);
+	return method;
+}
+
+Object newCache(int capacity) throws ReflectiveOperationException {
+	Constructor<?> constructor = clazz.getDeclaredConstructor(int.class);
+	constructor.setAccessible(true);
+	return constructor.newInstance(capacity);
+}
+
+Point get(Object cache, String string, int flags) throws ReflectiveOperationException {
+	return (Point) get.invoke(cache, string, null, flags);
+}
+
+void put(Object cache, String string, int flags, int width, int height) throws ReflectiveOperationException {
+	put.invoke(cache, string, null, flags, width, height);
+}
+
+double getHitRate(Object cache) throws ReflectiveOperationException {
+	return (double) getHitRate.invoke(cache);
+}
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.internal.ImageResampler;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.internal.ImageResampler
+ *
+ * @see org.eclipse.swt.internal.ImageResampler
+ */
+public class Test_org_eclipse_swt_internal_ImageResampler {
+
+static final int[] FILTERS = {ImageResampler.BOX, ImageResampler.BILINEAR, ImageResampler.LANCZOS};
+static final int[][] SIZES = {{16, 16}, {7, 23}, {40, 5}, {3, 3}, {64, 64}};
+
+@Test
+public void test_resample_identity() {
+	Random random = new Random(1);
+	ImageData source = newImageData(21, 13, true);
+	random.nextBytes(source.data);
+	random.nextBytes(source.alphaData);
+	for (int filter : FILTERS) {
+		ImageData result = ImageResampler.resample(source, source.width, source.height, filter);
+		for (int y = 0; y < source.height; y++) {
+			for (int x = 0; x < source.width; x++) {
+				String message = "filter " + filter + " at " + x + "," + y;
+				int alpha = source.getAlpha(x, y);
+				assertEquals(message, alpha, result.getAlpha(x, y));
+				if (alpha != 0) assertEquals(message, source.getPixel(x, y), result.getPixel(x, y));
+			}
+		}
+	}
+}
+
+@Test
+public void test_resample_solidColor() {
+	for (boolean hasAlpha : new boolean[] {false, true}) {
+		ImageData source = newImageData(16, 16, hasAlpha);
+		fill(source, 0, 16, 0x336699, 255);
+		for (int filter : FILTERS) {
+			for (int[] size : SIZES) {
+				ImageData result = ImageResampler.resample(source, size[0], size[1], filter);
+				if (!hasAlpha) assertNull(result.alphaData);
+				assertPixels("filter " + filter + " at " + size[0] + "x" + size[1], result, 0x336699, 255);
+			}
+		}
+	}
+}
+
+@Test
+public void test_resample_transparentPixelsDoNotBleed() {
+	/* an opaque half next to a transparent half of another colour */
+	ImageData source = newImageData(16, 16, true);
+	fill(source, 0, 8, 0x336699, 255);
+	fill(source, 8, 16, 0x00FF00, 0);
+	for (int filter : FILTERS) {
+		for (int[] size : SIZES) {
+			ImageData result = ImageResampler.resample(source, size[0], size[1], filter);
+			String message = "filter " + filter + " at " + size[0] + "x" + size[1];
+			for (int y = 0; y < result.height; y++) {
+				for (int x = 0; x < result.width; x++) {
+					if (result.getAlpha(x, y) == 0) continue;
+					assertEquals(message + " at " + x + "," + y, 0x336699, result.getPixel(x, y));
+				}
+			}
+			assertEquals(message, 255, result.getAlpha(0, 0));
+			assertEquals(message, 0, result.getAlpha(result.width - 1, 0));
+		}
+	}
+}
+
+@Test
+public void test_resample_cacheInvalidatedWhenPixelsChange() {
+	ImageData source = newImageData(8, 8, true);
+	fill(source, 0, 8, 0x336699, 255);
+	ImageData first = ImageResampler.resample(source, 16, 16, ImageResampler.BILINEAR);
+	assertPixels("first", first, 0x336699, 255);
+
+	/* the cached result is copied, changing it does not change the cache */
+	fill(first, 0, 16, 0xFFFFFF, 0);
+	assertPixels("cached", ImageResampler.resample(source, 16, 16, ImageResampler.BILINEAR), 0x336699, 255);
+
+	fill(source, 0, 8, 0x996633, 255);
+	assertPixels("colors changed", ImageResampler.resample(source, 16, 16, ImageResampler.BILINEAR), 0x996633, 255);
+
+	source.setAlpha(0, 0, 0);
+	ImageData result = ImageResampler.resample(source, 16, 16, ImageResampler.BILINEAR);
+	assertEquals(0, result.getAlpha(0, 0));
+	assertEquals(255, result.getAlpha(15, 15));
+
+	source.setPixel(7, 7, 0x000000);
+	result = ImageResampler.resample(source, 16, 16, ImageResampler.BILINEAR);
+	assertNotEquals(0x996633, result.getPixel(15, 15));
+}
+
+static ImageData newImageData(int width, int height, boolean hasAlpha) {
+	ImageData imageData = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	if (hasAlpha) imageData.alphaData = new byte[width * height];
+	return imageData;
+}
+
+/* fills the columns from start to end */
+static void fill(ImageData imageData, int start, int end, int pixel, int alpha) {
+	for (int y = 0; y < imageData.height; y++) {
+		for (int x = start; x < end; x++) {
+			imageData.setPixel(x, y, pixel);
+			if (imageData.alphaData != null) imageData.setAlpha(x, y, alpha);
+		}
+	}
+}
+
+static void assertPixels(String message, ImageData imageData, int pixel, int alpha) {
+	for (int y = 0; y < imageData.height; y++) {
+		for (int x = 0; x < imageData.width; x++) {
+			assertEquals(message + " at " + x + "," + y, pixel, imageData.getPixel(x, y));
+			assertEquals(message + " at " + x + "," + y, alpha, imageData.getAlpha(x, y));
+		}
+	}
+}
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.swt.internal.LongMap;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.internal.LongMap
+ *
+ * @see org.eclipse.swt.internal.LongMap
+ */
+public class Test_org_eclipse_swt_internal_LongMap {
+
+/* Handles are aligned pointers */
+static final long BASE = 0x7F3A_2C40_0000L;
+static final int ALIGNMENT = 16;
+
+@Test
+public void test_putGetRemoveClear() throws ReflectiveOperationException {
+	LongMap<String> map = new LongMap<>();
+	assertTrue(map.isEmpty());
+	assertNull(map.get(0));
+	assertNull(map.remove(BASE));
+
+	assertNull(map.put(0, "zero"));
+	assertNull(map.put(BASE, "a"));
+	assertNull(map.put(-BASE, "b"));
+	assertEquals("a", map.put(BASE, "c"));
+	assertEquals(3, map.size());
+	assertEquals("zero", map.get(0));
+	assertEquals("c", map.get(BASE));
+	assertEquals("b", map.get(-BASE));
+	assertTrue(map.containsKey(0));
+	assertFalse(map.containsKey(BASE + ALIGNMENT));
+	assertInvariant(map);
+
+	assertEquals("b", map.put(-BASE, null));
+	assertFalse(map.containsKey(-BASE));
+	assertEquals("zero", map.remove(0));
+	assertNull(map.remove(0));
+	assertEquals(1, map.size());
+	assertInvariant(map);
+
+	map.clear();
+	assertTrue(map.isEmpty());
+	assertNull(map.get(BASE));
+	assertNull(map.put(BASE, "d"));
+	assertEquals("d", map.get(BASE));
+}
+
+/**
+ * Remove every key of a run of colliding keys, which wraps around the end
+ * of the table, and ensure that the following keys are shifted back so
+ * that they are still found.
+ */
+@Test
+public void test_removeCollidingKeys() throws ReflectiveOperationException {
+	int[] orders[] = {{0, 1, 2, 3, 4}, {4, 3, 2, 1, 0}, {2, 0, 4, 1, 3}, {1, 3, 0, 4, 2}};
+	for (int[] order : orders) {
+		LongMap<Long> map = new LongMap<>(5);
+		int length = getKeys(map).length;
+		/* Three keys colliding on the last slot, then two keys of the first slot */
+		List<Long> keys = new ArrayList<>();
+		keys.addAll(findKeys(map, length - 1, 3));
+		keys.addAll(findKeys(map, 0, 2));
+		for (Long key : keys) map.put(key, key);
+		assertEquals(length, getKeys(map).length);
+		assertInvariant(map);
+
+		for (int i = 0; i < order.length; i++) {
+			long removed = keys.get(order[i]);
+			assertEquals(Long.valueOf(removed), map.remove(removed));
+			assertNull(map.get(removed));
+			assertInvariant(map);
+			for (int j = i + 1; j < order.length; j++) {
+				long key = keys.get(order[j]);
+				assertEquals(Long.valueOf(key), map.get(key));
+			}
+			assertEquals(order.length - i - 1, map.size());
+		}
+		assertTrue(map.isEmpty());
+	}
+}
+
+/**
+ * Put, replace and remove aligned keys in random order while the map grows,
+ * and compare the map with a <code>HashMap</code>.
+ */
+@Test
+public void test_growAndRemoveAlignedKeys() throws ReflectiveOperationException {
+	Random random = new Random(1);
+	LongMap<Long> map = new LongMap<>();
+	Map<Long, Long> expected = new HashMap<>();
+	int initialLength = getKeys(map).length;
+	for (int i = 0; i < 20000; i++) {
+		long key = BASE + random.nextInt(4096) * (long) ALIGNMENT;
+		if (random.nextInt(3) == 0) {
+			assertEquals(expected.remove(key), map.remove(key));
+		} else {
+			long value = random.nextLong();
+			assertEquals(expected.put(key, value), map.put(key, value));
+		}
+		assertEquals(expected.size(), map.size());
+	}
+	assertTrue(getKeys(map).length > initialLength);
+	assertInvariant(map);
+	for (int i = 0; i < 4096; i++) {
+		long key = BASE + i * (long) ALIGNMENT;
+		assertEquals(expected.get(key), map.get(key));
+	}
+	for (Long key : new ArrayList<>(expected.keySet())) {
+		assertEquals(expected.remove(key), map.remove(key));
+	}
+	assertTrue(map.isEmpty());
+	assertInvariant(map);
+}
+
+/* custom */
+
+static Field getField(String name) throws ReflectiveOperationException {
+	Field field = LongMap.class.getDeclaredField(name);
+	field.setAccessible(true);
+	return field;
+}
+
+static long[] getKeys(LongMap<?> map) throws ReflectiveOperationException {
+	return (long[]) getField("keys").get(map);
+}
+
+static int index(LongMap<?> map, long key) throws ReflectiveOperationException {
+	Method index = LongMap.class.getDeclaredMethod("index", long.class);
+	index.setAccessible(true);
+	return (Integer) index.invoke(map, key);
+}
+
+/* Answer the given number of aligned keys whose first slot is the given one */
+static List<Long> findKeys(LongMap<?> map, int slot, int count) throws ReflectiveOperationException {
+	List<Long> keys = new ArrayList<>();
+	for (long key = BASE; keys.size() < count; key += ALIGNMENT) {
+		if (index(map, key) == slot) keys.add(key);
+	}
+	return keys;
+}
+
+/*
+ * Ensure that every key is found from its first slot without crossing an
+ * empty slot, and that the size matches the number of entries.
+ */
+static void assertInvariant(LongMap<?> map) throws ReflectiveOperationException {
+	long[] keys = getKeys(map);
+	Object[] values = (Object[]) getField("values").get(map);
+	int mask = keys.length - 1, count = 0;
+	for (int i = 0; i < keys.length; i++) {
+		if (values[i] == null) continue;
+		count++;
+		for (int j = index(map, keys[i]); j != i; j = (j + 1) & mask) {
+			assertTrue("empty slot " + j + " before the key of slot " + i, values[j] != null);
+		}
+	}
+	assertEquals(count, map.size());
+}
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.internal.image.FileFormat;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for the row filters of class
+ * org.eclipse.swt.internal.image.PngEncoder, which are undone by
+ * org.eclipse.swt.internal.image.PNGFileFormat when decoding.
+ */
+public class Test_org_eclipse_swt_internal_image_PngEncoder {
+
+/* The filter types of PNG, and the one selecting the best filter of every row */
+static final int NONE = 0, SUB = 1, UP = 2, AVERAGE = 3, PAETH = 4, ADAPTIVE = -1;
+static final int[] FILTERS = {NONE, SUB, UP, AVERAGE, PAETH, ADAPTIVE};
+
+@Before
+public void setUp() throws ReflectiveOperationException {
+	Class<?> encoder = Class.forName("org.eclipse.swt.internal.image.PngEncoder");
+	writeFilteredRow = encoder.getDeclaredMethod("writeFilteredRow", OutputStream.class, byte[].class, byte[].class, int.class, byte[].class, int.class);
+	writeFilteredRow.setAccessible(true);
+	Class<?> decoder = Class.forName("org.eclipse.swt.internal.image.PNGFileFormat");
+	filterRow = decoder.getDeclaredMethod("filterRow", byte[].class, int.class, int.class, int.class, int.class, int.class);
+	filterRow.setAccessible(true);
+}
+
+/**
+ * Filter random rows with every filter and ensure that the decoder gives
+ * the rows back, for the first row, which has no row above, and for rows
+ * of one pixel, which only have a first column.
+ */
+@Test
+public void test_filterRoundTrip() throws ReflectiveOperationException {
+	Random random = new Random(12);
+	int[] widths = {1, 2, 3, 17};
+	for (int bytesPerPixel : new int[] {3, 4}) {
+		for (int width : widths) {
+			for (int filter : FILTERS) {
+				for (int i = 0; i < 20; i++) {
+					byte[] row = new byte[width * bytesPerPixel];
+					byte[] previousRow = new byte[row.length];
+					random.nextBytes(row);
+					boolean firstRow = i % 2 == 0;
+					if (!firstRow) random.nextBytes(previousRow);
+					assertRoundTrip(row, previousRow, firstRow, bytesPerPixel, filter);
+				}
+			}
+		}
+	}
+}
+
+/**
+ * Filter rows whose bytes are at the extremes, so that the differences
+ * and the sums of the filters wrap around.
+ */
+@Test
+public void test_filterRoundTripExtremes() throws ReflectiveOperationException {
+	byte[][] values = {{0, 0, 0, 0}, {-1, -1, -1, -1}, {-1, 0, -1, 0}, {(byte) 0x80, 0x7F, 1, (byte) 0xFE}};
+	for (byte[] value : values) {
+		for (byte[] aboveValue : values) {
+			byte[] row = new byte[4 * 5], previousRow = new byte[row.length];
+			for (int i = 0; i < row.length; i++) {
+				row[i] = value[i % 4];
+				previousRow[i] = aboveValue[(i + 1) % 4];
+			}
+			for (int filter : FILTERS) {
+				assertRoundTrip(row, previousRow, false, 4, filter);
+				assertRoundTrip(row, new byte[row.length], true, 4, filter);
+			}
+		}
+	}
+}
+
+/**
+ * Save images with alpha and without it at every compression, which use
+ * no filter, the Sub filter and the adaptive filters, and load them back.
+ */
+@Test
+public void test_saveAndLoad() {
+	Random random = new Random(21);
+	ImageData[] images = {
+		new ImageData(1, 1, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF)),
+		new ImageData(1, 9, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF)),
+		new ImageData(9, 1, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000)),
+		new ImageData(61, 47, 24, new PaletteData(0xFF, 0xFF00, 0xFF0000)),
+		new ImageData(61, 47, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000))};
+	for (int n = 0; n < images.length; n++) {
+		ImageData image = images[n];
+		boolean alpha = n % 2 == 0;
+		if (alpha) image.alphaData = new byte[image.width * image.height];
+		for (int y = 0; y < image.height; y++) {
+			for (int x = 0; x < image.width; x++) {
+				/* Gradients, noise and flat areas, so that every filter is the best for some rows */
+				int pixel;
+				switch ((y / 8) % 3) {
+					case 0: pixel = (x * 5 + y * 3) * 0x10101; break;
+					case 1: pixel = random.nextInt(); break;
+					default: pixel = 0x336699; break;
+				}
+				image.setPixel(x, y, pixel & 0xFFFFFF);
+				if (alpha) image.setAlpha(x, y, (x * 7 + y) & 0xFF);
+			}
+		}
+		for (int compression : new int[] {0, 1, 2, 3}) {
+			ImageLoader loader = new ImageLoader();
+			loader.data = new ImageData[] {image};
+			loader.compression = compression;
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			FileFormat.save(stream, SWT.IMAGE_PNG, loader);
+			ImageData loaded = FileFormat.load(new ByteArrayInputStream(stream.toByteArray()), new ImageLoader())[0];
+			assertEquals(image.width, loaded.width);
+			assertEquals(image.height, loaded.height);
+			for (int y = 0; y < image.height; y++) {
+				for (int x = 0; x < image.width; x++) {
+					String message = "image " + n + " compression " + compression + " at " + x + "," + y;
+					assertEquals(message, image.palette.getRGB(image.getPixel(x, y)), loaded.palette.getRGB(loaded.getPixel(x, y)));
+					if (alpha) assertEquals(message, image.getAlpha(x, y), loaded.getAlpha(x, y));
+				}
+			}
+		}
+	}
+}
+
+/* custom */
+Method writeFilteredRow, filterRow;
+
+/*
+ * Filter the row, then unfilter it the way the decoder does and ensure that
+ * the original row is answered. The decoder has no row above the first row,
+ * which the encoder filters with a row of zeros.
+ */
+void assertRoundTrip(byte[] row, byte[] previousRow, boolean firstRow, int bytesPerPixel, int filter) throws ReflectiveOperationException {
+	ByteArrayOutputStream stream = new ByteArrayOutputStream();
+	byte[] original = row.clone(), originalPrevious = previousRow.clone();
+	writeFilteredRow.invoke(null, stream, row, previousRow, bytesPerPixel, new byte[row.length], filter);
+	byte[] filtered = stream.toByteArray();
+	assertEquals(row.length + 1, filtered.length);
+	int type = filtered[0];
+	if (filter == ADAPTIVE) {
+		assertTrue("filter type " + type, NONE <= type && type <= PAETH);
+	} else {
+		assertEquals(filter, type);
+	}
+	assertArrayEquals(original, row);
+	assertArrayEquals(originalPrevious, previousRow);
+
+	/* The decoder unfilters in place, after the previous row in the same array */
+	byte[] data = new byte[2 * row.length];
+	System.arraycopy(previousRow, 0, data, 0, row.length);
+	System.arraycopy(filtered, 1, data, row.length, row.length);
+	filterRow.invoke(null, data, row.length, firstRow ? -1 : 0, row.length, bytesPerPixel, type);
+	String message = "filter " + type + " of " + row.length + " bytes" + (firstRow ? " in the first row" : "");
+	assertArrayEquals(message, row, Arrays.copyOfRange(data, row.length, data.length));
+}
+}
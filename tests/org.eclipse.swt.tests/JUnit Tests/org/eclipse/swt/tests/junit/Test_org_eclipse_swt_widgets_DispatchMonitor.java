@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.widgets.DispatchMonitor;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.widgets.DispatchMonitor
+ *
+ * @see org.eclipse.swt.widgets.DispatchMonitor
+ */
+public class Test_org_eclipse_swt_widgets_DispatchMonitor {
+	Display display;
+	Shell shell;
+	DispatchMonitor monitor;
+
+@Before
+public void setUp() {
+	display = Display.getDefault();
+	shell = new Shell(display);
+	monitor = new DispatchMonitor(display);
+}
+
+@After
+public void tearDown() {
+	monitor.dispose();
+	shell.dispose();
+}
+
+@Test
+public void test_ConstructorLorg_eclipse_swt_widgets_Display() {
+	try {
+		new DispatchMonitor(null);
+		fail("No exception thrown for display == null");
+	} catch (IllegalArgumentException e) {
+	}
+}
+
+@Test
+public void test_getEventCount() {
+	shell.addListener(SWT.Help, e -> {});
+	for (int i = 0; i < 3; i++) {
+		shell.notifyListeners(SWT.Help, new Event());
+	}
+	assertEquals(3, monitor.getEventCount(SWT.Help));
+	assertEquals(0, monitor.getEventCount(SWT.Arm));
+
+	display.asyncExec(() -> {});
+	while (display.readAndDispatch()) {/*empty*/}
+	assertTrue(monitor.getEventCount(SWT.None) >= 1);
+}
+
+@Test
+public void test_getHistogram() {
+	assertNull(monitor.getHistogram(SWT.Help));
+	shell.addListener(SWT.Help, e -> {
+		try {
+			Thread.sleep(20);
+		} catch (InterruptedException ex) {
+		}
+	});
+	shell.notifyListeners(SWT.Help, new Event());
+	long[] histogram = monitor.getHistogram(SWT.Help);
+	assertNotNull(histogram);
+	long count = 0;
+	for (int i = 0; i < histogram.length; i++) {
+		/* 20 ms is more than 2^14 microseconds */
+		if (i <= 14) assertEquals(0, histogram[i]);
+		count += histogram[i];
+	}
+	assertEquals(1, count);
+
+	monitor.reset();
+	assertNull(monitor.getHistogram(SWT.Help));
+}
+
+@Test
+public void test_setStallThresholdI() {
+	assertEquals(0, monitor.getStallThreshold());
+	try {
+		monitor.setStallThreshold(-1);
+		fail("No exception thrown for threshold < 0");
+	} catch (IllegalArgumentException e) {
+	}
+
+	CountDownLatch latch = new CountDownLatch(1);
+	AtomicReference<DispatchMonitor.Stall> stall = new AtomicReference<>();
+	monitor.addStallListener(s -> {
+		stall.set(s);
+		latch.countDown();
+	});
+	monitor.setStallThreshold(50);
+	assertEquals(50, monitor.getStallThreshold());
+	shell.addListener(SWT.Help, e -> {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+		}
+	});
+	shell.notifyListeners(SWT.Help, new Event());
+	assertNotNull(stall.get());
+	assertEquals(SWT.Help, stall.get().eventType);
+	assertTrue(stall.get().duration >= 50);
+	boolean found = false;
+	for (StackTraceElement element : stall.get().stackTrace) {
+		found |= element.getMethodName().equals("test_setStallThresholdI");
+	}
+	assertTrue("Stack of the display thread not captured", found);
+	assertEquals(1, monitor.getStallCount());
+}
+
+@Test
+public void test_dispose() {
+	assertFalse(monitor.isDisposed());
+	monitor.dispose();
+	assertTrue(monitor.isDisposed());
+	monitor.dispose();
+	try {
+		monitor.getStallCount();
+		fail("No exception thrown for disposed monitor");
+	} catch (SWTException e) {
+	}
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -175,6 +175,79 @@ public void test_asyncExecLjava_lang_Runnable_dispose() {
 	}
 }
 
+@Test
+public void test_asyncExecLjava_lang_ObjectLjava_lang_Runnable() {
+	final Display display = new Display();
+	try {
+		Object key = new Object();
+		StringBuilder log = new StringBuilder();
+		display.asyncExec(key, () -> log.append('a'));
+		display.asyncExec(() -> log.append('b'));
+		display.asyncExec(key, () -> log.append('c'));
+		display.asyncExec(null, () -> log.append('d'));
+		display.asyncExec(null, () -> log.append('e'));
+		while (display.readAndDispatch()) {/* empty */}
+		// the pending runnable for key is replaced, keeping its position
+		assertEquals("cbde", log.toString());
+
+		log.setLength(0);
+		display.asyncExec(key, () -> log.append('f'));
+		while (display.readAndDispatch()) {/* empty */}
+		assertEquals("f", log.toString());
+	} finally {
+		display.dispose();
+	}
+}
+
+/**
+ * Ensure that a burst of runnables queued for one key runs only the last
+ * runnable, exactly once, at the position of the first one, and that the
+ * keyed runnable goes through the asyncExec of the synchronizer.
+ */
+@Test
+public void test_asyncExecLjava_lang_ObjectLjava_lang_Runnable_burst() {
+	final Display display = new Display();
+	try {
+		class CountingSynchronizer extends Synchronizer {
+			int count;
+			CountingSynchronizer(Display d) {
+				super(d);
+			}
+			@Override
+			protected void asyncExec (Runnable runnable) {
+				count++;
+				super.asyncExec(runnable);
+			}
+		}
+		CountingSynchronizer synchronizer = new CountingSynchronizer(display);
+		display.setSynchronizer(synchronizer);
+		while (display.readAndDispatch()) {/* empty */}
+		synchronizer.count = 0;
+
+		Object key = new Object();
+		StringBuilder log = new StringBuilder();
+		display.asyncExec(() -> log.append("before "));
+		for (int i = 0; i < 100; i++) {
+			final int index = i;
+			display.asyncExec(key, () -> log.append("keyed" + index + " "));
+			if (i == 0) display.asyncExec(() -> log.append("after "));
+		}
+		assertEquals(3, synchronizer.count);
+		while (display.readAndDispatch()) {/* empty */}
+		assertEquals("before keyed99 after ", log.toString());
+
+		/* The key coalesces again once its runnable has run */
+		log.setLength(0);
+		display.asyncExec(key, () -> log.append("a"));
+		display.asyncExec(key, () -> log.append("b"));
+		assertEquals(4, synchronizer.count);
+		while (display.readAndDispatch()) {/* empty */}
+		assertEquals("b", log.toString());
+	} finally {
+		display.dispose();
+	}
+}
+
 @Test
 public void test_beep() {
 	Display display = new Display();
@@ -1424,6 +1497,33 @@ public void test_timerExecILjava_lang_Runnable() {
 	}
 }
 
+/**
+ * Ensure that a runnable that schedules itself again with no delay from
+ * its run method does not keep the other events from being dispatched.
+ */
+@Test
+public void test_timerExecILjava_lang_Runnable_rescheduleFromRun() {
+	final Display display = new Display();
+	try {
+		final int[] timerRuns = new int[1];
+		final int[] runsBeforeAsync = new int[] {-1};
+		display.timerExec(0, new Runnable() {
+			@Override
+			public void run() {
+				if (++timerRuns[0] < 10000 && runsBeforeAsync[0] == -1) display.timerExec(0, this);
+			}
+		});
+		display.asyncExec(() -> runsBeforeAsync[0] = timerRuns[0]);
+		long end = System.currentTimeMillis() + 10000;
+		while (runsBeforeAsync[0] == -1 && System.currentTimeMillis() < end) {
+			if (!display.readAndDispatch()) display.sleep();
+		}
+		assertTrue("the timer ran " + runsBeforeAsync[0] + " times before the async runnable", runsBeforeAsync[0] >= 0 && runsBeforeAsync[0] < 100);
+	} finally {
+		display.dispose();
+	}
+}
+
 @Test
 public void test_update() {
 	Display display = new Display();
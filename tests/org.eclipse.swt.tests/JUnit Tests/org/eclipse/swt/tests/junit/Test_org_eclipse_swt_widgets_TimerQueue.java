@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.widgets.TimerQueue,
+ * the queue of the runnables scheduled with <code>Display.timerExec()</code>.
+ */
+public class Test_org_eclipse_swt_widgets_TimerQueue {
+
+@Before
+public void setUp() throws ReflectiveOperationException {
+	Class<?> clazz = Class.forName("org.eclipse.swt.widgets.TimerQueue");
+	Constructor<?> constructor = clazz.getDeclaredConstructor();
+	constructor.setAccessible(true);
+	queue = constructor.newInstance();
+	schedule = getMethod(clazz, "schedule", Runnable.class, long.class);
+	cancel = getMethod(clazz, "cancel", Runnable.class);
+	poll = getMethod(clazz, "poll", long.class, long.class);
+	mark = getMethod(clazz, "mark");
+	size = getMethod(clazz, "size");
+	nextDeadline = getMethod(clazz, "nextDeadline");
+}
+
+@Test
+public void test_order() throws ReflectiveOperationException {
+	List<Runnable> runnables = new ArrayList<>();
+	for (int i = 0; i < 100; i++) runnables.add(newRunnable());
+	Random random = new Random(1);
+	long[] deadlines = new long[runnables.size()];
+	for (int i = 0; i < runnables.size(); i++) {
+		/* Few distinct deadlines, so that many timers share one */
+		deadlines[i] = random.nextInt(10) - 5;
+		schedule(runnables.get(i), deadlines[i]);
+	}
+	assertEquals(runnables.size(), size());
+	assertEquals(-5, nextDeadline());
+
+	List<Runnable> expected = new ArrayList<>();
+	for (long deadline = -5; deadline < 5; deadline++) {
+		for (int i = 0; i < runnables.size(); i++) {
+			if (deadlines[i] == deadline) expected.add(runnables.get(i));
+		}
+	}
+	assertEquals(expected, drain(100));
+	assertEquals(0, size());
+}
+
+@Test
+public void test_pollNotDue() throws ReflectiveOperationException {
+	Runnable first = newRunnable(), second = newRunnable();
+	schedule(second, 20);
+	schedule(first, 10);
+	long mark = mark();
+	assertNull(poll(9, mark));
+	assertSame(first, poll(10, mark));
+	assertNull(poll(19, mark));
+	assertSame(second, poll(25, mark));
+	assertNull(poll(Long.MAX_VALUE, mark));
+}
+
+@Test
+public void test_deadlinesWrapAround() throws ReflectiveOperationException {
+	Runnable first = newRunnable(), second = newRunnable();
+	schedule(second, Long.MIN_VALUE + 10);
+	schedule(first, Long.MAX_VALUE - 10);
+	assertSame(first, poll(Long.MAX_VALUE, mark()));
+	assertNull(poll(Long.MAX_VALUE, mark()));
+	assertSame(second, poll(Long.MIN_VALUE + 10, mark()));
+}
+
+@Test
+public void test_rescheduleSameRunnable() throws ReflectiveOperationException {
+	Runnable first = newRunnable(), second = newRunnable(), third = newRunnable();
+	schedule(first, 10);
+	schedule(second, 20);
+	schedule(third, 30);
+	/* A runnable is scheduled once, at its last deadline */
+	schedule(first, 40);
+	assertEquals(3, size());
+	assertEquals(20, nextDeadline());
+	schedule(third, 5);
+	assertEquals(3, size());
+	List<Runnable> expected = new ArrayList<>();
+	expected.add(third);
+	expected.add(second);
+	expected.add(first);
+	assertEquals(expected, drain(100));
+
+	/* Rescheduling at the same deadline moves the runnable after the others */
+	schedule(first, 50);
+	schedule(second, 50);
+	schedule(first, 50);
+	expected.clear();
+	expected.add(second);
+	expected.add(first);
+	assertEquals(expected, drain(100));
+}
+
+@Test
+public void test_cancel() throws ReflectiveOperationException {
+	List<Runnable> runnables = new ArrayList<>();
+	for (int i = 0; i < 20; i++) {
+		Runnable runnable = newRunnable();
+		runnables.add(runnable);
+		schedule(runnable, i);
+	}
+	assertFalse(cancel(newRunnable()));
+	List<Runnable> expected = new ArrayList<>();
+	for (int i = 0; i < runnables.size(); i++) {
+		if (i % 3 == 0) {
+			assertTrue(cancel(runnables.get(i)));
+		} else {
+			expected.add(runnables.get(i));
+		}
+	}
+	assertFalse(cancel(runnables.get(0)));
+	assertEquals(expected.size(), size());
+	assertEquals(1, nextDeadline());
+	assertEquals(expected, drain(100));
+	assertFalse(cancel(runnables.get(1)));
+}
+
+/**
+ * Ensure that a runnable that schedules itself again from its run method,
+ * even with a deadline that is already due, is not polled again before a
+ * new mark is taken.
+ */
+@Test
+public void test_rescheduleFromRun() throws ReflectiveOperationException {
+	int[] runs = new int[1];
+	Runnable other = newRunnable();
+	Runnable runnable = new Runnable() {
+		@Override
+		public void run() {
+			runs[0]++;
+			try {
+				schedule(this, 0);
+				schedule(other, 0);
+			} catch (ReflectiveOperationException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	};
+	schedule(runnable, 0);
+	long mark = mark();
+	Runnable polled = poll(0, mark);
+	assertSame(runnable, polled);
+	polled.run();
+	assertEquals(2, size());
+	assertNull(poll(0, mark));
+	assertNull(poll(Long.MAX_VALUE, mark));
+
+	mark = mark();
+	assertSame(runnable, poll(0, mark));
+	assertSame(other, poll(0, mark));
+	assertNull(poll(0, mark));
+	assertEquals(1, runs[0]);
+}
+
+/* custom */
+Object queue;
+Method schedule, cancel, poll, mark, size, nextDeadline;
+
+static Method getMethod(Class<?> clazz, String name, Class<?>... types) throws ReflectiveOperationException {
+	Method method = clazz.getDeclaredMethod(name, types);
+	method.setAccessible(true);
+	return method;
+}
+
+Object invoke(Method method, Object... args) throws ReflectiveOperationException {
+	try {
+		return method.invoke(queue, args);
+	} catch (InvocationTargetException e) {
+		if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+		throw e;
+	}
+}
+
+/* Answer a distinct runnable on every call */
+static Runnable newRunnable() {
+	return new Runnable() {
+		@Override
+		public void run() {
+		}
+	};
+}
+
+void schedule(Runnable runnable, long deadline) throws ReflectiveOperationException {
+	invoke(schedule, runnable, deadline);
+}
+
+boolean cancel(Runnable runnable) throws ReflectiveOperationException {
+	return (Boolean) invoke(cancel, runnable);
+}
+
+Runnable poll(long now, long mark) throws ReflectiveOperationException {
+	return (Runnable) invoke(poll, now, mark);
+}
+
+long mark() throws ReflectiveOperationException {
+	return (Long) invoke(mark);
+}
+
+int size() throws ReflectiveOperationException {
+	return (Integer) invoke(size);
+}
+
+long nextDeadline() throws ReflectiveOperationException {
+	return (Long) invoke(nextDeadline);
+}
+
+/* Poll the runnables that are due at the given time, in order */
+List<Runnable> drain(long now) throws ReflectiveOperationException {
+	List<Runnable> result = new ArrayList<>();
+	long mark = mark();
+	Runnable runnable;
+	while ((runnable = poll(now, mark)) != null) result.add(runnable);
+	return result;
+}
+}
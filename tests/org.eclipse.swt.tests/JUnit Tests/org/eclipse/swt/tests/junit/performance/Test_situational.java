@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,23 @@
  *******************************************************************************/
 package org.eclipse.swt.tests.junit.performance;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.util.Random;
+
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
@@ -25,6 +37,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.List;
@@ -34,8 +47,10 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Slider;
 import org.eclipse.swt.widgets.TabFolder;
 import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.test.performance.Dimension;
 import org.eclipse.test.performance.Performance;
 import org.eclipse.test.performance.PerformanceMeter;
@@ -400,6 +415,523 @@ public void test_fastStringDrawing() {
 	disposeMeter(meter);
 }
 
+@Test
+public void test_textExtentRepeatedLabels() {
+	PerformanceMeter meter = createMeterWithoutSummary("Measure 500 labels 20 times with GC.textExtent()");
+	String[] labels = new String[500];
+	for (int i = 0; i < labels.length; i++) {
+		labels[i] = "Item " + i + " - " + Integer.toHexString(i * 7919);
+	}
+	Image image = new Image(display, 100, 100);
+	Font font = new Font(display, "Helvetica", 10, SWT.NONE);
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		GC gc = new GC(image);
+		meter.start();
+		for (int j = 0; j < 20; j++) {
+			gc.setFont((j & 1) == 0 ? font : null);
+			for (String label : labels) {
+				gc.textExtent(label);
+			}
+		}
+		meter.stop();
+		gc.dispose();
+	}
+	font.dispose();
+	image.dispose();
+	disposeMeter(meter);
+}
+
+@Test
+public void test_asyncExecThroughput() {
+	for (int producers : new int[] {1, 4, 16}) {
+		asyncExecThroughput(producers);
+	}
+}
+
+void asyncExecThroughput(int producers) {
+	PerformanceMeter meter = createMeterWithoutSummary("Drain asyncExec runnables from " + producers + " threads");
+	int messages = 100000 / producers;
+	Runnable runnable = () -> {};
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		Thread[] threads = new Thread[producers];
+		for (int i = 0; i < producers; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < messages; j++) {
+					display.asyncExec(runnable);
+				}
+			});
+		}
+		meter.start();
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		boolean alive = true;
+		while (alive) {
+			while(display.readAndDispatch()){/*empty*/}
+			alive = false;
+			for (Thread thread : threads) {
+				alive |= thread.isAlive();
+			}
+		}
+		while(display.readAndDispatch()){/*empty*/}
+		meter.stop();
+	}
+	disposeMeter(meter);
+}
+
+@Test
+public void test_asyncExecBudget() {
+	if (!isGTK) return;
+	for (int budget : new int[] {0, 8}) {
+		PerformanceMeter meter = createMeterWithoutSummary("Drain 100000 asyncExec runnables with a budget of " + budget + " ms");
+		Runnable runnable = () -> {};
+		int samples;
+
+		display.setData("org.eclipse.swt.internal.gtk.asyncExecBudget", budget);
+		for(samples = 0; samples < 10; samples++) {
+			for (int i = 0; i < 100000; i++) {
+				display.asyncExec(runnable);
+			}
+			meter.start();
+			while(display.readAndDispatch()){/*empty*/}
+			meter.stop();
+		}
+		display.setData("org.eclipse.swt.internal.gtk.asyncExecBudget", null);
+		disposeMeter(meter);
+	}
+}
+
+@Test
+public void test_asyncExecWakeupLatency() {
+	PerformanceMeter meter = createMeterWithoutSummary("Wake up a sleeping display 100 times from another thread");
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		boolean[] done = new boolean[1];
+		Thread thread = new Thread(() -> {
+			for (int i = 0; i < 100; i++) {
+				try {
+					Thread.sleep(1);
+				} catch (InterruptedException e) {
+				}
+				boolean last = i == 99;
+				display.syncExec(() -> done[0] = last);
+			}
+		});
+		meter.start();
+		thread.start();
+		while (!done[0]) {
+			if (!display.readAndDispatch()) display.sleep();
+		}
+		meter.stop();
+	}
+	disposeMeter(meter);
+}
+
+@Test
+public void test_idleSleep() {
+	PerformanceMeter meter = createMeterWithoutSummary("Sleep idle for 1 second");
+	int samples;
+
+	for(samples = 0; samples < 5; samples++) {
+		boolean[] done = new boolean[1];
+		display.timerExec(1000, () -> done[0] = true);
+		meter.start();
+		while (!done[0]) {
+			if (!display.readAndDispatch()) display.sleep();
+		}
+		meter.stop();
+	}
+	disposeMeter(meter);
+}
+
+@Test
+public void test_deferredEvents() throws ReflectiveOperationException {
+	if (!isGTK) return;
+	PerformanceMeter meter = createMeterWithoutSummary("Post and run 100000 deferred events");
+	Method postEvent = Display.class.getDeclaredMethod("postEvent", Event.class);
+	postEvent.setAccessible(true);
+	Shell shell = new Shell(display);
+	shell.addListener(SWT.Selection, e -> {});
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		meter.start();
+		for (int i = 0; i < 100000; i++) {
+			Event event = new Event();
+			event.type = SWT.Selection;
+			event.display = display;
+			event.widget = shell;
+			postEvent.invoke(display, event);
+		}
+		while(display.readAndDispatch()){/*empty*/}
+		meter.stop();
+	}
+	shell.dispose();
+	disposeMeter(meter);
+}
+
+@Test
+public void test_virtualSetItemCount() {
+	PerformanceMeter meter = createMeterWithoutSummary("Set the item count of virtual tables and trees");
+	Shell shell = new Shell(display);
+	shell.setLayout(new FillLayout());
+	shell.setSize(400, 400);
+	shell.open();
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		Table table = new Table(shell, SWT.VIRTUAL | SWT.MULTI);
+		table.addListener(SWT.SetData, event -> ((TableItem) event.item).setText("item " + event.index));
+		Tree tree = new Tree(shell, SWT.VIRTUAL | SWT.MULTI);
+		tree.addListener(SWT.SetData, event -> ((TreeItem) event.item).setText("item " + event.index));
+		shell.layout();
+		while(display.readAndDispatch()){/*empty*/}
+		meter.start();
+		table.setItemCount(100000);
+		tree.setItemCount(100000);
+		while(display.readAndDispatch()){/*empty*/}
+		meter.stop();
+		table.dispose();
+		tree.dispose();
+	}
+	shell.dispose();
+	disposeMeter(meter);
+}
+
+@Test
+public void test_timerExecReschedule() {
+	PerformanceMeter meter = createMeterWithoutSummary("Reschedule 10000 timers");
+	Runnable[] runnables = new Runnable[10000];
+	for (int i = 0; i < runnables.length; i++) {
+		/* A lambda that captures nothing is a single instance */
+		runnables[i] = new Runnable() {
+			@Override
+			public void run() {
+			}
+		};
+	}
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		meter.start();
+		for (int i = 0; i < runnables.length; i++) {
+			display.timerExec(60000 + i, runnables[i]);
+		}
+		for (int j = 0; j < 10; j++) {
+			for (int i = 0; i < runnables.length; i++) {
+				display.timerExec(60000 + (i * 7 + j) % runnables.length, runnables[i]);
+			}
+		}
+		for (Runnable runnable : runnables) {
+			display.timerExec(-1, runnable);
+		}
+		meter.stop();
+		while(display.readAndDispatch()){/*empty*/}
+	}
+	disposeMeter(meter);
+}
+
+@Test
+public void test_styledTextTypingWithStyles() {
+	PerformanceMeter meter = createMeterWithoutSummary("Type at the start of a StyledText with 250000 style ranges");
+	StringBuilder buffer = new StringBuilder();
+	for (int i = 0; i < 10000; i++) {
+		buffer.append("int value = compute(value, 42) + other; // comment\n");
+	}
+	String text = buffer.toString();
+	StyleRange bold = new StyleRange();
+	bold.fontStyle = SWT.BOLD;
+	StyleRange italic = new StyleRange();
+	italic.fontStyle = SWT.ITALIC;
+	int[] ranges = new int[(text.length() / 4) * 2];
+	StyleRange[] styles = new StyleRange[ranges.length / 2];
+	for (int i = 0; i < styles.length; i++) {
+		ranges[i * 2] = i * 4;
+		ranges[i * 2 + 1] = 3;
+		styles[i] = (i & 1) == 0 ? bold : italic;
+	}
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		Shell shell = new Shell(display);
+		StyledText styledText = new StyledText(shell, SWT.NONE);
+		styledText.setText(text);
+		styledText.setStyleRanges(ranges, styles);
+		meter.start();
+		for (int i = 0; i < 1000; i++) {
+			styledText.replaceTextRange(i % 3, 0, "x");
+		}
+		for (int i = 0; i < 1000; i++) {
+			styledText.replaceTextRange(0, 1, "");
+		}
+		meter.stop();
+		shell.dispose();
+		while(display.readAndDispatch()){/*empty*/}
+	}
+	disposeMeter(meter);
+}
+
+@Test
+public void test_styledTextScrollJumps() {
+	PerformanceMeter meter = createMeterWithoutSummary("Jump back and forth between two parts of a StyledText");
+	StringBuilder buffer = new StringBuilder();
+	for (int i = 0; i < 20000; i++) {
+		buffer.append("line ").append(i).append(": int value = compute(value, 42) + other; // comment\n");
+	}
+	String text = buffer.toString();
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		Shell shell = new Shell(display);
+		shell.setSize(400, 600);
+		StyledText styledText = new StyledText(shell, SWT.V_SCROLL);
+		styledText.setSize(400, 600);
+		styledText.setText(text);
+		shell.open();
+		while(display.readAndDispatch()){/*empty*/}
+		meter.start();
+		for (int i = 0; i < 100; i++) {
+			styledText.setTopIndex((i & 1) == 0 ? 15000 : 100);
+			styledText.update();
+		}
+		meter.stop();
+		shell.dispose();
+		while(display.readAndDispatch()){/*empty*/}
+	}
+	disposeMeter(meter);
+}
+
+@Test
+public void test_styledTextWrapLinePixels() {
+	PerformanceMeter meter = createMeterWithoutSummary("Query line pixels of a word wrapped StyledText with 20000 lines");
+	StringBuilder buffer = new StringBuilder();
+	for (int i = 0; i < 20000; i++) {
+		buffer.append("line ").append(i).append(": int value = compute(value, 42) + other; // a comment long enough to wrap\n");
+	}
+	String text = buffer.toString();
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		Shell shell = new Shell(display);
+		shell.setSize(300, 600);
+		StyledText styledText = new StyledText(shell, SWT.V_SCROLL | SWT.WRAP);
+		styledText.setSize(300, 600);
+		styledText.setText(text);
+		shell.open();
+		while(display.readAndDispatch()){/*empty*/}
+		meter.start();
+		for (int i = 0; i < 1000; i++) {
+			int lineIndex = (i * 7919) % 20000;
+			styledText.getLineIndex(styledText.getLinePixel(lineIndex));
+		}
+		meter.stop();
+		shell.dispose();
+		while(display.readAndDispatch()){/*empty*/}
+	}
+	disposeMeter(meter);
+}
+
+@Test
+public void test_pngLoading() {
+	PerformanceMeter meter = createMeterWithoutSummary("Load a 2000x1500 PNG image");
+	ImageData imageData = new ImageData(2000, 1500, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	for (int y = 0; y < imageData.height; y++) {
+		for (int x = 0; x < imageData.width; x++) {
+			imageData.setPixel(x, y, (x << 16) ^ (y << 8) ^ (x * y));
+		}
+	}
+	ImageLoader saver = new ImageLoader();
+	saver.data = new ImageData[] {imageData};
+	ByteArrayOutputStream stream = new ByteArrayOutputStream();
+	saver.save(stream, SWT.IMAGE_PNG);
+	byte[] bytes = stream.toByteArray();
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		meter.start();
+		for (int i = 0; i < 5; i++) {
+			new ImageLoader().load(new ByteArrayInputStream(bytes));
+		}
+		meter.stop();
+	}
+	disposeMeter(meter);
+}
+
+@Test
+public void test_pngSaving() {
+	PerformanceMeter meter = createMeterWithoutSummary("Save a 3840x2160 PNG image");
+	ImageData imageData = new ImageData(3840, 2160, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	for (int y = 0; y < imageData.height; y++) {
+		for (int x = 0; x < imageData.width; x++) {
+			imageData.setPixel(x, y, ((x / 200 + y / 100) % 3 == 0) ? 0xF0F0F0 : ((x * 255 / 3840) << 16) | ((y * 255 / 2160) << 8) | ((x ^ y) & 0x3F));
+		}
+	}
+	ImageLoader saver = new ImageLoader();
+	saver.data = new ImageData[] {imageData};
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		meter.start();
+		saver.save(new ByteArrayOutputStream(), SWT.IMAGE_PNG);
+		meter.stop();
+	}
+	disposeMeter(meter);
+}
+
+@Test
+public void test_jpegThumbnails() {
+	PerformanceMeter meter = createMeterWithoutSummary("Load 20 thumbnails of a 4000x3000 JPEG image");
+	ImageData imageData = new ImageData(4000, 3000, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	for (int y = 0; y < imageData.height; y++) {
+		for (int x = 0; x < imageData.width; x++) {
+			imageData.setPixel(x, y, ((x * 255 / 4000) << 16) | ((y * 255 / 3000) << 8) | ((x / 50 + y / 50) % 2 == 0 ? 0xC0 : 0x40));
+		}
+	}
+	ImageLoader saver = new ImageLoader();
+	saver.data = new ImageData[] {imageData};
+	ByteArrayOutputStream stream = new ByteArrayOutputStream();
+	saver.save(stream, SWT.IMAGE_JPEG);
+	byte[] bytes = stream.toByteArray();
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		meter.start();
+		for (int i = 0; i < 20; i++) {
+			ImageLoader loader = new ImageLoader();
+			loader.targetWidth = loader.targetHeight = 256;
+			loader.load(new ByteArrayInputStream(bytes))[0].scaledTo(256, 192);
+		}
+		meter.stop();
+	}
+	disposeMeter(meter);
+}
+
+@Test
+public void test_imageFrom24BitData() {
+	ImageData imageData = new ImageData(2000, 1500, 24, new PaletteData(0xFF, 0xFF00, 0xFF0000));
+	createImages("Create images from 2000x1500 24-bit direct image data", imageData);
+}
+
+@Test
+public void test_imageFrom32BitData() {
+	ImageData imageData = new ImageData(2000, 1500, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000));
+	createImages("Create images from 2000x1500 32-bit direct image data", imageData);
+}
+
+@Test
+public void test_imageFrom8BitData() {
+	RGB[] rgbs = new RGB[256];
+	for (int i = 0; i < rgbs.length; i++) {
+		rgbs[i] = new RGB(i, 255 - i, i / 2);
+	}
+	ImageData imageData = new ImageData(2000, 1500, 8, new PaletteData(rgbs));
+	createImages("Create images from 2000x1500 8-bit indexed image data", imageData);
+}
+
+void createImages(String name, ImageData imageData) {
+	for (int y = 0; y < imageData.height; y++) {
+		for (int x = 0; x < imageData.width; x++) {
+			imageData.setPixel(x, y, (x * 31 + y * 17) * 0x1010101 & (imageData.depth == 8 ? 0xFF : 0xFFFFFFFF));
+		}
+	}
+	ImageData alphaImageData = (ImageData) imageData.clone();
+	alphaImageData.alphaData = new byte[imageData.width * imageData.height];
+	for (int i = 0; i < alphaImageData.alphaData.length; i++) {
+		alphaImageData.alphaData[i] = (byte) i;
+	}
+	PerformanceMeter meter = createMeterWithoutSummary(name);
+	PerformanceMeter alphaMeter = createMeterWithoutSummary(name + " with alpha data");
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		meter.start();
+		for (int i = 0; i < 5; i++) {
+			new Image(display, imageData).dispose();
+		}
+		meter.stop();
+		alphaMeter.start();
+		for (int i = 0; i < 5; i++) {
+			new Image(display, alphaImageData).dispose();
+		}
+		alphaMeter.stop();
+	}
+	disposeMeter(meter);
+	disposeMeter(alphaMeter);
+}
+
+@Test
+public void test_imageUpdatePixels() {
+	if (!isGTK) return;
+	PerformanceMeter meter = createMeterWithoutSummary("Update 60 frames of a 1920x1080 image");
+	PerformanceMeter regionMeter = createMeterWithoutSummary("Update a 320x240 region in 60 frames of a 1920x1080 image");
+	ImageData imageData = new ImageData(1920, 1080, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	Image image = new Image(display, imageData);
+	Rectangle bounds = new Rectangle(0, 0, imageData.width, imageData.height);
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		meter.start();
+		for (int frame = 0; frame < 60; frame++) {
+			fillFrame(imageData, bounds, frame);
+			image.updatePixels(imageData, bounds);
+		}
+		meter.stop();
+		regionMeter.start();
+		for (int frame = 0; frame < 60; frame++) {
+			Rectangle region = new Rectangle(frame * 26, frame * 14, 320, 240);
+			fillFrame(imageData, region, frame);
+			image.updatePixels(imageData, region);
+		}
+		regionMeter.stop();
+	}
+	image.dispose();
+	disposeMeter(meter);
+	disposeMeter(regionMeter);
+}
+
+void fillFrame(ImageData imageData, Rectangle region, int frame) {
+	int[] pixels = new int[region.width];
+	for (int y = region.y; y < region.y + region.height; y++) {
+		for (int x = 0; x < region.width; x++) {
+			pixels[x] = ((region.x + x + frame) * 0x10101 + y * 0x100) & 0xFFFFFF;
+		}
+		imageData.setPixels(region.x, y, region.width, pixels, 0);
+	}
+}
+
+@Test
+public void test_tableIndexOf() {
+	PerformanceMeter meter = createMeterWithoutSummary("Look up indices of 100000 table items");
+	Random random = new Random(0);
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		Shell shell = new Shell(display);
+		Table table = new Table(shell, SWT.MULTI);
+		for (int i = 0; i < 100000; i++) {
+			new TableItem(table, SWT.NONE);
+		}
+		TableItem[] items = table.getItems();
+		meter.start();
+		for (int i = 0; i < 100000; i++) {
+			table.indexOf(items[random.nextInt(items.length)]);
+		}
+		for (int i = 0; i < 100; i++) {
+			new TableItem(table, SWT.NONE, random.nextInt(table.getItemCount()));
+			table.indexOf(items[random.nextInt(items.length)]);
+		}
+		meter.stop();
+		shell.dispose();
+		while(display.readAndDispatch()){/*empty*/}
+	}
+	disposeMeter(meter);
+}
+
 /* custom */
 Display display;
 }